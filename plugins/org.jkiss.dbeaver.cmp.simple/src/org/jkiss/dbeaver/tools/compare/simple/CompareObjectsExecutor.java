@@ -31,6 +31,7 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressListener;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.dbeaver.model.struct.DBStructUtils;
 import org.jkiss.dbeaver.runtime.properties.*;
 
 import java.util.*;
@@ -161,6 +162,7 @@ public class CompareObjectsExecutor {
         reportLines.clear();
         lastLine = null;
 
+        prefetchNodesStructure(monitor, nodes);
         compareNodes(monitor, nodes);
         return new CompareReport(rootNodes, reportLines);
     }
@@ -295,6 +297,11 @@ public class CompareObjectsExecutor {
                 allChildren.add(null);
             }
         }
+        for (DBNDatabaseNode[] childList : allChildren) {
+            if (childList != null) {
+                prefetchNodesStructure(monitor, Arrays.asList(childList));
+            }
+        }
 
         Set<String> allChildNames = new LinkedHashSet<>();
         for (DBNDatabaseNode[] childList : allChildren) {
@@ -350,6 +357,14 @@ public class CompareObjectsExecutor {
         }
     }
 
+    private static void prefetchNodesStructure(DBRProgressMonitor monitor, List<DBNDatabaseNode> nodes)
+    {
+        List<DBSObject> objects = new ArrayList<>(nodes.size());
+        for (DBNDatabaseNode node : nodes) {
+            objects.add(node.getObject());
+        }
+        DBStructUtils.prefetchEntitiesStructure(monitor, objects);
+    }
 
     private DataSourcePropertyFilter getDataSourceFilter(DBNDatabaseNode node)
     {
@@ -455,6 +455,13 @@ public class CoreMessages extends NLS {
 	public static String pref_page_database_general_checkbox_show_row_count_tip;
 	public static String pref_page_database_general_server_side_object_filters;
 	public static String pref_page_database_general_server_side_object_filters_tip;
+	public static String pref_page_database_general_incremental_refresh;
+	public static String pref_page_database_general_incremental_refresh_tip;
+	public static String pref_page_database_general_group_meta_snapshot;
+	public static String pref_page_database_general_meta_snapshot_enabled;
+	public static String pref_page_database_general_meta_snapshot_enabled_tip;
+	public static String pref_page_database_general_meta_snapshot_max_size;
+	public static String pref_page_database_general_meta_snapshot_max_size_tip;
 	public static String pref_page_database_general_group_query_metadata;
 	public static String pref_page_database_general_use_column_names;
 	public static String pref_page_database_general_use_column_names_tip;
@@ -22,6 +22,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
@@ -40,6 +41,9 @@ public class PrefPageMetaData extends TargetPrefPage
     private Button separateMetaConnectionCheck;
     private Button caseSensitiveNamesCheck;
     private Button serverSideFiltersCheck;
+    private Button incrementalRefreshCheck;
+    private Button metaSnapshotCheck;
+    private Spinner metaSnapshotMaxSizeSpinner;
 
     private Button ignoreColumnLabelCheck;
 
@@ -57,6 +61,9 @@ public class PrefPageMetaData extends TargetPrefPage
             store.contains(ModelPreferences.META_SEPARATE_CONNECTION) ||
             store.contains(ModelPreferences.META_CASE_SENSITIVE) ||
             store.contains(ModelPreferences.META_USE_SERVER_SIDE_FILTERS) ||
+            store.contains(ModelPreferences.META_INCREMENTAL_REFRESH) ||
+            store.contains(ModelPreferences.META_SNAPSHOT_ENABLED) ||
+            store.contains(ModelPreferences.META_SNAPSHOT_MAX_SIZE) ||
 
             store.contains(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL)
             ;
@@ -79,6 +86,14 @@ public class PrefPageMetaData extends TargetPrefPage
             caseSensitiveNamesCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names_tip, false, 1);
             readExpensiveCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_show_row_count, CoreMessages.pref_page_database_general_checkbox_show_row_count_tip, false, 1);
             serverSideFiltersCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_server_side_object_filters, CoreMessages.pref_page_database_general_server_side_object_filters_tip, false, 1);
+            incrementalRefreshCheck = UIUtils.createCheckbox(metadataGroup, CoreMessages.pref_page_database_general_incremental_refresh, CoreMessages.pref_page_database_general_incremental_refresh_tip, false, 1);
+        }
+
+        {
+            Group snapshotGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_database_general_group_meta_snapshot, 2, GridData.HORIZONTAL_ALIGN_BEGINNING, 0);
+
+            metaSnapshotCheck = UIUtils.createCheckbox(snapshotGroup, CoreMessages.pref_page_database_general_meta_snapshot_enabled, CoreMessages.pref_page_database_general_meta_snapshot_enabled_tip, false, 2);
+            metaSnapshotMaxSizeSpinner = UIUtils.createLabelSpinner(snapshotGroup, CoreMessages.pref_page_database_general_meta_snapshot_max_size, CoreMessages.pref_page_database_general_meta_snapshot_max_size_tip, 0, 1, Integer.MAX_VALUE);
         }
 
         {
@@ -98,6 +113,9 @@ public class PrefPageMetaData extends TargetPrefPage
             separateMetaConnectionCheck.setSelection(store.getBoolean(ModelPreferences.META_SEPARATE_CONNECTION));
             caseSensitiveNamesCheck.setSelection(store.getBoolean(ModelPreferences.META_CASE_SENSITIVE));
             serverSideFiltersCheck.setSelection(store.getBoolean(ModelPreferences.META_USE_SERVER_SIDE_FILTERS));
+            incrementalRefreshCheck.setSelection(store.getBoolean(ModelPreferences.META_INCREMENTAL_REFRESH));
+            metaSnapshotCheck.setSelection(store.getBoolean(ModelPreferences.META_SNAPSHOT_ENABLED));
+            metaSnapshotMaxSizeSpinner.setSelection(store.getInt(ModelPreferences.META_SNAPSHOT_MAX_SIZE));
 
             ignoreColumnLabelCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL));
         } catch (Exception e) {
@@ -113,6 +131,9 @@ public class PrefPageMetaData extends TargetPrefPage
             store.setValue(ModelPreferences.META_SEPARATE_CONNECTION, separateMetaConnectionCheck.getSelection());
             store.setValue(ModelPreferences.META_CASE_SENSITIVE, caseSensitiveNamesCheck.getSelection());
             store.setValue(ModelPreferences.META_USE_SERVER_SIDE_FILTERS, serverSideFiltersCheck.getSelection());
+            store.setValue(ModelPreferences.META_INCREMENTAL_REFRESH, incrementalRefreshCheck.getSelection());
+            store.setValue(ModelPreferences.META_SNAPSHOT_ENABLED, metaSnapshotCheck.getSelection());
+            store.setValue(ModelPreferences.META_SNAPSHOT_MAX_SIZE, metaSnapshotMaxSizeSpinner.getSelection());
 
             store.setValue(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL, ignoreColumnLabelCheck.getSelection());
         } catch (Exception e) {
@@ -128,6 +149,9 @@ public class PrefPageMetaData extends TargetPrefPage
         store.setToDefault(ModelPreferences.META_SEPARATE_CONNECTION);
         store.setToDefault(ModelPreferences.META_CASE_SENSITIVE);
         store.setToDefault(ModelPreferences.META_USE_SERVER_SIDE_FILTERS);
+        store.setToDefault(ModelPreferences.META_INCREMENTAL_REFRESH);
+        store.setToDefault(ModelPreferences.META_SNAPSHOT_ENABLED);
+        store.setToDefault(ModelPreferences.META_SNAPSHOT_MAX_SIZE);
 
         store.setToDefault(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL);
     }
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Metrics of all pipes of a finished data transfer
+ */
+public class DataTransferReport {
+
+    public static final String REPORT_FOLDER_NAME = "data-transfer-reports"; //$NON-NLS-1$
+
+    private final Date finishTime = new Date();
+    private final List<DataTransferStatistics> pipes;
+    private final long totalTime;
+    private final boolean hasErrors;
+
+    public DataTransferReport(@NotNull List<DataTransferStatistics> pipes, long totalTime, boolean hasErrors) {
+        this.pipes = new ArrayList<>(pipes);
+        this.totalTime = totalTime;
+        this.hasErrors = hasErrors;
+    }
+
+    public List<DataTransferStatistics> getPipes() {
+        return pipes;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public boolean isHasErrors() {
+        return hasErrors;
+    }
+
+    public long getTotalRows() {
+        long rows = 0;
+        for (DataTransferStatistics pipe : pipes) {
+            rows += pipe.getRowCount();
+        }
+        return rows;
+    }
+
+    public long getTotalBytes() {
+        long bytes = 0;
+        for (DataTransferStatistics pipe : pipes) {
+            bytes += pipe.getByteCount();
+        }
+        return bytes;
+    }
+
+    public String toJSON() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("\t\"finished\" : \"").append(JSONUtils.formatDate(finishTime)).append("\",\n");
+        json.append("\t\"time\" : ").append(totalTime).append(",\n");
+        json.append("\t\"errors\" : ").append(hasErrors).append(",\n");
+        json.append("\t\"rows\" : ").append(getTotalRows()).append(",\n");
+        json.append("\t\"bytes\" : ").append(getTotalBytes()).append(",\n");
+        json.append("\t\"pipes\" : [");
+        for (int i = 0; i < pipes.size(); i++) {
+            DataTransferStatistics pipe = pipes.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("\t\t{\n");
+            json.append("\t\t\t\"source\" : \"").append(JSONUtils.escapeJsonString(String.valueOf(pipe.getProducerName()))).append("\",\n");
+            json.append("\t\t\t\"target\" : \"").append(JSONUtils.escapeJsonString(String.valueOf(pipe.getConsumerName()))).append("\",\n");
+            json.append("\t\t\t\"success\" : ").append(pipe.isSuccess()).append(",\n");
+            json.append("\t\t\t\"time\" : ").append(pipe.getElapsedTime()).append(",\n");
+            json.append("\t\t\t\"rows\" : ").append(pipe.getRowCount()).append(",\n");
+            json.append("\t\t\t\"bytes\" : ").append(pipe.getByteCount()).append(",\n");
+            json.append("\t\t\t\"rowsPerSecond\" : ").append(String.format(Locale.ENGLISH, "%.1f", pipe.getRowsPerSecond())).append(",\n");
+            json.append("\t\t\t\"bytesPerSecond\" : ").append(String.format(Locale.ENGLISH, "%.1f", pipe.getBytesPerSecond())).append(",\n");
+            json.append("\t\t\t\"stages\" : {");
+            DataTransferStatistics.Stage[] stages = DataTransferStatistics.Stage.values();
+            for (int k = 0; k < stages.length; k++) {
+                if (k > 0) json.append(",");
+                json.append(" \"").append(stages[k].getId()).append("\" : ").append(pipe.getStageTime(stages[k]));
+            }
+            json.append(" }\n");
+            json.append("\t\t}");
+        }
+        json.append("\n\t]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Report file name is unique for each transfer (it contains transfer finish time)
+     */
+    @NotNull
+    public String getReportFileName() {
+        return "data-transfer-" + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.ENGLISH).format(finishTime) + ".json"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    public void writeToFile(@NotNull File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(toJSON().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Metrics of a single data transfer pipe.
+ *
+ * Stage times are collected by consumer in nanoseconds. Stages may run in different threads
+ * (e.g. pipelined load), so sum of stage times may exceed elapsed time.
+ */
+public class DataTransferStatistics {
+
+    public enum Stage {
+        // Reading of source rows (time between consumer calls)
+        FETCH("fetch"),
+        // Reading of row values and conversion to target format
+        CONVERT("convert"),
+        // Execution of insert batches
+        EXECUTE("execute"),
+        // Transaction commits
+        COMMIT("commit"),
+        // Formatting and writing of output stream
+        OUTPUT("output");
+
+        private final String id;
+
+        Stage(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    private final String producerName;
+    private final String consumerName;
+    private final AtomicLongArray stageTimes = new AtomicLongArray(Stage.values().length);
+    private final AtomicLong rowCount = new AtomicLong();
+    private final AtomicLong byteCount = new AtomicLong();
+    private volatile long startTime;
+    private volatile long endTime;
+    private volatile boolean success;
+
+    public DataTransferStatistics(String producerName, String consumerName) {
+        this.producerName = producerName;
+        this.consumerName = consumerName;
+    }
+
+    public String getProducerName() {
+        return producerName;
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    public void start() {
+        startTime = System.currentTimeMillis();
+    }
+
+    public void finish(boolean success) {
+        this.endTime = System.currentTimeMillis();
+        this.success = success;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void addTime(Stage stage, long nanos) {
+        stageTimes.addAndGet(stage.ordinal(), nanos);
+    }
+
+    public void addRows(long rows) {
+        rowCount.addAndGet(rows);
+    }
+
+    public void addBytes(long bytes) {
+        byteCount.addAndGet(bytes);
+    }
+
+    /**
+     * Stage time in milliseconds
+     */
+    public long getStageTime(Stage stage) {
+        return stageTimes.get(stage.ordinal()) / 1000000;
+    }
+
+    public long getRowCount() {
+        return rowCount.get();
+    }
+
+    public long getByteCount() {
+        return byteCount.get();
+    }
+
+    /**
+     * Elapsed time in milliseconds
+     */
+    public long getElapsedTime() {
+        long end = endTime == 0 ? System.currentTimeMillis() : endTime;
+        return startTime == 0 ? 0 : end - startTime;
+    }
+
+    public double getRowsPerSecond() {
+        return perSecond(getRowCount());
+    }
+
+    public double getBytesPerSecond() {
+        return perSecond(getByteCount());
+    }
+
+    private double perSecond(long value) {
+        long time = getElapsedTime();
+        return time <= 0 ? 0 : value * 1000.0 / time;
+    }
+
+}
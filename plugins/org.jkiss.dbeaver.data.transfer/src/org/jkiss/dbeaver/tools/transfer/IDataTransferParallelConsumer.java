@@ -0,0 +1,36 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer;
+
+import org.jkiss.code.Nullable;
+
+/**
+ * Consumer which supports parallel data load.
+ * Producer may split source data and feed additional consumers from separate threads.
+ */
+public interface IDataTransferParallelConsumer {
+
+    /**
+     * Creates consumer which writes into the same target object using its own connection.
+     * Caller is responsible for fetchStart/fetchEnd/close calls.
+     * Target objects must be already created (startTransfer of this consumer was called).
+     * @return new consumer or null if parallel load isn't possible
+     */
+    @Nullable
+    IDataTransferConsumer createParallelConsumer();
+
+}
@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+/**
+ * Chooses number of rows in insert batch (and transaction) by measured batch execution time.
+ *
+ * Batch size is doubled while throughput grows and transaction fits in the time limit.
+ * If throughput drops after the growth then previous size is restored and it becomes the upper bound.
+ * If transaction takes more than the time limit then size is decreased proportionally.
+ * Batch rows are kept in memory, so size is also limited by estimated batch bytes.
+ */
+class DatabaseCommitSizeTuner {
+
+    static final int MIN_COMMIT_SIZE = 100;
+    static final int MAX_COMMIT_SIZE = 50000;
+    static final long MAX_BATCH_BYTES = 32 * 1024 * 1024;
+
+    // Throughput change less than this is treated as noise
+    private static final double THROUGHPUT_TOLERANCE = 0.1;
+
+    private final long maxTransactionTime;
+    private int commitSize;
+    private int prevCommitSize;
+    private double prevThroughput;
+    // Size which was too slow or too long. Batch doesn't grow up to it again.
+    private int sizeLimit = MAX_COMMIT_SIZE + 1;
+
+    private int minChosenSize;
+    private int maxChosenSize;
+    private long batchCount;
+
+    DatabaseCommitSizeTuner(int initialSize, long maxTransactionTime) {
+        this.maxTransactionTime = Math.max(maxTransactionTime, 1);
+        this.commitSize = Math.max(MIN_COMMIT_SIZE, Math.min(MAX_COMMIT_SIZE, initialSize));
+        this.minChosenSize = this.maxChosenSize = this.commitSize;
+    }
+
+    int getCommitSize() {
+        return commitSize;
+    }
+
+    int getMinChosenSize() {
+        return minChosenSize;
+    }
+
+    int getMaxChosenSize() {
+        return maxChosenSize;
+    }
+
+    long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Registers executed and committed batch.
+     * @param rowCount   rows in batch
+     * @param batchBytes estimated size of batch rows in bytes
+     * @param time       execute and commit time in milliseconds
+     * @return new commit size
+     */
+    int update(long rowCount, long batchBytes, long time) {
+        if (rowCount < commitSize) {
+            // Incomplete (last) batch. Its time says nothing about current size.
+            return commitSize;
+        }
+        batchCount++;
+        time = Math.max(time, 1);
+        double throughput = rowCount * 1000.0 / time;
+
+        int newSize = commitSize;
+        if (time > maxTransactionTime) {
+            // Transaction is too long. Shrink it to fit in time limit with some reserve.
+            newSize = (int) (rowCount * maxTransactionTime * 0.8 / time);
+            sizeLimit = commitSize;
+        } else if (prevThroughput > 0 && commitSize > prevCommitSize && throughput < prevThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+            // Bigger batch is slower. Go back.
+            newSize = prevCommitSize;
+            sizeLimit = commitSize;
+        } else if (time * 2 < maxTransactionTime && (long) commitSize * 2 < sizeLimit &&
+            (prevThroughput == 0 || throughput >= prevThroughput * (1 - THROUGHPUT_TOLERANCE)))
+        {
+            newSize = commitSize * 2;
+        }
+        if (batchBytes > 0) {
+            // Wide rows. Don't keep more than MAX_BATCH_BYTES in memory.
+            newSize = (int) Math.min(newSize, rowCount * MAX_BATCH_BYTES / batchBytes);
+        }
+        newSize = Math.max(MIN_COMMIT_SIZE, Math.min(MAX_COMMIT_SIZE, newSize));
+
+        prevCommitSize = commitSize;
+        prevThroughput = throughput;
+        commitSize = newSize;
+        minChosenSize = Math.min(minChosenSize, newSize);
+        maxChosenSize = Math.max(maxChosenSize, newSize);
+        return commitSize;
+    }
+
+}
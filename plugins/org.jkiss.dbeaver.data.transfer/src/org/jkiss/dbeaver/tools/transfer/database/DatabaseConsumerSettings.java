@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.navigator.DBNNode;
 import org.jkiss.dbeaver.model.runtime.DefaultProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator.ExecuteBatch.NullsMode;
 import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
@@ -55,15 +56,35 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
 
     private static final Log log = Log.getLog(DatabaseConsumerSettings.class);
 
+    public enum InsertMode {
+        // Single row INSERT statements executed in batches
+        BATCH,
+        // Multiple rows in a single INSERT ... VALUES statement (if supported by target database)
+        MULTI_ROW_VALUES
+    }
+
+    public static final int DEFAULT_MULTI_ROW_INSERT_SIZE = 100;
+    public static final int DEFAULT_MAX_TRANSACTION_TIME = 10;
+
     private String containerNodePath;
     private DBNDatabaseNode containerNode;
     private Map<DBSDataContainer, DatabaseMappingContainer> dataMappings = new LinkedHashMap<>();
     private boolean openNewConnections = true;
     private boolean useTransactions = true;
     private int commitAfterRows = 10000;
+    private boolean adaptiveCommit = false;
+    private int maxTransactionTime = DEFAULT_MAX_TRANSACTION_TIME;
     private boolean transferAutoGeneratedColumns = true;
     private boolean truncateBeforeLoad = false;
     private boolean openTableOnFinish = true;
+    private NullsMode nullsMode = NullsMode.SKIP;
+    private InsertMode insertMode = InsertMode.BATCH;
+    private int multiRowInsertSize = DEFAULT_MULTI_ROW_INSERT_SIZE;
+    private boolean useBulkLoad = false;
+    private boolean pipelinedLoad = false;
+    private boolean useCheckpoints = false;
+    private boolean valuePassthrough = false;
+    private boolean nativeCopy = false;
 
     private transient IDialogSettings dialogSettings;
 
@@ -109,6 +130,25 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         return true;
     }
 
+    public boolean isAdaptiveCommit() {
+        return adaptiveCommit;
+    }
+
+    public void setAdaptiveCommit(boolean adaptiveCommit) {
+        this.adaptiveCommit = adaptiveCommit;
+    }
+
+    /**
+     * Maximum transaction duration (in seconds) for adaptive commit size
+     */
+    public int getMaxTransactionTime() {
+        return maxTransactionTime;
+    }
+
+    public void setMaxTransactionTime(int maxTransactionTime) {
+        this.maxTransactionTime = maxTransactionTime;
+    }
+
     public boolean isTransferAutoGeneratedColumns() {
         return transferAutoGeneratedColumns;
     }
@@ -157,6 +197,72 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         this.commitAfterRows = commitAfterRows;
     }
 
+    @NotNull
+    public NullsMode getNullsMode() {
+        return nullsMode;
+    }
+
+    public void setNullsMode(@NotNull NullsMode nullsMode) {
+        this.nullsMode = nullsMode;
+    }
+
+    @NotNull
+    public InsertMode getInsertMode() {
+        return insertMode;
+    }
+
+    public void setInsertMode(@NotNull InsertMode insertMode) {
+        this.insertMode = insertMode;
+    }
+
+    public int getMultiRowInsertSize() {
+        return multiRowInsertSize;
+    }
+
+    public void setMultiRowInsertSize(int multiRowInsertSize) {
+        this.multiRowInsertSize = multiRowInsertSize;
+    }
+
+    public boolean isUseBulkLoad() {
+        return useBulkLoad;
+    }
+
+    public void setUseBulkLoad(boolean useBulkLoad) {
+        this.useBulkLoad = useBulkLoad;
+    }
+
+    public boolean isPipelinedLoad() {
+        return pipelinedLoad;
+    }
+
+    public void setPipelinedLoad(boolean pipelinedLoad) {
+        this.pipelinedLoad = pipelinedLoad;
+    }
+
+    public boolean isValuePassthrough() {
+        return valuePassthrough;
+    }
+
+    public void setValuePassthrough(boolean valuePassthrough) {
+        this.valuePassthrough = valuePassthrough;
+    }
+
+    public boolean isNativeCopy() {
+        return nativeCopy;
+    }
+
+    public void setNativeCopy(boolean nativeCopy) {
+        this.nativeCopy = nativeCopy;
+    }
+
+    public boolean isUseCheckpoints() {
+        return useCheckpoints;
+    }
+
+    public void setUseCheckpoints(boolean useCheckpoints) {
+        this.useCheckpoints = useCheckpoints;
+    }
+
     @Nullable
     public DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping) {
         DBSObjectContainer container = getContainer();
@@ -183,6 +289,16 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         if (dialogSettings.get("commitAfterRows") != null) {
             commitAfterRows = dialogSettings.getInt("commitAfterRows");
         }
+        if (dialogSettings.get("adaptiveCommit") != null) {
+            adaptiveCommit = dialogSettings.getBoolean("adaptiveCommit");
+        }
+        if (dialogSettings.get("maxTransactionTime") != null) {
+            try {
+                maxTransactionTime = dialogSettings.getInt("maxTransactionTime");
+            } catch (NumberFormatException e) {
+                maxTransactionTime = DEFAULT_MAX_TRANSACTION_TIME;
+            }
+        }
         if (dialogSettings.get("transferAutoGeneratedColumns") != null) {
             transferAutoGeneratedColumns = dialogSettings.getBoolean("transferAutoGeneratedColumns");
         }
@@ -192,6 +308,42 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         if (dialogSettings.get("openTableOnFinish") != null) {
             openTableOnFinish = dialogSettings.getBoolean("openTableOnFinish");
         }
+        if (dialogSettings.get("nullsMode") != null) {
+            try {
+                nullsMode = NullsMode.valueOf(dialogSettings.get("nullsMode"));
+            } catch (IllegalArgumentException e) {
+                nullsMode = NullsMode.SKIP;
+            }
+        }
+        if (dialogSettings.get("insertMode") != null) {
+            try {
+                insertMode = InsertMode.valueOf(dialogSettings.get("insertMode"));
+            } catch (IllegalArgumentException e) {
+                insertMode = InsertMode.BATCH;
+            }
+        }
+        if (dialogSettings.get("multiRowInsertSize") != null) {
+            try {
+                multiRowInsertSize = dialogSettings.getInt("multiRowInsertSize");
+            } catch (NumberFormatException e) {
+                multiRowInsertSize = DEFAULT_MULTI_ROW_INSERT_SIZE;
+            }
+        }
+        if (dialogSettings.get("useBulkLoad") != null) {
+            useBulkLoad = dialogSettings.getBoolean("useBulkLoad");
+        }
+        if (dialogSettings.get("pipelinedLoad") != null) {
+            pipelinedLoad = dialogSettings.getBoolean("pipelinedLoad");
+        }
+        if (dialogSettings.get("valuePassthrough") != null) {
+            valuePassthrough = dialogSettings.getBoolean("valuePassthrough");
+        }
+        if (dialogSettings.get("nativeCopy") != null) {
+            nativeCopy = dialogSettings.getBoolean("nativeCopy");
+        }
+        if (dialogSettings.get("useCheckpoints") != null) {
+            useCheckpoints = dialogSettings.getBoolean("useCheckpoints");
+        }
         {
             List<DataTransferPipe> dataPipes = dataTransferSettings.getDataPipes();
             if (!dataPipes.isEmpty()) {
@@ -231,9 +383,19 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("useTransactions", useTransactions);
         dialogSettings.put("commitAfterRows", commitAfterRows);
+        dialogSettings.put("adaptiveCommit", adaptiveCommit);
+        dialogSettings.put("maxTransactionTime", maxTransactionTime);
         dialogSettings.put("transferAutoGeneratedColumns", transferAutoGeneratedColumns);
         dialogSettings.put("truncateBeforeLoad", truncateBeforeLoad);
         dialogSettings.put("openTableOnFinish", openTableOnFinish);
+        dialogSettings.put("nullsMode", nullsMode.name());
+        dialogSettings.put("insertMode", insertMode.name());
+        dialogSettings.put("multiRowInsertSize", multiRowInsertSize);
+        dialogSettings.put("useBulkLoad", useBulkLoad);
+        dialogSettings.put("pipelinedLoad", pipelinedLoad);
+        dialogSettings.put("valuePassthrough", valuePassthrough);
+        dialogSettings.put("nativeCopy", nativeCopy);
+        dialogSettings.put("useCheckpoints", useCheckpoints);
 
         // Load all data mappings
         IDialogSettings mappings = DialogSettings.getOrCreateSection(dialogSettings, "mappings");
@@ -256,8 +418,22 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         if (useTransactions) {
             DTUtils.addSummary(summary, "Commit after", commitAfterRows);
         }
+        DTUtils.addSummary(summary, "Adaptive commit size", adaptiveCommit);
+        if (adaptiveCommit) {
+            DTUtils.addSummary(summary, "Max transaction time (sec)", maxTransactionTime);
+        }
         DTUtils.addSummary(summary, "Transfer auto-generated columns", transferAutoGeneratedColumns);
         DTUtils.addSummary(summary, "Truncate before load", truncateBeforeLoad);
+        DTUtils.addSummary(summary, "NULL values in batch", nullsMode.name());
+        DTUtils.addSummary(summary, "Use native bulk load", useBulkLoad);
+        DTUtils.addSummary(summary, "Pipelined load", pipelinedLoad);
+        DTUtils.addSummary(summary, "Pass values of the same types as is", valuePassthrough);
+        DTUtils.addSummary(summary, "Native copy between same databases", nativeCopy);
+        DTUtils.addSummary(summary, "Resume from checkpoint", useCheckpoints);
+        DTUtils.addSummary(summary, "Insert mode", insertMode.name());
+        if (insertMode == InsertMode.MULTI_ROW_VALUES) {
+            DTUtils.addSummary(summary, "Rows per INSERT", multiRowInsertSize);
+        }
 
         return summary.toString();
     }
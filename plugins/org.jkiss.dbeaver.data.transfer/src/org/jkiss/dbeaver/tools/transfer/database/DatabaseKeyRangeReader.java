@@ -0,0 +1,450 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferSettings;
+import org.jkiss.utils.CommonUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads data container in several parallel slices.
+ * Slices are ranges of a single-column numeric NOT NULL key. Slices are read by several readers: the first one
+ * works in the producer connection, each other one in its own isolated connection.
+ * All slices are merged into the same data receiver.
+ */
+public class DatabaseKeyRangeReader {
+
+    private static final Log log = Log.getLog(DatabaseKeyRangeReader.class);
+
+    private static final int PROGRESS_STEP = 100;
+
+    private final DBSDataContainer dataContainer;
+    private final List<DBDDataFilter> sliceFilters;
+    private final boolean keepOrder;
+
+    private DatabaseKeyRangeReader(DBSDataContainer dataContainer, List<DBDDataFilter> sliceFilters, boolean keepOrder) {
+        this.dataContainer = dataContainer;
+        this.sliceFilters = sliceFilters;
+        this.keepOrder = keepOrder;
+    }
+
+    public int getSliceCount() {
+        return sliceFilters.size();
+    }
+
+    /**
+     * Computes key range slices.
+     * @return slices reader or null if data container can't be split (no single numeric NOT NULL key or empty table)
+     */
+    @Nullable
+    public static DatabaseKeyRangeReader prepare(
+        @NotNull DBCSession session,
+        @NotNull DBCExecutionSource source,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBDDataFilter dataFilter,
+        int sliceCount,
+        boolean keepOrder) throws DBException
+    {
+        if (sliceCount < 2) {
+            return null;
+        }
+        DBSEntityAttribute keyAttribute = getKeyAttribute(session.getProgressMonitor(), dataContainer);
+        if (keyAttribute == null) {
+            log.debug("No single numeric NOT NULL key in '" + dataContainer.getName() + "'. Read it in single query.");
+            return null;
+        }
+        String keyName = DBUtils.getQuotedIdentifier(keyAttribute);
+
+        StringBuilder query = new StringBuilder("SELECT MIN(").append(keyName).append("), MAX(").append(keyName).append(") FROM "); //$NON-NLS-1$
+        query.append(DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML));
+        SQLUtils.appendQueryConditions(session.getDataSource(), query, null, dataFilter);
+
+        BigDecimal minValue, maxValue;
+        try (DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false)) {
+            dbStat.setStatementSource(source);
+            if (!dbStat.executeStatement()) {
+                return null;
+            }
+            try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                if (dbResult == null || !dbResult.nextRow()) {
+                    return null;
+                }
+                Object minObject = dbResult.getAttributeValue(0);
+                Object maxObject = dbResult.getAttributeValue(1);
+                if (!(minObject instanceof Number) || !(maxObject instanceof Number)) {
+                    // Empty table or non-numeric key
+                    return null;
+                }
+                minValue = new BigDecimal(minObject.toString());
+                maxValue = new BigDecimal(maxObject.toString());
+            }
+        }
+
+        // Split [min..max] on equal ranges. First and last slices are open to not lose any row.
+        boolean integerKey = minValue.scale() <= 0 && maxValue.scale() <= 0;
+        BigDecimal step = maxValue.subtract(minValue).divide(BigDecimal.valueOf(sliceCount), 10, RoundingMode.FLOOR);
+        List<BigDecimal> bounds = new ArrayList<>();
+        for (int i = 1; i < sliceCount; i++) {
+            BigDecimal bound = minValue.add(step.multiply(BigDecimal.valueOf(i)));
+            if (integerKey) {
+                bound = bound.setScale(0, RoundingMode.FLOOR);
+            }
+            if (bounds.isEmpty() || bound.compareTo(bounds.get(bounds.size() - 1)) > 0) {
+                bounds.add(bound);
+            }
+        }
+        if (bounds.isEmpty()) {
+            return null;
+        }
+
+        List<DBDDataFilter> sliceFilters = new ArrayList<>(bounds.size() + 1);
+        for (int i = 0; i <= bounds.size(); i++) {
+            StringBuilder condition = new StringBuilder();
+            if (i > 0) {
+                condition.append(keyName).append(" >= ").append(bounds.get(i - 1).toPlainString());
+            }
+            if (i < bounds.size()) {
+                if (condition.length() > 0) condition.append(" AND ");
+                condition.append(keyName).append(" < ").append(bounds.get(i).toPlainString());
+            }
+            DBDDataFilter sliceFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+            String where = sliceFilter.getWhere();
+            sliceFilter.setWhere(CommonUtils.isEmpty(where) ? condition.toString() : "(" + where + ") AND " + condition);
+            if (keepOrder) {
+                sliceFilter.setOrder(keyName);
+            }
+            sliceFilters.add(sliceFilter);
+        }
+
+        return new DatabaseKeyRangeReader(dataContainer, sliceFilters, keepOrder);
+    }
+
+    @Nullable
+    private static DBSEntityAttribute getKeyAttribute(DBRProgressMonitor monitor, DBSDataContainer dataContainer) throws DBException {
+        if (!(dataContainer instanceof DBSEntity)) {
+            return null;
+        }
+        Collection<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, (DBSEntity) dataContainer);
+        if (identifier.size() != 1) {
+            return null;
+        }
+        DBSEntityAttribute keyAttribute = identifier.iterator().next();
+        // Range conditions never match NULL keys (best identifier may be a nullable unique key)
+        return keyAttribute.getDataKind() == DBPDataKind.NUMERIC && keyAttribute.isRequired() ? keyAttribute : null;
+    }
+
+    /**
+     * Reads all slices in parallel. Readers read slices one by one.
+     * First reader works in the producer session (in the current thread), so it uses the connection slot
+     * of the transfer pipe. Additional readers open their own isolated connections and are started only
+     * while transfer settings allow more jobs per connection.
+     * Returns when all slices are finished. First slice error is rethrown.
+     */
+    public void readData(
+        @NotNull DBCSession session,
+        @NotNull DBDDataReceiver dataReceiver,
+        long readFlags,
+        int fetchSize,
+        @Nullable DataTransferSettings transferSettings) throws DBException
+    {
+        MergingReceiver mergingReceiver = new MergingReceiver(session.getProgressMonitor(), dataReceiver);
+        DBPDataSourceContainer dataSourceContainer = dataContainer.getDataSource().getContainer();
+        List<SliceReaderJob> jobs = new ArrayList<>(sliceFilters.size());
+        for (int i = 1; i < sliceFilters.size(); i++) {
+            if (transferSettings != null && !transferSettings.tryAcquireDataSource(dataSourceContainer)) {
+                // Connection limit reached. Remaining slices will be read by already started readers.
+                break;
+            }
+            SliceReaderJob job = new SliceReaderJob(i, mergingReceiver, readFlags, fetchSize, transferSettings);
+            jobs.add(job);
+            job.schedule();
+        }
+        try {
+            readSlices(mergingReceiver, session.getExecutionContext(), session, readFlags, fetchSize);
+        } catch (Throwable e) {
+            mergingReceiver.abort(e);
+        }
+        for (SliceReaderJob job : jobs) {
+            try {
+                job.join();
+            } catch (InterruptedException e) {
+                mergingReceiver.abort(new DBCException("Data transfer interrupted"));
+            }
+        }
+        // Slices which weren't read because of error or cancel
+        mergingReceiver.finishAllSlices();
+        if (mergingReceiver.error != null) {
+            if (mergingReceiver.error instanceof DBException) {
+                throw (DBException) mergingReceiver.error;
+            }
+            throw new DBException("Error reading table slice", mergingReceiver.error);
+        }
+    }
+
+    /**
+     * Reads slices in the session until all slices are taken
+     */
+    private void readSlices(MergingReceiver mergingReceiver, DBCExecutionContext context, DBCSession session, long readFlags, int fetchSize) throws DBException {
+        for (int sliceIndex = mergingReceiver.nextSlice(); sliceIndex >= 0; sliceIndex = mergingReceiver.nextSlice()) {
+            SliceReceiver sliceReceiver = mergingReceiver.createSliceReceiver(sliceIndex);
+            try {
+                dataContainer.readData(
+                    new AbstractExecutionSource(dataContainer, context, sliceReceiver),
+                    session,
+                    sliceReceiver,
+                    sliceFilters.get(sliceIndex),
+                    -1,
+                    -1,
+                    readFlags,
+                    fetchSize);
+            } finally {
+                mergingReceiver.finishSlice(sliceIndex);
+            }
+        }
+    }
+
+    private class SliceReaderJob extends AbstractJob {
+        private final MergingReceiver mergingReceiver;
+        private final long readFlags;
+        private final int fetchSize;
+        @Nullable
+        private final DataTransferSettings slotOwner;
+
+        SliceReaderJob(int readerIndex, MergingReceiver mergingReceiver, long readFlags, int fetchSize, @Nullable DataTransferSettings slotOwner) {
+            super("Read " + dataContainer.getName() + " slices [" + (readerIndex + 1) + "]");
+            this.mergingReceiver = mergingReceiver;
+            this.readFlags = readFlags;
+            this.fetchSize = fetchSize;
+            this.slotOwner = slotOwner;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            try {
+                if (mergingReceiver.isFinished()) {
+                    // Slices were already taken by other readers
+                    return Status.OK_STATUS;
+                }
+                DBCExecutionContext context = DBUtils.getObjectOwnerInstance(dataContainer).openIsolatedContext(monitor, "Data transfer producer slice");
+                try {
+                    // Turn off auto-commit. Some drivers use fetch size and read LOBs only in transactional mode
+                    DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+                    if (txnManager != null) {
+                        try {
+                            txnManager.setAutoCommit(monitor, false);
+                        } catch (DBCException e) {
+                            log.warn("Can't change auto-commit", e);
+                        }
+                    }
+                    try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, getName())) {
+                        session.enableLogging(false);
+                        readSlices(mergingReceiver, context, session, readFlags, fetchSize);
+                        if (txnManager != null && !txnManager.isAutoCommit()) {
+                            txnManager.commit(session);
+                        }
+                    }
+                } finally {
+                    context.close();
+                }
+            } catch (Throwable e) {
+                mergingReceiver.abort(e);
+            } finally {
+                if (slotOwner != null) {
+                    slotOwner.releaseDataSource(dataContainer.getDataSource().getContainer());
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Serializes slices' rows into the target receiver.
+     * Target receives single fetchStart/fetchEnd/close sequence.
+     */
+    private class MergingReceiver {
+        private final DBRProgressMonitor monitor;
+        private final DBDDataReceiver target;
+        private final BitSet endedSlices = new BitSet();
+        private final BitSet finishedSlices = new BitSet();
+        private boolean started;
+        private boolean ended;
+        private boolean closed;
+        private int currentSlice;
+        private int nextSlice;
+        private long rowCount;
+        private volatile Throwable error;
+
+        MergingReceiver(DBRProgressMonitor monitor, DBDDataReceiver target) {
+            this.monitor = monitor;
+            this.target = target;
+        }
+
+        SliceReceiver createSliceReceiver(int sliceIndex) {
+            return new SliceReceiver(this, sliceIndex);
+        }
+
+        /**
+         * Returns next slice to read or -1 if all slices were taken or transfer was aborted.
+         * Slices are taken in key order, so the current (lowest unfinished) slice is always being read.
+         */
+        synchronized int nextSlice() {
+            if (nextSlice >= sliceFilters.size() || error != null || monitor.isCanceled()) {
+                return -1;
+            }
+            return nextSlice++;
+        }
+
+        synchronized boolean isFinished() {
+            return nextSlice >= sliceFilters.size() || error != null || monitor.isCanceled();
+        }
+
+        synchronized void abort(Throwable e) {
+            if (error == null) {
+                error = e;
+            }
+            notifyAll();
+        }
+
+        synchronized void fetchStart(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            checkAborted();
+            if (!started) {
+                target.fetchStart(session, resultSet, 0, -1);
+                started = true;
+            }
+        }
+
+        synchronized void fetchRow(int sliceIndex, DBCSession session, DBCResultSet resultSet) throws DBCException {
+            if (keepOrder) {
+                // Wait for previous slices
+                while (error == null && currentSlice != sliceIndex && !monitor.isCanceled()) {
+                    try {
+                        wait(1000);
+                    } catch (InterruptedException e) {
+                        throw new DBCException("Slice read interrupted");
+                    }
+                }
+            }
+            checkAborted();
+            target.fetchRow(session, resultSet);
+            rowCount++;
+            if (rowCount % PROGRESS_STEP == 0) {
+                monitor.subTask(rowCount + " rows transferred");
+                monitor.worked(PROGRESS_STEP);
+            }
+        }
+
+        synchronized void fetchEnd(int sliceIndex, DBCSession session, DBCResultSet resultSet) throws DBCException {
+            endedSlices.set(sliceIndex);
+            for (int i = 0; i < sliceFilters.size(); i++) {
+                if (!endedSlices.get(i) && !finishedSlices.get(i)) {
+                    // Some other slice is still running
+                    return;
+                }
+            }
+            if (started && !ended) {
+                ended = true;
+                target.fetchEnd(session, resultSet);
+            }
+        }
+
+        synchronized void finishSlice(int sliceIndex) {
+            finishedSlices.set(sliceIndex);
+            while (currentSlice < sliceFilters.size() && finishedSlices.get(currentSlice)) {
+                currentSlice++;
+            }
+            if (finishedSlices.cardinality() == sliceFilters.size() && !closed) {
+                closed = true;
+                target.close();
+            }
+            notifyAll();
+        }
+
+        synchronized void finishAllSlices() {
+            for (int i = finishedSlices.nextClearBit(0); i < sliceFilters.size(); i = finishedSlices.nextClearBit(i + 1)) {
+                finishSlice(i);
+            }
+        }
+
+        private void checkAborted() throws DBCException {
+            if (monitor.isCanceled()) {
+                throw new DBCException("Data transfer canceled");
+            }
+            if (error != null) {
+                throw new DBCException("Data transfer aborted by another slice error");
+            }
+        }
+    }
+
+    private static class SliceReceiver implements DBDDataReceiver {
+        private final MergingReceiver owner;
+        private final int sliceIndex;
+
+        SliceReceiver(MergingReceiver owner, int sliceIndex) {
+            this.owner = owner;
+            this.sliceIndex = sliceIndex;
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException {
+            owner.fetchStart(session, resultSet);
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            owner.fetchRow(sliceIndex, session, resultSet);
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
+            owner.fetchEnd(sliceIndex, session, resultSet);
+        }
+
+        @Override
+        public void close() {
+            // Target is closed after all slices are finished
+        }
+    }
+
+}
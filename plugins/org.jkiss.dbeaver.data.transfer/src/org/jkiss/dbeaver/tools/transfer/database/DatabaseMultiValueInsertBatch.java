@@ -0,0 +1,215 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueBinder;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.sql.SQLDataSource;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insert batch which puts multiple rows in a single INSERT ... VALUES (...),(...) statement.
+ * All values (including NULLs) are bound explicitly, so NULLs mode is ignored.
+ * Number of rows per statement is limited by dialect parameters and VALUES rows limits.
+ */
+class DatabaseMultiValueInsertBatch implements DBSDataManipulator.ExecuteBatch {
+
+    private static final Log log = Log.getLog(DatabaseMultiValueInsertBatch.class);
+
+    private final DBSDataManipulator targetObject;
+    private final DBSAttributeBase[] attributes;
+    private final DBCExecutionSource source;
+    private final int rowsPerStatement;
+    private final List<Object[]> values = new ArrayList<>();
+
+    private DBDValueHandler[] handlers;
+    private DBCStatement fullStatement;
+
+    DatabaseMultiValueInsertBatch(
+        @NotNull DBSDataManipulator targetObject,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int rowsPerStatement)
+    {
+        this.targetObject = targetObject;
+        this.attributes = attributes;
+        this.source = source;
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    /**
+     * Checks whether target data source can insert multiple rows in a single statement
+     */
+    static boolean isSupported(@NotNull DBPDataSource dataSource) {
+        return dataSource instanceof SQLDataSource &&
+            ((SQLDataSource) dataSource).getSQLDialect().supportsMultiRowInsertValues();
+    }
+
+    /**
+     * Calculates number of rows which fit in a single statement
+     * @param maxRows rows count requested by user
+     */
+    static int getRowsPerStatement(@NotNull DBPDataSource dataSource, int attributeCount, int maxRows) {
+        int rowCount = Math.max(maxRows, 1);
+        if (dataSource instanceof SQLDataSource && attributeCount > 0) {
+            SQLDialect dialect = ((SQLDataSource) dataSource).getSQLDialect();
+            int maxParameters = dialect.getMaxStatementParameters();
+            if (maxParameters > 0) {
+                rowCount = Math.min(rowCount, Math.max(maxParameters / attributeCount, 1));
+            }
+            int maxValuesRows = dialect.getMaxInsertValuesRows();
+            if (maxValuesRows > 0) {
+                rowCount = Math.min(rowCount, maxValuesRows);
+            }
+        }
+        return rowCount;
+    }
+
+    @Override
+    public void add(@NotNull Object[] attributeValues) throws DBCException {
+        if (attributeValues.length != attributes.length) {
+            throw new DBCException("Bad attribute values: " + attributeValues.length + " (" + attributes.length + " expected)");
+        }
+        values.add(attributeValues);
+    }
+
+    @Override
+    public void setNullsMode(@NotNull NullsMode nullsMode) {
+        // NULLs are always bound explicitly
+    }
+
+    @NotNull
+    @Override
+    public DBCStatistics execute(@NotNull DBCSession session) throws DBCException {
+        DBCStatistics statistics = new DBCStatistics();
+        if (values.isEmpty()) {
+            return statistics;
+        }
+        if (handlers == null) {
+            handlers = new DBDValueHandler[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+            }
+        }
+        try {
+            for (int offset = 0; offset < values.size(); offset += rowsPerStatement) {
+                int rowCount = Math.min(rowsPerStatement, values.size() - offset);
+                DBCStatement statement;
+                if (rowCount == rowsPerStatement) {
+                    if (fullStatement == null) {
+                        fullStatement = prepareStatement(session, offset, rowCount);
+                        statistics.addStatementsCount();
+                    }
+                    statement = fullStatement;
+                } else {
+                    // Tail of the batch. Use one-time statement
+                    statement = prepareStatement(session, offset, rowCount);
+                    statistics.addStatementsCount();
+                }
+                try {
+                    statistics.setQueryText(statement.getQueryString());
+                    bindStatement(session, statement, offset, rowCount);
+
+                    long startTime = System.currentTimeMillis();
+                    statement.executeStatement();
+                    statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                    int updatedRows = statement.getUpdateRowCount();
+                    statistics.addRowsUpdated(updatedRows < 0 ? rowCount : updatedRows);
+                } finally {
+                    if (statement != fullStatement) {
+                        statement.close();
+                    }
+                }
+            }
+        } finally {
+            values.clear();
+        }
+        return statistics;
+    }
+
+    @Override
+    public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions) throws DBCException {
+        throw new DBCException("Persist actions generation is not supported by multi-value insert");
+    }
+
+    @Override
+    public void close() {
+        if (fullStatement != null) {
+            try {
+                fullStatement.close();
+            } catch (Throwable e) {
+                log.debug("Error closing insert statement", e);
+            }
+            fullStatement = null;
+        }
+    }
+
+    private DBCStatement prepareStatement(@NotNull DBCSession session, int offset, int rowCount) throws DBCException {
+        DBPDataSource dataSource = session.getDataSource();
+        StringBuilder query = new StringBuilder(100 + rowCount * attributes.length * 3);
+        query.append("INSERT INTO ").append(DBUtils.getObjectFullName(targetObject, DBPEvaluationContext.DML)).append(" ("); //$NON-NLS-1$
+        for (int i = 0; i < attributes.length; i++) {
+            if (i > 0) query.append(","); //$NON-NLS-1$
+            query.append(DBUtils.getObjectFullName(dataSource, attributes[i], DBPEvaluationContext.DML));
+        }
+        query.append(")\n\tVALUES "); //$NON-NLS-1$
+        for (int row = 0; row < rowCount; row++) {
+            if (row > 0) query.append(","); //$NON-NLS-1$
+            query.append("("); //$NON-NLS-1$
+            Object[] rowValues = values.get(offset + row);
+            for (int i = 0; i < attributes.length; i++) {
+                if (i > 0) query.append(","); //$NON-NLS-1$
+                query.append(makeParameterBind(handlers[i], attributes[i], rowValues[i]));
+            }
+            query.append(")"); //$NON-NLS-1$
+        }
+        DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false);
+        dbStat.setStatementSource(source);
+        return dbStat;
+    }
+
+    private void bindStatement(@NotNull DBCSession session, @NotNull DBCStatement statement, int offset, int rowCount) throws DBCException {
+        int paramIndex = 0;
+        for (int row = 0; row < rowCount; row++) {
+            Object[] rowValues = values.get(offset + row);
+            for (int i = 0; i < attributes.length; i++) {
+                handlers[i].bindValueObject(session, statement, attributes[i], paramIndex++, rowValues[i]);
+            }
+        }
+    }
+
+    private static String makeParameterBind(DBDValueHandler valueHandler, DBSAttributeBase attribute, @Nullable Object value) throws DBCException {
+        if (valueHandler instanceof DBDValueBinder) {
+            return ((DBDValueBinder) valueHandler).makeQueryBind(attribute, value);
+        }
+        return "?"; //$NON-NLS-1$
+    }
+
+}
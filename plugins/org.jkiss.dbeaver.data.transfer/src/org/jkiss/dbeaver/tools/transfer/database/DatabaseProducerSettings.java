@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.tools.transfer.database;
 
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.operation.IRunnableContext;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
@@ -31,11 +32,13 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
 
     public enum ExtractType {
         SINGLE_QUERY,
-        SEGMENTS
+        SEGMENTS,
+        KEY_RANGES
     }
 
     private static final int DEFAULT_SEGMENT_SIZE = 100000;
     private static final int DEFAULT_FETCH_SIZE = 10000;
+    private static final int DEFAULT_SLICE_COUNT = 4;
 
     private int segmentSize = DEFAULT_SEGMENT_SIZE;
 
@@ -45,10 +48,21 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     private boolean selectedColumnsOnly = false;
     private ExtractType extractType = ExtractType.SINGLE_QUERY;
     private int fetchSize = DEFAULT_FETCH_SIZE;
+    private int sliceCount = DEFAULT_SLICE_COUNT;
+    private boolean keepSliceOrder = false;
+    private transient DataTransferSettings transferSettings;
 
     public DatabaseProducerSettings() {
     }
 
+    /**
+     * Transfer settings this producer settings belong to. Null if settings weren't loaded from the wizard.
+     */
+    @Nullable
+    public DataTransferSettings getTransferSettings() {
+        return transferSettings;
+    }
+
     public int getSegmentSize() {
         return segmentSize;
     }
@@ -107,8 +121,27 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         this.extractType = extractType;
     }
 
+    public int getSliceCount() {
+        return sliceCount;
+    }
+
+    public void setSliceCount(int sliceCount) {
+        if (sliceCount > 0) {
+            this.sliceCount = sliceCount;
+        }
+    }
+
+    public boolean isKeepSliceOrder() {
+        return keepSliceOrder;
+    }
+
+    public void setKeepSliceOrder(boolean keepSliceOrder) {
+        this.keepSliceOrder = keepSliceOrder;
+    }
+
     @Override
     public void loadSettings(IRunnableContext runnableContext, DataTransferSettings dataTransferSettings, IDialogSettings dialogSettings) {
+        this.transferSettings = dataTransferSettings;
         if (dialogSettings.get("extractType") != null) {
             try {
                 extractType = ExtractType.valueOf(dialogSettings.get("extractType"));
@@ -121,6 +154,14 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         } catch (NumberFormatException e) {
             segmentSize = DEFAULT_SEGMENT_SIZE;
         }
+        try {
+            sliceCount = dialogSettings.getInt("sliceCount");
+        } catch (NumberFormatException e) {
+            sliceCount = DEFAULT_SLICE_COUNT;
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("keepSliceOrder"))) {
+            keepSliceOrder = dialogSettings.getBoolean("keepSliceOrder");
+        }
         if (!CommonUtils.isEmpty(dialogSettings.get("openNewConnections"))) {
             openNewConnections = dialogSettings.getBoolean("openNewConnections");
         }
@@ -139,6 +180,8 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     public void saveSettings(IDialogSettings dialogSettings) {
         dialogSettings.put("extractType", extractType.name());
         dialogSettings.put("segmentSize", segmentSize);
+        dialogSettings.put("sliceCount", sliceCount);
+        dialogSettings.put("keepSliceOrder", keepSliceOrder);
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("queryRowCount", queryRowCount);
         dialogSettings.put("selectedColumnsOnly", selectedColumnsOnly);
@@ -151,6 +194,10 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_new_connection, openNewConnections);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_extract_type, extractType.name());
+        if (extractType == ExtractType.KEY_RANGES) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_slice_count, sliceCount);
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_keep_slice_order, keepSliceOrder);
+        }
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_select_row_count, queryRowCount);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_selected_rows_only, selectedRowsOnly);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_selected_columns_only, selectedColumnsOnly);
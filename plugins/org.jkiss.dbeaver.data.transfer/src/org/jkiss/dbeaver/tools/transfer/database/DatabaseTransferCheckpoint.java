@@ -0,0 +1,285 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Properties;
+
+/**
+ * Data transfer checkpoint.
+ * Keeps position of the last committed row of a source table loaded into a target table.
+ *
+ * If source has a single numeric or string NOT NULL key then source is read ordered by this key and
+ * the value of the last committed key is saved. Otherwise source is read ordered by all its simple columns
+ * and the number of committed rows is saved.
+ * Interrupted transfer reads only rows after the checkpoint. Checkpoint is deleted after successful transfer.
+ */
+public class DatabaseTransferCheckpoint {
+
+    private static final Log log = Log.getLog(DatabaseTransferCheckpoint.class);
+
+    private static final String CHECKPOINTS_FOLDER = "data-transfer-checkpoints"; //$NON-NLS-1$
+
+    private static final String PROP_SOURCE = "source"; //$NON-NLS-1$
+    private static final String PROP_TARGET = "target"; //$NON-NLS-1$
+    private static final String PROP_KEY_ATTRIBUTE = "keyAttribute"; //$NON-NLS-1$
+    private static final String PROP_LAST_KEY = "lastKey"; //$NON-NLS-1$
+    private static final String PROP_ROW_COUNT = "rowCount"; //$NON-NLS-1$
+
+    private final File file;
+    private final String sourceId;
+    private final String targetId;
+    // Restored position
+    private String resumeKeyAttribute;
+    private String resumeKey;
+    private long resumeRowCount;
+    // Key of the current transfer
+    private DBSEntityAttribute keyAttribute;
+
+    private DatabaseTransferCheckpoint(File file, String sourceId, String targetId) {
+        this.file = file;
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+    }
+
+    /**
+     * Opens checkpoint of source/target pair. Saved state is read if exists.
+     */
+    @NotNull
+    public static DatabaseTransferCheckpoint open(@NotNull String sourceId, @NotNull String targetId) {
+        File folder = new File(GeneralUtils.getMetadataFolder(), CHECKPOINTS_FOLDER);
+        DatabaseTransferCheckpoint checkpoint = new DatabaseTransferCheckpoint(
+            new File(folder, makeFileName(sourceId, targetId)), sourceId, targetId);
+        checkpoint.load();
+        return checkpoint;
+    }
+
+    /**
+     * Checkpoint has some committed rows. Target must not be truncated.
+     */
+    public boolean isResumed() {
+        return resumeKey != null || resumeRowCount > 0;
+    }
+
+    public long getResumeRowCount() {
+        return resumeRowCount;
+    }
+
+    @Nullable
+    public DBSEntityAttribute getKeyAttribute() {
+        return keyAttribute;
+    }
+
+    /**
+     * Number of source rows which must be skipped. Non-zero if checkpoint was saved without key.
+     * Rows must be read with {@link #makeResumeFilter} order.
+     */
+    public long getResumeOffset() {
+        return resumeKey == null ? resumeRowCount : 0;
+    }
+
+    /**
+     * Makes filter which reads source rows in stable order.
+     * If source has a key then only rows after the checkpoint key are read.
+     * Otherwise rows are ordered by all simple columns and {@link #getResumeOffset()} rows must be skipped.
+     */
+    @NotNull
+    public DBDDataFilter makeResumeFilter(@NotNull DBRProgressMonitor monitor, @NotNull DBSDataContainer dataContainer, @Nullable DBDDataFilter dataFilter) throws DBException {
+        keyAttribute = findKeyAttribute(monitor, dataContainer);
+        DBDDataFilter resumeFilter = dataFilter == null ? new DBDDataFilter() : new DBDDataFilter(dataFilter);
+        if (keyAttribute == null) {
+            if (resumeKey != null) {
+                throw new DBException("Checkpoint of '" + sourceId + "' was saved for key '" + resumeKeyAttribute +
+                    "' but source has no key now. Delete checkpoint file " + file.getAbsolutePath());
+            }
+            // Offset makes sense only if rows order is the same in all transfers
+            String order = makeAttributesOrder(monitor, dataContainer);
+            if (order != null) {
+                resumeFilter.setOrder(order);
+            } else {
+                log.warn("Can't determine stable rows order of '" + dataContainer.getName() + "'. Resume may skip or duplicate rows.");
+            }
+            return resumeFilter;
+        }
+        // Checkpoint saved without key is resumed by offset in key order
+        String keyName = DBUtils.getQuotedIdentifier(keyAttribute);
+        if (resumeKey != null) {
+            if (!keyAttribute.getName().equals(resumeKeyAttribute)) {
+                throw new DBException("Checkpoint of '" + sourceId + "' was saved for key '" + resumeKeyAttribute +
+                    "' but current key is '" + keyAttribute.getName() + "'. Delete checkpoint file " + file.getAbsolutePath());
+            }
+            String keyValue = keyAttribute.getDataKind() == DBPDataKind.NUMERIC ?
+                new BigDecimal(resumeKey).toPlainString() :
+                SQLUtils.quoteString(dataContainer.getDataSource(), resumeKey);
+            String condition = keyName + " > " + keyValue;
+            String where = resumeFilter.getWhere();
+            resumeFilter.setWhere(CommonUtils.isEmpty(where) ? condition : "(" + where + ") AND " + condition);
+        }
+        resumeFilter.setOrder(keyName);
+        return resumeFilter;
+    }
+
+    /**
+     * Saves position of the last committed row.
+     * @param rowCount total number of committed rows (including rows committed before resume)
+     * @param lastKey  key value of the last committed row or null if source isn't read in key order
+     */
+    public void commit(long rowCount, @Nullable Object lastKey) {
+        Properties props = new Properties();
+        props.setProperty(PROP_SOURCE, sourceId);
+        props.setProperty(PROP_TARGET, targetId);
+        props.setProperty(PROP_ROW_COUNT, String.valueOf(rowCount));
+        if (keyAttribute != null && lastKey != null) {
+            props.setProperty(PROP_KEY_ATTRIBUTE, keyAttribute.getName());
+            props.setProperty(PROP_LAST_KEY, lastKey instanceof BigDecimal ? ((BigDecimal) lastKey).toPlainString() : lastKey.toString());
+        }
+        File folder = file.getParentFile();
+        if (!folder.exists() && !folder.mkdirs()) {
+            log.warn("Can't create checkpoints folder " + folder.getAbsolutePath());
+            return;
+        }
+        // Write to temp file first, so checkpoint is never corrupted by interrupted write
+        File tempFile = new File(folder, file.getName() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            props.store(new OutputStreamWriter(out, StandardCharsets.UTF_8), "Data transfer checkpoint");
+        } catch (IOException e) {
+            log.warn("Error writing checkpoint " + tempFile.getAbsolutePath(), e);
+            return;
+        }
+        if (file.exists() && !file.delete()) {
+            log.warn("Can't delete old checkpoint " + file.getAbsolutePath());
+        }
+        if (!tempFile.renameTo(file)) {
+            log.warn("Can't rename checkpoint " + tempFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Deletes checkpoint after successful transfer.
+     */
+    public void complete() {
+        if (file.exists() && !file.delete()) {
+            log.warn("Can't delete checkpoint " + file.getAbsolutePath());
+        }
+        resumeKey = null;
+        resumeKeyAttribute = null;
+        resumeRowCount = 0;
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            props.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Error reading checkpoint " + file.getAbsolutePath(), e);
+            return;
+        }
+        resumeKeyAttribute = props.getProperty(PROP_KEY_ATTRIBUTE);
+        resumeKey = props.getProperty(PROP_LAST_KEY);
+        resumeRowCount = CommonUtils.toLong(props.getProperty(PROP_ROW_COUNT));
+        log.debug("Resume transfer of '" + sourceId + "' from checkpoint: " + resumeRowCount + " row(s) committed" +
+            (resumeKey == null ? "" : ", last key " + resumeKeyAttribute + "=" + resumeKey));
+    }
+
+    @Nullable
+    private static DBSEntityAttribute findKeyAttribute(DBRProgressMonitor monitor, DBSDataContainer dataContainer) throws DBException {
+        if (!(dataContainer instanceof DBSEntity)) {
+            return null;
+        }
+        Collection<? extends DBSEntityAttribute> identifier = DBUtils.getBestTableIdentifier(monitor, (DBSEntity) dataContainer);
+        if (identifier.size() != 1) {
+            return null;
+        }
+        DBSEntityAttribute attribute = identifier.iterator().next();
+        if (!attribute.isRequired()) {
+            // Key conditions never match NULLs (best identifier may be a nullable unique key)
+            return null;
+        }
+        switch (attribute.getDataKind()) {
+            case NUMERIC:
+            case STRING:
+                return attribute;
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private static String makeAttributesOrder(DBRProgressMonitor monitor, DBSDataContainer dataContainer) throws DBException {
+        if (!(dataContainer instanceof DBSEntity)) {
+            return null;
+        }
+        StringBuilder order = new StringBuilder();
+        for (DBSEntityAttribute attribute : CommonUtils.safeCollection(((DBSEntity) dataContainer).getAttributes(monitor))) {
+            if (DBUtils.isPseudoAttribute(attribute) || DBUtils.isHiddenObject(attribute)) {
+                continue;
+            }
+            switch (attribute.getDataKind()) {
+                case NUMERIC:
+                case STRING:
+                case DATETIME:
+                case BOOLEAN:
+                    if (order.length() > 0) order.append(",");
+                    order.append(DBUtils.getQuotedIdentifier(attribute));
+                    break;
+                default:
+                    // LOBs and complex types can't be ordered
+                    break;
+            }
+        }
+        return order.length() == 0 ? null : order.toString();
+    }
+
+    private static String makeFileName(String sourceId, String targetId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] hash = digest.digest((sourceId + "->" + targetId).getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(hash.length * 2 + 12);
+            for (byte b : hash) {
+                name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return name.append(".properties").toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Should never happen
+            return CommonUtils.escapeFileName(sourceId + "-" + targetId) + ".properties";
+        }
+    }
+
+}
@@ -16,15 +16,21 @@
  */
 package org.jkiss.dbeaver.tools.transfer.database;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.swt.graphics.Color;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDataSource;
@@ -35,21 +41,28 @@ import org.jkiss.dbeaver.model.struct.rdb.DBSManipulationType;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.ui.DBPPlatformUI;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
+import org.jkiss.dbeaver.tools.transfer.*;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.dialogs.exec.ExecutionQueueErrorJob;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Stream transfer consumer
  */
-public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor> {
+public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseConsumerSettings, IDataTransferProcessor>, IDataTransferParallelConsumer, IDataTransferInstrumentedConsumer {
 
     private static final Log log = Log.getLog(DatabaseTransferConsumer.class);
 
+    private static final int PIPELINE_QUEUE_SIZE = 10000;
+    private static final long PIPELINE_WAIT_TIMEOUT = 100;
+    // End of data marker in pipeline queue
+    private static final Object[] END_OF_DATA = new Object[0];
+
     private DBSDataContainer sourceObject;
     private DBSDataManipulator targetObject;
     private DatabaseConsumerSettings settings;
@@ -59,9 +72,32 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private DBCSession targetSession;
     private DBSDataManipulator.ExecuteBatch executeBatch;
     private long rowsExported = 0;
+    // Rows added to the batch after last execute
+    private int batchRowCount = 0;
+    // Estimated size of batch rows. Calculated for adaptive commit size only.
+    private long batchBytes = 0;
+    private int commitSize;
+    private DatabaseCommitSizeTuner commitSizeTuner;
+    private final DBCStatistics insertStatistics = new DBCStatistics();
     private boolean ignoreErrors = false;
     private List<DBSEntityAttribute> targetAttributes;
     private boolean useIsolatedConnection;
+    // Additional consumer of parallel load. Target objects are prepared by the main consumer.
+    private boolean parallelConsumer;
+
+    private BlockingQueue<Object[]> rowQueue;
+    private RowWriterJob rowWriter;
+    private volatile Throwable writerError;
+    private volatile boolean pipelineClosed;
+
+    private DatabaseTransferCheckpoint checkpoint;
+    // Index of checkpoint key in source result set. Key value is passed after the row values.
+    private int checkpointKeyIndex = -1;
+    private Object lastRowKey;
+
+    private DataTransferStatistics statistics;
+    // End of the previous row processing. Time till the next row is spent by producer.
+    private long lastRowTime;
 
     private static class ColumnMapping {
         DBDAttributeBinding sourceAttr;
@@ -69,6 +105,8 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         DBDValueHandler sourceValueHandler;
         DBDValueHandler targetValueHandler;
         int targetIndex = -1;
+        // Source value is inserted without conversion
+        boolean passthrough;
 
         private ColumnMapping(DBDAttributeBinding sourceAttr) {
             this.sourceAttr = sourceAttr;
@@ -93,17 +131,15 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
 
         AbstractExecutionSource executionSource = new AbstractExecutionSource(sourceObject, targetContext, this);
 
-        if (offset <= 0 && settings.isTruncateBeforeLoad() && (containerMapping == null || containerMapping.getMappingType() == DatabaseMappingType.existing)) {
-            // Truncate target tables
-            if ((targetObject.getSupportedFeatures() & DBSDataManipulator.DATA_TRUNCATE) != 0) {
-                targetObject.truncateData(
-                    targetSession,
-                    executionSource);
-            } else {
-                log.error("Table '" + targetObject.getName() + "' doesn't support truncate operation");
-            }
+        boolean resumed = checkpoint != null && checkpoint.isResumed();
+        if (offset <= 0 && !resumed) {
+            truncateTargetTable(executionSource);
         }
 
+        boolean sameDriver = settings.isValuePassthrough() &&
+            sourceObject != null && sourceObject.getDataSource() != null &&
+            sourceObject.getDataSource().getContainer().getDriver() == targetSession.getDataSource().getContainer().getDriver();
+
         List<DBDAttributeBinding> rsAttributes = DBUtils.makeResultAttributeBindings(sourceObject, resultSet);
         columnMappings = new ColumnMapping[rsAttributes.size()];
         targetAttributes = new ArrayList<>(columnMappings.length);
@@ -151,6 +187,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             columnMapping.sourceValueHandler = columnMapping.sourceAttr.getValueHandler();
             columnMapping.targetValueHandler = DBUtils.findValueHandler(targetSession.getDataSource(), targetAttr);
             columnMapping.targetIndex = targetAttributes.size();
+            columnMapping.passthrough = sameDriver && isPassthroughSupported(columnMapping.sourceAttr, targetAttr);
 
             columnMappings[i] = columnMapping;
 
@@ -158,11 +195,178 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
         DBSAttributeBase[] attributes = targetAttributes.toArray(new DBSAttributeBase[0]);
 
+        checkpointKeyIndex = -1;
+        if (checkpoint != null && checkpoint.getKeyAttribute() != null) {
+            String keyName = checkpoint.getKeyAttribute().getName();
+            for (int i = 0; i < rsAttributes.size(); i++) {
+                if (keyName.equalsIgnoreCase(rsAttributes.get(i).getName())) {
+                    checkpointKeyIndex = i;
+                    break;
+                }
+            }
+            if (checkpointKeyIndex < 0) {
+                log.debug("Checkpoint key '" + keyName + "' not found in '" + sourceObject.getName() + "' result set. Row count is saved.");
+            }
+        }
+
         if (targetObject instanceof DBSDataManipulatorExt) {
             ((DBSDataManipulatorExt) targetObject).beforeDataChange(session, DBSManipulationType.INSERT, attributes, executionSource);
         }
 
-        executeBatch = targetObject.insertData(
+        executeBatch = createInsertBatch(attributes, executionSource);
+        executeBatch.setNullsMode(settings.getNullsMode());
+
+        if (commitSize <= 0) {
+            commitSize = settings.getCommitAfterRows();
+            if (settings.isAdaptiveCommit()) {
+                commitSizeTuner = new DatabaseCommitSizeTuner(commitSize, settings.getMaxTransactionTime() * 1000L);
+                commitSize = commitSizeTuner.getCommitSize();
+            }
+        }
+
+        if (settings.isPipelinedLoad()) {
+            if (isPipelineSupported()) {
+                startRowWriter();
+            } else {
+                log.debug("Pipelined load can't be used for '" + targetObject.getName() + "' because of complex source values");
+            }
+        }
+        lastRowTime = System.nanoTime();
+    }
+
+    private void truncateTargetTable(DBCExecutionSource executionSource) throws DBCException {
+        if (!parallelConsumer && settings.isTruncateBeforeLoad() && (containerMapping == null || containerMapping.getMappingType() == DatabaseMappingType.existing)) {
+            // Truncate target tables
+            if ((targetObject.getSupportedFeatures() & DBSDataManipulator.DATA_TRUNCATE) != 0) {
+                targetObject.truncateData(
+                    targetSession,
+                    executionSource);
+            } else {
+                log.error("Table '" + targetObject.getName() + "' doesn't support truncate operation");
+            }
+        }
+    }
+
+    /**
+     * Simple values of the same type in the same driver don't need conversion.
+     * Complex values may need target specific wrappers.
+     */
+    private static boolean isPassthroughSupported(DBSAttributeBase sourceAttr, DBSAttributeBase targetAttr) {
+        switch (sourceAttr.getDataKind()) {
+            case BOOLEAN:
+            case NUMERIC:
+            case STRING:
+            case DATETIME:
+                return sourceAttr.getDataKind() == targetAttr.getDataKind() &&
+                    sourceAttr.getTypeID() == targetAttr.getTypeID() &&
+                    CommonUtils.equalObjects(sourceAttr.getTypeName(), targetAttr.getTypeName());
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Complex values (LOBs, arrays, structures) may be bound to the source result set,
+     * so they can't be passed to another thread after the row was fetched.
+     */
+    private boolean isPipelineSupported() {
+        for (ColumnMapping column : columnMappings) {
+            if (column == null || column.targetIndex < 0) {
+                continue;
+            }
+            switch (column.sourceAttr.getDataKind()) {
+                case BOOLEAN:
+                case NUMERIC:
+                case STRING:
+                case DATETIME:
+                case BINARY:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private void startRowWriter() {
+        rowQueue = new ArrayBlockingQueue<>(PIPELINE_QUEUE_SIZE);
+        writerError = null;
+        pipelineClosed = false;
+        rowWriter = new RowWriterJob();
+        rowWriter.schedule();
+    }
+
+    private void enqueueRow(DBRProgressMonitor monitor, Object[] rowValues) throws DBCException {
+        try {
+            while (!rowQueue.offer(rowValues, PIPELINE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                checkWriterError();
+                if (monitor.isCanceled()) {
+                    throw new DBCException("Data load canceled");
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new DBCException("Data load interrupted");
+        }
+        checkWriterError();
+    }
+
+    private void checkWriterError() throws DBCException {
+        Throwable error = writerError;
+        if (error != null) {
+            if (error instanceof DBCException) {
+                throw (DBCException) error;
+            }
+            throw new DBCException("Error inserting rows", error);
+        }
+    }
+
+    private void finishRowWriter(boolean abort) throws DBCException {
+        if (rowWriter == null) {
+            return;
+        }
+        try {
+            if (abort) {
+                pipelineClosed = true;
+                rowQueue.clear();
+            } else {
+                while (writerError == null && !rowQueue.offer(END_OF_DATA, PIPELINE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    // Wait for free space in queue
+                }
+            }
+            rowWriter.join();
+        } catch (InterruptedException e) {
+            pipelineClosed = true;
+            throw new DBCException("Data load interrupted");
+        } finally {
+            rowWriter = null;
+            rowQueue = null;
+        }
+        if (!abort) {
+            checkWriterError();
+        }
+    }
+
+    private DBSDataManipulator.ExecuteBatch createInsertBatch(DBSAttributeBase[] attributes, DBCExecutionSource executionSource) throws DBCException {
+        if (settings.isUseBulkLoad()) {
+            DBSDataBulkLoader bulkLoader = DBUtils.getAdapter(DBSDataBulkLoader.class, targetSession.getDataSource());
+            if (bulkLoader != null && bulkLoader.supportsBulkLoad(targetSession, targetObject, attributes)) {
+                log.debug("Use native bulk load for '" + targetObject.getName() + "'");
+                return bulkLoader.createBulkLoadBatch(targetSession, targetObject, attributes, executionSource);
+            }
+        }
+        if (settings.getInsertMode() == DatabaseConsumerSettings.InsertMode.MULTI_ROW_VALUES) {
+            DBPDataSource targetDataSource = targetSession.getDataSource();
+            if (DatabaseMultiValueInsertBatch.isSupported(targetDataSource)) {
+                int rowsPerStatement = DatabaseMultiValueInsertBatch.getRowsPerStatement(
+                    targetDataSource, attributes.length, settings.getMultiRowInsertSize());
+                if (rowsPerStatement > 1) {
+                    return new DatabaseMultiValueInsertBatch(targetObject, attributes, executionSource, rowsPerStatement);
+                }
+            } else {
+                log.debug("Multi-row insert is not supported by '" + targetDataSource.getContainer().getName() + "'. Use batch insert.");
+            }
+        }
+        return targetObject.insertData(
             targetSession,
             attributes,
             null,
@@ -175,7 +379,12 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
 
     @Override
     public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
-        Object[] rowValues = new Object[targetAttributes.size()];
+        long startTime = 0;
+        if (statistics != null) {
+            startTime = System.nanoTime();
+            statistics.addTime(DataTransferStatistics.Stage.FETCH, startTime - lastRowTime);
+        }
+        Object[] rowValues = new Object[checkpointKeyIndex < 0 ? targetAttributes.size() : targetAttributes.size() + 1];
         for (int i = 0; i < columnMappings.length; i++) {
             ColumnMapping column = columnMappings[i];
             if (column == null || column.targetIndex < 0) {
@@ -188,16 +397,55 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 // No value handler - get raw value
                 attrValue = resultSet.getAttributeValue(i);
             }
+            rowValues[column.targetIndex] = attrValue;
+        }
+        if (checkpointKeyIndex >= 0) {
+            rowValues[targetAttributes.size()] = resultSet.getAttributeValue(checkpointKeyIndex);
+        }
+        if (rowWriter != null) {
+            // Target values are made in writer thread: target session can't be used in this thread
+            enqueueRow(session.getProgressMonitor(), rowValues);
+        } else {
+            convertRow(rowValues);
+            if (statistics != null) {
+                statistics.addTime(DataTransferStatistics.Stage.CONVERT, System.nanoTime() - startTime);
+            }
+            addRow(rowValues);
+        }
+        if (statistics != null) {
+            lastRowTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Converts source values into target values. Must be called in the thread which owns target session.
+     */
+    private void convertRow(Object[] rowValues) throws DBCException {
+        for (ColumnMapping column : columnMappings) {
+            if (column == null || column.targetIndex < 0 || column.passthrough) {
+                continue;
+            }
             DatabaseMappingAttribute targetAttr = column.targetAttr;
             rowValues[column.targetIndex] = column.targetValueHandler.getValueFromObject(
                 targetSession,
                 targetAttr.getTarget() == null ? targetAttr.getSource() : targetAttr.getTarget(),
-                attrValue,
+                rowValues[column.targetIndex],
                 false);
         }
+    }
+
+    private void addRow(Object[] rowValues) throws DBCException {
+        if (checkpointKeyIndex >= 0) {
+            lastRowKey = rowValues[targetAttributes.size()];
+            rowValues = Arrays.copyOf(rowValues, targetAttributes.size());
+        }
+        if (commitSizeTuner != null || statistics != null) {
+            batchBytes += estimateRowSize(rowValues);
+        }
         executeBatch.add(rowValues);
 
         rowsExported++;
+        batchRowCount++;
         // No need. mnitor is incremented in data reader
         //session.getProgressMonitor().worked(1);
 
@@ -205,20 +453,29 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     }
 
     private void insertBatch(boolean force) throws DBCException {
-        boolean needCommit = force || ((rowsExported % settings.getCommitAfterRows()) == 0);
+        boolean needCommit = force || batchRowCount >= commitSize;
+        long startTime = System.currentTimeMillis();
+        // Time spent in error dialog isn't a part of batch execution time
+        long errorWaitTime = 0;
+        boolean insertFailed = false;
         if (needCommit && executeBatch != null) {
             boolean retryInsert;
             do {
                 retryInsert = false;
+                insertFailed = false;
+                long executeStartTime = statistics == null ? 0 : System.nanoTime();
                 try {
-                    executeBatch.execute(targetSession);
+                    insertStatistics.accumulate(executeBatch.execute(targetSession));
                 } catch (Throwable e) {
                     log.error("Error inserting row", e);
+                    insertFailed = true;
                     if (!ignoreErrors) {
+                        long errorStartTime = System.currentTimeMillis();
                         DBPPlatformUI.UserResponse response = ExecutionQueueErrorJob.showError(
                             DBUtils.getObjectFullName(targetObject, DBPEvaluationContext.UI) + " data load",
                             e,
                             true);
+                        errorWaitTime += System.currentTimeMillis() - errorStartTime;
                         switch (response) {
                             case STOP:
                                 // just stop execution
@@ -237,20 +494,71 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                                 break;
                         }
                     }
+                } finally {
+                    if (statistics != null) {
+                        statistics.addTime(DataTransferStatistics.Stage.EXECUTE, System.nanoTime() - executeStartTime);
+                    }
                 }
             } while (retryInsert);
+            if (statistics != null && !insertFailed) {
+                // Ignored batch wasn't loaded into target
+                statistics.addRows(batchRowCount);
+                statistics.addBytes(batchBytes);
+            }
         }
         if (settings.isUseTransactions() && needCommit) {
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(targetSession.getExecutionContext());
             if (txnManager != null && !txnManager.isAutoCommit()) {
+                long commitStartTime = statistics == null ? 0 : System.nanoTime();
                 txnManager.commit(targetSession);
+                if (statistics != null) {
+                    statistics.addTime(DataTransferStatistics.Stage.COMMIT, System.nanoTime() - commitStartTime);
+                }
+            }
+        }
+        if (checkpoint != null && needCommit && !insertFailed) {
+            // Ignored batch wasn't committed (transaction may be even rolled back). Keep previous position.
+            checkpoint.commit(checkpoint.getResumeRowCount() + rowsExported, lastRowKey);
+        }
+        if (needCommit) {
+            if (commitSizeTuner != null && batchRowCount > 0) {
+                long time = System.currentTimeMillis() - startTime - errorWaitTime;
+                int newSize = commitSizeTuner.update(batchRowCount, batchBytes, time);
+                if (newSize != commitSize) {
+                    log.debug("Commit size for '" + targetObject.getName() + "' changed from " + commitSize + " to " + newSize +
+                        " (" + batchRowCount + " rows in " + time + "ms)");
+                    commitSize = newSize;
+                }
+            }
+            batchRowCount = 0;
+            batchBytes = 0;
+        }
+    }
+
+    private static long estimateRowSize(Object[] rowValues) {
+        long size = 0;
+        for (Object value : rowValues) {
+            if (value instanceof String) {
+                size += ((String) value).length() * 2L;
+            } else if (value instanceof byte[]) {
+                size += ((byte[]) value).length;
+            } else if (value instanceof DBDContent) {
+                try {
+                    size += Math.max(((DBDContent) value).getContentLength(), 0);
+                } catch (DBCException e) {
+                    size += 16;
+                }
+            } else {
+                size += 16;
             }
         }
+        return size;
     }
 
     @Override
     public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException {
         try {
+            finishRowWriter(false);
             if (rowsExported > 0) {
                 insertBatch(true);
             }
@@ -258,6 +566,14 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
                 executeBatch.close();
                 executeBatch = null;
             }
+            if (commitSizeTuner != null && commitSizeTuner.getBatchCount() > 0) {
+                log.debug("Adaptive commit size for '" + targetObject.getName() + "': " + commitSizeTuner.getBatchCount() + " batches, size " +
+                    commitSizeTuner.getMinChosenSize() + ".." + commitSizeTuner.getMaxChosenSize() + ", last " + commitSize);
+            }
+            if (insertStatistics.getReprepareCount() > 0) {
+                log.debug("Insert statement was re-prepared " + insertStatistics.getReprepareCount() +
+                    " time(s) for '" + targetObject.getName() + "' due to different NULL values. Consider other NULL values mode.");
+            }
         } finally {
             if (targetObject instanceof DBSDataManipulatorExt) {
                 ((DBSDataManipulatorExt) targetObject).afterDataChange(
@@ -269,11 +585,167 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
     }
 
+    @Override
+    public IDataTransferConsumer createParallelConsumer() {
+        if (targetObject == null || settings == null || !settings.isOpenNewConnections() ||
+            targetObject.getDataSource().getContainer().getDriver().isEmbedded())
+        {
+            // Parallel consumers must use separate connections
+            return null;
+        }
+        DatabaseTransferConsumer consumer = new DatabaseTransferConsumer(targetObject);
+        consumer.sourceObject = sourceObject;
+        consumer.settings = settings;
+        consumer.parallelConsumer = true;
+        consumer.statistics = statistics;
+        return consumer;
+    }
+
+    @Override
+    public void setTransferStatistics(DataTransferStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns checkpoint of this source and target tables or null if checkpoints are disabled.
+     * Saved checkpoint state is read on first call.
+     */
+    @Nullable
+    public DatabaseTransferCheckpoint getCheckpoint() {
+        if (checkpoint == null && !parallelConsumer && settings != null && settings.isUseCheckpoints() &&
+            sourceObject != null && targetObject != null)
+        {
+            checkpoint = DatabaseTransferCheckpoint.open(DBUtils.getObjectFullId(sourceObject), DBUtils.getObjectFullId(targetObject));
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Copies source table with native database copier (if target database supports it).
+     * Rows are not fetched by producer in this case.
+     * @return false if direct copy is not possible and data must be transferred row by row
+     */
+    public boolean copyDirect(DBCSession sourceSession, DBSDataContainer source, @Nullable DBDDataFilter dataFilter) throws DBException {
+        if (!settings.isNativeCopy() || parallelConsumer || targetObject == null || sourceObject == null) {
+            return false;
+        }
+        DBRProgressMonitor monitor = sourceSession.getProgressMonitor();
+        DatabaseMappingContainer dataMapping = settings.getDataMapping(sourceObject);
+        if (dataMapping == null) {
+            return false;
+        }
+        List<DBSAttributeBase> sourceAttrs = new ArrayList<>();
+        List<DBSEntityAttribute> targetAttrs = new ArrayList<>();
+        for (DatabaseMappingAttribute attr : dataMapping.getAttributeMappings(monitor)) {
+            if (attr.getMappingType() == DatabaseMappingType.skip) {
+                continue;
+            }
+            if (attr.getSource().isAutoGenerated() && !settings.isTransferAutoGeneratedColumns()) {
+                continue;
+            }
+            if (attr.getTarget() == null) {
+                return false;
+            }
+            sourceAttrs.add(attr.getSource());
+            targetAttrs.add(attr.getTarget());
+        }
+        DBSDataDirectCopier copier = DBUtils.getAdapter(DBSDataDirectCopier.class, targetObject.getDataSource());
+        if (copier == null) {
+            return false;
+        }
+        DBSAttributeBase[] sourceAttributes = sourceAttrs.toArray(new DBSAttributeBase[0]);
+        DBSAttributeBase[] attributes = targetAttrs.toArray(new DBSAttributeBase[0]);
+
+        initExporter(monitor);
+        if (!copier.supportsDirectCopy(sourceSession, source, sourceAttributes, targetSession, targetObject, attributes)) {
+            // Data will be read in regular way. Exporter is initialized again on fetch start.
+            closeExporter();
+            return false;
+        }
+        targetAttributes = targetAttrs;
+        AbstractExecutionSource executionSource = new AbstractExecutionSource(sourceObject, targetContext, this);
+        truncateTargetTable(executionSource);
+        if (targetObject instanceof DBSDataManipulatorExt) {
+            ((DBSDataManipulatorExt) targetObject).beforeDataChange(targetSession, DBSManipulationType.INSERT, attributes, executionSource);
+        }
+        try {
+            long startTime = System.nanoTime();
+            long rowCount = copier.copyData(sourceSession, source, sourceAttributes, dataFilter, targetSession, targetObject, attributes);
+            if (settings.isUseTransactions()) {
+                DBCTransactionManager txnManager = DBUtils.getTransactionManager(targetSession.getExecutionContext());
+                if (txnManager != null && !txnManager.isAutoCommit()) {
+                    txnManager.commit(targetSession);
+                }
+            }
+            if (statistics != null) {
+                statistics.addTime(DataTransferStatistics.Stage.EXECUTE, System.nanoTime() - startTime);
+                if (rowCount > 0) {
+                    statistics.addRows(rowCount);
+                }
+            }
+            log.debug("Native copy of '" + source.getName() + "' into '" + targetObject.getName() + "': " + rowCount + " row(s)");
+        } finally {
+            if (targetObject instanceof DBSDataManipulatorExt) {
+                ((DBSDataManipulatorExt) targetObject).afterDataChange(targetSession, DBSManipulationType.INSERT, attributes, executionSource);
+            }
+        }
+        return true;
+    }
+
     @Override
     public void close() {
+        try {
+            finishRowWriter(true);
+        } catch (DBCException e) {
+            log.debug(e);
+        }
         closeExporter();
     }
 
+    /**
+     * Adds rows to the insert batch and executes it in a separate thread.
+     * So source fetch and target insert are performed concurrently.
+     */
+    private class RowWriterJob extends AbstractJob {
+
+        RowWriterJob() {
+            super("Load data into " + targetObject.getName());
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            List<Object[]> rows = new ArrayList<>();
+            try {
+                while (!pipelineClosed) {
+                    Object[] row = rowQueue.poll(PIPELINE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+                    if (row == null) {
+                        continue;
+                    }
+                    rows.add(row);
+                    rowQueue.drainTo(rows);
+                    for (Object[] rowValues : rows) {
+                        if (rowValues == END_OF_DATA) {
+                            return Status.OK_STATUS;
+                        }
+                        long startTime = statistics == null ? 0 : System.nanoTime();
+                        convertRow(rowValues);
+                        if (statistics != null) {
+                            statistics.addTime(DataTransferStatistics.Stage.CONVERT, System.nanoTime() - startTime);
+                        }
+                        addRow(rowValues);
+                    }
+                    rows.clear();
+                }
+            } catch (Throwable e) {
+                writerError = e;
+                // Release producer
+                rowQueue.clear();
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
     private void initExporter(DBRProgressMonitor monitor) throws DBCException {
         DBSObject targetDB = checkTargetContainer();
 
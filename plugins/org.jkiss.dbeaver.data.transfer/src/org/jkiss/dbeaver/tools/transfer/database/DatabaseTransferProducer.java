@@ -171,18 +171,47 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
                 monitor.beginTask(DTMessages.data_transfer_wizard_job_task_export_table_data, (int) totalRows);
 
+                // Checkpoint requires stable rows order, so it isn't used with parallel slices
+                DatabaseTransferCheckpoint checkpoint = null;
+                if (!selectiveExportFromUI && consumer instanceof DatabaseTransferConsumer) {
+                    checkpoint = ((DatabaseTransferConsumer) consumer).getCheckpoint();
+                }
+                DBDDataFilter readFilter = dataFilter;
+                long resumeOffset = 0;
+                if (checkpoint != null) {
+                    readFilter = checkpoint.makeResumeFilter(monitor, dataContainer, dataFilter);
+                    resumeOffset = checkpoint.getResumeOffset();
+                }
+
                 try {
-                    // Perform export
-                    if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
+                    // Perform export. Tables of the same database may be copied natively without fetching rows.
+                    boolean copiedDirectly = checkpoint == null && !selectiveExportFromUI && consumer instanceof DatabaseTransferConsumer &&
+                        ((DatabaseTransferConsumer) consumer).copyDirect(session, dataContainer, dataFilter);
+                    DatabaseKeyRangeReader keyRangeReader = null;
+                    if (!copiedDirectly && checkpoint == null && settings.getExtractType() == DatabaseProducerSettings.ExtractType.KEY_RANGES) {
+                        if (!selectiveExportFromUI && newConnection) {
+                            keyRangeReader = DatabaseKeyRangeReader.prepare(
+                                session, transferSource, dataContainer, dataFilter, settings.getSliceCount(), settings.isKeepSliceOrder());
+                        }
+                        if (keyRangeReader == null) {
+                            log.debug("Table '" + dataContainer.getName() + "' can't be split by key ranges. Read it in single query.");
+                        }
+                    }
+                    if (copiedDirectly) {
+                        // Nothing to read
+                    } else if (keyRangeReader != null) {
+                        // Read key ranges in this and parallel connections
+                        keyRangeReader.readData(session, consumer, readFlags, settings.getFetchSize(), settings.getTransferSettings());
+                    } else if (settings.getExtractType() != DatabaseProducerSettings.ExtractType.SEGMENTS && resumeOffset <= 0) {
                         // Just do it in single query
-                        dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, readFlags, settings.getFetchSize());
+                        dataContainer.readData(transferSource, session, consumer, readFilter, -1, -1, readFlags, settings.getFetchSize());
                     } else {
-                        // Read all data by segments
-                        long offset = 0;
+                        // Read all data by segments. Rows before checkpoint offset are skipped.
+                        long offset = resumeOffset;
                         int segmentSize = settings.getSegmentSize();
                         for (; ; ) {
                             DBCStatistics statistics = dataContainer.readData(
-                                transferSource, session, consumer, dataFilter, offset, segmentSize, readFlags, settings.getFetchSize());
+                                transferSource, session, consumer, readFilter, offset, segmentSize, readFlags, settings.getFetchSize());
                             if (statistics == null || statistics.getRowsFetched() < segmentSize) {
                                 // Done
                                 break;
@@ -190,6 +219,10 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
                             offset += statistics.getRowsFetched();
                         }
                     }
+                    if (checkpoint != null && !monitor.isCanceled()) {
+                        // All rows were transferred
+                        checkpoint.complete();
+                    }
                 } finally {
                     monitor.done();
                 }
@@ -22,6 +22,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator.ExecuteBatch.NullsMode;
 import org.jkiss.dbeaver.tools.transfer.database.DatabaseConsumerSettings;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
 import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferWizard;
@@ -113,6 +114,145 @@ public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTrans
                 }
             });
             commitAfterEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button adaptiveCommitCheck = UIUtils.createCheckbox(
+                performanceSettings,
+                "Adaptive commit size",
+                "Change number of rows in batch and transaction by measured insert speed.\n" +
+                    "Initial size is 'Commit after insert of' value. Transaction doesn't take more than the max transaction time.",
+                settings.isAdaptiveCommit(),
+                4);
+            final Spinner maxTransactionTimeSpinner = UIUtils.createLabelSpinner(performanceSettings, "Max transaction time (sec)", settings.getMaxTransactionTime(), 1, 3600);
+            maxTransactionTimeSpinner.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setMaxTransactionTime(maxTransactionTimeSpinner.getSelection());
+                }
+            });
+            maxTransactionTimeSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+            maxTransactionTimeSpinner.setEnabled(settings.isAdaptiveCommit());
+            adaptiveCommitCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setAdaptiveCommit(adaptiveCommitCheck.getSelection());
+                    maxTransactionTimeSpinner.setEnabled(settings.isAdaptiveCommit());
+                }
+            });
+
+            final Combo nullsModeCombo = UIUtils.createLabelCombo(performanceSettings, "NULL values in batch", SWT.DROP_DOWN | SWT.READ_ONLY);
+            nullsModeCombo.setToolTipText(
+                "Skip: NULL values are skipped and column defaults are applied. Statement is re-prepared when NULL columns change.\n" +
+                "Bind: all NULL values are set explicitly. Single statement is used for all rows.\n" +
+                "Group: NULL values are skipped, rows are grouped by NULL columns before insert. Rows order is not preserved.");
+            nullsModeCombo.setItems("Skip", "Bind", "Group");
+            nullsModeCombo.select(settings.getNullsMode().ordinal());
+            nullsModeCombo.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setNullsMode(NullsMode.values()[nullsModeCombo.getSelectionIndex()]);
+                }
+            });
+            nullsModeCombo.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button bulkLoadCheckbox = UIUtils.createCheckbox(
+                performanceSettings,
+                "Use native bulk load (if supported)",
+                "Use database specific fast data load API (PostgreSQL COPY, MySQL LOAD DATA LOCAL INFILE, SQL Server bulk copy).\n" +
+                    "MySQL requires allowLoadLocalInfile driver property.\n" +
+                    "Insert statements are used if bulk load isn't supported for target table.\n" +
+                    "Insert mode and NULLs mode are ignored by bulk load.",
+                settings.isUseBulkLoad(),
+                4);
+            bulkLoadCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setUseBulkLoad(bulkLoadCheckbox.getSelection());
+                }
+            });
+
+            final Button pipelinedLoadCheckbox = UIUtils.createCheckbox(
+                performanceSettings,
+                "Pipelined load",
+                "Fetch source rows and insert them in target table in parallel threads.\n" +
+                    "Isn't used for tables with LOB or complex columns.",
+                settings.isPipelinedLoad(),
+                4);
+            pipelinedLoadCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setPipelinedLoad(pipelinedLoadCheckbox.getSelection());
+                }
+            });
+
+            final Button passthroughCheckbox = UIUtils.createCheckbox(
+                performanceSettings,
+                "Pass values of the same types as is",
+                "If source and target use the same driver then values of columns with the same type\n" +
+                    "are inserted as they were read, without conversion to target type.",
+                settings.isValuePassthrough(),
+                4);
+            passthroughCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setValuePassthrough(passthroughCheckbox.getSelection());
+                }
+            });
+
+            final Button nativeCopyCheckbox = UIUtils.createCheckbox(
+                performanceSettings,
+                "Native copy between same databases (if supported)",
+                "Copy table data with database protocol (PostgreSQL COPY TO STDOUT piped into COPY FROM STDIN in binary format).\n" +
+                    "Used only if all mapped columns have the same types in source and target.\n" +
+                    "Rows aren't read by the client, so resume from checkpoint isn't available.",
+                settings.isNativeCopy(),
+                4);
+            nativeCopyCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setNativeCopy(nativeCopyCheckbox.getSelection());
+                }
+            });
+
+            final Button checkpointsCheckbox = UIUtils.createCheckbox(
+                performanceSettings,
+                "Resume from checkpoint",
+                "Save position of the last committed row of each table.\n" +
+                    "Interrupted transfer continues after this position instead of starting over.\n" +
+                    "Tables with a single numeric or string key are read in key order, other tables are resumed by row number.",
+                settings.isUseCheckpoints(),
+                4);
+            checkpointsCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setUseCheckpoints(checkpointsCheckbox.getSelection());
+                }
+            });
+
+            final Combo insertModeCombo = UIUtils.createLabelCombo(performanceSettings, "Insert mode", SWT.DROP_DOWN | SWT.READ_ONLY);
+            insertModeCombo.setToolTipText(
+                "Batch: each row is inserted by a separate INSERT statement, statements are executed in batches.\n" +
+                "Multi-row VALUES: multiple rows are inserted by a single INSERT statement.\n" +
+                "Multi-row insert is used only if target database supports it, otherwise batch insert is used.");
+            insertModeCombo.setItems("Batch", "Multi-row VALUES");
+            insertModeCombo.select(settings.getInsertMode().ordinal());
+            insertModeCombo.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
+            final Spinner multiRowSizeSpinner = UIUtils.createLabelSpinner(performanceSettings, "Rows per INSERT", settings.getMultiRowInsertSize(), 2, 100000);
+            multiRowSizeSpinner.setToolTipText("Maximum number of rows in a single INSERT statement.\nActual number may be lower because of database parameters limit.");
+            multiRowSizeSpinner.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setMultiRowInsertSize(multiRowSizeSpinner.getSelection());
+                }
+            });
+            multiRowSizeSpinner.setEnabled(settings.getInsertMode() == DatabaseConsumerSettings.InsertMode.MULTI_ROW_VALUES);
+            insertModeCombo.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setInsertMode(DatabaseConsumerSettings.InsertMode.values()[insertModeCombo.getSelectionIndex()]);
+                    multiRowSizeSpinner.setEnabled(settings.getInsertMode() == DatabaseConsumerSettings.InsertMode.MULTI_ROW_VALUES);
+                }
+            });
         }
 
         {
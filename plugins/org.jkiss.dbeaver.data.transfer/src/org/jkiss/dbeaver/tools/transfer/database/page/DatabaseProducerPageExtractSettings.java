@@ -36,11 +36,16 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
 
     private static final int EXTRACT_TYPE_SINGLE_QUERY = 0;
     private static final int EXTRACT_TYPE_SEGMENTS = 1;
+    private static final int EXTRACT_TYPE_KEY_RANGES = 2;
 
     private Text threadsNumText;
+    private Text threadsPerDataSourceText;
     private Combo rowsExtractType;
     private Label segmentSizeLabel;
     private Text segmentSizeText;
+    private Label sliceCountLabel;
+    private Text sliceCountText;
+    private Button keepSliceOrderCheckbox;
     private Button newConnectionCheckbox;
     private Button rowCountCheckbox;
     private Button selectedColumnsOnlyCheckbox;
@@ -81,11 +86,28 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                     // do nothing
                 }
             });
+            threadsNumText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
+            Label threadsPerDataSourceLabel = UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_output_label_max_threads_per_connection);
+            threadsPerDataSourceLabel.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_END, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+            threadsPerDataSourceText = new Text(generalSettings, SWT.BORDER);
+            threadsPerDataSourceText.setToolTipText(DTMessages.data_transfer_wizard_output_label_max_threads_per_connection_tip);
+            threadsPerDataSourceText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+            threadsPerDataSourceText.addModifyListener(e -> {
+                try {
+                    getWizard().getSettings().setMaxJobsPerDataSource(Integer.parseInt(threadsPerDataSourceText.getText()));
+                } catch (NumberFormatException e1) {
+                    // do nothing
+                }
+            });
+            threadsPerDataSourceText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_END, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
             if (getWizard().getSettings().getDataPipes().size() < 2) {
                 threadsNumLabel.setEnabled(false);
                 threadsNumText.setEnabled(false);
+                threadsPerDataSourceLabel.setEnabled(false);
+                threadsPerDataSourceText.setEnabled(false);
             }
-            threadsNumText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
 
             {
 
@@ -93,13 +115,15 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                 rowsExtractType = new Combo(generalSettings, SWT.DROP_DOWN | SWT.READ_ONLY);
                 rowsExtractType.setItems(
                     DTMessages.data_transfer_wizard_output_combo_extract_type_item_single_query,
-                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments);
+                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_segments,
+                    DTMessages.data_transfer_wizard_output_combo_extract_type_item_by_key_ranges);
                 rowsExtractType.addSelectionListener(new SelectionAdapter() {
                     @Override
                     public void widgetSelected(SelectionEvent e) {
                         switch (rowsExtractType.getSelectionIndex()) {
                             case EXTRACT_TYPE_SEGMENTS: settings.setExtractType(DatabaseProducerSettings.ExtractType.SEGMENTS); break;
                             case EXTRACT_TYPE_SINGLE_QUERY: settings.setExtractType(DatabaseProducerSettings.ExtractType.SINGLE_QUERY); break;
+                            case EXTRACT_TYPE_KEY_RANGES: settings.setExtractType(DatabaseProducerSettings.ExtractType.KEY_RANGES); break;
                         }
                         updatePageCompletion();
                     }
@@ -116,6 +140,27 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                     }
                 });
                 segmentSizeText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_END, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
+                sliceCountLabel = UIUtils.createControlLabel(generalSettings, DTMessages.data_transfer_wizard_output_label_slice_count);
+                sliceCountText = new Text(generalSettings, SWT.BORDER);
+                sliceCountText.setToolTipText(DTMessages.data_transfer_wizard_output_label_slice_count_tip);
+                sliceCountText.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.ENGLISH));
+                sliceCountText.addModifyListener(e -> {
+                    try {
+                        settings.setSliceCount(Integer.parseInt(sliceCountText.getText()));
+                    } catch (NumberFormatException e1) {
+                        // just skip it
+                    }
+                });
+                sliceCountText.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 1, 1));
+
+                keepSliceOrderCheckbox = UIUtils.createCheckbox(generalSettings, DTMessages.data_transfer_wizard_output_checkbox_keep_slice_order, DTMessages.data_transfer_wizard_output_checkbox_keep_slice_order_tip, false, 2);
+                keepSliceOrderCheckbox.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setKeepSliceOrder(keepSliceOrderCheckbox.getSelection());
+                    }
+                });
             }
 
             newConnectionCheckbox = UIUtils.createCheckbox(generalSettings, DTMessages.data_transfer_wizard_output_checkbox_new_connection, "Open new physical connection for data reading.\nMakes great sense if you are going to continue to work with your database during export process.", true, 4);
@@ -183,6 +228,7 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
         final DatabaseProducerSettings settings = getWizard().getPageSettings(this, DatabaseProducerSettings.class);
 
         threadsNumText.setText(String.valueOf(getWizard().getSettings().getMaxJobCount()));
+        threadsPerDataSourceText.setText(String.valueOf(getWizard().getSettings().getMaxJobsPerDataSource()));
         newConnectionCheckbox.setSelection(settings.isOpenNewConnections());
         rowCountCheckbox.setSelection(settings.isQueryRowCount());
 
@@ -191,7 +237,10 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
             switch (settings.getExtractType()) {
                 case SINGLE_QUERY: rowsExtractType.select(EXTRACT_TYPE_SINGLE_QUERY); break;
                 case SEGMENTS: rowsExtractType.select(EXTRACT_TYPE_SEGMENTS); break;
+                case KEY_RANGES: rowsExtractType.select(EXTRACT_TYPE_KEY_RANGES); break;
             }
+            sliceCountText.setText(String.valueOf(settings.getSliceCount()));
+            keepSliceOrderCheckbox.setSelection(settings.isKeepSliceOrder());
         }
         fetchSizeText.setText(String.valueOf(settings.getFetchSize()));
         if (selectedColumnsOnlyCheckbox != null) {
@@ -216,6 +265,10 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                 segmentSizeLabel.setVisible(false);
                 segmentSizeText.setVisible(false);
             }
+            boolean keyRanges = selectionIndex == EXTRACT_TYPE_KEY_RANGES;
+            sliceCountLabel.setVisible(keyRanges);
+            sliceCountText.setVisible(keyRanges);
+            keepSliceOrderCheckbox.setVisible(keyRanges);
         }
         return true;
     }
@@ -45,14 +45,20 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_job_task_export_table_data;
 	public static String data_transfer_wizard_job_task_retrieve;
 	public static String data_transfer_wizard_output_checkbox_compress;
+	public static String data_transfer_wizard_output_label_compression_format;
+	public static String data_transfer_wizard_output_label_compression_threads;
+	public static String data_transfer_wizard_output_label_compression_threads_tip;
 	public static String data_transfer_wizard_output_checkbox_split_files;
 	public static String data_transfer_wizard_output_checkbox_split_files_tip;
 	public static String data_transfer_wizard_output_checkbox_new_connection;
+	public static String data_transfer_wizard_output_checkbox_keep_slice_order;
+	public static String data_transfer_wizard_output_checkbox_keep_slice_order_tip;
 	public static String data_transfer_wizard_output_checkbox_open_folder;
 	public static String data_transfer_wizard_output_checkbox_select_row_count;
 	public static String data_transfer_wizard_output_checkbox_selected_columns_only;
 	public static String data_transfer_wizard_output_checkbox_selected_rows_only;
 	public static String data_transfer_wizard_output_combo_extract_type_item_by_segments;
+	public static String data_transfer_wizard_output_combo_extract_type_item_by_key_ranges;
 	public static String data_transfer_wizard_output_combo_extract_type_item_single_query;
 	public static String data_transfer_wizard_output_description;
 	public static String data_transfer_wizard_output_dialog_directory_message;
@@ -62,6 +68,10 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_output_label_copy_to_clipboard;
 	public static String data_transfer_wizard_output_label_use_single_file;
 	public static String data_transfer_wizard_output_label_use_single_file_tip;
+	public static String data_transfer_wizard_output_label_use_single_archive;
+	public static String data_transfer_wizard_output_label_use_single_archive_tip;
+	public static String data_transfer_wizard_output_label_write_manifest;
+	public static String data_transfer_wizard_output_label_write_manifest_tip;
 	public static String data_transfer_wizard_output_label_directory;
 	public static String data_transfer_wizard_output_label_encoding;
 	public static String data_transfer_wizard_output_label_extract_type;
@@ -69,7 +79,11 @@ public class DTMessages extends NLS {
 	public static String data_transfer_wizard_output_label_insert_bom;
 	public static String data_transfer_wizard_output_label_insert_bom_tooltip;
 	public static String data_transfer_wizard_output_label_max_threads;
+	public static String data_transfer_wizard_output_label_max_threads_per_connection;
+	public static String data_transfer_wizard_output_label_max_threads_per_connection_tip;
 	public static String data_transfer_wizard_output_label_segment_size;
+	public static String data_transfer_wizard_output_label_slice_count;
+	public static String data_transfer_wizard_output_label_slice_count_tip;
 	public static String data_transfer_wizard_output_name;
 	public static String data_transfer_wizard_output_title;
 	public static String data_transfer_wizard_settings_binaries_item_inline;
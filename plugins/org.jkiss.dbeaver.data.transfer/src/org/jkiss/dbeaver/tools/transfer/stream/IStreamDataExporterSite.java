@@ -19,8 +19,11 @@ package org.jkiss.dbeaver.tools.transfer.stream;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -48,6 +51,11 @@ public interface IStreamDataExporterSite {
     void flush() throws IOException;
 
     void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException;
+
+    /**
+     * Writes binary content. Content is read right from the source if possible, without local copy in memory or temp file.
+     */
+    void writeBinaryData(@NotNull DBRProgressMonitor monitor, @NotNull DBDContent content) throws IOException, DBCException;
     
     String getOutputEncoding();
 
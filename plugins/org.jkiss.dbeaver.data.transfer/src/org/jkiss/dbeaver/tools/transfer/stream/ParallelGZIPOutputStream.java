@@ -0,0 +1,237 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP output stream which compresses data blocks in several threads.
+ *
+ * Input is split in blocks. Each block is deflated independently (with the tail of the previous block as a dictionary)
+ * and finished with a sync flush, so compressed blocks are simply concatenated.
+ * Result is a single standard gzip member. CRC is calculated in the writer thread.
+ *
+ * flush() writes already compressed blocks only, the same way as GZIPOutputStream without sync flush does.
+ * Compression threads are stopped by finish()/close(). Idle threads also exit by timeout,
+ * so a stream which was abandoned after an error doesn't hold its thread pool.
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int DEFLATE_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_THREAD_TIMEOUT = 10;
+    private static final byte[] GZIP_HEADER = {
+        0x1f, (byte) 0x8b,  // Magic
+        Deflater.DEFLATED,  // Compression method
+        0,                  // Flags
+        0, 0, 0, 0,         // Modification time
+        0,                  // Extra flags
+        (byte) 0xff         // OS: unknown
+    };
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final int level;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private long totalLength;
+
+    private byte[] block;
+    private int blockLength;
+    private byte[] prevBlock;
+    private boolean finished;
+
+    public ParallelGZIPOutputStream(OutputStream out, int threadCount) throws IOException {
+        this(out, threadCount, Deflater.DEFAULT_COMPRESSION, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ParallelGZIPOutputStream(OutputStream out, int threadCount, int level, int blockSize) throws IOException {
+        super(out);
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Bad compression thread count: " + threadCount);
+        }
+        this.level = level;
+        this.blockSize = Math.max(blockSize, DICTIONARY_SIZE);
+        // Limit memory used by blocks which wait for compression
+        this.maxPendingBlocks = threadCount * 2;
+        this.block = new byte[this.blockSize];
+        // Write header before threads are created, so nothing leaks if output fails
+        out.write(GZIP_HEADER);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            threadCount, threadCount, IDLE_THREAD_TIMEOUT, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "GZIP compressor " + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (finished) {
+            throw new IOException("Stream is finished");
+        }
+        if (blockLength == block.length) {
+            submitBlock(false);
+        }
+        block[blockLength++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Stream is finished");
+        }
+        while (len > 0) {
+            if (blockLength == block.length) {
+                submitBlock(false);
+            }
+            int copyLength = Math.min(len, block.length - blockLength);
+            System.arraycopy(b, off, block, blockLength, copyLength);
+            blockLength += copyLength;
+            off += copyLength;
+            len -= copyLength;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Write blocks which are already compressed
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeCompressedBlock(pendingBlocks.removeFirst());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes all remaining data and gzip trailer. Underlying stream is not closed.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            submitBlock(true);
+            while (!pendingBlocks.isEmpty()) {
+                writeCompressedBlock(pendingBlocks.removeFirst());
+            }
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) totalLength);
+        } finally {
+            finished = true;
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        final byte[] data = block;
+        final int length = blockLength;
+        final byte[] dictionary = prevBlock;
+        crc.update(data, 0, length);
+        totalLength += length;
+
+        pendingBlocks.addLast(executor.submit(() -> deflateBlock(dictionary, data, length, last)));
+
+        prevBlock = length >= DICTIONARY_SIZE ? data : null;
+        block = last ? null : new byte[blockSize];
+        blockLength = 0;
+
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            writeCompressedBlock(pendingBlocks.removeFirst());
+        }
+    }
+
+    private byte[] deflateBlock(byte[] dictionary, byte[] data, int length, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(data, 0, length);
+            ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[DEFLATE_BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    result.write(buffer, 0, count);
+                }
+            } else {
+                // Sync flush aligns output on a byte boundary, so the next block can be appended as is
+                for (;;) {
+                    int count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, count);
+                    if (count < buffer.length) {
+                        break;
+                    }
+                }
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeCompressedBlock(Future<byte[]> blockFuture) throws IOException {
+        byte[] compressed;
+        try {
+            compressed = blockFuture.get();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("Compression interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Error compressing data block", e.getCause());
+        }
+        out.write(compressed);
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+}
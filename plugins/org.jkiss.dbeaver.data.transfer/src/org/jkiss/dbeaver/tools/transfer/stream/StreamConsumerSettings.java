@@ -28,6 +28,11 @@ import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.StandardConstants;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Stream transfer settings
  */
@@ -46,12 +51,28 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         NATIVE
     }
 
+    public enum CompressionFormat {
+        ZIP("zip"),
+        GZIP("gz");
+
+        private final String extension;
+
+        CompressionFormat(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
     public static final String PROP_EXTRACT_IMAGES = "extractImages";
     public static final String PROP_FILE_EXTENSION = "extension";
     public static final String PROP_FORMAT = "format";
 
     private LobExtractType lobExtractType = LobExtractType.SKIP;
     private LobEncoding lobEncoding = LobEncoding.HEX;
+    private boolean lobDeduplicate = false;
 
     private String outputFolder = System.getProperty(StandardConstants.ENV_USER_HOME);
     private String outputFilePattern = GeneralUtils.variablePattern(StreamTransferConsumer.VARIABLE_TABLE) + "_" + GeneralUtils.variablePattern(StreamTransferConsumer.VARIABLE_TIMESTAMP);
@@ -63,12 +84,20 @@ public class StreamConsumerSettings implements IDataTransferSettings {
     private boolean outputClipboard = false;
     private boolean useSingleFile = false;
     private boolean compressResults = false;
+    private CompressionFormat compressionFormat = CompressionFormat.ZIP;
+    private int compressionThreads = 1;
+    private boolean useSingleArchive = false;
+    private boolean writeManifest = false;
     private boolean splitOutFiles = false;
     private long maxOutFileSize = 10 * 1000 * 1000;
     private boolean openFolderOnFinish = true;
     private boolean executeProcessOnFinish = false;
     private String finishProcessCommand = null;
 
+    // Output shared by all consumers of the running transfer
+    private StreamTransferArchive outputArchive;
+    private StreamTransferManifest outputManifest;
+
     public LobExtractType getLobExtractType() {
         return lobExtractType;
     }
@@ -85,6 +114,14 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         this.lobEncoding = lobEncoding;
     }
 
+    public boolean isLobDeduplicate() {
+        return lobDeduplicate;
+    }
+
+    public void setLobDeduplicate(boolean lobDeduplicate) {
+        this.lobDeduplicate = lobDeduplicate;
+    }
+
     public String getOutputFolder() {
         return outputFolder;
     }
@@ -141,6 +178,44 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         this.compressResults = compressResults;
     }
 
+    public CompressionFormat getCompressionFormat() {
+        return compressionFormat;
+    }
+
+    public void setCompressionFormat(CompressionFormat compressionFormat) {
+        this.compressionFormat = compressionFormat;
+    }
+
+    /**
+     * Number of threads which compress output blocks. Used by GZIP format only.
+     */
+    public int getCompressionThreads() {
+        return compressionThreads;
+    }
+
+    public void setCompressionThreads(int compressionThreads) {
+        this.compressionThreads = compressionThreads;
+    }
+
+    /**
+     * All output files are written as entries of one ZIP archive
+     */
+    public boolean isUseSingleArchive() {
+        return useSingleArchive;
+    }
+
+    public void setUseSingleArchive(boolean useSingleArchive) {
+        this.useSingleArchive = useSingleArchive;
+    }
+
+    public boolean isWriteManifest() {
+        return writeManifest;
+    }
+
+    public void setWriteManifest(boolean writeManifest) {
+        this.writeManifest = writeManifest;
+    }
+
     public boolean isSplitOutFiles() {
         return splitOutFiles;
     }
@@ -189,6 +264,47 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         this.formatterProfile = formatterProfile;
     }
 
+    synchronized StreamTransferArchive getOutputArchive(File archiveFile) throws IOException {
+        if (outputArchive == null) {
+            outputArchive = new StreamTransferArchive(archiveFile);
+        }
+        return outputArchive;
+    }
+
+    synchronized StreamTransferManifest getOutputManifest() {
+        if (outputManifest == null) {
+            outputManifest = new StreamTransferManifest();
+        }
+        return outputManifest;
+    }
+
+    /**
+     * Writes manifest and closes shared archive. Called once all consumers finished.
+     */
+    synchronized void closeSharedOutput() throws IOException {
+        try {
+            if (outputManifest != null) {
+                byte[] manifestData = outputManifest.toJSON();
+                if (outputArchive != null) {
+                    outputArchive.addEntry(StreamTransferManifest.MANIFEST_FILE_NAME, manifestData);
+                } else {
+                    try (OutputStream out = new FileOutputStream(new File(outputFolder, StreamTransferManifest.MANIFEST_FILE_NAME))) {
+                        out.write(manifestData);
+                    }
+                }
+            }
+        } finally {
+            outputManifest = null;
+            if (outputArchive != null) {
+                try {
+                    outputArchive.close();
+                } finally {
+                    outputArchive = null;
+                }
+            }
+        }
+    }
+
     @Override
     public void loadSettings(IRunnableContext runnableContext, DataTransferSettings dataTransferSettings, IDialogSettings dialogSettings) {
         if (!CommonUtils.isEmpty(dialogSettings.get("lobExtractType"))) {
@@ -205,6 +321,9 @@ public class StreamConsumerSettings implements IDataTransferSettings {
                 lobEncoding = LobEncoding.HEX;
             }
         }
+        if (dialogSettings.get("lobDeduplicate") != null) {
+            lobDeduplicate = dialogSettings.getBoolean("lobDeduplicate");
+        }
 
         if (!CommonUtils.isEmpty(dialogSettings.get("outputFolder"))) {
             outputFolder = dialogSettings.get("outputFolder");
@@ -232,6 +351,22 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         if (!CommonUtils.isEmpty(dialogSettings.get("compressResults"))) {
             compressResults = dialogSettings.getBoolean("compressResults");
         }
+        if (!CommonUtils.isEmpty(dialogSettings.get("compressionFormat"))) {
+            try {
+                compressionFormat = CompressionFormat.valueOf(dialogSettings.get("compressionFormat"));
+            } catch (IllegalArgumentException e) {
+                compressionFormat = CompressionFormat.ZIP;
+            }
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("compressionThreads"))) {
+            compressionThreads = Math.max(1, dialogSettings.getInt("compressionThreads"));
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("useSingleArchive"))) {
+            useSingleArchive = dialogSettings.getBoolean("useSingleArchive");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("writeManifest"))) {
+            writeManifest = dialogSettings.getBoolean("writeManifest");
+        }
         if (!CommonUtils.isEmpty(dialogSettings.get("splitOutFiles"))) {
             splitOutFiles = dialogSettings.getBoolean("splitOutFiles");
         }
@@ -257,6 +392,7 @@ public class StreamConsumerSettings implements IDataTransferSettings {
     public void saveSettings(IDialogSettings dialogSettings) {
         dialogSettings.put("lobExtractType", lobExtractType.name());
         dialogSettings.put("lobEncoding", lobEncoding.name());
+        dialogSettings.put("lobDeduplicate", lobDeduplicate);
 
         dialogSettings.put("outputFolder", outputFolder);
         dialogSettings.put("outputFilePattern", outputFilePattern);
@@ -266,6 +402,10 @@ public class StreamConsumerSettings implements IDataTransferSettings {
         dialogSettings.put("useSingleFile", useSingleFile);
 
         dialogSettings.put("compressResults", compressResults);
+        dialogSettings.put("compressionFormat", compressionFormat.name());
+        dialogSettings.put("compressionThreads", compressionThreads);
+        dialogSettings.put("useSingleArchive", useSingleArchive);
+        dialogSettings.put("writeManifest", writeManifest);
         dialogSettings.put("splitOutFiles", splitOutFiles);
         dialogSettings.put("maxOutFileSize", maxOutFileSize);
 
@@ -290,17 +430,28 @@ public class StreamConsumerSettings implements IDataTransferSettings {
             DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_file_name_pattern, outputFilePattern);
             DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_encoding, outputEncoding);
             DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_insert_bom, outputEncodingBOM);
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_use_single_archive, useSingleArchive);
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_write_manifest, writeManifest);
         } else {
             DTUtils.addSummary(summary, "Copy to clipboard", outputClipboard);
         }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_compress, compressResults);
+        if (compressResults) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_compression_format, compressionFormat);
+            if (compressionFormat == CompressionFormat.GZIP) {
+                DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_compression_threads, compressionThreads);
+            }
+        }
         if (executeProcessOnFinish) {
             DTUtils.addSummary(summary, "Execute process on finish", finishProcessCommand);
         }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_binaries, lobExtractType);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_encoding, lobEncoding);
+        if (lobExtractType == LobExtractType.FILES) {
+            DTUtils.addSummary(summary, "Deduplicate binary files", lobDeduplicate);
+        }
         if (formatterProfile != null) {
             DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_formatting, formatterProfile.getProfileName());
         }
@@ -0,0 +1,283 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * ZIP archive shared by several export streams.
+ *
+ * Entries are deflated by writers in their own threads (see {@link #createDeflater()}) into temporary files.
+ * Archive only appends ready compressed data, so compression of different entries runs in parallel.
+ * ZIP64 extensions are used for big entries and archives.
+ */
+public class StreamTransferArchive {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int VERSION_DEFAULT = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int METHOD_DEFLATED = 8;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private final File file;
+    private final FileOutputStream fileStream;
+    private final FileChannel channel;
+    private final List<Entry> entries = new ArrayList<>();
+    private final int dosTime;
+    private boolean closed;
+
+    private static class Entry {
+        final byte[] name;
+        final long crc;
+        final long size;
+        final long compressedSize;
+        final long offset;
+
+        Entry(byte[] name, long crc, long size, long compressedSize, long offset) {
+            this.name = name;
+            this.crc = crc;
+            this.size = size;
+            this.compressedSize = compressedSize;
+            this.offset = offset;
+        }
+
+        boolean isZip64() {
+            return size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC || offset >= ZIP64_MAGIC;
+        }
+    }
+
+    public StreamTransferArchive(@NotNull File file) throws IOException {
+        this.file = file;
+        this.fileStream = new FileOutputStream(file);
+        this.channel = fileStream.getChannel();
+        this.dosTime = toDosTime(System.currentTimeMillis());
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Creates deflater which produces entry data compatible with archive (raw deflate stream)
+     */
+    public static Deflater createDeflater() {
+        return new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    }
+
+    /**
+     * Appends entry with already deflated data.
+     * @param name           entry name
+     * @param compressedData file with raw deflate data
+     * @param crc            CRC32 of uncompressed data
+     * @param size           uncompressed data size
+     */
+    public synchronized void addEntry(@NotNull String name, @NotNull File compressedData, long crc, long size) throws IOException {
+        checkOpen();
+        try (FileInputStream in = new FileInputStream(compressedData)) {
+            FileChannel dataChannel = in.getChannel();
+            long compressedSize = dataChannel.size();
+            Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), crc, size, compressedSize, channel.position());
+            writeFully(makeLocalHeader(entry));
+            for (long position = 0; position < compressedSize; ) {
+                position += dataChannel.transferTo(position, compressedSize - position, channel);
+            }
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Deflates and appends small in-memory entry
+     */
+    public synchronized void addEntry(@NotNull String name, @NotNull byte[] data) throws IOException {
+        checkOpen();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        Deflater deflater = createDeflater();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+        Entry entry = new Entry(name.getBytes(StandardCharsets.UTF_8), crc.getValue(), data.length, compressed.size(), channel.position());
+        writeFully(makeLocalHeader(entry));
+        writeFully(ByteBuffer.wrap(compressed.toByteArray()));
+        entries.add(entry);
+    }
+
+    /**
+     * Writes central directory and closes archive file
+     */
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long directoryOffset = channel.position();
+            for (Entry entry : entries) {
+                writeFully(makeCentralHeader(entry));
+            }
+            long directoryEnd = channel.position();
+            long directorySize = directoryEnd - directoryOffset;
+            boolean zip64 = entries.size() >= ZIP64_MAGIC_COUNT || directoryOffset >= ZIP64_MAGIC || directorySize >= ZIP64_MAGIC;
+            if (zip64) {
+                ByteBuffer end64 = allocate(56 + 20);
+                end64.putInt(ZIP64_END_SIGNATURE);
+                end64.putLong(44);
+                end64.putShort((short) VERSION_ZIP64);
+                end64.putShort((short) VERSION_ZIP64);
+                end64.putInt(0);
+                end64.putInt(0);
+                end64.putLong(entries.size());
+                end64.putLong(entries.size());
+                end64.putLong(directorySize);
+                end64.putLong(directoryOffset);
+                // Locator
+                end64.putInt(ZIP64_LOCATOR_SIGNATURE);
+                end64.putInt(0);
+                end64.putLong(directoryEnd);
+                end64.putInt(1);
+                end64.flip();
+                writeFully(end64);
+            }
+            ByteBuffer end = allocate(22);
+            end.putInt(END_SIGNATURE);
+            end.putShort((short) 0);
+            end.putShort((short) 0);
+            end.putShort((short) Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+            end.putShort((short) Math.min(entries.size(), ZIP64_MAGIC_COUNT));
+            end.putInt((int) Math.min(directorySize, ZIP64_MAGIC));
+            end.putInt((int) Math.min(directoryOffset, ZIP64_MAGIC));
+            end.putShort((short) 0);
+            end.flip();
+            writeFully(end);
+        } finally {
+            fileStream.close();
+        }
+    }
+
+    private ByteBuffer makeLocalHeader(Entry entry) {
+        boolean zip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+        ByteBuffer header = allocate(30 + entry.name.length + (zip64 ? 20 : 0));
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT));
+        header.putShort((short) FLAG_UTF8);
+        header.putShort((short) METHOD_DEFLATED);
+        header.putInt(dosTime);
+        header.putInt((int) entry.crc);
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.compressedSize));
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.size));
+        header.putShort((short) entry.name.length);
+        header.putShort((short) (zip64 ? 20 : 0));
+        header.put(entry.name);
+        if (zip64) {
+            header.putShort((short) ZIP64_EXTRA_ID);
+            header.putShort((short) 16);
+            header.putLong(entry.size);
+            header.putLong(entry.compressedSize);
+        }
+        header.flip();
+        return header;
+    }
+
+    private ByteBuffer makeCentralHeader(Entry entry) {
+        boolean zip64 = entry.isZip64();
+        ByteBuffer header = allocate(46 + entry.name.length + (zip64 ? 28 : 0));
+        header.putInt(CENTRAL_HEADER_SIGNATURE);
+        header.putShort((short) VERSION_ZIP64);
+        header.putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT));
+        header.putShort((short) FLAG_UTF8);
+        header.putShort((short) METHOD_DEFLATED);
+        header.putInt(dosTime);
+        header.putInt((int) entry.crc);
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.compressedSize));
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.size));
+        header.putShort((short) entry.name.length);
+        header.putShort((short) (zip64 ? 28 : 0));
+        header.putShort((short) 0);                                 // Comment length
+        header.putShort((short) 0);                                 // Disk number
+        header.putShort((short) 0);                                 // Internal attributes
+        header.putInt(0);                                           // External attributes
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.offset));
+        header.put(entry.name);
+        if (zip64) {
+            header.putShort((short) ZIP64_EXTRA_ID);
+            header.putShort((short) 24);
+            header.putLong(entry.size);
+            header.putLong(entry.compressedSize);
+            header.putLong(entry.offset);
+        }
+        header.flip();
+        return header;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Archive " + file.getName() + " is closed");
+        }
+    }
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int toDosTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 25 | (calendar.get(Calendar.MONTH) + 1) << 21 | calendar.get(Calendar.DAY_OF_MONTH) << 16 |
+            calendar.get(Calendar.HOUR_OF_DAY) << 11 | calendar.get(Calendar.MINUTE) << 5 | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+}
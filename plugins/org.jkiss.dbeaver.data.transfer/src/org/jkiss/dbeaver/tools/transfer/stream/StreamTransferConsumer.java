@@ -27,12 +27,15 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.*;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDBinaryFormatter;
 import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDContentStreamed;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.data.formatters.BinaryFormatterHex;
 import org.jkiss.dbeaver.model.runtime.DBRProcessDescriptor;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRShellCommand;
@@ -43,30 +46,46 @@ import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
 import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
+import org.jkiss.dbeaver.tools.transfer.DataTransferStatistics;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferInstrumentedConsumer;
 import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.Base64;
+import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
 import java.io.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /**
  * Stream transfer consumer
  */
-public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter> {
+public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsumerSettings, IStreamDataExporter>, IDataTransferInstrumentedConsumer {
 
     private static final Log log = Log.getLog(StreamTransferConsumer.class);
 
     private static final String LOB_DIRECTORY_NAME = "files"; //$NON-NLS-1$
+    // LOBs are encoded by chunks. Chunk size must be a multiple of 3 for base64.
+    private static final int LOB_CHUNK_SIZE = 3 * 16384;
+    // Max size of LOB which may be formatted in memory (if native formatter can't format chunks)
+    private static final int MAX_LOB_BUFFER_SIZE = 16 * 1024 * 1024;
+    // Deduplicated LOBs of this size are hashed in memory and written only if they are new
+    private static final int LOB_DEDUPLICATE_BUFFER_SIZE = 1024 * 1024;
 
     public static final String VARIABLE_DATASOURCE = "datasource";
     public static final String VARIABLE_CATALOG = "catalog";
@@ -78,6 +97,9 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     public static final String VARIABLE_FILE = "file";
 
     public static final int OUT_FILE_BUFFER_SIZE = 100000;
+    // Writer encoder keeps up to 8Kb of encoded data before passing it to the output stream.
+    // While output file is smaller than (max size - threshold) it can't exceed max size, so writer isn't flushed.
+    public static final int SPLIT_FLUSH_THRESHOLD = 16 * 1024;
 
     private IStreamDataExporter processor;
     private StreamConsumerSettings settings;
@@ -88,17 +110,25 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     private PrintWriter writer;
     private int multiFileNumber;
     private long bytesWritten = 0;
+    private OutputStreamChecksum outputChecksum;
+    private long outputRowCount;
+    private File archiveEntryFile;
+    private Deflater archiveDeflater;
 
     private List<DBDAttributeBinding> metaColumns;
     private Object[] row;
     private File lobDirectory;
     private long lobCount;
+    private byte[] lobBuffer;
     private File outputFile;
     private StreamExportSite exportSite;
     private Map<Object, Object> processorProperties;
     private StringWriter outputBuffer;
     private boolean initialized = false;
     private TransferParameters parameters;
+    private DataTransferStatistics statistics;
+    // End of the previous row export. Time till the next row is spent by producer.
+    private long lastRowTime;
 
     public StreamTransferConsumer() {
     }
@@ -128,10 +158,16 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         initialized = true;
+        lastRowTime = System.nanoTime();
     }
 
     @Override
     public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException {
+        long startTime = 0;
+        if (statistics != null) {
+            startTime = System.nanoTime();
+            statistics.addTime(DataTransferStatistics.Stage.FETCH, startTime - lastRowTime);
+        }
         try {
             // Get values
             for (int i = 0; i < metaColumns.size(); i++) {
@@ -163,17 +199,29 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 }
                 row[i] = value;
             }
+            long exportStartTime = 0;
+            if (statistics != null) {
+                exportStartTime = System.nanoTime();
+                statistics.addTime(DataTransferStatistics.Stage.CONVERT, exportStartTime - startTime);
+            }
             // Export row
             processor.exportRow(session, resultSet, row);
+            outputRowCount++;
 
             // Check for file split
-            if (settings.isSplitOutFiles() && !parameters.isBinary) {
+            if (settings.isSplitOutFiles() && !parameters.isBinary && bytesWritten + SPLIT_FLUSH_THRESHOLD >= settings.getMaxOutFileSize()) {
+                // File is close to the limit. Flush writer to get exact size.
                 writer.flush();
                 if (bytesWritten >= settings.getMaxOutFileSize()) {
                     // Make new file
                     createNewOutFile();
                 }
             }
+            if (statistics != null) {
+                lastRowTime = System.nanoTime();
+                statistics.addTime(DataTransferStatistics.Stage.OUTPUT, lastRowTime - exportStartTime);
+                statistics.addRows(1);
+            }
         } catch (IOException e) {
             throw new DBCException("IO error", e);
         } catch (Throwable e) {
@@ -193,10 +241,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private File saveContentToFile(DBRProgressMonitor monitor, DBDContent content)
         throws IOException, DBCException {
-        DBDContentStorage contents = content.getContents(monitor);
-        if (contents == null) {
-            log.warn("Null value content");
-            return null;
+        // Read content right from the source if possible. Otherwise it is copied in memory or temp file first.
+        InputStream contentStream = content instanceof DBDContentStreamed ? ((DBDContentStreamed) content).openContentStream() : null;
+        DBDContentStorage contents = null;
+        if (contentStream == null) {
+            contents = content.getContents(monitor);
+            if (contents == null) {
+                log.warn("Null value content");
+                return null;
+            }
         }
         if (lobDirectory == null) {
             lobDirectory = new File(settings.getOutputFolder(), LOB_DIRECTORY_NAME);
@@ -206,16 +259,73 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                 }
             }
         }
-        lobCount++;
         Boolean extractImages = (Boolean) processorProperties.get(StreamConsumerSettings.PROP_EXTRACT_IMAGES);
         String fileExt = (extractImages != null && extractImages) ? ".jpg" : ".data";
+        if (settings.isLobDeduplicate()) {
+            try (InputStream cs = contentStream != null ? contentStream : contents.getContentStream()) {
+                return saveUniqueContentToFile(monitor, cs, fileExt);
+            }
+        }
+        lobCount++;
         File lobFile = new File(lobDirectory, outputFile.getName() + "-" + lobCount + fileExt); //$NON-NLS-1$ //$NON-NLS-2$
-        try (InputStream cs = contents.getContentStream()) {
+        try (InputStream cs = contentStream != null ? contentStream : contents.getContentStream()) {
             ContentUtils.saveContentToFile(cs, lobFile, monitor);
         }
         return lobFile;
     }
 
+    /**
+     * Saves content into file named by SHA-256 hash of the content. Equal values are saved once.
+     * Small values are hashed in memory, bigger ones are hashed while they are written into temporary file.
+     */
+    private File saveUniqueContentToFile(DBRProgressMonitor monitor, InputStream contentStream, String fileExt) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        if (lobBuffer == null) {
+            lobBuffer = new byte[LOB_DEDUPLICATE_BUFFER_SIZE];
+        }
+        int count = IOUtils.readStreamToBuffer(contentStream, lobBuffer);
+        digest.update(lobBuffer, 0, count);
+        boolean fullyRead = count < lobBuffer.length;
+        String contentHash = null;
+        if (fullyRead) {
+            contentHash = CommonUtils.toHexString(digest.digest());
+            File lobFile = new File(lobDirectory, contentHash + fileExt);
+            if (lobFile.exists()) {
+                return lobFile;
+            }
+        }
+        // Write to temporary file and rename. Parallel consumers may write the same value.
+        File tempFile = File.createTempFile("lob", ".tmp", lobDirectory); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            try (OutputStream os = new FileOutputStream(tempFile)) {
+                os.write(lobBuffer, 0, count);
+                if (!fullyRead) {
+                    ContentUtils.copyStreams(new DigestInputStream(contentStream, digest), 0, os, monitor);
+                }
+            }
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            if (contentHash == null) {
+                contentHash = CommonUtils.toHexString(digest.digest());
+            }
+            File lobFile = new File(lobDirectory, contentHash + fileExt);
+            if (!lobFile.exists() && !tempFile.renameTo(lobFile) && !lobFile.exists()) {
+                throw new IOException("Can't rename '" + tempFile.getAbsolutePath() + "' to '" + lobFile.getAbsolutePath() + "'");
+            }
+            return lobFile;
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                log.debug("Can't delete temporary file '" + tempFile.getAbsolutePath() + "'");
+            }
+        }
+    }
+
     private void initExporter(DBCSession session) throws DBCException {
         if (settings.getFormatterProfile() != null) {
             session.setDataFormatterProfile(settings.getFormatterProfile());
@@ -255,26 +365,53 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
         }
 
-        if (processor != null) {
-            // Dispose exporter
-            processor.dispose();
-            processor = null;
+        try {
+            if (processor != null) {
+                // Dispose exporter
+                processor.dispose();
+                processor = null;
+            }
+        } finally {
+            // Always close streams: compressing streams hold worker threads until closed
+            closeOutputStreams();
         }
-        closeOutputStreams();
     }
 
     private void openOutputStreams() throws IOException {
-        this.outputStream = new BufferedOutputStream(
-            new FileOutputStream(outputFile, settings.isUseSingleFile()),
-            OUT_FILE_BUFFER_SIZE);
-        if (settings.isCompressResults()) {
-            this.zipStream = new ZipOutputStream(this.outputStream);
-            this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-            this.outputStream = zipStream;
+        OutputStream fileStream;
+        if (isArchiveOutput()) {
+            // Entry is compressed in this thread, then compressed data is appended to the shared archive
+            archiveEntryFile = File.createTempFile("dbeaver-export-", ".tmp", outputFile.getParentFile());
+            archiveDeflater = StreamTransferArchive.createDeflater();
+            fileStream = new DeflaterOutputStream(new FileOutputStream(archiveEntryFile), archiveDeflater, OUT_FILE_BUFFER_SIZE);
+        } else {
+            fileStream = new FileOutputStream(outputFile, settings.isUseSingleFile());
+        }
+        if (isArchiveOutput() || isManifestOutput()) {
+            outputChecksum = new OutputStreamChecksum(fileStream);
+            outputRowCount = 0;
+            fileStream = outputChecksum;
+        }
+        this.outputStream = new BufferedOutputStream(fileStream, OUT_FILE_BUFFER_SIZE);
+        if (settings.isCompressResults() && !isArchiveOutput()) {
+            switch (settings.getCompressionFormat()) {
+                case GZIP:
+                    if (settings.getCompressionThreads() > 1) {
+                        this.outputStream = new ParallelGZIPOutputStream(this.outputStream, settings.getCompressionThreads());
+                    } else {
+                        this.outputStream = new GZIPOutputStream(this.outputStream, OUT_FILE_BUFFER_SIZE);
+                    }
+                    break;
+                default:
+                    this.zipStream = new ZipOutputStream(this.outputStream);
+                    this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
+                    this.outputStream = zipStream;
+                    break;
+            }
         }
 
-        // If we need to split files - use stream wrapper to calculate fiel size
-        if (settings.isSplitOutFiles()) {
+        // If we need to split files or collect statistics - use stream wrapper to calculate file size
+        if (settings.isSplitOutFiles() || statistics != null) {
             this.outputStream = new OutputStreamStatProxy(this.outputStream);
         }
 
@@ -323,6 +460,50 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             ContentUtils.close(outputStream);
             outputStream = null;
         }
+
+        if (outputChecksum != null) {
+            registerOutputFile();
+        }
+        if (statistics != null) {
+            statistics.addBytes(bytesWritten);
+            bytesWritten = 0;
+        }
+    }
+
+    private boolean isArchiveOutput() {
+        return settings.isUseSingleArchive() && !settings.isUseSingleFile() && !settings.isOutputClipboard();
+    }
+
+    private boolean isManifestOutput() {
+        return settings.isWriteManifest() && !settings.isUseSingleFile() && !settings.isOutputClipboard();
+    }
+
+    /**
+     * Adds closed output file to the shared archive and/or manifest
+     */
+    private void registerOutputFile() {
+        OutputStreamChecksum checksum = outputChecksum;
+        outputChecksum = null;
+        try {
+            if (archiveEntryFile != null) {
+                archiveDeflater.end();
+                try {
+                    settings.getOutputArchive(makeArchiveFile()).addEntry(outputFile.getName(), archiveEntryFile, checksum.crc.getValue(), checksum.size);
+                } finally {
+                    if (!archiveEntryFile.delete()) {
+                        log.debug("Can't delete temporary file " + archiveEntryFile.getAbsolutePath());
+                    }
+                    archiveEntryFile = null;
+                    archiveDeflater = null;
+                }
+            }
+            if (isManifestOutput()) {
+                String sourceName = sourceObject == null ? "" : DBUtils.getObjectFullName(sourceObject, DBPEvaluationContext.UI);
+                settings.getOutputManifest().addFile(outputFile.getName(), sourceName, outputRowCount, checksum.size, checksum.crc.getValue());
+            }
+        } catch (IOException e) {
+            log.error("Error writing output file '" + outputFile.getName() + "' to archive", e);
+        }
     }
 
     private void createNewOutFile() throws IOException {
@@ -335,6 +516,11 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         openOutputStreams();
     }
 
+    @Override
+    public void setTransferStatistics(DataTransferStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     @Override
     public void initTransfer(DBSObject sourceObject, StreamConsumerSettings settings, TransferParameters parameters, IStreamDataExporter processor, Map<Object, Object> processorProperties) {
         this.sourceObject = sourceObject;
@@ -369,6 +555,12 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             return;
         }
 
+        try {
+            settings.closeSharedOutput();
+        } catch (IOException e) {
+            log.error("Error closing export archive", e);
+        }
+
         if (!parameters.isBinary && settings.isOutputClipboard()) {
             if (outputBuffer != null) {
                 UIUtils.syncExec(() -> {
@@ -459,37 +651,49 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             log.error("Can't create output directory '" + dir.getAbsolutePath() + "'");
         }
         String fileName = getOutputFileName();
-        if (settings.isCompressResults()) {
-            fileName += ".zip";
+        if (settings.isCompressResults() && !isArchiveOutput()) {
+            fileName += "." + settings.getCompressionFormat().getExtension();
         }
         return new File(dir, fileName);
     }
 
+    private File makeArchiveFile() {
+        String fileName = translatePattern(settings.getOutputFilePattern(), null, true).trim();
+        return new File(settings.getOutputFolder(), fileName + ".zip");
+    }
+
     private String translatePattern(String pattern, final File targetFile) {
+        return translatePattern(pattern, targetFile, settings.isUseSingleFile());
+    }
+
+    /**
+     * @param shared file is shared by all exported objects, so object-specific variables are not used
+     */
+    private String translatePattern(String pattern, final File targetFile, boolean shared) {
         return GeneralUtils.replaceVariables(pattern, name -> {
             switch (name) {
                 case VARIABLE_DATASOURCE: {
-                    if (settings.isUseSingleFile()) {
+                    if (shared) {
                         return "";
                     }
                     return stripObjectName(sourceObject.getDataSource().getContainer().getName());
                 }
                 case VARIABLE_CATALOG: {
-                    if (settings.isUseSingleFile()) {
+                    if (shared) {
                         return "";
                     }
                     DBSCatalog catalog = DBUtils.getParentOfType(DBSCatalog.class, sourceObject);
                     return catalog == null ? "" : stripObjectName(catalog.getName());
                 }
                 case VARIABLE_SCHEMA: {
-                    if (settings.isUseSingleFile()) {
+                    if (shared) {
                         return "";
                     }
                     DBSSchema schema = DBUtils.getParentOfType(DBSSchema.class, sourceObject);
                     return schema == null ? "" : stripObjectName(schema.getName());
                 }
                 case VARIABLE_TABLE: {
-                    if (settings.isUseSingleFile()) {
+                    if (shared) {
                         return "export";
                     }
                     String tableName = DTUtils.getTableName(sourceObject.getDataSource(), sourceObject, true);
@@ -582,51 +786,110 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
         @Override
         public void writeBinaryData(@NotNull DBDContentStorage cs) throws IOException {
-            if (parameters.isBinary) {
-                try (final InputStream stream = cs.getContentStream()) {
-                    IOUtils.copyStream(stream, exportSite.getOutputStream());
+            try (final InputStream stream = cs.getContentStream()) {
+                writeBinaryStream(stream, cs.getCharset());
+            }
+        }
+
+        @Override
+        public void writeBinaryData(@NotNull DBRProgressMonitor monitor, @NotNull DBDContent content) throws IOException, DBCException {
+            InputStream contentStream = content instanceof DBDContentStreamed ? ((DBDContentStreamed) content).openContentStream() : null;
+            if (contentStream != null) {
+                try (final InputStream stream = contentStream) {
+                    writeBinaryStream(stream, DBValueFormatting.getDefaultBinaryFileEncoding(sourceObject.getDataSource()));
                 }
+                return;
+            }
+            DBDContentStorage cs = content.getContents(monitor);
+            if (cs != null) {
+                writeBinaryData(cs);
+            }
+        }
+
+        private void writeBinaryStream(@NotNull InputStream stream, String charset) throws IOException {
+            if (parameters.isBinary) {
+                IOUtils.copyStream(stream, exportSite.getOutputStream());
             } else {
-                try (final InputStream stream = cs.getContentStream()) {
-                    exportSite.flush();
-                    final DBPDataSource dataSource = sourceObject.getDataSource();
-                    switch (settings.getLobEncoding()) {
-                        case BASE64: {
-                            Base64.encode(stream, cs.getContentLength(), writer);
-                            break;
-                        }
-                        case HEX: {
-                            writer.write("0x"); //$NON-NLS-1$
-                            byte[] buffer = new byte[5000];
-                            for (; ; ) {
-                                int count = stream.read(buffer);
-                                if (count <= 0) {
-                                    break;
-                                }
-                                GeneralUtils.writeBytesAsHex(writer, buffer, 0, count);
+                exportSite.flush();
+                final DBPDataSource dataSource = sourceObject.getDataSource();
+                switch (settings.getLobEncoding()) {
+                    case BASE64: {
+                        byte[] buffer = new byte[LOB_CHUNK_SIZE];
+                        for (; ; ) {
+                            int count = IOUtils.readStreamToBuffer(stream, buffer);
+                            if (count <= 0) {
+                                break;
                             }
-                            break;
+                            Base64.encode(buffer, 0, count, writer);
                         }
-                        case NATIVE: {
-                            if (dataSource instanceof SQLDataSource) {
-                                ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) cs.getContentLength());
-                                IOUtils.copyStream(stream, buffer);
-
-                                final byte[] bytes = buffer.toByteArray();
-                                final String binaryString = ((SQLDataSource) dataSource).getSQLDialect().getNativeBinaryFormatter().toString(bytes, 0, bytes.length);
-                                writer.write(binaryString);
+                        break;
+                    }
+                    case HEX: {
+                        writer.write("0x"); //$NON-NLS-1$
+                        byte[] buffer = new byte[LOB_CHUNK_SIZE];
+                        for (; ; ) {
+                            int count = stream.read(buffer);
+                            if (count <= 0) {
                                 break;
                             }
+                            GeneralUtils.writeBytesAsHex(writer, buffer, 0, count);
                         }
-                        default: {
-                            // Binary stream
-                            try (Reader reader = new InputStreamReader(stream, cs.getCharset())) {
-                                IOUtils.copyText(reader, writer);
-                            }
+                        break;
+                    }
+                    case NATIVE: {
+                        if (dataSource instanceof SQLDataSource) {
+                            writeNativeBinary(((SQLDataSource) dataSource).getSQLDialect().getNativeBinaryFormatter(), stream);
                             break;
                         }
                     }
+                    default: {
+                        // Binary stream
+                        try (Reader reader = new InputStreamReader(stream, charset)) {
+                            IOUtils.copyText(reader, writer);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Hex formatters produce prefix + hex digits + postfix, so value is written by chunks.
+         * Other formatters need the whole value in memory.
+         */
+        private void writeNativeBinary(DBDBinaryFormatter formatter, InputStream stream) throws IOException {
+            byte[] buffer = new byte[LOB_CHUNK_SIZE];
+            if (formatter instanceof BinaryFormatterHex) {
+                String emptyValue = formatter.toString(buffer, 0, 0);
+                String byteValue = formatter.toString(buffer, 0, 1);
+                int prefixLength = 0;
+                while (prefixLength < emptyValue.length() && emptyValue.charAt(prefixLength) == byteValue.charAt(prefixLength)) {
+                    prefixLength++;
+                }
+                int postfixLength = emptyValue.length() - prefixLength;
+                writer.write(emptyValue, 0, prefixLength);
+                for (; ; ) {
+                    int count = stream.read(buffer);
+                    if (count <= 0) {
+                        break;
+                    }
+                    String chunk = formatter.toString(buffer, 0, count);
+                    writer.write(chunk, prefixLength, chunk.length() - prefixLength - postfixLength);
+                }
+                writer.write(emptyValue, prefixLength, postfixLength);
+            } else {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(LOB_CHUNK_SIZE);
+                for (; ; ) {
+                    int count = stream.read(buffer);
+                    if (count <= 0) {
+                        break;
+                    }
+                    if (bytes.size() + count > MAX_LOB_BUFFER_SIZE) {
+                        throw new IOException("Binary value is too big for native format (more than " + MAX_LOB_BUFFER_SIZE + " bytes). Use HEX or BASE64 encoding.");
+                    }
+                    bytes.write(buffer, 0, count);
                 }
+                writer.write(formatter.toString(bytes.toByteArray(), 0, bytes.size()));
             }
         }
 
@@ -636,6 +899,32 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
     }
 
+    /**
+     * Calculates size and CRC32 of the file contents
+     */
+    private static class OutputStreamChecksum extends FilterOutputStream {
+        private final CRC32 crc = new CRC32();
+        private long size;
+
+        OutputStreamChecksum(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            crc.update(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            crc.update(b, off, len);
+            size += len;
+        }
+    }
+
     private class OutputStreamStatProxy extends OutputStream {
         private final OutputStream out;
         OutputStreamStatProxy(OutputStream outputStream) {
@@ -0,0 +1,82 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.data.json.JSONUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * List of files produced by export: source object, row count, size and CRC32 of each file.
+ * Files may be added by several export jobs.
+ */
+public class StreamTransferManifest {
+
+    public static final String MANIFEST_FILE_NAME = "manifest.json"; //$NON-NLS-1$
+
+    private static class FileInfo {
+        final String fileName;
+        final String sourceName;
+        final long rowCount;
+        final long size;
+        final long crc;
+
+        FileInfo(String fileName, String sourceName, long rowCount, long size, long crc) {
+            this.fileName = fileName;
+            this.sourceName = sourceName;
+            this.rowCount = rowCount;
+            this.size = size;
+            this.crc = crc;
+        }
+    }
+
+    private final Date startTime = new Date();
+    private final List<FileInfo> files = new ArrayList<>();
+
+    public synchronized void addFile(@NotNull String fileName, @NotNull String sourceName, long rowCount, long size, long crc) {
+        files.add(new FileInfo(fileName, sourceName, rowCount, size, crc));
+    }
+
+    public synchronized byte[] toJSON() {
+        List<FileInfo> sortedFiles = new ArrayList<>(files);
+        sortedFiles.sort(Comparator.comparing(f -> f.fileName));
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("\t\"created\" : \"").append(JSONUtils.formatDate(startTime)).append("\",\n");
+        json.append("\t\"files\" : [");
+        for (int i = 0; i < sortedFiles.size(); i++) {
+            FileInfo file = sortedFiles.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("\t\t{");
+            json.append("\"name\" : \"").append(JSONUtils.escapeJsonString(file.fileName)).append("\", ");
+            json.append("\"source\" : \"").append(JSONUtils.escapeJsonString(file.sourceName)).append("\", ");
+            json.append("\"rows\" : ").append(file.rowCount).append(", ");
+            json.append("\"size\" : ").append(file.size).append(", ");
+            json.append("\"crc32\" : \"").append(String.format("%08x", file.crc)).append("\"");
+            json.append("}");
+        }
+        json.append("\n\t]\n}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
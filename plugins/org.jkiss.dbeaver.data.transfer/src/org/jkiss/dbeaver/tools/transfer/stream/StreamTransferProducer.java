@@ -38,6 +38,7 @@ import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 import org.jkiss.dbeaver.tools.transfer.registry.DataTransferProcessorDescriptor;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.FileChannelReader;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -134,13 +135,15 @@ public class StreamTransferProducer implements IDataTransferProducer<StreamProdu
         IStreamDataImporter importer = (IStreamDataImporter) processor;
         importer.init(site);
 
-        // Perform transfer
+        // Perform transfer. Progress is measured in input bytes.
+        monitor.beginTask("Import data from " + inputFile.getName(), (int) (inputFile.length() / FileChannelReader.PROGRESS_UNIT));
         try (InputStream is = new FileInputStream(inputFile)) {
             importer.runImport(monitor, is, consumer);
         } catch (IOException e) {
             throw new DBException("IO error", e);
         } finally {
             importer.dispose();
+            monitor.done();
         }
     }
 
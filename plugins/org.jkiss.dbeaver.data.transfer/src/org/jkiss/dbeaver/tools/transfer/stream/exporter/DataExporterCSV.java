@@ -152,15 +152,18 @@ public class DataExporterCSV extends StreamExporterAbstract {
                 // Inline textual content and handle binaries in some special way
                 DBDContent content = (DBDContent)row[i];
                 try {
-                    DBDContentStorage cs = content.getContents(session.getProgressMonitor());
-                    if (cs == null) {
-                        writeCellValue(DBConstants.NULL_VALUE_LABEL, false);
-                    } else if (ContentUtils.isTextContent(content)) {
-                        writeCellValue(cs.getContentReader());
-                    } else {
+                    if (!content.isNull() && !ContentUtils.isTextContent(content)) {
+                        // Binary content is read right from the source
 //                        out.write(quoteChar);
-                        getSite().writeBinaryData(cs);
+                        getSite().writeBinaryData(session.getProgressMonitor(), content);
 //                        out.write(quoteChar);
+                    } else {
+                        DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                        if (cs == null) {
+                            writeCellValue(DBConstants.NULL_VALUE_LABEL, false);
+                        } else {
+                            writeCellValue(cs.getContentReader());
+                        }
                     }
                 }
                 finally {
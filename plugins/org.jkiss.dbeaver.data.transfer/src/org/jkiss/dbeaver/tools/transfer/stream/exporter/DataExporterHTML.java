@@ -106,13 +106,14 @@ public class DataExporterHTML extends StreamExporterAbstract {
                 // Inline textual content and handle binaries in some special way
                 DBDContent content = (DBDContent)row[i];
                 try {
-                    DBDContentStorage cs = content.getContents(session.getProgressMonitor());
                     out.write("<td>");
-                    if (cs != null) {
-                        if (ContentUtils.isTextContent(content)) {
+                    if (!ContentUtils.isTextContent(content)) {
+                        // Binary content is read right from the source
+                        getSite().writeBinaryData(session.getProgressMonitor(), content);
+                    } else {
+                        DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                        if (cs != null) {
                             writeCellValue(cs.getContentReader());
-                        } else {
-                            getSite().writeBinaryData(cs);
                         }
                     }
                     out.write("</td>");
@@ -17,21 +17,19 @@
  */
 package org.jkiss.dbeaver.tools.transfer.stream.exporter;
 
-import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.DBDContent;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDocument;
-import org.jkiss.dbeaver.model.data.json.JSONUtils;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
 import org.jkiss.dbeaver.utils.ContentUtils;
-import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.MimeTypes;
 import org.jkiss.utils.CommonUtils;
 
@@ -39,24 +37,43 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.text.FieldPosition;
+import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.TimeZone;
 
 /**
- * JSON Exporter
+ * JSON Exporter.
+ * Column name prefixes are prepared once, values are escaped directly into the writer.
+ * In NDJSON mode each row is written as a single-line object without enclosing array.
  */
 public class DataExporterJSON extends StreamExporterAbstract {
 
     public static final String PROP_FORMAT_DATE_ISO = "formatDateISO";
     public static final String PROP_PRINT_TABLE_NAME = "printTableName";
+    public static final String PROP_LINE_DELIMITED = "lineDelimited";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     private List<DBDAttributeBinding> columns;
+    private String[] columnPrefixes;
     private String tableName;
     private int rowNum = 0;
 
     private boolean printTableName = true;
     private boolean formatDateISO = true;
+    private boolean lineDelimited = false;
+
+    private SimpleDateFormat dateFormat;
+    private final StringBuffer dateBuffer = new StringBuffer(32);
+    private final FieldPosition datePosition = new FieldPosition(0);
+    private final char[] numberBuffer = new char[20];
+    private final char[] escapeBuffer = new char[6];
+    private final char[] copyBuffer = new char[2000];
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
@@ -64,6 +81,12 @@ public class DataExporterJSON extends StreamExporterAbstract {
         super.init(site);
         formatDateISO = CommonUtils.getBoolean(site.getProperties().get(PROP_FORMAT_DATE_ISO), true);
         printTableName = CommonUtils.getBoolean(site.getProperties().get(PROP_PRINT_TABLE_NAME), true);
+        lineDelimited = CommonUtils.getBoolean(site.getProperties().get(PROP_LINE_DELIMITED), false);
+        if (formatDateISO) {
+            // Own formatter instance: exporters may work in parallel
+            dateFormat = new SimpleDateFormat(DBConstants.DEFAULT_ISO_TIMESTAMP_FORMAT);
+            dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        }
     }
 
     @Override
@@ -77,15 +100,39 @@ public class DataExporterJSON extends StreamExporterAbstract {
     {
         columns = getSite().getAttributes();
         tableName = getSite().getSource().getName();
+        columnPrefixes = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            DBDAttributeBinding column = columns.get(i);
+            String columnName = column.getLabel();
+            if (CommonUtils.isEmpty(columnName)) {
+                columnName = column.getName();
+            }
+            StringBuilder prefix = new StringBuilder();
+            if (!lineDelimited) {
+                prefix.append("\t\t");
+            } else if (i > 0) {
+                prefix.append(',');
+            }
+            prefix.append('"');
+            escapeString(prefix, columnName);
+            prefix.append(lineDelimited ? "\":" : "\" : ");
+            columnPrefixes[i] = prefix.toString();
+        }
         printHeader();
     }
 
     private void printHeader()
     {
+        if (lineDelimited) {
+            // No enclosing array in NDJSON
+            return;
+        }
         PrintWriter out = getWriter();
         if (printTableName) {
             out.write("{\n");
-            out.write("\"" + JSONUtils.escapeJsonString(tableName) + "\": ");
+            out.write('"');
+            writeEscaped(tableName);
+            out.write("\": ");
         }
         out.write("[\n");
     }
@@ -94,7 +141,7 @@ public class DataExporterJSON extends StreamExporterAbstract {
     public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException
     {
         PrintWriter out = getWriter();
-        if (rowNum > 0) {
+        if (rowNum > 0 && !lineDelimited) {
             out.write(",\n");
         }
         rowNum++;
@@ -103,54 +150,84 @@ public class DataExporterJSON extends StreamExporterAbstract {
             ByteArrayOutputStream buffer = new ByteArrayOutputStream();
             document.serializeDocument(session.getProgressMonitor(), buffer, StandardCharsets.UTF_8);
             String jsonText = buffer.toString(StandardCharsets.UTF_8.name());
+            if (lineDelimited) {
+                // Line breaks in JSON strings are always escaped, others are insignificant whitespace
+                jsonText = jsonText.replace('\r', ' ').replace('\n', ' ');
+            }
             out.write(jsonText);
         } else {
-            out.write("\t{\n");
+            out.write(lineDelimited ? "{" : "\t{\n");
             for (int i = 0; i < row.length; i++) {
                 DBDAttributeBinding column = columns.get(i);
-                String columnName = column.getLabel();
-                if (CommonUtils.isEmpty(columnName)) {
-                    columnName = column.getName();
-                }
-                out.write("\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ");
+                out.write(columnPrefixes[i]);
                 Object cellValue = row[i];
                 if (DBUtils.isNullValue(cellValue)) {
-                    writeTextCell(null);
+                    out.write("null");
                 } else if (cellValue instanceof DBDContent) {
                     // Content
                     // Inline textual content and handle binaries in some special way
                     DBDContent content = (DBDContent) cellValue;
                     try {
-                        DBDContentStorage cs = content.getContents(session.getProgressMonitor());
-                        if (cs != null) {
-                            if (ContentUtils.isTextContent(content)) {
+                        if (!ContentUtils.isTextContent(content)) {
+                            // Binary content is read right from the source
+                            getSite().writeBinaryData(session.getProgressMonitor(), content);
+                        } else {
+                            DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                            if (cs != null) {
                                 try (Reader in = cs.getContentReader()) {
-                                    out.write("\"");
+                                    out.write('"');
                                     writeCellValue(in);
-                                    out.write("\"");
+                                    out.write('"');
                                 }
-                            } else {
-                                getSite().writeBinaryData(cs);
                             }
                         }
                     } finally {
                         content.release();
                     }
                 } else {
-                    if (cellValue instanceof Number || cellValue instanceof Boolean) {
-                        out.write(cellValue.toString());
-                    } else if (cellValue instanceof Date && formatDateISO) {
-                        writeTextCell(JSONUtils.formatDate((Date) cellValue));
-                    } else {
-                        writeTextCell(super.getValueDisplayString(column, cellValue));
-                    }
+                    writeValue(column, cellValue);
                 }
-                if (i < row.length - 1) {
-                    out.write(",");
+                if (!lineDelimited) {
+                    if (i < row.length - 1) {
+                        out.write(',');
+                    }
+                    out.write('\n');
                 }
-                out.write("\n");
             }
-            out.write("\t}");
+            out.write(lineDelimited ? "}" : "\t}");
+        }
+        if (lineDelimited) {
+            out.write('\n');
+        }
+    }
+
+    private void writeValue(DBDAttributeBinding column, Object cellValue)
+    {
+        PrintWriter out = getWriter();
+        if (cellValue instanceof Long || cellValue instanceof Integer || cellValue instanceof Short || cellValue instanceof Byte) {
+            writeLong(((Number) cellValue).longValue());
+        } else if (cellValue instanceof Double || cellValue instanceof Float) {
+            double doubleValue = ((Number) cellValue).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                // Not valid JSON numbers
+                writeTextCell(cellValue.toString());
+            } else {
+                out.write(cellValue.toString());
+            }
+        } else if (cellValue instanceof BigDecimal || cellValue instanceof BigInteger) {
+            out.write(cellValue.toString());
+        } else if (cellValue instanceof Number) {
+            writeTextCell(super.getValueDisplayString(column, cellValue));
+        } else if (cellValue instanceof Boolean) {
+            out.write((Boolean) cellValue ? "true" : "false");
+        } else if (cellValue instanceof Date && formatDateISO) {
+            dateBuffer.setLength(0);
+            dateFormat.format((Date) cellValue, dateBuffer, datePosition);
+            out.write('"');
+            out.append(dateBuffer);
+            out.write('"');
+        } else {
+            writeTextCell(super.getValueDisplayString(column, cellValue));
         }
     }
 
@@ -169,6 +246,9 @@ public class DataExporterJSON extends StreamExporterAbstract {
     @Override
     public void exportFooter(DBRProgressMonitor monitor) throws IOException
     {
+        if (lineDelimited) {
+            return;
+        }
         PrintWriter out = getWriter();
         out.write("\n]");
         if (printTableName) {
@@ -177,26 +257,140 @@ public class DataExporterJSON extends StreamExporterAbstract {
         out.write("\n");
     }
 
-    private void writeTextCell(@Nullable String value)
+    private void writeTextCell(String value)
     {
+        PrintWriter out = getWriter();
         if (value != null) {
-            getWriter().write("\"" + JSONUtils.escapeJsonString(value) + "\"");
+            out.write('"');
+            writeEscaped(value);
+            out.write('"');
         } else {
-            getWriter().write("null");
+            out.write("null");
         }
     }
 
     private void writeCellValue(Reader reader) throws IOException
     {
         // Copy reader
-        char buffer[] = new char[2000];
         for (;;) {
-            int count = reader.read(buffer);
+            int count = reader.read(copyBuffer);
             if (count <= 0) {
                 break;
             }
-            getWriter().write(JSONUtils.escapeJsonString(new String(buffer, 0, count)));
+            writeEscaped(copyBuffer, count);
+        }
+    }
+
+    private void writeLong(long value)
+    {
+        if (value == Long.MIN_VALUE) {
+            getWriter().write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+        int pos = numberBuffer.length;
+        do {
+            numberBuffer[--pos] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            numberBuffer[--pos] = '-';
+        }
+        getWriter().write(numberBuffer, pos, numberBuffer.length - pos);
+    }
+
+    /**
+     * Writes string in JSON escaping. Unescaped runs are written as is, without copying.
+     */
+    private void writeEscaped(String str)
+    {
+        PrintWriter out = getWriter();
+        int length = str.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            int escapeLength = prepareEscape(str.charAt(i));
+            if (escapeLength > 0) {
+                if (i > start) {
+                    out.write(str, start, i - start);
+                }
+                out.write(escapeBuffer, 0, escapeLength);
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            out.write(str, start, length - start);
+        }
+    }
+
+    private void writeEscaped(char[] chars, int length)
+    {
+        PrintWriter out = getWriter();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            int escapeLength = prepareEscape(chars[i]);
+            if (escapeLength > 0) {
+                if (i > start) {
+                    out.write(chars, start, i - start);
+                }
+                out.write(escapeBuffer, 0, escapeLength);
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            out.write(chars, start, length - start);
+        }
+    }
+
+    private void escapeString(StringBuilder result, String str)
+    {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            int escapeLength = prepareEscape(c);
+            if (escapeLength > 0) {
+                result.append(escapeBuffer, 0, escapeLength);
+            } else {
+                result.append(c);
+            }
+        }
+    }
+
+    /**
+     * Puts escape sequence of the character in escape buffer.
+     * @return escape sequence length or 0 if character doesn't need escaping
+     */
+    private int prepareEscape(char c)
+    {
+        char escapeChar;
+        switch (c) {
+            case '\n': escapeChar = 'n'; break;
+            case '\r': escapeChar = 'r'; break;
+            case '\t': escapeChar = 't'; break;
+            case '\f': escapeChar = 'f'; break;
+            case '\b': escapeChar = 'b'; break;
+            case '"':
+            case '\\':
+            case '/':
+                escapeChar = c;
+                break;
+            default:
+                if (c >= 0x20) {
+                    return 0;
+                }
+                // Other control characters
+                escapeBuffer[0] = '\\';
+                escapeBuffer[1] = 'u';
+                escapeBuffer[2] = '0';
+                escapeBuffer[3] = '0';
+                escapeBuffer[4] = HEX_DIGITS[c >> 4];
+                escapeBuffer[5] = HEX_DIGITS[c & 0xF];
+                return 6;
         }
+        escapeBuffer[0] = '\\';
+        escapeBuffer[1] = escapeChar;
+        return 2;
     }
 
 }
@@ -131,13 +131,16 @@ public class DataExporterMarkdownTable extends StreamExporterAbstract {
                 // Inline textual content and handle binaries in some special way
                 DBDContent content = (DBDContent)row[i];
                 try {
-                    DBDContentStorage cs = content.getContents(session.getProgressMonitor());
-                    if (cs == null) {
-                        writeCellValue(DBConstants.NULL_VALUE_LABEL);
-                    } else if (ContentUtils.isTextContent(content)) {
-                        writeCellValue(cs.getContentReader());
+                    if (!content.isNull() && !ContentUtils.isTextContent(content)) {
+                        // Binary content is read right from the source
+                        getSite().writeBinaryData(session.getProgressMonitor(), content);
                     } else {
-                        getSite().writeBinaryData(cs);
+                        DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                        if (cs == null) {
+                            writeCellValue(DBConstants.NULL_VALUE_LABEL);
+                        } else {
+                            writeCellValue(cs.getContentReader());
+                        }
                     }
                 }
                 finally {
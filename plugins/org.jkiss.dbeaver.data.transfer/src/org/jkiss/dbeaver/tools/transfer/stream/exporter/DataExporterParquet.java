@@ -0,0 +1,312 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.exporter;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
+import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetFormat;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetWriter;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Parquet exporter.
+ * Maps attribute types to Parquet physical/logical types. Values which have no direct mapping are exported as strings.
+ */
+public class DataExporterParquet extends StreamExporterAbstract {
+
+    private static final Log log = Log.getLog(DataExporterParquet.class);
+
+    public static final String PROP_COMPRESSION = "compression";
+    public static final String PROP_ROW_GROUP_SIZE = "rowGroupSize";
+
+    // Max decimal precision supported by most Parquet consumers
+    private static final int MAX_DECIMAL_PRECISION = 38;
+
+    private List<DBDAttributeBinding> columns;
+    private List<ParquetColumn> parquetColumns;
+    private ParquetWriter parquetWriter;
+    private ParquetFormat.Compression compression;
+    private int rowGroupSize;
+    private Object[] values;
+
+    @Override
+    public void init(IStreamDataExporterSite site) throws DBException {
+        super.init(site);
+        Map<Object, Object> properties = site.getProperties();
+        String compressionName = CommonUtils.toString(properties.get(PROP_COMPRESSION), ParquetFormat.Compression.GZIP.name());
+        try {
+            compression = ParquetFormat.Compression.valueOf(compressionName.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unsupported Parquet compression: " + compressionName);
+            compression = ParquetFormat.Compression.GZIP;
+        }
+        rowGroupSize = CommonUtils.toInt(properties.get(PROP_ROW_GROUP_SIZE), ParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    @Override
+    public void exportHeader(DBCSession session) throws DBException, IOException {
+        columns = getSite().getAttributes();
+        parquetColumns = new ArrayList<>(columns.size());
+        Set<String> columnNames = new HashSet<>();
+        for (DBDAttributeBinding column : columns) {
+            String columnName = column.getLabel();
+            if (CommonUtils.isEmpty(columnName)) {
+                columnName = column.getName();
+            }
+            // Parquet column names must be unique
+            String uniqueName = columnName;
+            for (int i = 2; !columnNames.add(uniqueName); i++) {
+                uniqueName = columnName + "_" + i;
+            }
+            parquetColumns.add(makeParquetColumn(uniqueName, column));
+        }
+        values = new Object[columns.size()];
+        parquetWriter = new ParquetWriter(getOutputStream(), parquetColumns, compression, rowGroupSize);
+    }
+
+    @Override
+    public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
+        for (int i = 0; i < row.length && i < values.length; i++) {
+            Object value = row[i];
+            if (value instanceof DBDContent) {
+                DBDContent content = (DBDContent) value;
+                try {
+                    if (ContentUtils.isTextContent(content)) {
+                        value = ContentUtils.getContentStringValue(session.getProgressMonitor(), content);
+                    } else {
+                        value = ContentUtils.getContentBinaryValue(session.getProgressMonitor(), content);
+                    }
+                } finally {
+                    content.release();
+                }
+            }
+            if (DBUtils.isNullValue(value)) {
+                values[i] = null;
+                continue;
+            }
+            try {
+                values[i] = convertValue(columns.get(i), parquetColumns.get(i), value);
+            } catch (RuntimeException e) {
+                throw new DBException("Can't convert value of '" + columns.get(i).getName() + "' to Parquet " + parquetColumns.get(i), e);
+            }
+        }
+        parquetWriter.writeRow(values);
+    }
+
+    @Override
+    public void exportFooter(DBRProgressMonitor monitor) throws DBException, IOException {
+        if (parquetWriter != null) {
+            parquetWriter.finish();
+            parquetWriter = null;
+        }
+    }
+
+    private static ParquetColumn makeParquetColumn(String name, DBDAttributeBinding attribute) {
+        switch (attribute.getDataKind()) {
+            case BOOLEAN:
+                return new ParquetColumn(name, ParquetFormat.Type.BOOLEAN, ParquetFormat.LogicalType.NONE);
+            case NUMERIC: {
+                boolean unsigned = CommonUtils.notEmpty(attribute.getTypeName()).toUpperCase(Locale.ENGLISH).contains("UNSIGNED");
+                switch (attribute.getTypeID()) {
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                        return new ParquetColumn(name, ParquetFormat.Type.INT32, ParquetFormat.LogicalType.NONE);
+                    case Types.INTEGER:
+                        return new ParquetColumn(name, unsigned ? ParquetFormat.Type.INT64 : ParquetFormat.Type.INT32, ParquetFormat.LogicalType.NONE);
+                    case Types.BIGINT:
+                        if (unsigned) {
+                            return new ParquetColumn(name, ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.DECIMAL, 20, 0);
+                        }
+                        return new ParquetColumn(name, ParquetFormat.Type.INT64, ParquetFormat.LogicalType.NONE);
+                    case Types.REAL:
+                        return new ParquetColumn(name, ParquetFormat.Type.FLOAT, ParquetFormat.LogicalType.NONE);
+                    case Types.FLOAT:
+                    case Types.DOUBLE:
+                        return new ParquetColumn(name, ParquetFormat.Type.DOUBLE, ParquetFormat.LogicalType.NONE);
+                    case Types.DECIMAL:
+                    case Types.NUMERIC: {
+                        int precision = CommonUtils.toInt(attribute.getPrecision());
+                        int scale = CommonUtils.toInt(attribute.getScale());
+                        if (precision > 0 && precision <= MAX_DECIMAL_PRECISION && scale >= 0 && scale <= precision) {
+                            ParquetFormat.Type type = precision <= 9 ? ParquetFormat.Type.INT32 :
+                                (precision <= 18 ? ParquetFormat.Type.INT64 : ParquetFormat.Type.BYTE_ARRAY);
+                            return new ParquetColumn(name, type, ParquetFormat.LogicalType.DECIMAL, precision, scale);
+                        }
+                        // Unknown precision. Keep exact value as string
+                        return new ParquetColumn(name, ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.STRING);
+                    }
+                    default:
+                        return new ParquetColumn(name, ParquetFormat.Type.DOUBLE, ParquetFormat.LogicalType.NONE);
+                }
+            }
+            case DATETIME:
+                switch (attribute.getTypeID()) {
+                    case Types.DATE:
+                        return new ParquetColumn(name, ParquetFormat.Type.INT32, ParquetFormat.LogicalType.DATE);
+                    case Types.TIME:
+                    case Types.TIME_WITH_TIMEZONE:
+                        return new ParquetColumn(name, ParquetFormat.Type.INT32, ParquetFormat.LogicalType.TIME_MILLIS);
+                    default:
+                        return new ParquetColumn(name, ParquetFormat.Type.INT64, ParquetFormat.LogicalType.TIMESTAMP_MICROS);
+                }
+            case BINARY:
+                return new ParquetColumn(name, ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.NONE);
+            case CONTENT:
+                switch (attribute.getTypeID()) {
+                    case Types.CLOB:
+                    case Types.NCLOB:
+                    case Types.LONGVARCHAR:
+                    case Types.LONGNVARCHAR:
+                    case Types.SQLXML:
+                        return new ParquetColumn(name, ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.STRING);
+                    default:
+                        return new ParquetColumn(name, ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.NONE);
+                }
+            default:
+                return new ParquetColumn(name, ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.STRING);
+        }
+    }
+
+    private Object convertValue(DBDAttributeBinding attribute, ParquetColumn column, Object value) {
+        switch (column.getLogicalType()) {
+            case DATE:
+                return (int) toLocalDateTime(value).toLocalDate().toEpochDay();
+            case TIME_MILLIS:
+                return (int) (toLocalDateTime(value).toLocalTime().toNanoOfDay() / 1000000);
+            case TIMESTAMP_MICROS: {
+                if (value instanceof java.util.Date) {
+                    long millis = ((java.util.Date) value).getTime();
+                    if (value instanceof Timestamp) {
+                        // Timestamp millis include whole seconds only
+                        return Math.floorDiv(millis, 1000L) * 1000000L + ((Timestamp) value).getNanos() / 1000;
+                    }
+                    return millis * 1000;
+                }
+                LocalDateTime localDateTime = toLocalDateTime(value);
+                return localDateTime.atZone(ZoneId.systemDefault()).toEpochSecond() * 1000000L + localDateTime.getNano() / 1000;
+            }
+            case DECIMAL: {
+                BigDecimal decimal = toBigDecimal(value).setScale(column.getScale(), RoundingMode.HALF_UP);
+                if (decimal.precision() > column.getPrecision()) {
+                    throw new ArithmeticException("Value " + decimal + " exceeds precision " + column.getPrecision());
+                }
+                switch (column.getType()) {
+                    case INT32:
+                        return decimal.unscaledValue().intValue();
+                    case INT64:
+                        return decimal.unscaledValue().longValue();
+                    default:
+                        return decimal.unscaledValue().toByteArray();
+                }
+            }
+            case STRING:
+                if (value instanceof String) {
+                    return value;
+                } else if (value instanceof BigDecimal) {
+                    return ((BigDecimal) value).toPlainString();
+                }
+                return getValueDisplayString(attribute, value);
+        }
+        switch (column.getType()) {
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    return value;
+                } else if (value instanceof Number) {
+                    return ((Number) value).intValue() != 0;
+                }
+                return CommonUtils.toBoolean(value);
+            case INT32:
+                return toNumber(value).intValue();
+            case INT64:
+                return toNumber(value).longValue();
+            case FLOAT:
+                return toNumber(value).floatValue();
+            case DOUBLE:
+                return toNumber(value).doubleValue();
+            default:
+                if (value instanceof byte[]) {
+                    return value;
+                }
+                return CommonUtils.toString(value).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Number toNumber(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        return new BigDecimal(CommonUtils.toString(value).trim());
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            return new BigDecimal(value.toString());
+        }
+        return new BigDecimal(CommonUtils.toString(value).trim());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof java.sql.Time) {
+            return ((java.sql.Time) value).toLocalTime().atDate(LocalDate.ofEpochDay(0))
+                .plusNanos((((java.sql.Time) value).getTime() % 1000 + 1000) % 1000 * 1000000);
+        } else if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.util.Date) {
+            return LocalDateTime.ofInstant(((java.util.Date) value).toInstant(), ZoneId.systemDefault());
+        } else if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof LocalTime) {
+            return ((LocalTime) value).atDate(LocalDate.ofEpochDay(0));
+        }
+        String strValue = CommonUtils.toString(value).trim();
+        try {
+            return Timestamp.valueOf(strValue).toLocalDateTime();
+        } catch (IllegalArgumentException e) {
+            return LocalDate.parse(strValue).atStartOfDay();
+        }
+    }
+
+}
@@ -175,14 +175,15 @@ public class DataExporterSQL extends StreamExporterAbstract {
                     } else {
                         // Content
                         // Inline textual content and handle binaries in some special way
-                        DBDContentStorage cs = content.getContents(session.getProgressMonitor());
-                        if (cs != null) {
-                            if (ContentUtils.isTextContent(content)) {
+                        if (!ContentUtils.isTextContent(content)) {
+                            // Binary content is read right from the source
+                            getSite().writeBinaryData(session.getProgressMonitor(), content);
+                        } else {
+                            DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                            if (cs != null) {
                                 try (Reader contentReader = cs.getContentReader()) {
                                     writeStringValue(contentReader);
                                 }
-                            } else {
-                                getSite().writeBinaryData(cs);
                             }
                         }
                     }
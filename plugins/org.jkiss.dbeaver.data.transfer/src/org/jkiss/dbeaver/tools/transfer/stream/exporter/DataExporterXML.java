@@ -108,14 +108,15 @@ public class DataExporterXML extends StreamExporterAbstract {
                 // Inline textual content and handle binaries in some special way
                 DBDContent content = (DBDContent)row[i];
                 try {
-                    DBDContentStorage cs = content.getContents(session.getProgressMonitor());
-                    if (cs != null) {
-                        if (ContentUtils.isTextContent(content)) {
+                    if (!ContentUtils.isTextContent(content)) {
+                        // Binary content is read right from the source
+                        getSite().writeBinaryData(session.getProgressMonitor(), content);
+                    } else {
+                        DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                        if (cs != null) {
                             try (Reader reader = cs.getContentReader()) {
                                 writeCellValue(reader);
                             }
-                        } else {
-                            getSite().writeBinaryData(cs);
                         }
                     }
                 }
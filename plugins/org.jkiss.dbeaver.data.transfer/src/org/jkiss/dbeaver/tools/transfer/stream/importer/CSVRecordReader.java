@@ -0,0 +1,315 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming CSV reader.
+ * Parses records into reusable char buffer. Field values are materialized as strings only on demand,
+ * so unused columns and NULL marks do not produce garbage.
+ *
+ * Quoting rules follow opencsv parser: doubled quote or escaped quote/escape inside field is a literal char,
+ * whitespace before opening quote is ignored, quoted fields may contain delimiters and line feeds.
+ * Empty lines are skipped.
+ */
+public class CSVRecordReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int SPLIT_BUFFER_SIZE = 64 * 1024;
+    private static final int NO_CHAR = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char quoteChar;
+    private final char escapeChar;
+
+    private final char[] buffer;
+    private int bufferPos;
+    private int bufferLength;
+    private boolean skipLineFeed;
+    private long charsRead;
+
+    private char[] recordChars = new char[1024];
+    private int recordLength;
+    private int[] fieldStarts = new int[32];
+    private int[] fieldEnds = new int[32];
+    private int fieldCount;
+
+    public CSVRecordReader(@NotNull Reader reader, char delimiter, char quoteChar, char escapeChar) {
+        this(reader, delimiter, quoteChar, escapeChar, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CSVRecordReader(@NotNull Reader reader, char delimiter, char quoteChar, char escapeChar, int bufferSize) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.quoteChar = quoteChar;
+        this.escapeChar = escapeChar;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Reads next record.
+     * @return false on end of stream
+     */
+    public boolean nextRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        int fieldStart = 0;
+        boolean inQuotes = false;
+        boolean recordStarted = false;
+        for (;;) {
+            if (bufferPos >= bufferLength && !fillBuffer()) {
+                if (!recordStarted) {
+                    return false;
+                }
+                addField(fieldStart);
+                return true;
+            }
+            char c = buffer[bufferPos++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (inQuotes) {
+                if (c == quoteChar) {
+                    if (peekChar() == quoteChar) {
+                        // Doubled quote
+                        appendChar(quoteChar);
+                        bufferPos++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else if (c == escapeChar) {
+                    appendEscaped();
+                } else {
+                    appendChar(c);
+                }
+                continue;
+            }
+            if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    skipLineFeed = true;
+                }
+                if (!recordStarted) {
+                    // Empty line
+                    continue;
+                }
+                addField(fieldStart);
+                return true;
+            }
+            recordStarted = true;
+            if (c == delimiter) {
+                addField(fieldStart);
+                fieldStart = recordLength;
+            } else if (c == quoteChar) {
+                if (isWhitespace(fieldStart, recordLength)) {
+                    recordLength = fieldStart;
+                }
+                inQuotes = true;
+            } else if (c == escapeChar) {
+                appendEscaped();
+            } else {
+                appendChar(c);
+            }
+        }
+    }
+
+    /**
+     * Number of chars consumed from the underlying reader (including unparsed buffer)
+     */
+    public long getCharsRead() {
+        return charsRead;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns field value or null if record has less fields
+     */
+    @Nullable
+    public String getField(int index) {
+        if (index >= fieldCount) {
+            return null;
+        }
+        return new String(recordChars, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    public int getFieldLength(int index) {
+        return index >= fieldCount ? 0 : fieldEnds[index] - fieldStarts[index];
+    }
+
+    /**
+     * Compares field value with specified string without field value materialization
+     */
+    public boolean isFieldEqual(int index, @NotNull String value) {
+        if (index >= fieldCount) {
+            return false;
+        }
+        int start = fieldStarts[index];
+        int length = fieldEnds[index] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (recordChars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Materializes all fields of current record
+     */
+    @NotNull
+    public String[] getRecord() {
+        String[] record = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            record[i] = getField(i);
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Splits file into chunks which can be parsed independently.
+     * Chunk bounds are line ends outside of quoted values (quoting rules are the same as in {@link #nextRecord()}).
+     * File is scanned once, value contents are not decoded, so quote, escape and line feed chars
+     * must be single bytes in the file encoding.
+     * @param chunkSize minimal chunk size in bytes
+     * @return chunk bounds: first is 0, last is file size
+     */
+    @NotNull
+    static long[] findRecordBounds(@NotNull FileChannel channel, long chunkSize, char quoteChar, char escapeChar) throws IOException {
+        long fileSize = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        ByteBuffer buffer = ByteBuffer.allocate(SPLIT_BUFFER_SIZE);
+        long nextBound = chunkSize;
+        boolean inQuotes = false;
+        boolean escaped = false;
+        for (long position = 0; position < fileSize; ) {
+            buffer.clear();
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                break;
+            }
+            byte[] data = buffer.array();
+            for (int i = 0; i < count; i++) {
+                byte b = data[i];
+                if (escaped) {
+                    escaped = false;
+                    if (b == quoteChar || b == escapeChar) {
+                        continue;
+                    }
+                }
+                if (b == quoteChar) {
+                    // Doubled quotes switch state twice
+                    inQuotes = !inQuotes;
+                } else if (b == escapeChar) {
+                    escaped = true;
+                } else if (b == '\n' && !inQuotes && position + i + 1 >= nextBound && position + i + 1 < fileSize) {
+                    bounds.add(position + i + 1);
+                    nextBound = position + i + 1 + chunkSize;
+                }
+            }
+            position += count;
+        }
+        bounds.add(fileSize);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private boolean fillBuffer() throws IOException {
+        int count = reader.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            bufferPos = bufferLength = 0;
+            return false;
+        }
+        bufferPos = 0;
+        bufferLength = count;
+        charsRead += count;
+        return true;
+    }
+
+    private int peekChar() throws IOException {
+        if (bufferPos >= bufferLength && !fillBuffer()) {
+            return NO_CHAR;
+        }
+        return buffer[bufferPos];
+    }
+
+    private void appendEscaped() throws IOException {
+        int next = peekChar();
+        if (next == quoteChar || next == escapeChar) {
+            appendChar((char) next);
+            bufferPos++;
+        }
+        // Otherwise escape char is ignored
+    }
+
+    private void appendChar(char c) {
+        if (recordLength >= recordChars.length) {
+            recordChars = Arrays.copyOf(recordChars, recordChars.length * 2);
+        }
+        recordChars[recordLength++] = c;
+    }
+
+    private void addField(int fieldStart) {
+        if (fieldCount >= fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldStarts.length * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    private boolean isWhitespace(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(recordChars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -16,23 +16,28 @@
  */
 package org.jkiss.dbeaver.tools.transfer.stream.importer;
 
-import au.com.bytecode.opencsv.CSVReader;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferParallelConsumer;
 import org.jkiss.dbeaver.tools.transfer.stream.*;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.*;
-import java.text.SimpleDateFormat;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * CSV importer
@@ -49,6 +54,11 @@ public class DataImporterCSV extends StreamImporterAbstract {
     private static final String PROP_EMPTY_STRING_NULL = "emptyStringNull";
     private static final String PROP_ESCAPE_CHAR = "escapeChar";
     private static final String PROP_TIMESTAMP_FORMAT = "timestampFormat";
+    private static final String PROP_PARALLEL_THREADS = "parallelThreads";
+
+    // Smaller files are imported in a single thread
+    private static final long PARALLEL_MIN_FILE_SIZE = 16 * 1024 * 1024;
+    private static final int PARALLEL_CHUNKS_PER_THREAD = 4;
 
     enum HeaderPosition {
         none,
@@ -65,16 +75,10 @@ public class DataImporterCSV extends StreamImporterAbstract {
         Map<Object, Object> processorProperties = getSite().getProcessorProperties();
         HeaderPosition headerPosition = getHeaderPosition(processorProperties);
 
-        try (Reader reader = openStreamReader(inputStream, processorProperties)) {
-            try (CSVReader csvReader = openCSVReader(reader, processorProperties)) {
-                for (;;) {
-                    String[] line = csvReader.readNext();
-                    if (line == null) {
-                        break;
-                    }
-                    if (line.length == 0) {
-                        continue;
-                    }
+        try (Reader reader = openStreamReader(inputStream, processorProperties, null)) {
+            try (CSVRecordReader csvReader = openCSVReader(reader, processorProperties)) {
+                if (csvReader.nextRecord()) {
+                    String[] line = csvReader.getRecord();
                     for (int i = 0; i < line.length; i++) {
                         String column = line[i];
                         if (headerPosition == HeaderPosition.none) {
@@ -82,7 +86,6 @@ public class DataImporterCSV extends StreamImporterAbstract {
                         }
                         columnsInfo.add(new StreamDataImporterColumnInfo(i, column));
                     }
-                    break;
                 }
             }
         } catch (IOException e) {
@@ -103,104 +106,94 @@ public class DataImporterCSV extends StreamImporterAbstract {
         return headerPosition;
     }
 
-    private CSVReader openCSVReader(Reader reader, Map<Object, Object> processorProperties) {
+    private CSVRecordReader openCSVReader(Reader reader, Map<Object, Object> processorProperties) {
         String delimiter = StreamTransferUtils.getDelimiterString(processorProperties, PROP_DELIMITER);
+        return new CSVRecordReader(reader, delimiter.charAt(0), getQuoteChar(processorProperties), getEscapeChar(processorProperties));
+    }
+
+    private static char getQuoteChar(Map<Object, Object> processorProperties) {
         String quoteChar = CommonUtils.toString(processorProperties.get(PROP_QUOTE_CHAR));
         if (CommonUtils.isEmpty(quoteChar)) {
             quoteChar = "'";
         }
+        return quoteChar.charAt(0);
+    }
+
+    private static char getEscapeChar(Map<Object, Object> processorProperties) {
         String escapeChar = CommonUtils.toString(processorProperties.get(PROP_ESCAPE_CHAR));
         if (CommonUtils.isEmpty(escapeChar)) {
             escapeChar = "\\";
         }
-        return new CSVReader(reader, delimiter.charAt(0), quoteChar.charAt(0), escapeChar.charAt(0));
+        return escapeChar.charAt(0);
     }
 
-    private InputStreamReader openStreamReader(InputStream inputStream, Map<Object, Object> processorProperties) throws UnsupportedEncodingException {
+    private Reader openStreamReader(InputStream inputStream, Map<Object, Object> processorProperties, @Nullable DBRProgressMonitor monitor) throws IOException {
+        if (inputStream instanceof FileInputStream) {
+            // Read file channel directly, without stream decoder buffers
+            FileChannel channel = ((FileInputStream) inputStream).getChannel();
+            return new FileChannelReader(channel, channel.position(), channel.size(), getCharset(processorProperties), monitor);
+        }
         String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
         return new InputStreamReader(inputStream, encoding);
     }
 
+    private static Charset getCharset(Map<Object, Object> processorProperties) throws UnsupportedEncodingException {
+        String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+    }
+
+    /**
+     * Returns flags of stream columns which are read by mappings.
+     * Values of other columns are not materialized.
+     */
+    static boolean[] getUsedColumns(StreamProducerSettings.EntityMapping entityMapping) {
+        int columnCount = entityMapping.getStreamColumns().size();
+        List<StreamProducerSettings.AttributeMapping> valuableMappings = entityMapping.getValuableAttributeMappings();
+        for (StreamProducerSettings.AttributeMapping attr : valuableMappings) {
+            columnCount = Math.max(columnCount, attr.getSourceAttributeIndex() + 1);
+        }
+        boolean[] usedColumns = new boolean[columnCount];
+        for (StreamProducerSettings.AttributeMapping attr : valuableMappings) {
+            if (attr.getMappingType() != StreamProducerSettings.AttributeMapping.MappingType.DEFAULT_VALUE && attr.getSourceAttributeIndex() >= 0) {
+                usedColumns[attr.getSourceAttributeIndex()] = true;
+            }
+        }
+        return usedColumns;
+    }
+
     @Override
     public void runImport(DBRProgressMonitor monitor, InputStream inputStream, IDataTransferConsumer consumer) throws DBException {
         IStreamDataImporterSite site = getSite();
-        StreamProducerSettings.EntityMapping entityMapping = site.getSettings().getEntityMapping(site.getSourceObject());
         Map<Object, Object> properties = site.getProcessorProperties();
-        HeaderPosition headerPosition = getHeaderPosition(properties);
-        boolean emptyStringNull = CommonUtils.getBoolean(properties.get(PROP_EMPTY_STRING_NULL), false);
-        String nullValueMark = CommonUtils.toString(properties.get(PROP_NULL_STRING));
-        DateTimeFormatter tsFormat = null;
+        RecordImporter recordImporter = new RecordImporter(site.getSettings().getEntityMapping(site.getSourceObject()), properties);
 
-        String tsFormatPattern = CommonUtils.toString(properties.get(PROP_TIMESTAMP_FORMAT));
-        if (!CommonUtils.isEmpty(tsFormatPattern)) {
+        int maxRows = site.getSettings().getMaxRows();
+        int threadCount = CommonUtils.toInt(properties.get(PROP_PARALLEL_THREADS), 1);
+        if (threadCount > 1 && maxRows <= 0 && inputStream instanceof FileInputStream && consumer instanceof IDataTransferParallelConsumer) {
             try {
-                tsFormat = DateTimeFormatter.ofPattern(tsFormatPattern);
-            } catch (Exception e) {
-                log.error("Wrong timestamp format: " + tsFormatPattern, e);
+                long[] chunkBounds = splitFile(((FileInputStream) inputStream).getChannel(), threadCount, properties);
+                if (chunkBounds != null) {
+                    new ParallelImport(recordImporter, ((FileInputStream) inputStream).getChannel(), chunkBounds, properties)
+                        .run(monitor, consumer, threadCount);
+                    return;
+                }
+            } catch (IOException e) {
+                throw new DBException("IO error reading CSV", e);
             }
-            //Map<Object, Object> defTSProps = site.getSourceObject().getDataSource().getContainer().getDataFormatterProfile().getFormatterProperties(DBDDataFormatter.TYPE_NAME_TIMESTAMP);
         }
 
         try (StreamTransferSession producerSession = new StreamTransferSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
-            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
-            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
-            if (tsFormat != null) {
-                resultSet.setDateTimeFormat(tsFormat);
-            }
+            StreamTransferResultSet resultSet = recordImporter.openResultSet(producerSession);
 
             consumer.fetchStart(producerSession, resultSet, -1, -1);
 
-            try (Reader reader = openStreamReader(inputStream, properties)) {
-                try (CSVReader csvReader = openCSVReader(reader, properties)) {
-
-                    int maxRows = site.getSettings().getMaxRows();
-                    int targetAttrSize = entityMapping.getStreamColumns().size();
-                    boolean headerRead = false;
-                    for (int lineNum = 0; ; ) {
-                        String[] line = csvReader.readNext();
-                        if (line == null) {
-                            break;
-                        }
-                        if (line.length == 0) {
-                            continue;
-                        }
-                        if (headerPosition != HeaderPosition.none && !headerRead) {
-                            // First line is a header
-                            headerRead = true;
-                            continue;
-                        }
-                        if (maxRows > 0 && lineNum >= maxRows) {
-                            break;
-                        }
-
-                        if (line.length < targetAttrSize) {
-                            // Stream row may be shorter than header
-                            String[] newLine = new String[targetAttrSize];
-                            System.arraycopy(line, 0, newLine, 0, line.length);
-                            for (int i = line.length; i < targetAttrSize - line.length; i++) {
-                                newLine[i] = null;
-                            }
-                            line = newLine;
-                        }
-                        if (emptyStringNull) {
-                            for (int i = 0; i < line.length; i++) {
-                                if ("".equals(line[i])) {
-                                    line[i] = null;
-                                }
-                            }
-                        }
-                        if (!CommonUtils.isEmpty(nullValueMark)) {
-                            for (int i = 0; i < line.length; i++) {
-                                if (nullValueMark.equals(line[i])) {
-                                    line[i] = null;
-                                }
-                            }
-                        }
-
-                        resultSet.setStreamRow(line);
-                        consumer.fetchRow(producerSession, resultSet);
-                        lineNum++;
-                    }
+            try (Reader reader = openStreamReader(inputStream, properties, monitor)) {
+                try (CSVRecordReader csvReader = openCSVReader(reader, properties)) {
+                    recordImporter.importRecords(csvReader, consumer, producerSession, resultSet, true, maxRows);
                 }
             } catch (IOException e) {
                 throw new DBException("IO error reading CSV", e);
@@ -214,4 +207,248 @@ public class DataImporterCSV extends StreamImporterAbstract {
         }
     }
 
+    /**
+     * Splits file into chunks which can be parsed independently.
+     * Chunk bounds are line ends outside of quoted values. File is scanned once, value contents are not decoded.
+     * @return chunk bounds (first is 0, last is file size) or null if file can't be split
+     */
+    @Nullable
+    private long[] splitFile(FileChannel channel, int threadCount, Map<Object, Object> processorProperties) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < PARALLEL_MIN_FILE_SIZE) {
+            return null;
+        }
+        String encoding = CommonUtils.toString(processorProperties.get(PROP_ENCODING), GeneralUtils.UTF8_ENCODING);
+        char quoteChar = getQuoteChar(processorProperties);
+        char escapeChar = getEscapeChar(processorProperties);
+        if (!isSplittableEncoding(encoding) || quoteChar >= 0x80 || escapeChar >= 0x80) {
+            return null;
+        }
+
+        int chunkCount = threadCount * PARALLEL_CHUNKS_PER_THREAD;
+        long[] bounds = CSVRecordReader.findRecordBounds(channel, fileSize / chunkCount, quoteChar, escapeChar);
+        return bounds.length > 2 ? bounds : null;
+    }
+
+    /**
+     * Chunk may start at any line end only if line feed and quote bytes can't be a part of multi-byte chars.
+     */
+    private static boolean isSplittableEncoding(String encoding) {
+        try {
+            Charset charset = Charset.forName(encoding);
+            if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)) {
+                return true;
+            }
+            // Single-byte ASCII-based charsets (ISO-8859-x, windows-125x, etc)
+            String asciiChars = "\n\r\"',;\\|\t ";
+            return charset.newEncoder().maxBytesPerChar() == 1 &&
+                Arrays.equals(asciiChars.getBytes(charset), asciiChars.getBytes(StandardCharsets.US_ASCII));
+        } catch (Exception e) {
+            log.debug("Can't check encoding '" + encoding + "'", e);
+            return false;
+        }
+    }
+
+    /**
+     * Converts CSV records into stream rows
+     */
+    private class RecordImporter {
+        private final StreamProducerSettings.EntityMapping entityMapping;
+        private final HeaderPosition headerPosition;
+        private final boolean emptyStringNull;
+        private final String nullValueMark;
+        private final boolean[] usedColumns;
+        private DateTimeFormatter tsFormat;
+
+        RecordImporter(StreamProducerSettings.EntityMapping entityMapping, Map<Object, Object> properties) {
+            this.entityMapping = entityMapping;
+            this.headerPosition = getHeaderPosition(properties);
+            this.emptyStringNull = CommonUtils.getBoolean(properties.get(PROP_EMPTY_STRING_NULL), false);
+            this.nullValueMark = CommonUtils.toString(properties.get(PROP_NULL_STRING));
+            this.usedColumns = getUsedColumns(entityMapping);
+
+            String tsFormatPattern = CommonUtils.toString(properties.get(PROP_TIMESTAMP_FORMAT));
+            if (!CommonUtils.isEmpty(tsFormatPattern)) {
+                try {
+                    tsFormat = DateTimeFormatter.ofPattern(tsFormatPattern);
+                } catch (Exception e) {
+                    log.error("Wrong timestamp format: " + tsFormatPattern, e);
+                }
+                //Map<Object, Object> defTSProps = site.getSourceObject().getDataSource().getContainer().getDataFormatterProfile().getFormatterProperties(DBDDataFormatter.TYPE_NAME_TIMESTAMP);
+            }
+        }
+
+        StreamTransferResultSet openResultSet(StreamTransferSession session) {
+            LocalStatement localStatement = new LocalStatement(session, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(session, localStatement, entityMapping);
+            if (tsFormat != null) {
+                resultSet.setDateTimeFormat(tsFormat);
+            }
+            return resultSet;
+        }
+
+        void importRecords(CSVRecordReader csvReader, IDataTransferConsumer consumer, StreamTransferSession session, StreamTransferResultSet resultSet, boolean hasHeader, int maxRows) throws IOException, DBException {
+            boolean hasNullMark = !CommonUtils.isEmpty(nullValueMark);
+            // Row array is reused. Consumer reads values during fetchRow call only.
+            Object[] row = new Object[usedColumns.length];
+            boolean headerRead = !hasHeader;
+            for (int lineNum = 0; csvReader.nextRecord(); ) {
+                if (headerPosition != HeaderPosition.none && !headerRead) {
+                    // First line is a header
+                    headerRead = true;
+                    continue;
+                }
+                if (maxRows > 0 && lineNum >= maxRows) {
+                    break;
+                }
+
+                // Stream row may be shorter than header. Missing values are NULLs.
+                for (int i = 0; i < row.length; i++) {
+                    if (!usedColumns[i] || i >= csvReader.getFieldCount() ||
+                        (emptyStringNull && csvReader.getFieldLength(i) == 0) ||
+                        (hasNullMark && csvReader.isFieldEqual(i, nullValueMark)))
+                    {
+                        row[i] = null;
+                    } else {
+                        row[i] = csvReader.getField(i);
+                    }
+                }
+
+                resultSet.setStreamRow(row);
+                consumer.fetchRow(session, resultSet);
+                lineNum++;
+            }
+        }
+    }
+
+    /**
+     * Imports file chunks in several threads.
+     * Each thread uses its own consumer (and thus its own target connection).
+     */
+    private class ParallelImport {
+        private final RecordImporter recordImporter;
+        private final FileChannel channel;
+        private final Map<Object, Object> properties;
+        private final Queue<long[]> chunks = new ConcurrentLinkedQueue<>();
+        private volatile Throwable error;
+        private volatile boolean canceled;
+        private DBRProgressMonitor mainMonitor;
+
+        ParallelImport(RecordImporter recordImporter, FileChannel channel, long[] chunkBounds, Map<Object, Object> properties) {
+            this.recordImporter = recordImporter;
+            this.channel = channel;
+            this.properties = properties;
+            for (int i = 0; i < chunkBounds.length - 1; i++) {
+                chunks.add(new long[] { chunkBounds[i], chunkBounds[i + 1] });
+            }
+        }
+
+        void run(DBRProgressMonitor monitor, IDataTransferConsumer consumer, int threadCount) throws DBException {
+            this.mainMonitor = monitor;
+            List<ChunkImportJob> jobs = new ArrayList<>();
+            try (StreamTransferSession producerSession = new StreamTransferSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+                StreamTransferResultSet resultSet = recordImporter.openResultSet(producerSession);
+
+                // Main consumer starts first: it prepares target (e.g. truncates it)
+                consumer.fetchStart(producerSession, resultSet, -1, -1);
+                try {
+                    for (int i = 1; i < threadCount; i++) {
+                        IDataTransferConsumer parallelConsumer = ((IDataTransferParallelConsumer) consumer).createParallelConsumer();
+                        if (parallelConsumer == null) {
+                            break;
+                        }
+                        ChunkImportJob job = new ChunkImportJob(parallelConsumer, i);
+                        jobs.add(job);
+                        job.schedule();
+                    }
+                    importChunks(monitor, consumer, producerSession, resultSet);
+                } catch (Throwable e) {
+                    setError(e);
+                } finally {
+                    try {
+                        consumer.fetchEnd(producerSession, resultSet);
+                    } catch (Throwable e) {
+                        setError(e);
+                    } finally {
+                        consumer.close();
+                    }
+                }
+            } finally {
+                if (monitor.isCanceled()) {
+                    canceled = true;
+                }
+                for (ChunkImportJob job : jobs) {
+                    try {
+                        job.join();
+                    } catch (InterruptedException e) {
+                        canceled = true;
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            if (error != null) {
+                if (error instanceof DBException) {
+                    throw (DBException) error;
+                }
+                throw new DBException("Error importing CSV", error);
+            }
+        }
+
+        void importChunks(DBRProgressMonitor monitor, IDataTransferConsumer consumer, StreamTransferSession session, StreamTransferResultSet resultSet) throws IOException, DBException {
+            Charset charset = getCharset(properties);
+            for (long[] chunk = chunks.poll(); chunk != null; chunk = chunks.poll()) {
+                if (error != null || canceled) {
+                    break;
+                }
+                if (monitor.isCanceled() || mainMonitor.isCanceled()) {
+                    canceled = true;
+                    break;
+                }
+                try (Reader reader = new FileChannelReader(channel, chunk[0], chunk[1], charset, monitor)) {
+                    try (CSVRecordReader csvReader = openCSVReader(reader, properties)) {
+                        recordImporter.importRecords(csvReader, consumer, session, resultSet, chunk[0] == 0, -1);
+                    }
+                }
+            }
+        }
+
+        synchronized void setError(Throwable e) {
+            if (error == null) {
+                error = e;
+            } else {
+                log.debug("Parallel import error", e);
+            }
+        }
+
+        private class ChunkImportJob extends AbstractJob {
+            private final IDataTransferConsumer consumer;
+
+            ChunkImportJob(IDataTransferConsumer consumer, int index) {
+                super("Import CSV data [" + (index + 1) + "]");
+                this.consumer = consumer;
+                setSystem(true);
+            }
+
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                try (StreamTransferSession session = new StreamTransferSession(monitor, DBCExecutionPurpose.UTIL, getName())) {
+                    StreamTransferResultSet resultSet = recordImporter.openResultSet(session);
+                    consumer.fetchStart(session, resultSet, -1, -1);
+                    try {
+                        importChunks(monitor, consumer, session, resultSet);
+                    } finally {
+                        try {
+                            consumer.fetchEnd(session, resultSet);
+                        } finally {
+                            consumer.close();
+                        }
+                    }
+                } catch (Throwable e) {
+                    setError(e);
+                }
+                return Status.OK_STATUS;
+            }
+        }
+    }
+
 }
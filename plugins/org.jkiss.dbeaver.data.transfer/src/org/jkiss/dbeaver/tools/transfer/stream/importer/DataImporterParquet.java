@@ -0,0 +1,109 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.impl.local.LocalStatement;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.stream.*;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetColumn;
+import org.jkiss.dbeaver.tools.transfer.stream.parquet.ParquetReader;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parquet importer.
+ * Parquet footer and column chunks are read with random access, so input must be a file stream.
+ */
+public class DataImporterParquet extends StreamImporterAbstract {
+
+    public DataImporterParquet() {
+    }
+
+    @Override
+    public List<StreamDataImporterColumnInfo> readColumnsInfo(InputStream inputStream) throws DBException {
+        List<StreamDataImporterColumnInfo> columnsInfo = new ArrayList<>();
+        try {
+            List<ParquetColumn> columns = new ParquetReader(getFileChannel(inputStream)).getColumns();
+            for (int i = 0; i < columns.size(); i++) {
+                ParquetColumn column = columns.get(i);
+                if (!column.isRepeated()) {
+                    columnsInfo.add(new StreamDataImporterColumnInfo(i, column.getName()));
+                }
+            }
+        } catch (IOException e) {
+            throw new DBException("IO error reading Parquet", e);
+        }
+        return columnsInfo;
+    }
+
+    @Override
+    public void runImport(DBRProgressMonitor monitor, InputStream inputStream, IDataTransferConsumer consumer) throws DBException {
+        IStreamDataImporterSite site = getSite();
+        StreamProducerSettings.EntityMapping entityMapping = site.getSettings().getEntityMapping(site.getSourceObject());
+        int maxRows = site.getSettings().getMaxRows();
+
+        try (StreamTransferSession producerSession = new StreamTransferSession(monitor, DBCExecutionPurpose.UTIL, "Transfer stream data")) {
+            LocalStatement localStatement = new LocalStatement(producerSession, "SELECT * FROM Stream");
+            StreamTransferResultSet resultSet = new StreamTransferResultSet(producerSession, localStatement, entityMapping);
+
+            consumer.fetchStart(producerSession, resultSet, -1, -1);
+            try {
+                ParquetReader reader = new ParquetReader(getFileChannel(inputStream));
+                // Only mapped columns are decoded
+                boolean[] usedColumns = DataImporterCSV.getUsedColumns(entityMapping);
+                reader.setReadColumns(usedColumns);
+
+                // Row array is reused. Consumer reads values during fetchRow call only.
+                Object[] row = new Object[Math.max(usedColumns.length, reader.getColumns().size())];
+                for (int rowNum = 0; reader.readRow(row); rowNum++) {
+                    if (monitor.isCanceled() || (maxRows > 0 && rowNum >= maxRows)) {
+                        break;
+                    }
+                    resultSet.setStreamRow(row);
+                    consumer.fetchRow(producerSession, resultSet);
+                }
+            } catch (IOException e) {
+                throw new DBException("IO error reading Parquet", e);
+            } finally {
+                try {
+                    consumer.fetchEnd(producerSession, resultSet);
+                } finally {
+                    consumer.close();
+                }
+            }
+        }
+    }
+
+    private static FileChannel getFileChannel(InputStream inputStream) throws DBException, IOException {
+        if (!(inputStream instanceof FileInputStream)) {
+            throw new DBException("Parquet can be imported from local files only");
+        }
+        FileChannel channel = ((FileInputStream) inputStream).getChannel();
+        // Reader uses absolute positions
+        channel.position(0);
+        return channel;
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reads file region through direct byte buffer and decodes it straight into the caller's char buffer.
+ * Uses positional reads, so several readers may share the same channel. Channel is not closed by reader.
+ *
+ * Progress is reported in kilobytes (if monitor is specified).
+ */
+public class FileChannelReader extends Reader {
+
+    public static final int PROGRESS_UNIT = 1024;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer buffer;
+    private final long end;
+    private long position;
+    private boolean endOfInput;
+    private boolean flushed;
+    private int leftoverChar = -1;
+
+    private final DBRProgressMonitor monitor;
+    private long unreportedBytes;
+
+    public FileChannelReader(@NotNull FileChannel channel, long start, long end, @NotNull Charset charset, @Nullable DBRProgressMonitor monitor) {
+        this(channel, start, end, charset, monitor, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FileChannelReader(@NotNull FileChannel channel, long start, long end, @NotNull Charset charset, @Nullable DBRProgressMonitor monitor, int bufferSize) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.monitor = monitor;
+        // Same behavior as InputStreamReader
+        this.decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.limit(0);
+    }
+
+    @Override
+    public int read(@NotNull char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (leftoverChar >= 0) {
+            cbuf[off] = (char) leftoverChar;
+            leftoverChar = -1;
+            if (len == 1) {
+                return 1;
+            }
+            off++;
+            len--;
+            count++;
+        }
+        if (len == 1) {
+            // Surrogate pair doesn't fit into single char
+            char[] chars = new char[2];
+            int charCount = decodeChars(CharBuffer.wrap(chars));
+            if (charCount > 0) {
+                cbuf[off] = chars[0];
+                if (charCount > 1) {
+                    leftoverChar = chars[1];
+                }
+                count++;
+            }
+        } else {
+            count += Math.max(decodeChars(CharBuffer.wrap(cbuf, off, len)), 0);
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        reportProgress();
+    }
+
+    private int decodeChars(CharBuffer out) throws IOException {
+        int startPosition = out.position();
+        for (;;) {
+            CoderResult result = decoder.decode(buffer, out, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (out.position() > startPosition || result.isOverflow()) {
+                break;
+            }
+            if (endOfInput) {
+                if (!flushed) {
+                    decoder.flush(out);
+                    flushed = true;
+                }
+                break;
+            }
+            fillBuffer();
+        }
+        return out.position() - startPosition;
+    }
+
+    private void fillBuffer() throws IOException {
+        buffer.compact();
+        int count = 0;
+        if (position < end) {
+            if (buffer.remaining() > end - position) {
+                buffer.limit(buffer.position() + (int) (end - position));
+            }
+            count = channel.read(buffer, position);
+        }
+        buffer.flip();
+        if (count <= 0) {
+            endOfInput = true;
+        } else {
+            position += count;
+            unreportedBytes += count;
+            if (unreportedBytes >= PROGRESS_UNIT * 1024) {
+                reportProgress();
+            }
+        }
+    }
+
+    private void reportProgress() {
+        if (monitor != null && unreportedBytes >= PROGRESS_UNIT) {
+            monitor.worked((int) (unreportedBytes / PROGRESS_UNIT));
+            unreportedBytes %= PROGRESS_UNIT;
+        }
+    }
+
+}
@@ -45,11 +45,15 @@ public class StreamConsumerPageOutput extends ActiveWizardPage<DataTransferWizar
     private Text directoryText;
     private Text fileNameText;
     private Button compressCheckbox;
+    private Combo compressionFormatCombo;
+    private Spinner compressionThreadsSpinner;
     private Button showFolderCheckbox;
     private Button execProcessCheckbox;
     private Text execProcessText;
     private Button clipboardCheck;
     private Button singleFileCheck;
+    private Button singleArchiveCheck;
+    private Button writeManifestCheck;
     private Button showFinalMessageCheckbox;
     private Button splitFilesCheckbox;
     private Label maximumFileSizeLabel;
@@ -150,10 +154,27 @@ public class StreamConsumerPageOutput extends ActiveWizardPage<DataTransferWizar
                 @Override
                 public void widgetSelected(SelectionEvent e) {
                     settings.setUseSingleFile(singleFileCheck.getSelection());
+                    updateControlsEnablement();
                     updatePageCompletion();
                 }
             });
 
+            singleArchiveCheck = UIUtils.createCheckbox(generalSettings, DTMessages.data_transfer_wizard_output_label_use_single_archive, DTMessages.data_transfer_wizard_output_label_use_single_archive_tip, false, 2);
+            singleArchiveCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setUseSingleArchive(singleArchiveCheck.getSelection());
+                    updateControlsEnablement();
+                }
+            });
+            writeManifestCheck = UIUtils.createCheckbox(generalSettings, DTMessages.data_transfer_wizard_output_label_write_manifest, DTMessages.data_transfer_wizard_output_label_write_manifest_tip, false, 3);
+            writeManifestCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setWriteManifest(writeManifestCheck.getSelection());
+                }
+            });
+
             compressCheckbox = UIUtils.createCheckbox(generalSettings, DTMessages.data_transfer_wizard_output_checkbox_compress, null, false, 1);
             compressCheckbox.addSelectionListener(new SelectionAdapter() {
                 @Override
@@ -162,6 +183,20 @@ public class StreamConsumerPageOutput extends ActiveWizardPage<DataTransferWizar
                     updateControlsEnablement();
                 }
             });
+            compressionFormatCombo = UIUtils.createLabelCombo(generalSettings, DTMessages.data_transfer_wizard_output_label_compression_format, SWT.DROP_DOWN | SWT.READ_ONLY);
+            for (StreamConsumerSettings.CompressionFormat format : StreamConsumerSettings.CompressionFormat.values()) {
+                compressionFormatCombo.add(format.name());
+            }
+            compressionFormatCombo.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setCompressionFormat(StreamConsumerSettings.CompressionFormat.values()[compressionFormatCombo.getSelectionIndex()]);
+                    updateControlsEnablement();
+                }
+            });
+            compressionThreadsSpinner = UIUtils.createLabelSpinner(generalSettings, DTMessages.data_transfer_wizard_output_label_compression_threads,
+                DTMessages.data_transfer_wizard_output_label_compression_threads_tip, 1, 1, Runtime.getRuntime().availableProcessors() * 2);
+            compressionThreadsSpinner.addModifyListener(e -> settings.setCompressionThreads(compressionThreadsSpinner.getSelection()));
 
             {
                 Composite outFilesSettings = UIUtils.createComposite(generalSettings, 3);
@@ -252,7 +287,13 @@ public class StreamConsumerPageOutput extends ActiveWizardPage<DataTransferWizar
         singleFileCheck.setEnabled(isMulti && !clipboard && getWizard().getSettings().getMaxJobCount() <= 1);
         directoryText.setEnabled(!clipboard);
         fileNameText.setEnabled(!clipboard);
-        compressCheckbox.setEnabled(!clipboard);
+        singleArchiveCheck.setEnabled(!clipboard && !singleFile);
+        writeManifestCheck.setEnabled(!clipboard && !singleFile);
+        boolean archive = singleArchiveCheck.getSelection() && !singleFile;
+        compressCheckbox.setEnabled(!clipboard && !archive);
+        compressionFormatCombo.setEnabled(!clipboard && !archive && compressCheckbox.getSelection());
+        compressionThreadsSpinner.setEnabled(!clipboard && !archive && compressCheckbox.getSelection() &&
+            compressionFormatCombo.getSelectionIndex() == StreamConsumerSettings.CompressionFormat.GZIP.ordinal());
         splitFilesCheckbox.setEnabled(!clipboard);
         maximumFileSizeLabel.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
         maximumFileSizeText.setEnabled(!clipboard && splitFilesCheckbox.getSelection());
@@ -278,9 +319,13 @@ public class StreamConsumerPageOutput extends ActiveWizardPage<DataTransferWizar
 
         clipboardCheck.setSelection(settings.isOutputClipboard());
         singleFileCheck.setSelection(settings.isUseSingleFile());
+        singleArchiveCheck.setSelection(settings.isUseSingleArchive());
+        writeManifestCheck.setSelection(settings.isWriteManifest());
         directoryText.setText(CommonUtils.toString(settings.getOutputFolder()));
         fileNameText.setText(CommonUtils.toString(settings.getOutputFilePattern()));
         compressCheckbox.setSelection(settings.isCompressResults());
+        compressionFormatCombo.select(settings.getCompressionFormat().ordinal());
+        compressionThreadsSpinner.setSelection(settings.getCompressionThreads());
         splitFilesCheckbox.setSelection(settings.isSplitOutFiles());
         maximumFileSizeText.setText(String.valueOf(settings.getMaxOutFileSize()));
         encodingCombo.setText(CommonUtils.toString(settings.getOutputEncoding()));
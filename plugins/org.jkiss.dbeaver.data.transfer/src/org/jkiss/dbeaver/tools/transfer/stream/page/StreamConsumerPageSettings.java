@@ -51,6 +51,7 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
     private Combo lobExtractType;
     private Label lobEncodingLabel;
     private Combo lobEncodingCombo;
+    private Button lobDeduplicateCheck;
     private Combo formatProfilesCombo;
     private PropertySourceCustom propertySource;
 
@@ -167,6 +168,15 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
                         }
                     }
                 });
+
+                lobDeduplicateCheck = UIUtils.createCheckbox(generalSettings, "Deduplicate binary files",
+                    "Save equal binary values into one file named by content hash", settings.isLobDeduplicate(), 4);
+                lobDeduplicateCheck.addSelectionListener(new SelectionAdapter() {
+                    @Override
+                    public void widgetSelected(SelectionEvent e) {
+                        settings.setLobDeduplicate(lobDeduplicateCheck.getSelection());
+                    }
+                });
             }
         }
 
@@ -233,6 +243,7 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
             case BINARY: lobEncodingCombo.select(LOB_ENCODING_BINARY); break;
             case NATIVE: lobEncodingCombo.select(LOB_ENCODING_NATIVE); break;
         }
+        lobDeduplicateCheck.setSelection(settings.isLobDeduplicate());
 
         updatePageCompletion();
     }
@@ -255,6 +266,7 @@ public class StreamConsumerPageSettings extends ActiveWizardPage<DataTransferWiz
             lobEncodingLabel.setVisible(false);
             lobEncodingCombo.setVisible(false);
         }
+        lobDeduplicateCheck.setVisible(selectionIndex == EXTRACT_LOB_FILES);
 
         return true;
     }
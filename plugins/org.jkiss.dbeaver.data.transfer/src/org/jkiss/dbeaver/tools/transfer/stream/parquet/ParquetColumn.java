@@ -0,0 +1,109 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Parquet leaf column (primitive field of the schema).
+ * Writer creates only optional top-level columns.
+ */
+public class ParquetColumn {
+
+    private final String[] path;
+    private final ParquetFormat.Type type;
+    private final ParquetFormat.LogicalType logicalType;
+    private final int typeLength;
+    private final int precision;
+    private final int scale;
+    private final int maxDefinitionLevel;
+    private final int maxRepetitionLevel;
+
+    public ParquetColumn(@NotNull String name, @NotNull ParquetFormat.Type type, @NotNull ParquetFormat.LogicalType logicalType) {
+        this(name, type, logicalType, 0, 0);
+    }
+
+    public ParquetColumn(@NotNull String name, @NotNull ParquetFormat.Type type, @NotNull ParquetFormat.LogicalType logicalType, int precision, int scale) {
+        this(new String[] { name }, type, logicalType, 0, precision, scale, 1, 0);
+    }
+
+    ParquetColumn(String[] path, ParquetFormat.Type type, ParquetFormat.LogicalType logicalType, int typeLength, int precision, int scale, int maxDefinitionLevel, int maxRepetitionLevel) {
+        this.path = path;
+        this.type = type;
+        this.logicalType = logicalType;
+        this.typeLength = typeLength;
+        this.precision = precision;
+        this.scale = scale;
+        this.maxDefinitionLevel = maxDefinitionLevel;
+        this.maxRepetitionLevel = maxRepetitionLevel;
+    }
+
+    /**
+     * Column name. Nested columns have dot-separated names.
+     */
+    @NotNull
+    public String getName() {
+        return String.join(".", path);
+    }
+
+    String[] getPath() {
+        return path;
+    }
+
+    @NotNull
+    public ParquetFormat.Type getType() {
+        return type;
+    }
+
+    @NotNull
+    public ParquetFormat.LogicalType getLogicalType() {
+        return logicalType;
+    }
+
+    public int getTypeLength() {
+        return typeLength;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public int getMaxDefinitionLevel() {
+        return maxDefinitionLevel;
+    }
+
+    public int getMaxRepetitionLevel() {
+        return maxRepetitionLevel;
+    }
+
+    /**
+     * Repeated (list) values are not supported by reader
+     */
+    public boolean isRepeated() {
+        return maxRepetitionLevel > 0;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " " + type + (logicalType == ParquetFormat.LogicalType.NONE ? "" : " (" + logicalType + ")");
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parquet file format constants.
+ * Enum ordinals and ids match values of parquet.thrift definitions.
+ */
+public final class ParquetFormat {
+
+    static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    // Encodings
+    static final int ENCODING_PLAIN = 0;
+    static final int ENCODING_PLAIN_DICTIONARY = 2;
+    static final int ENCODING_RLE = 3;
+    static final int ENCODING_RLE_DICTIONARY = 8;
+
+    // Page types
+    static final int PAGE_DATA = 0;
+    static final int PAGE_DICTIONARY = 2;
+    static final int PAGE_DATA_V2 = 3;
+
+    // Field repetition types
+    static final int REPETITION_REQUIRED = 0;
+    static final int REPETITION_OPTIONAL = 1;
+    static final int REPETITION_REPEATED = 2;
+
+    /**
+     * Physical types
+     */
+    public enum Type {
+        BOOLEAN,
+        INT32,
+        INT64,
+        INT96,
+        FLOAT,
+        DOUBLE,
+        BYTE_ARRAY,
+        FIXED_LEN_BYTE_ARRAY
+    }
+
+    /**
+     * Logical types which are supported by reader and writer.
+     * Converted type is the legacy (but still most widely supported) type annotation.
+     */
+    public enum LogicalType {
+        NONE(-1),
+        STRING(0),
+        ENUM(4),
+        DECIMAL(5),
+        DATE(6),
+        TIME_MILLIS(7),
+        TIME_MICROS(8),
+        TIME_NANOS(-1),
+        TIMESTAMP_MILLIS(9),
+        TIMESTAMP_MICROS(10),
+        TIMESTAMP_NANOS(-1),
+        UNSIGNED_INT(-1),
+        JSON(19);
+
+        private final int convertedType;
+
+        LogicalType(int convertedType) {
+            this.convertedType = convertedType;
+        }
+
+        public int getConvertedType() {
+            return convertedType;
+        }
+
+        static LogicalType fromConvertedType(int convertedType) {
+            switch (convertedType) {
+                case 0: return STRING;
+                case 4: return ENUM;
+                case 5: return DECIMAL;
+                case 6: return DATE;
+                case 7: return TIME_MILLIS;
+                case 8: return TIME_MICROS;
+                case 9: return TIMESTAMP_MILLIS;
+                case 10: return TIMESTAMP_MICROS;
+                // UINT_8, UINT_16, UINT_32, UINT_64
+                case 11: case 12: case 13: case 14: return UNSIGNED_INT;
+                case 19: return JSON;
+                default: return NONE;
+            }
+        }
+    }
+
+    /**
+     * Compression codecs
+     */
+    public enum Compression {
+        UNCOMPRESSED,
+        SNAPPY,
+        GZIP,
+        LZO,
+        BROTLI,
+        LZ4,
+        ZSTD
+    }
+
+    private ParquetFormat() {
+    }
+
+}
@@ -0,0 +1,630 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Parquet file reader.
+ * Reads flat (non-repeated) columns encoded with PLAIN or dictionary encodings.
+ * Supported codecs are UNCOMPRESSED, SNAPPY and GZIP.
+ *
+ * Values are converted to java types according to logical type: String, Integer, Long, Float, Double, Boolean,
+ * BigDecimal, java.sql.Date, java.sql.Time, java.sql.Timestamp. Values without logical type annotation are byte arrays.
+ * File channel is not closed by reader.
+ */
+public class ParquetReader {
+
+    private static final int PAGE_HEADER_READ_SIZE = 16 * 1024;
+    private static final long JULIAN_EPOCH_DAY = 2440588;
+    private static final long NANOS_PER_DAY = 86400L * 1000000000L;
+
+    private final FileChannel channel;
+    private final List<ParquetColumn> columns = new ArrayList<>();
+    private final List<ThriftCompactReader.ThriftStruct> rowGroups;
+    private final long rowCount;
+
+    private boolean[] readColumns;
+    private ColumnReader[] columnReaders;
+    private int rowGroupIndex = -1;
+    private long rowGroupRowsLeft;
+
+    public ParquetReader(@NotNull FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        long fileSize = channel.size();
+        byte[] tail = new byte[8];
+        if (fileSize < 12) {
+            throw new IOException("Not a Parquet file (too small)");
+        }
+        readFully(tail, fileSize - 8);
+        if (!Arrays.equals(Arrays.copyOfRange(tail, 4, 8), ParquetFormat.MAGIC)) {
+            throw new IOException("Not a Parquet file (bad magic)");
+        }
+        int footerLength = readInt(tail, 0);
+        if (footerLength <= 0 || footerLength > fileSize - 12) {
+            throw new IOException("Bad Parquet footer length: " + footerLength);
+        }
+        byte[] footer = new byte[footerLength];
+        readFully(footer, fileSize - 8 - footerLength);
+
+        ThriftCompactReader.ThriftStruct fileMetaData = new ThriftCompactReader(footer, 0, footerLength).readStruct();
+        List<?> schema = fileMetaData.getList(2);
+        if (schema.isEmpty()) {
+            throw new IOException("Empty Parquet schema");
+        }
+        // First element is a root
+        readSchema(schema, new int[] { 1 }, ((ThriftCompactReader.ThriftStruct) schema.get(0)).getInt(5, 0), new String[0], 0, 0);
+
+        this.rowCount = fileMetaData.getLong(3, 0);
+        List<ThriftCompactReader.ThriftStruct> groups = new ArrayList<>();
+        for (Object rowGroup : fileMetaData.getList(4)) {
+            groups.add((ThriftCompactReader.ThriftStruct) rowGroup);
+        }
+        this.rowGroups = groups;
+        this.readColumns = new boolean[columns.size()];
+        Arrays.fill(readColumns, true);
+    }
+
+    /**
+     * All leaf columns of the file schema
+     */
+    @NotNull
+    public List<ParquetColumn> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Sets columns which values are read. Other values are always null.
+     * Repeated columns are never read.
+     */
+    public void setReadColumns(@NotNull boolean[] readColumns) {
+        this.readColumns = Arrays.copyOf(readColumns, columns.size());
+    }
+
+    /**
+     * Reads next row values.
+     * @return false if there are no more rows
+     */
+    public boolean readRow(@NotNull Object[] row) throws IOException {
+        while (rowGroupRowsLeft <= 0) {
+            if (rowGroupIndex + 1 >= rowGroups.size()) {
+                return false;
+            }
+            openRowGroup(++rowGroupIndex);
+        }
+        for (int i = 0; i < columnReaders.length && i < row.length; i++) {
+            row[i] = columnReaders[i] == null ? null : columnReaders[i].nextValue();
+        }
+        rowGroupRowsLeft--;
+        return true;
+    }
+
+    private void readSchema(List<?> schema, int[] index, int childCount, String[] parentPath, int definitionLevel, int repetitionLevel) throws IOException {
+        for (int i = 0; i < childCount; i++) {
+            if (index[0] >= schema.size()) {
+                throw new IOException("Bad Parquet schema");
+            }
+            ThriftCompactReader.ThriftStruct element = (ThriftCompactReader.ThriftStruct) schema.get(index[0]++);
+            String[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+            path[parentPath.length] = element.getString(4);
+            int repetition = element.getInt(3, ParquetFormat.REPETITION_REQUIRED);
+            int defLevel = definitionLevel + (repetition == ParquetFormat.REPETITION_REQUIRED ? 0 : 1);
+            int repLevel = repetitionLevel + (repetition == ParquetFormat.REPETITION_REPEATED ? 1 : 0);
+            int children = element.getInt(5, 0);
+            if (children > 0 || !element.has(1)) {
+                readSchema(schema, index, children, path, defLevel, repLevel);
+            } else {
+                ParquetFormat.Type type = ParquetFormat.Type.values()[element.getInt(1, 0)];
+                ParquetFormat.LogicalType logicalType = ParquetFormat.LogicalType.fromConvertedType(element.getInt(6, -1));
+                int precision = element.getInt(8, 0);
+                int scale = element.getInt(7, 0);
+                ThriftCompactReader.ThriftStruct logicalTypeStruct = element.getStruct(10);
+                if (logicalTypeStruct != null) {
+                    // Logical type annotation is more precise than converted type
+                    ParquetFormat.LogicalType annotatedType = getLogicalType(logicalTypeStruct);
+                    if (annotatedType != null) {
+                        logicalType = annotatedType;
+                    }
+                    ThriftCompactReader.ThriftStruct decimalType = logicalTypeStruct.getStruct(5);
+                    if (decimalType != null) {
+                        scale = decimalType.getInt(1, scale);
+                        precision = decimalType.getInt(2, precision);
+                    }
+                }
+                columns.add(new ParquetColumn(path, type, logicalType, element.getInt(2, 0), precision, scale, defLevel, repLevel));
+            }
+        }
+    }
+
+    private static ParquetFormat.LogicalType getLogicalType(ThriftCompactReader.ThriftStruct logicalType) {
+        if (logicalType.has(1)) {
+            return ParquetFormat.LogicalType.STRING;
+        } else if (logicalType.has(4)) {
+            return ParquetFormat.LogicalType.ENUM;
+        } else if (logicalType.has(5)) {
+            return ParquetFormat.LogicalType.DECIMAL;
+        } else if (logicalType.has(6)) {
+            return ParquetFormat.LogicalType.DATE;
+        } else if (logicalType.has(7) || logicalType.has(8)) {
+            boolean time = logicalType.has(7);
+            ThriftCompactReader.ThriftStruct unit = logicalType.getStruct(time ? 7 : 8).getStruct(2);
+            if (unit == null || unit.has(1)) {
+                return time ? ParquetFormat.LogicalType.TIME_MILLIS : ParquetFormat.LogicalType.TIMESTAMP_MILLIS;
+            } else if (unit.has(2)) {
+                return time ? ParquetFormat.LogicalType.TIME_MICROS : ParquetFormat.LogicalType.TIMESTAMP_MICROS;
+            } else {
+                return time ? ParquetFormat.LogicalType.TIME_NANOS : ParquetFormat.LogicalType.TIMESTAMP_NANOS;
+            }
+        } else if (logicalType.has(10)) {
+            return logicalType.getStruct(10).getBoolean(2, true) ? ParquetFormat.LogicalType.NONE : ParquetFormat.LogicalType.UNSIGNED_INT;
+        } else if (logicalType.has(12)) {
+            return ParquetFormat.LogicalType.JSON;
+        }
+        return null;
+    }
+
+    private void openRowGroup(int index) throws IOException {
+        ThriftCompactReader.ThriftStruct rowGroup = rowGroups.get(index);
+        List<?> chunks = rowGroup.getList(1);
+        if (chunks.size() != columns.size()) {
+            throw new IOException("Row group column count mismatch: " + chunks.size() + " while " + columns.size() + " expected");
+        }
+        columnReaders = new ColumnReader[columns.size()];
+        for (int i = 0; i < columnReaders.length; i++) {
+            ParquetColumn column = columns.get(i);
+            if (!readColumns[i] || column.isRepeated()) {
+                continue;
+            }
+            ThriftCompactReader.ThriftStruct metaData = ((ThriftCompactReader.ThriftStruct) chunks.get(i)).getStruct(3);
+            if (metaData == null) {
+                throw new IOException("Column chunk metadata is missing for " + column.getName());
+            }
+            columnReaders[i] = new ColumnReader(column, metaData);
+        }
+        rowGroupRowsLeft = rowGroup.getLong(3, 0);
+    }
+
+    private void readFully(byte[] buffer, long position) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        while (byteBuffer.hasRemaining()) {
+            int count = channel.read(byteBuffer, position + byteBuffer.position());
+            if (count < 0) {
+                throw new EOFException("Unexpected end of Parquet file");
+            }
+        }
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8) | ((data[offset + 2] & 0xFF) << 16) | ((data[offset + 3] & 0xFF) << 24);
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return (readInt(data, offset) & 0xFFFFFFFFL) | ((long) readInt(data, offset + 4) << 32);
+    }
+
+    private static int getBitWidth(int maxValue) {
+        return 32 - Integer.numberOfLeadingZeros(maxValue);
+    }
+
+    /**
+     * Decodes RLE/bit-packed hybrid data.
+     * @return position after the decoded data
+     */
+    private static int decodeHybrid(byte[] data, int offset, int end, int bitWidth, int[] result, int count) throws IOException {
+        int byteWidth = (bitWidth + 7) / 8;
+        int pos = offset;
+        int index = 0;
+        while (index < count) {
+            if (pos >= end) {
+                throw new EOFException("Unexpected end of RLE data");
+            }
+            int header = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = data[pos++] & 0xFF;
+                header |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            if ((header & 1) == 1) {
+                // Bit-packed groups of 8 values
+                int valueCount = (header >>> 1) * 8;
+                long bitOffset = (long) pos * 8;
+                for (int i = 0; i < valueCount && index < count; i++) {
+                    int value = 0;
+                    for (int bit = 0; bit < bitWidth; bit++, bitOffset++) {
+                        if ((data[(int) (bitOffset >>> 3)] & (1 << (bitOffset & 7))) != 0) {
+                            value |= 1 << bit;
+                        }
+                    }
+                    result[index++] = value;
+                }
+                pos += (header >>> 1) * bitWidth;
+            } else {
+                int runLength = header >>> 1;
+                int value = 0;
+                for (int i = 0; i < byteWidth; i++) {
+                    value |= (data[pos++] & 0xFF) << (i * 8);
+                }
+                int runEnd = Math.min(count, index + runLength);
+                Arrays.fill(result, index, runEnd, value);
+                index = runEnd;
+            }
+        }
+        return pos;
+    }
+
+    private class ColumnReader {
+        private final ParquetColumn column;
+        private final ParquetFormat.Compression compression;
+        private final long chunkEnd;
+        private long pagePosition;
+        private long valuesLeft;
+        private Object[] dictionary;
+
+        // Current page
+        private int[] definitionLevels = new int[0];
+        private Object[] pageValues = new Object[0];
+        private int pageValueCount;
+        private int pageValueIndex;
+        private int pageDataIndex;
+
+        ColumnReader(ParquetColumn column, ThriftCompactReader.ThriftStruct metaData) throws IOException {
+            this.column = column;
+            int codec = metaData.getInt(4, 0);
+            if (codec >= ParquetFormat.Compression.values().length) {
+                throw new IOException("Unsupported compression codec: " + codec);
+            }
+            this.compression = ParquetFormat.Compression.values()[codec];
+            long dataPageOffset = metaData.getLong(9, 0);
+            long dictionaryPageOffset = metaData.getLong(11, 0);
+            this.pagePosition = dictionaryPageOffset > 0 && dictionaryPageOffset < dataPageOffset ? dictionaryPageOffset : dataPageOffset;
+            this.chunkEnd = pagePosition + metaData.getLong(7, 0);
+            this.valuesLeft = metaData.getLong(5, 0);
+        }
+
+        Object nextValue() throws IOException {
+            while (pageValueIndex >= pageValueCount) {
+                if (valuesLeft <= 0) {
+                    throw new IOException("Not enough values in column " + column.getName());
+                }
+                readPage();
+            }
+            int maxDefinitionLevel = column.getMaxDefinitionLevel();
+            if (maxDefinitionLevel > 0 && definitionLevels[pageValueIndex] < maxDefinitionLevel) {
+                pageValueIndex++;
+                return null;
+            }
+            pageValueIndex++;
+            return pageValues[pageDataIndex++];
+        }
+
+        private void readPage() throws IOException {
+            if (pagePosition >= chunkEnd) {
+                throw new EOFException("Unexpected end of column chunk " + column.getName());
+            }
+            ThriftCompactReader.ThriftStruct header = null;
+            int headerLength = 0;
+            for (int readSize = PAGE_HEADER_READ_SIZE; header == null; readSize *= 2) {
+                byte[] headerData = new byte[(int) Math.min(readSize, chunkEnd - pagePosition)];
+                readFully(headerData, pagePosition);
+                ThriftCompactReader headerReader = new ThriftCompactReader(headerData, 0, headerData.length);
+                try {
+                    header = headerReader.readStruct();
+                    headerLength = headerReader.getPosition();
+                } catch (EOFException e) {
+                    // Header may contain big statistics values
+                    if (headerData.length >= chunkEnd - pagePosition) {
+                        throw e;
+                    }
+                }
+            }
+            int pageType = header.getInt(1, -1);
+            int uncompressedSize = header.getInt(2, 0);
+            int compressedSize = header.getInt(3, 0);
+            byte[] pageData = new byte[compressedSize];
+            readFully(pageData, pagePosition + headerLength);
+            pagePosition += headerLength + compressedSize;
+
+            switch (pageType) {
+                case ParquetFormat.PAGE_DICTIONARY: {
+                    ThriftCompactReader.ThriftStruct dictionaryHeader = header.getStruct(7);
+                    int valueCount = dictionaryHeader == null ? 0 : dictionaryHeader.getInt(1, 0);
+                    byte[] data = decompress(pageData, 0, compressedSize, uncompressedSize);
+                    dictionary = new Object[valueCount];
+                    decodePlain(data, 0, data.length, dictionary, valueCount);
+                    break;
+                }
+                case ParquetFormat.PAGE_DATA: {
+                    ThriftCompactReader.ThriftStruct dataHeader = header.getStruct(5);
+                    if (dataHeader == null) {
+                        throw new IOException("Data page header is missing");
+                    }
+                    int valueCount = dataHeader.getInt(1, 0);
+                    byte[] data = decompress(pageData, 0, compressedSize, uncompressedSize);
+                    int pos = 0;
+                    if (column.getMaxDefinitionLevel() > 0) {
+                        if (dataHeader.getInt(3, ParquetFormat.ENCODING_RLE) != ParquetFormat.ENCODING_RLE) {
+                            throw new IOException("Unsupported definition levels encoding in column " + column.getName());
+                        }
+                        int levelsLength = readInt(data, pos);
+                        pos += 4;
+                        prepareLevels(valueCount);
+                        decodeHybrid(data, pos, pos + levelsLength, getBitWidth(column.getMaxDefinitionLevel()), definitionLevels, valueCount);
+                        pos += levelsLength;
+                    }
+                    decodeValues(data, pos, data.length, dataHeader.getInt(2, 0), valueCount);
+                    break;
+                }
+                case ParquetFormat.PAGE_DATA_V2: {
+                    ThriftCompactReader.ThriftStruct dataHeader = header.getStruct(8);
+                    if (dataHeader == null) {
+                        throw new IOException("Data page header is missing");
+                    }
+                    int valueCount = dataHeader.getInt(1, 0);
+                    int levelsLength = dataHeader.getInt(5, 0);
+                    int repetitionLength = dataHeader.getInt(6, 0);
+                    int pos = repetitionLength;
+                    if (column.getMaxDefinitionLevel() > 0) {
+                        prepareLevels(valueCount);
+                        decodeHybrid(pageData, pos, pos + levelsLength, getBitWidth(column.getMaxDefinitionLevel()), definitionLevels, valueCount);
+                    }
+                    pos += levelsLength;
+                    byte[] data;
+                    int dataOffset;
+                    if (dataHeader.getBoolean(7, true)) {
+                        data = decompress(pageData, pos, compressedSize - pos, uncompressedSize - pos);
+                        dataOffset = 0;
+                    } else {
+                        data = pageData;
+                        dataOffset = pos;
+                    }
+                    decodeValues(data, dataOffset, data.length, dataHeader.getInt(4, 0), valueCount);
+                    break;
+                }
+                default:
+                    // Skip index pages
+                    break;
+            }
+        }
+
+        private void prepareLevels(int valueCount) {
+            if (definitionLevels.length < valueCount) {
+                definitionLevels = new int[valueCount];
+            }
+        }
+
+        private void decodeValues(byte[] data, int offset, int end, int encoding, int valueCount) throws IOException {
+            int nonNullCount = valueCount;
+            if (column.getMaxDefinitionLevel() > 0) {
+                nonNullCount = 0;
+                for (int i = 0; i < valueCount; i++) {
+                    if (definitionLevels[i] == column.getMaxDefinitionLevel()) {
+                        nonNullCount++;
+                    }
+                }
+            }
+            if (pageValues.length < nonNullCount) {
+                pageValues = new Object[nonNullCount];
+            }
+            switch (encoding) {
+                case ParquetFormat.ENCODING_PLAIN:
+                    decodePlain(data, offset, end, pageValues, nonNullCount);
+                    break;
+                case ParquetFormat.ENCODING_PLAIN_DICTIONARY:
+                case ParquetFormat.ENCODING_RLE_DICTIONARY: {
+                    if (dictionary == null) {
+                        throw new IOException("Dictionary page is missing in column " + column.getName());
+                    }
+                    int[] indexes = new int[nonNullCount];
+                    if (nonNullCount > 0) {
+                        decodeHybrid(data, offset + 1, end, data[offset] & 0xFF, indexes, nonNullCount);
+                    }
+                    for (int i = 0; i < nonNullCount; i++) {
+                        if (indexes[i] >= dictionary.length) {
+                            throw new IOException("Bad dictionary index in column " + column.getName());
+                        }
+                        pageValues[i] = dictionary[indexes[i]];
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("Unsupported encoding " + encoding + " in column " + column.getName());
+            }
+            pageValueCount = valueCount;
+            pageValueIndex = 0;
+            pageDataIndex = 0;
+            valuesLeft -= valueCount;
+        }
+
+        private void decodePlain(byte[] data, int offset, int end, Object[] result, int count) throws IOException {
+            int pos = offset;
+            try {
+                for (int i = 0; i < count; i++) {
+                    Object value;
+                    switch (column.getType()) {
+                        case BOOLEAN:
+                            value = (data[offset + i / 8] & (1 << (i % 8))) != 0;
+                            break;
+                        case INT32:
+                            value = readInt(data, pos);
+                            pos += 4;
+                            break;
+                        case INT64:
+                            value = readLong(data, pos);
+                            pos += 8;
+                            break;
+                        case INT96:
+                            value = Arrays.copyOfRange(data, pos, pos + 12);
+                            pos += 12;
+                            break;
+                        case FLOAT:
+                            value = Float.intBitsToFloat(readInt(data, pos));
+                            pos += 4;
+                            break;
+                        case DOUBLE:
+                            value = Double.longBitsToDouble(readLong(data, pos));
+                            pos += 8;
+                            break;
+                        case BYTE_ARRAY: {
+                            int length = readInt(data, pos);
+                            pos += 4;
+                            value = Arrays.copyOfRange(data, pos, pos + length);
+                            pos += length;
+                            break;
+                        }
+                        default:
+                            value = Arrays.copyOfRange(data, pos, pos + column.getTypeLength());
+                            pos += column.getTypeLength();
+                            break;
+                    }
+                    if (pos > end) {
+                        throw new EOFException();
+                    }
+                    result[i] = convertValue(value);
+                }
+            } catch (IndexOutOfBoundsException | EOFException e) {
+                throw new IOException("Unexpected end of data page in column " + column.getName());
+            }
+        }
+
+        private Object convertValue(Object value) {
+            switch (column.getType()) {
+                case INT32: {
+                    int intValue = (Integer) value;
+                    switch (column.getLogicalType()) {
+                        case DATE:
+                            return java.sql.Date.valueOf(LocalDate.ofEpochDay(intValue));
+                        case TIME_MILLIS:
+                            return makeTime(intValue * 1000000L);
+                        case DECIMAL:
+                            return BigDecimal.valueOf(intValue, column.getScale());
+                        case UNSIGNED_INT:
+                            return intValue & 0xFFFFFFFFL;
+                        default:
+                            return value;
+                    }
+                }
+                case INT64: {
+                    long longValue = (Long) value;
+                    switch (column.getLogicalType()) {
+                        case TIMESTAMP_MILLIS:
+                            return new Timestamp(longValue);
+                        case TIMESTAMP_MICROS:
+                            return makeTimestamp(Math.floorDiv(longValue, 1000000L), Math.floorMod(longValue, 1000000L) * 1000);
+                        case TIMESTAMP_NANOS:
+                            return makeTimestamp(Math.floorDiv(longValue, 1000000000L), Math.floorMod(longValue, 1000000000L));
+                        case TIME_MICROS:
+                            return makeTime(longValue * 1000);
+                        case TIME_NANOS:
+                            return makeTime(longValue);
+                        case DECIMAL:
+                            return BigDecimal.valueOf(longValue, column.getScale());
+                        case UNSIGNED_INT:
+                            return longValue >= 0 ? value : new BigInteger(Long.toUnsignedString(longValue));
+                        default:
+                            return value;
+                    }
+                }
+                case INT96: {
+                    // Legacy timestamp: nanoseconds of day and julian day
+                    byte[] bytes = (byte[]) value;
+                    long nanosOfDay = readLong(bytes, 0);
+                    long epochDay = (readInt(bytes, 8) & 0xFFFFFFFFL) - JULIAN_EPOCH_DAY;
+                    long nanos = epochDay * NANOS_PER_DAY + nanosOfDay;
+                    return makeTimestamp(Math.floorDiv(nanos, 1000000000L), Math.floorMod(nanos, 1000000000L));
+                }
+                case BYTE_ARRAY:
+                case FIXED_LEN_BYTE_ARRAY: {
+                    byte[] bytes = (byte[]) value;
+                    switch (column.getLogicalType()) {
+                        case STRING:
+                        case ENUM:
+                        case JSON:
+                            return new String(bytes, StandardCharsets.UTF_8);
+                        case DECIMAL:
+                            return bytes.length == 0 ? BigDecimal.ZERO : new BigDecimal(new BigInteger(bytes), column.getScale());
+                        default:
+                            return value;
+                    }
+                }
+                default:
+                    return value;
+            }
+        }
+
+        private Timestamp makeTimestamp(long seconds, long nanos) {
+            Timestamp timestamp = new Timestamp(seconds * 1000);
+            timestamp.setNanos((int) nanos);
+            return timestamp;
+        }
+
+        private Time makeTime(long nanosOfDay) {
+            LocalTime localTime = LocalTime.ofNanoOfDay(Math.floorMod(nanosOfDay, NANOS_PER_DAY));
+            Time time = Time.valueOf(localTime);
+            time.setTime(time.getTime() + localTime.getNano() / 1000000);
+            return time;
+        }
+
+        private byte[] decompress(byte[] data, int offset, int length, int uncompressedSize) throws IOException {
+            switch (compression) {
+                case UNCOMPRESSED:
+                    return offset == 0 && length == data.length ? data : Arrays.copyOfRange(data, offset, offset + length);
+                case SNAPPY:
+                    return SnappyDecompressor.decompress(data, offset, length);
+                case GZIP: {
+                    ByteArrayOutputStream result = new ByteArrayOutputStream(Math.max(uncompressedSize, 32));
+                    try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data, offset, length))) {
+                        byte[] buffer = new byte[8192];
+                        for (int count; (count = gzip.read(buffer)) > 0; ) {
+                            result.write(buffer, 0, count);
+                        }
+                    }
+                    return result.toByteArray();
+                }
+                default:
+                    throw new IOException("Unsupported compression codec " + compression + " in column " + column.getName());
+            }
+        }
+    }
+
+}
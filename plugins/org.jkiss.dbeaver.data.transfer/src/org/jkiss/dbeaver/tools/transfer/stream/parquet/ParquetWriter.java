@@ -0,0 +1,394 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Parquet file writer.
+ * Writes optional top-level columns with PLAIN encoding into data pages (v1).
+ * Row group column chunks are buffered in memory and written when row group is complete.
+ *
+ * Values must be of the column physical type: Boolean, Integer (INT32), Long (INT64), Float, Double,
+ * byte[] (BYTE_ARRAY, FIXED_LEN_BYTE_ARRAY and INT96). Strings are written into BYTE_ARRAY columns in UTF-8.
+ * Output stream is not closed by writer.
+ */
+public class ParquetWriter {
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 100000;
+
+    private static final int PAGE_SIZE = 1024 * 1024;
+    private static final String CREATED_BY = "DBeaver";
+
+    private final OutputStream out;
+    private final List<ParquetColumn> columns;
+    private final ColumnWriter[] columnWriters;
+    private final ParquetFormat.Compression compression;
+    private final int rowGroupSize;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private long position;
+    private long totalRows;
+    private int rowGroupRows;
+
+    public ParquetWriter(@NotNull OutputStream out, @NotNull List<ParquetColumn> columns, @NotNull ParquetFormat.Compression compression, int rowGroupSize) throws IOException {
+        if (compression != ParquetFormat.Compression.UNCOMPRESSED && compression != ParquetFormat.Compression.GZIP) {
+            throw new IOException("Compression " + compression + " is not supported by writer");
+        }
+        this.out = out;
+        this.columns = columns;
+        this.compression = compression;
+        this.rowGroupSize = rowGroupSize > 0 ? rowGroupSize : DEFAULT_ROW_GROUP_SIZE;
+        this.columnWriters = new ColumnWriter[columns.size()];
+        for (int i = 0; i < columnWriters.length; i++) {
+            columnWriters[i] = new ColumnWriter(columns.get(i));
+        }
+        write(ParquetFormat.MAGIC);
+    }
+
+    public void writeRow(@NotNull Object[] values) throws IOException {
+        for (int i = 0; i < columnWriters.length; i++) {
+            columnWriters[i].writeValue(values[i]);
+        }
+        rowGroupRows++;
+        if (rowGroupRows >= rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    /**
+     * Writes last row group and file footer
+     */
+    public void finish() throws IOException {
+        if (rowGroupRows > 0) {
+            flushRowGroup();
+        }
+        byte[] footer = makeFileMetaData();
+        write(footer);
+        write(new byte[] {
+            (byte) footer.length, (byte) (footer.length >>> 8), (byte) (footer.length >>> 16), (byte) (footer.length >>> 24) });
+        write(ParquetFormat.MAGIC);
+        out.flush();
+    }
+
+    private void flushRowGroup() throws IOException {
+        RowGroup rowGroup = new RowGroup();
+        rowGroup.rowCount = rowGroupRows;
+        rowGroup.fileOffset = position;
+        for (ColumnWriter columnWriter : columnWriters) {
+            columnWriter.flushPage();
+            ColumnChunk chunk = new ColumnChunk();
+            chunk.fileOffset = position;
+            chunk.valueCount = columnWriter.chunkValues;
+            chunk.uncompressedSize = columnWriter.chunkUncompressedSize;
+            chunk.compressedSize = columnWriter.chunk.size();
+            columnWriter.chunk.writeTo(out);
+            position += chunk.compressedSize;
+            rowGroup.columns.add(chunk);
+            rowGroup.uncompressedSize += chunk.uncompressedSize;
+            columnWriter.resetChunk();
+        }
+        rowGroups.add(rowGroup);
+        totalRows += rowGroupRows;
+        rowGroupRows = 0;
+    }
+
+    private byte[] makeFileMetaData() {
+        ThriftCompactWriter thrift = new ThriftCompactWriter();
+        thrift.structBegin();
+        thrift.fieldI32(1, 1);
+        // Schema: root element followed by columns
+        thrift.fieldList(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+        thrift.structBegin();
+        thrift.fieldString(4, "schema");
+        thrift.fieldI32(5, columns.size());
+        thrift.structEnd();
+        for (ParquetColumn column : columns) {
+            thrift.structBegin();
+            thrift.fieldI32(1, column.getType().ordinal());
+            if (column.getType() == ParquetFormat.Type.FIXED_LEN_BYTE_ARRAY) {
+                thrift.fieldI32(2, column.getTypeLength());
+            }
+            thrift.fieldI32(3, ParquetFormat.REPETITION_OPTIONAL);
+            thrift.fieldString(4, column.getName());
+            if (column.getLogicalType().getConvertedType() >= 0) {
+                thrift.fieldI32(6, column.getLogicalType().getConvertedType());
+            }
+            if (column.getLogicalType() == ParquetFormat.LogicalType.DECIMAL) {
+                thrift.fieldI32(7, column.getScale());
+                thrift.fieldI32(8, column.getPrecision());
+            }
+            thrift.structEnd();
+        }
+        thrift.fieldI64(3, totalRows);
+        thrift.fieldList(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+        for (RowGroup rowGroup : rowGroups) {
+            thrift.structBegin();
+            thrift.fieldList(1, ThriftCompactWriter.TYPE_STRUCT, rowGroup.columns.size());
+            long compressedSize = 0;
+            for (int i = 0; i < rowGroup.columns.size(); i++) {
+                ColumnChunk chunk = rowGroup.columns.get(i);
+                ParquetColumn column = columns.get(i);
+                compressedSize += chunk.compressedSize;
+                // ColumnChunk
+                thrift.structBegin();
+                thrift.fieldI64(2, chunk.fileOffset);
+                // ColumnMetaData
+                thrift.fieldStruct(3);
+                thrift.fieldI32(1, column.getType().ordinal());
+                thrift.fieldList(2, ThriftCompactWriter.TYPE_I32, 2);
+                thrift.writeI32(ParquetFormat.ENCODING_PLAIN);
+                thrift.writeI32(ParquetFormat.ENCODING_RLE);
+                thrift.fieldList(3, ThriftCompactWriter.TYPE_BINARY, 1);
+                thrift.writeString(column.getName());
+                thrift.fieldI32(4, compression.ordinal());
+                thrift.fieldI64(5, chunk.valueCount);
+                thrift.fieldI64(6, chunk.uncompressedSize);
+                thrift.fieldI64(7, chunk.compressedSize);
+                thrift.fieldI64(9, chunk.fileOffset);
+                thrift.structEnd();
+                thrift.structEnd();
+            }
+            thrift.fieldI64(2, rowGroup.uncompressedSize);
+            thrift.fieldI64(3, rowGroup.rowCount);
+            thrift.fieldI64(5, rowGroup.fileOffset);
+            thrift.fieldI64(6, compressedSize);
+            thrift.structEnd();
+        }
+        thrift.fieldString(6, CREATED_BY);
+        thrift.structEnd();
+        return thrift.toByteArray();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private byte[] compress(byte[] data, int length) throws IOException {
+        if (compression == ParquetFormat.Compression.GZIP) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(length / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(data, 0, length);
+            }
+            return buffer.toByteArray();
+        }
+        return length == data.length ? data : Arrays.copyOf(data, length);
+    }
+
+    private static class RowGroup {
+        final List<ColumnChunk> columns = new ArrayList<>();
+        long fileOffset;
+        long rowCount;
+        long uncompressedSize;
+    }
+
+    private static class ColumnChunk {
+        long fileOffset;
+        long valueCount;
+        long uncompressedSize;
+        long compressedSize;
+    }
+
+    /**
+     * Little-endian byte buffer
+     */
+    private static class PageBuffer extends ByteArrayOutputStream {
+        PageBuffer(int size) {
+            super(size);
+        }
+
+        void writeInt(int value) {
+            write(value);
+            write(value >>> 8);
+            write(value >>> 16);
+            write(value >>> 24);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) value);
+            writeInt((int) (value >>> 32));
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    private class ColumnWriter {
+        private final ParquetColumn column;
+        private final PageBuffer values = new PageBuffer(PAGE_SIZE + 1024);
+        // Definition levels (and boolean values) are bit-packed
+        private byte[] definitions = new byte[1024];
+        private byte[] booleans;
+        private int booleanCount;
+        private int pageValues;
+        private int pageNulls;
+
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        private long chunkValues;
+        private long chunkUncompressedSize;
+
+        ColumnWriter(ParquetColumn column) {
+            this.column = column;
+            if (column.getType() == ParquetFormat.Type.BOOLEAN) {
+                this.booleans = new byte[1024];
+            }
+        }
+
+        void writeValue(@Nullable Object value) throws IOException {
+            if (pageValues / 8 >= definitions.length) {
+                definitions = Arrays.copyOf(definitions, definitions.length * 2);
+            }
+            if (value == null) {
+                pageNulls++;
+            } else {
+                definitions[pageValues / 8] |= 1 << (pageValues % 8);
+                writePlainValue(value);
+            }
+            pageValues++;
+            if (values.size() >= PAGE_SIZE || booleanCount / 8 >= PAGE_SIZE) {
+                flushPage();
+            }
+        }
+
+        private void writePlainValue(@NotNull Object value) throws IOException {
+            try {
+                switch (column.getType()) {
+                    case BOOLEAN:
+                        if (booleanCount / 8 >= booleans.length) {
+                            booleans = Arrays.copyOf(booleans, booleans.length * 2);
+                        }
+                        if ((Boolean) value) {
+                            booleans[booleanCount / 8] |= 1 << (booleanCount % 8);
+                        }
+                        booleanCount++;
+                        break;
+                    case INT32:
+                        values.writeInt((Integer) value);
+                        break;
+                    case INT64:
+                        values.writeLong((Long) value);
+                        break;
+                    case FLOAT:
+                        values.writeInt(Float.floatToIntBits((Float) value));
+                        break;
+                    case DOUBLE:
+                        values.writeLong(Double.doubleToLongBits((Double) value));
+                        break;
+                    case BYTE_ARRAY: {
+                        byte[] bytes = value instanceof String ? ((String) value).getBytes(StandardCharsets.UTF_8) : (byte[]) value;
+                        values.writeInt(bytes.length);
+                        values.write(bytes);
+                        break;
+                    }
+                    default: {
+                        byte[] bytes = (byte[]) value;
+                        int length = column.getType() == ParquetFormat.Type.INT96 ? 12 : column.getTypeLength();
+                        if (bytes.length != length) {
+                            throw new IOException("Wrong value length for column " + column.getName() + ": " + bytes.length);
+                        }
+                        values.write(bytes);
+                        break;
+                    }
+                }
+            } catch (ClassCastException e) {
+                throw new IOException("Wrong value type for column " + column + ": " + value.getClass().getName(), e);
+            }
+        }
+
+        void flushPage() throws IOException {
+            if (pageValues == 0) {
+                return;
+            }
+            PageBuffer page = new PageBuffer(values.size() + pageValues / 8 + 32);
+            // Definition levels: 4-byte length and RLE/bit-packed hybrid data (bit width is 1)
+            PageBuffer levels = new PageBuffer(pageValues / 8 + 16);
+            if (pageNulls == 0 || pageNulls == pageValues) {
+                // Single RLE run
+                levels.writeVarint(pageValues << 1);
+                levels.write(pageNulls == 0 ? 1 : 0);
+            } else {
+                int groupCount = (pageValues + 7) / 8;
+                levels.writeVarint((groupCount << 1) | 1);
+                levels.write(definitions, 0, groupCount);
+            }
+            page.writeInt(levels.size());
+            levels.writeTo(page);
+            if (booleans != null) {
+                page.write(booleans, 0, (booleanCount + 7) / 8);
+            } else {
+                values.writeTo(page);
+            }
+
+            int uncompressedSize = page.size();
+            byte[] compressed = compress(page.getBuffer(), uncompressedSize);
+
+            ThriftCompactWriter header = new ThriftCompactWriter();
+            header.structBegin();
+            header.fieldI32(1, ParquetFormat.PAGE_DATA);
+            header.fieldI32(2, uncompressedSize);
+            header.fieldI32(3, compressed.length);
+            header.fieldStruct(5);
+            header.fieldI32(1, pageValues);
+            header.fieldI32(2, ParquetFormat.ENCODING_PLAIN);
+            header.fieldI32(3, ParquetFormat.ENCODING_RLE);
+            header.fieldI32(4, ParquetFormat.ENCODING_RLE);
+            header.structEnd();
+            header.structEnd();
+            byte[] headerBytes = header.toByteArray();
+
+            chunk.write(headerBytes);
+            chunk.write(compressed);
+            chunkValues += pageValues;
+            chunkUncompressedSize += headerBytes.length + uncompressedSize;
+
+            values.reset();
+            Arrays.fill(definitions, 0, (pageValues + 7) / 8, (byte) 0);
+            if (booleans != null) {
+                Arrays.fill(booleans, 0, (booleanCount + 7) / 8, (byte) 0);
+                booleanCount = 0;
+            }
+            pageValues = 0;
+            pageNulls = 0;
+        }
+
+        void resetChunk() {
+            chunk.reset();
+            chunkValues = 0;
+            chunkUncompressedSize = 0;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import java.io.IOException;
+
+/**
+ * Raw (unframed) Snappy block decompressor.
+ * Snappy is the default codec of most Parquet writers.
+ */
+class SnappyDecompressor {
+
+    private SnappyDecompressor() {
+    }
+
+    static byte[] decompress(byte[] input, int offset, int length) throws IOException {
+        int end = offset + length;
+        int pos = offset;
+
+        // Uncompressed length (varint)
+        int outputLength = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (pos >= end || shift > 28) {
+                throw new IOException("Bad snappy block header");
+            }
+            int b = input[pos++] & 0xFF;
+            outputLength |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+
+        byte[] output = new byte[outputLength];
+        int outPos = 0;
+        try {
+            while (pos < end) {
+                int tag = input[pos++] & 0xFF;
+                switch (tag & 0x03) {
+                    case 0: {
+                        // Literal
+                        int literalLength = tag >>> 2;
+                        if (literalLength >= 60) {
+                            int lengthBytes = literalLength - 59;
+                            literalLength = 0;
+                            for (int i = 0; i < lengthBytes; i++) {
+                                literalLength |= (input[pos++] & 0xFF) << (i * 8);
+                            }
+                        }
+                        literalLength++;
+                        System.arraycopy(input, pos, output, outPos, literalLength);
+                        pos += literalLength;
+                        outPos += literalLength;
+                        break;
+                    }
+                    case 1: {
+                        int copyLength = ((tag >>> 2) & 0x07) + 4;
+                        int copyOffset = ((tag >>> 5) << 8) | (input[pos++] & 0xFF);
+                        outPos = copy(output, outPos, copyOffset, copyLength);
+                        break;
+                    }
+                    case 2: {
+                        int copyLength = (tag >>> 2) + 1;
+                        int copyOffset = (input[pos] & 0xFF) | ((input[pos + 1] & 0xFF) << 8);
+                        pos += 2;
+                        outPos = copy(output, outPos, copyOffset, copyLength);
+                        break;
+                    }
+                    default: {
+                        int copyLength = (tag >>> 2) + 1;
+                        int copyOffset = (input[pos] & 0xFF) | ((input[pos + 1] & 0xFF) << 8) |
+                            ((input[pos + 2] & 0xFF) << 16) | ((input[pos + 3] & 0xFF) << 24);
+                        pos += 4;
+                        outPos = copy(output, outPos, copyOffset, copyLength);
+                        break;
+                    }
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupted snappy data", e);
+        }
+        if (outPos != outputLength) {
+            throw new IOException("Corrupted snappy data: " + outPos + " bytes decompressed while " + outputLength + " expected");
+        }
+        return output;
+    }
+
+    private static int copy(byte[] output, int outPos, int offset, int length) throws IOException {
+        if (offset <= 0 || offset > outPos) {
+            throw new IOException("Bad snappy copy offset: " + offset);
+        }
+        // Source and target may overlap
+        for (int i = 0; i < length; i++) {
+            output[outPos] = output[outPos - offset];
+            outPos++;
+        }
+        return outPos;
+    }
+
+}
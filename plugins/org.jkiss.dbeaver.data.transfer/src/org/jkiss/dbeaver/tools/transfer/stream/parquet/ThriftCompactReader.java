@@ -0,0 +1,203 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.jkiss.dbeaver.tools.transfer.stream.parquet.ThriftCompactWriter.*;
+
+/**
+ * Thrift compact protocol reader.
+ * Reads structs into generic field maps, so reader doesn't depend on generated classes.
+ */
+class ThriftCompactReader {
+
+    private final byte[] data;
+    private final int end;
+    private int position;
+
+    ThriftCompactReader(byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    ThriftStruct readStruct() throws IOException {
+        ThriftStruct struct = new ThriftStruct();
+        int lastFieldId = 0;
+        for (;;) {
+            int header = readByte();
+            int type = header & 0x0F;
+            if (type == TYPE_STOP) {
+                return struct;
+            }
+            int delta = (header >> 4) & 0x0F;
+            int fieldId = delta != 0 ? lastFieldId + delta : readI32();
+            lastFieldId = fieldId;
+            Object value;
+            if (type == TYPE_BOOLEAN_TRUE) {
+                value = Boolean.TRUE;
+            } else if (type == TYPE_BOOLEAN_FALSE) {
+                value = Boolean.FALSE;
+            } else {
+                value = readValue(type);
+            }
+            struct.fields.put(fieldId, value);
+        }
+    }
+
+    private Object readValue(int type) throws IOException {
+        switch (type) {
+            case TYPE_BOOLEAN_TRUE:
+            case TYPE_BOOLEAN_FALSE:
+                // Collection element
+                return readByte() == TYPE_BOOLEAN_TRUE;
+            case TYPE_BYTE:
+                return (int) (byte) readByte();
+            case TYPE_I16:
+            case TYPE_I32:
+                return readI32();
+            case TYPE_I64:
+                return readI64();
+            case TYPE_DOUBLE: {
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits |= (long) readByte() << (i * 8);
+                }
+                return Double.longBitsToDouble(bits);
+            }
+            case TYPE_BINARY: {
+                int length = (int) readVarint();
+                checkAvailable(length);
+                byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+                position += length;
+                return bytes;
+            }
+            case TYPE_LIST:
+            case TYPE_SET: {
+                int header = readByte();
+                int size = (header >> 4) & 0x0F;
+                if (size == 15) {
+                    size = (int) readVarint();
+                }
+                int elementType = header & 0x0F;
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(elementType));
+                }
+                return list;
+            }
+            case TYPE_MAP: {
+                int size = (int) readVarint();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                if (size > 0) {
+                    int types = readByte();
+                    for (int i = 0; i < size; i++) {
+                        map.put(readValue((types >> 4) & 0x0F), readValue(types & 0x0F));
+                    }
+                }
+                return map;
+            }
+            case TYPE_STRUCT:
+                return readStruct();
+            default:
+                throw new IOException("Bad thrift value type: " + type);
+        }
+    }
+
+    private int readI32() throws IOException {
+        int value = (int) readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readI64() throws IOException {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Bad thrift varint");
+    }
+
+    private int readByte() throws IOException {
+        checkAvailable(1);
+        return data[position++] & 0xFF;
+    }
+
+    private void checkAvailable(int length) throws EOFException {
+        if (length < 0 || position + length > end) {
+            throw new EOFException("Unexpected end of thrift data");
+        }
+    }
+
+    /**
+     * Struct field values by field id
+     */
+    static class ThriftStruct {
+        private final Map<Integer, Object> fields = new HashMap<>();
+
+        boolean has(int id) {
+            return fields.containsKey(id);
+        }
+
+        int getInt(int id, int defaultValue) {
+            Object value = fields.get(id);
+            return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+        }
+
+        long getLong(int id, long defaultValue) {
+            Object value = fields.get(id);
+            return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+        }
+
+        boolean getBoolean(int id, boolean defaultValue) {
+            Object value = fields.get(id);
+            return value instanceof Boolean ? (Boolean) value : defaultValue;
+        }
+
+        String getString(int id) {
+            Object value = fields.get(id);
+            return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : null;
+        }
+
+        ThriftStruct getStruct(int id) {
+            Object value = fields.get(id);
+            return value instanceof ThriftStruct ? (ThriftStruct) value : null;
+        }
+
+        List<?> getList(int id) {
+            Object value = fields.get(id);
+            return value instanceof List ? (List<?>) value : Collections.emptyList();
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Thrift compact protocol writer.
+ * Supports only types which are used in Parquet metadata.
+ */
+class ThriftCompactWriter {
+
+    static final byte TYPE_STOP = 0;
+    static final byte TYPE_BOOLEAN_TRUE = 1;
+    static final byte TYPE_BOOLEAN_FALSE = 2;
+    static final byte TYPE_BYTE = 3;
+    static final byte TYPE_I16 = 4;
+    static final byte TYPE_I32 = 5;
+    static final byte TYPE_I64 = 6;
+    static final byte TYPE_DOUBLE = 7;
+    static final byte TYPE_BINARY = 8;
+    static final byte TYPE_LIST = 9;
+    static final byte TYPE_SET = 10;
+    static final byte TYPE_MAP = 11;
+    static final byte TYPE_STRUCT = 12;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private int lastFieldId;
+    private int[] fieldIdStack = new int[8];
+    private int stackDepth;
+
+    void structBegin() {
+        if (stackDepth >= fieldIdStack.length) {
+            fieldIdStack = Arrays.copyOf(fieldIdStack, stackDepth * 2);
+        }
+        fieldIdStack[stackDepth++] = lastFieldId;
+        lastFieldId = 0;
+    }
+
+    void structEnd() {
+        out.write(TYPE_STOP);
+        lastFieldId = fieldIdStack[--stackDepth];
+    }
+
+    /**
+     * Writes struct field header. Struct must be ended with structEnd.
+     */
+    void fieldStruct(int id) {
+        writeFieldHeader(id, TYPE_STRUCT);
+        structBegin();
+    }
+
+    void fieldBoolean(int id, boolean value) {
+        writeFieldHeader(id, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+    }
+
+    void fieldI32(int id, int value) {
+        writeFieldHeader(id, TYPE_I32);
+        writeI32(value);
+    }
+
+    void fieldI64(int id, long value) {
+        writeFieldHeader(id, TYPE_I64);
+        writeI64(value);
+    }
+
+    void fieldString(int id, String value) {
+        writeFieldHeader(id, TYPE_BINARY);
+        writeString(value);
+    }
+
+    /**
+     * Writes list field header. Elements must follow.
+     */
+    void fieldList(int id, byte elementType, int size) {
+        writeFieldHeader(id, TYPE_LIST);
+        if (size < 15) {
+            out.write((size << 4) | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            writeVarint(size);
+        }
+    }
+
+    void writeI32(int value) {
+        writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    void writeI64(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    private void writeFieldHeader(int id, byte type) {
+        int delta = id - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write((delta << 4) | type);
+        } else {
+            out.write(type);
+            writeI32(id);
+        }
+        lastFieldId = id;
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+}
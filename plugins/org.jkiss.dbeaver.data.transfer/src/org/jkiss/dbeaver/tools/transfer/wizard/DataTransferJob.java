@@ -19,32 +19,36 @@ package org.jkiss.dbeaver.tools.transfer.wizard;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
-import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Display;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.ui.DBPPlatformUI;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferProcessor;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
+import org.jkiss.dbeaver.tools.transfer.*;
 import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
 import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.io.File;
+import java.io.IOException;
+
 /**
  * Data transfer job
  */
 public class DataTransferJob extends AbstractJob {
 
+    private static final Log log = Log.getLog(DataTransferJob.class);
+
     private DataTransferSettings settings;
 
     public DataTransferJob(DataTransferSettings settings)
     {
         super(DTMessages.data_transfer_wizard_job_name);
         this.settings = settings;
+        this.settings.addTransferJob();
 
         setUser(true);
     }
@@ -58,23 +62,61 @@ public class DataTransferJob extends AbstractJob {
     @Override
     protected IStatus run(DBRProgressMonitor monitor)
     {
-        boolean hasErrors = false;
-        long startTime = System.currentTimeMillis();
         for (; ;) {
             DataTransferPipe transferPipe = settings.acquireDataPipe(monitor);
             if (transferPipe == null) {
+                // No more pipes for this job. If all jobs were canceled and some pipes were never started then finish transfer here
+                if (settings.removeTransferJob(monitor)) {
+                    finishTransfer();
+                }
                 break;
             }
-            if (!transferData(monitor, transferPipe)) {
-                hasErrors = true;
+            boolean success = false;
+            try {
+                success = transferData(monitor, transferPipe);
+            } finally {
+                if (settings.releaseDataPipe(monitor, transferPipe, success)) {
+                    // Last pipe of all parallel jobs. Show aggregated result.
+                    finishTransfer();
+                }
             }
         }
-        showResult(System.currentTimeMillis() - startTime, hasErrors);
         return Status.OK_STATUS;
     }
 
-    private void showResult(final long time, final boolean hasErrors)
+    private void finishTransfer() {
+        DataTransferReport report = settings.makeTransferReport();
+        File reportFile = saveReport(report);
+        for (IDataTransferListener listener : settings.getListeners()) {
+            try {
+                listener.transferFinished(report);
+            } catch (Throwable e) {
+                log.error("Error notifying data transfer listener", e);
+            }
+        }
+        showResult(report, reportFile);
+    }
+
+    private File saveReport(DataTransferReport report) {
+        File reportFolder = new File(GeneralUtils.getMetadataFolder(), DataTransferReport.REPORT_FOLDER_NAME);
+        if (!reportFolder.exists() && !reportFolder.mkdirs()) {
+            log.warn("Can't create data transfer reports folder " + reportFolder.getAbsolutePath());
+            return null;
+        }
+        File reportFile = new File(reportFolder, report.getReportFileName());
+        try {
+            report.writeToFile(reportFile);
+            return reportFile;
+        } catch (IOException e) {
+            log.warn("Error saving data transfer report to " + reportFile.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private void showResult(final DataTransferReport report, final File reportFile)
     {
+        final long time = report.getTotalTime();
+        final boolean hasErrors = report.isHasErrors();
         // Run async to avoid blocking progress monitor dialog
         UIUtils.asyncExec(() -> {
             // Make a sound
@@ -86,12 +128,13 @@ public class DataTransferJob extends AbstractJob {
                         "Data transfer completed", !hasErrors ? IStatus.INFO : IStatus.ERROR);
             }
             if (settings.isShowFinalMessage()) {
-                // Show message box
-                UIUtils.showMessageBox(
-                    null,
-                    DTMessages.data_transfer_wizard_name,
-                    "Data transfer completed " + (hasErrors ? "with errors " : "") + "(" + RuntimeUtils.formatExecutionTime(time) + ")",
-                    hasErrors ? SWT.ICON_ERROR : SWT.ICON_INFORMATION);
+                // Show result with metrics of each pipe
+                new DataTransferReportDialog(
+                    UIUtils.getActiveWorkbenchShell(),
+                    report,
+                    "Data transfer completed " + (hasErrors ? "with errors " : "") +
+                        "(" + settings.getFinishedPipesCount() + " object(s), " + RuntimeUtils.formatExecutionTime(time) + ")",
+                    reportFile).open();
             }
         });
     }
@@ -105,9 +148,16 @@ public class DataTransferJob extends AbstractJob {
 
         setName(NLS.bind(DTMessages.data_transfer_wizard_job_container_name,
             CommonUtils.truncateString(producer.getObjectName(), 200),
-            CommonUtils.truncateString(consumer.getObjectName(), 200)));
+            CommonUtils.truncateString(consumer.getObjectName(), 200)) +
+            " [" + (settings.getDataPipes().indexOf(transferPipe) + 1) + "/" + settings.getDataPipes().size() + "]");
 
         IDataTransferSettings nodeSettings = settings.getNodeSettings(producer);
+        DataTransferStatistics statistics = new DataTransferStatistics(producer.getObjectName(), consumer.getObjectName());
+        if (consumer instanceof IDataTransferInstrumentedConsumer) {
+            ((IDataTransferInstrumentedConsumer) consumer).setTransferStatistics(statistics);
+        }
+        statistics.start();
+        boolean success = false;
         try {
             //consumer.initTransfer(producer.getDatabaseObject(), consumerSettings, );
 
@@ -121,10 +171,21 @@ public class DataTransferJob extends AbstractJob {
             } finally {
                 consumer.finishTransfer(monitor, false);
             }
+            success = true;
             return true;
         } catch (Exception e) {
             new DataTransferErrorJob(e).schedule();
             return false;
+        } finally {
+            statistics.finish(success);
+            settings.addPipeStatistics(statistics);
+            for (IDataTransferListener listener : settings.getListeners()) {
+                try {
+                    listener.pipeFinished(statistics);
+                } catch (Throwable e) {
+                    log.error("Error notifying data transfer listener", e);
+                }
+            }
         }
 
     }
@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.tools.transfer.wizard;
+
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.tools.transfer.DataTransferReport;
+import org.jkiss.dbeaver.tools.transfer.DataTransferStatistics;
+import org.jkiss.dbeaver.tools.transfer.internal.DTMessages;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.BaseDialog;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Data transfer result with per-pipe metrics
+ */
+class DataTransferReportDialog extends BaseDialog {
+
+    private final DataTransferReport report;
+    private final String message;
+    @Nullable
+    private final File reportFile;
+
+    DataTransferReportDialog(Shell parentShell, DataTransferReport report, String message, @Nullable File reportFile) {
+        super(parentShell, DTMessages.data_transfer_wizard_name, null);
+        this.report = report;
+        this.message = message;
+        this.reportFile = reportFile;
+    }
+
+    @Override
+    protected Composite createDialogArea(Composite parent) {
+        Composite composite = super.createDialogArea(parent);
+
+        new Label(composite, SWT.WRAP).setText(message);
+
+        Table table = new Table(composite, SWT.BORDER | SWT.FULL_SELECTION);
+        table.setHeaderVisible(true);
+        table.setLinesVisible(true);
+        GridData gd = new GridData(GridData.FILL_BOTH);
+        gd.widthHint = 800;
+        gd.heightHint = 200;
+        table.setLayoutData(gd);
+
+        UIUtils.createTableColumn(table, SWT.LEFT, "Source");
+        UIUtils.createTableColumn(table, SWT.LEFT, "Target");
+        UIUtils.createTableColumn(table, SWT.RIGHT, "Time");
+        UIUtils.createTableColumn(table, SWT.RIGHT, "Rows");
+        UIUtils.createTableColumn(table, SWT.RIGHT, "Rows/s");
+        UIUtils.createTableColumn(table, SWT.RIGHT, "Bytes/s");
+        for (DataTransferStatistics.Stage stage : DataTransferStatistics.Stage.values()) {
+            UIUtils.createTableColumn(table, SWT.RIGHT, stage.getId());
+        }
+
+        for (DataTransferStatistics pipe : report.getPipes()) {
+            TableItem item = new TableItem(table, SWT.NONE);
+            int index = 0;
+            item.setText(index++, String.valueOf(pipe.getProducerName()));
+            item.setText(index++, String.valueOf(pipe.getConsumerName()));
+            item.setText(index++, RuntimeUtils.formatExecutionTime(pipe.getElapsedTime()));
+            item.setText(index++, String.valueOf(pipe.getRowCount()));
+            item.setText(index++, String.format(Locale.ENGLISH, "%.0f", pipe.getRowsPerSecond()));
+            item.setText(index++, pipe.getByteCount() == 0 ? "" : String.format(Locale.ENGLISH, "%.0f", pipe.getBytesPerSecond()));
+            for (DataTransferStatistics.Stage stage : DataTransferStatistics.Stage.values()) {
+                long time = pipe.getStageTime(stage);
+                item.setText(index++, time == 0 ? "" : RuntimeUtils.formatExecutionTime(time));
+            }
+            if (!pipe.isSuccess()) {
+                item.setForeground(getShell().getDisplay().getSystemColor(SWT.COLOR_RED));
+            }
+        }
+        UIUtils.packColumns(table);
+
+        if (reportFile != null) {
+            new Label(composite, SWT.NONE).setText("Report saved to " + reportFile.getAbsolutePath());
+        }
+
+        return composite;
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, IDialogConstants.OK_ID, IDialogConstants.OK_LABEL, true);
+    }
+
+}
@@ -23,14 +23,12 @@ import org.eclipse.jface.wizard.IWizardPage;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.tools.transfer.*;
 import org.jkiss.dbeaver.tools.transfer.registry.*;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferNode;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
-import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
@@ -44,6 +42,8 @@ public class DataTransferSettings {
     private static final Log log = Log.getLog(DataTransferSettings.class);
 
     private static final int DEFAULT_THREADS_NUM = 1;
+    private static final int DEFAULT_THREADS_PER_DATASOURCE = 0;
+    private static final long PIPE_WAIT_TIMEOUT = 1000;
 
     public static class NodeSettings {
         DataTransferNodeDescriptor sourceNode;
@@ -77,8 +77,17 @@ public class DataTransferSettings {
     private boolean consumerOptional;
     private boolean producerOptional;
     private int maxJobCount = DEFAULT_THREADS_NUM;
+    private int maxJobsPerDataSource = DEFAULT_THREADS_PER_DATASOURCE;
 
     private transient int curPipeNum = 0;
+    private transient int finishedPipeNum = 0;
+    private transient int activeJobNum = 0;
+    private transient final BitSet startedPipes = new BitSet();
+    private transient final Map<DBPDataSourceContainer, Integer> activeDataSources = new HashMap<>();
+    private transient long transferStartTime;
+    private transient boolean transferHasErrors;
+    private transient final List<DataTransferStatistics> pipeStatistics = new ArrayList<>();
+    private final List<IDataTransferListener> listeners = new ArrayList<>();
 
     private boolean showFinalMessage = true;
 
@@ -285,22 +294,193 @@ public class DataTransferSettings {
         return dataPipes;
     }
 
+    /**
+     * Acquires next pipe for transfer.
+     * Pipes which data sources already run {@link #getMaxJobsPerDataSource()} transfers are postponed
+     * until some other pipe releases its data source.
+     * @return next pipe or null if there are no more pipes to transfer
+     */
     public synchronized DataTransferPipe acquireDataPipe(DBRProgressMonitor monitor) {
-        if (curPipeNum >= dataPipes.size()) {
-            // End of transfer
-            // Signal last pipe about it
-            if (!dataPipes.isEmpty()) {
-                dataPipes.get(dataPipes.size() - 1).getConsumer().finishTransfer(monitor, true);
+        if (curPipeNum == 0) {
+            transferStartTime = System.currentTimeMillis();
+            pipeStatistics.clear();
+        }
+        while (curPipeNum < dataPipes.size()) {
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            for (int i = startedPipes.nextClearBit(0); i < dataPipes.size(); i = startedPipes.nextClearBit(i + 1)) {
+                DataTransferPipe pipe = dataPipes.get(i);
+                Collection<DBPDataSourceContainer> pipeDataSources = getPipeDataSources(pipe);
+                if (isDataSourcesAvailable(pipeDataSources)) {
+                    for (DBPDataSourceContainer dataSource : pipeDataSources) {
+                        activeDataSources.merge(dataSource, 1, Integer::sum);
+                    }
+                    startedPipes.set(i);
+                    curPipeNum++;
+                    return pipe;
+                }
             }
-            return null;
+            // All remaining pipes use busy data sources. Wait until some other job releases its pipe.
+            try {
+                wait(PIPE_WAIT_TIMEOUT);
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases pipe acquired by {@link #acquireDataPipe(DBRProgressMonitor)}.
+     * The very last released pipe signals its consumer about the end of the whole transfer.
+     * @return true if this was the last pipe
+     */
+    public synchronized boolean releaseDataPipe(DBRProgressMonitor monitor, DataTransferPipe pipe, boolean success) {
+        for (DBPDataSourceContainer dataSource : getPipeDataSources(pipe)) {
+            activeDataSources.computeIfPresent(dataSource, (ds, count) -> count > 1 ? count - 1 : null);
+        }
+        if (!success) {
+            transferHasErrors = true;
+        }
+        finishedPipeNum++;
+        notifyAll();
+
+        return finishTransferIfCompleted(monitor);
+    }
+
+    /**
+     * Registers transfer job. Must be called before the job is scheduled.
+     */
+    public synchronized void addTransferJob() {
+        activeJobNum++;
+    }
+
+    /**
+     * Unregisters transfer job which has no more pipes to run (all pipes were acquired or the job was canceled).
+     * Other jobs still process the rest of pipes. If this was the last job then the whole transfer was canceled
+     * and pipes which were never acquired are aborted.
+     * @return true if there are no more running pipes and transfer was finished
+     */
+    public synchronized boolean removeTransferJob(DBRProgressMonitor monitor) {
+        activeJobNum--;
+        if (activeJobNum > 0) {
+            return false;
+        }
+        return abortPendingPipes(monitor);
+    }
+
+    /**
+     * Marks pipes which were never acquired as finished, so the whole transfer still gets finished.
+     * @return true if there are no more running pipes and transfer was finished
+     */
+    private boolean abortPendingPipes(DBRProgressMonitor monitor) {
+        int pendingPipes = dataPipes.size() - curPipeNum;
+        if (pendingPipes <= 0) {
+            return false;
         }
+        startedPipes.set(0, dataPipes.size());
+        curPipeNum = dataPipes.size();
+        finishedPipeNum += pendingPipes;
+        transferHasErrors = true;
+        notifyAll();
 
-        DataTransferPipe result = dataPipes.get(curPipeNum);
+        return finishTransferIfCompleted(monitor);
+    }
+
+    private boolean finishTransferIfCompleted(DBRProgressMonitor monitor) {
+        if (finishedPipeNum < dataPipes.size()) {
+            return false;
+        }
+        // End of transfer
+        // Signal last pipe about it
+        dataPipes.get(dataPipes.size() - 1).getConsumer().finishTransfer(monitor, true);
+        return true;
+    }
+
+    /**
+     * Acquires one more connection of the data source for already running pipe (e.g. for parallel table slices).
+     * Doesn't wait: caller must be able to proceed with connections it already has.
+     * @return false if data source already runs {@link #getMaxJobsPerDataSource()} jobs
+     */
+    public synchronized boolean tryAcquireDataSource(DBPDataSourceContainer dataSource) {
+        if (!isDataSourcesAvailable(Collections.singleton(dataSource))) {
+            return false;
+        }
+        activeDataSources.merge(dataSource, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Releases data source connection acquired by {@link #tryAcquireDataSource(DBPDataSourceContainer)}
+     */
+    public synchronized void releaseDataSource(DBPDataSourceContainer dataSource) {
+        activeDataSources.computeIfPresent(dataSource, (ds, count) -> count > 1 ? count - 1 : null);
+        notifyAll();
+    }
+
+    private boolean isDataSourcesAvailable(Collection<DBPDataSourceContainer> dataSources) {
+        if (maxJobsPerDataSource <= 0) {
+            return true;
+        }
+        for (DBPDataSourceContainer dataSource : dataSources) {
+            Integer activeJobs = activeDataSources.get(dataSource);
+            if (activeJobs != null && activeJobs >= maxJobsPerDataSource) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        curPipeNum++;
+    private static Collection<DBPDataSourceContainer> getPipeDataSources(DataTransferPipe pipe) {
+        Set<DBPDataSourceContainer> result = new LinkedHashSet<>();
+        for (IDataTransferNode node : new IDataTransferNode[] { pipe.getProducer(), pipe.getConsumer() }) {
+            DBSObject dbObject = node == null ? null : node.getDatabaseObject();
+            if (dbObject != null && dbObject.getDataSource() != null) {
+                result.add(dbObject.getDataSource().getContainer());
+            }
+        }
         return result;
     }
 
+    /**
+     * Total transfer time (from the first acquired pipe)
+     */
+    public synchronized long getTransferTime() {
+        return System.currentTimeMillis() - transferStartTime;
+    }
+
+    public synchronized boolean isTransferHasErrors() {
+        return transferHasErrors;
+    }
+
+    public synchronized int getFinishedPipesCount() {
+        return finishedPipeNum;
+    }
+
+    public synchronized void addPipeStatistics(DataTransferStatistics statistics) {
+        pipeStatistics.add(statistics);
+    }
+
+    /**
+     * Metrics of all finished pipes
+     */
+    public synchronized DataTransferReport makeTransferReport() {
+        return new DataTransferReport(pipeStatistics, getTransferTime(), transferHasErrors);
+    }
+
+    public synchronized void addListener(IDataTransferListener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized void removeListener(IDataTransferListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized List<IDataTransferListener> getListeners() {
+        return new ArrayList<>(listeners);
+    }
+
     public DataTransferNodeDescriptor getProducer() {
         return producer;
     }
@@ -401,6 +581,16 @@ public class DataTransferSettings {
         }
     }
 
+    public int getMaxJobsPerDataSource() {
+        return maxJobsPerDataSource;
+    }
+
+    public void setMaxJobsPerDataSource(int maxJobsPerDataSource) {
+        if (maxJobsPerDataSource >= 0) {
+            this.maxJobsPerDataSource = maxJobsPerDataSource;
+        }
+    }
+
     public boolean isShowFinalMessage() {
         return showFinalMessage;
     }
@@ -415,6 +605,11 @@ public class DataTransferSettings {
         } catch (NumberFormatException e) {
             maxJobCount = DEFAULT_THREADS_NUM;
         }
+        try {
+            maxJobsPerDataSource = dialogSettings.getInt("maxJobsPerDataSource");
+        } catch (NumberFormatException e) {
+            maxJobsPerDataSource = DEFAULT_THREADS_PER_DATASOURCE;
+        }
         if (dialogSettings.get("showFinalMessage") != null) {
             showFinalMessage = dialogSettings.getBoolean("showFinalMessage");
         }
@@ -497,6 +692,7 @@ public class DataTransferSettings {
 
     void saveTo(IDialogSettings dialogSettings) {
         dialogSettings.put("maxJobCount", maxJobCount);
+        dialogSettings.put("maxJobsPerDataSource", maxJobsPerDataSource);
         dialogSettings.put("showFinalMessage", showFinalMessage);
         // Save nodes' settings
         for (Map.Entry<Class, NodeSettings> entry : nodeSettings.entrySet()) {
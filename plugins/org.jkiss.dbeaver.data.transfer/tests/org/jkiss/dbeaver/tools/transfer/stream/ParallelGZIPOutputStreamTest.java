@@ -0,0 +1,112 @@
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class ParallelGZIPOutputStreamTest {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private static byte[] compress(byte[] data, int threadCount, int chunkSize) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = new ParallelGZIPOutputStream(buffer, threadCount, Deflater.DEFAULT_COMPRESSION, BLOCK_SIZE)) {
+            for (int offset = 0; offset < data.length; offset += chunkSize) {
+                if (chunkSize == 1) {
+                    out.write(data[offset]);
+                } else {
+                    out.write(data, offset, Math.min(chunkSize, data.length - offset));
+                }
+                if (offset % (chunkSize * 100) == 0) {
+                    out.flush();
+                }
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] data) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            byte[] buffer = new byte[8192];
+            for (int count; (count = in.read(buffer)) > 0; ) {
+                result.write(buffer, 0, count);
+            }
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] makeData(int length) {
+        // Mix of repeated text (uses dictionary of the previous block) and random bytes
+        Random random = new Random(length);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; ) {
+            int runLength = Math.min(length - i, 1 + random.nextInt(5000));
+            if (random.nextBoolean()) {
+                for (int k = 0; k < runLength; k++) {
+                    data[i + k] = (byte) ("row value " + (i / 100)).charAt(k % 10);
+                }
+            } else {
+                for (int k = 0; k < runLength; k++) {
+                    data[i + k] = (byte) random.nextInt();
+                }
+            }
+            i += runLength;
+        }
+        return data;
+    }
+
+    @Test
+    public void shouldRoundTripEmptyStream() throws IOException {
+        assertArrayEquals(new byte[0], decompress(compress(new byte[0], 2, 1024)));
+    }
+
+    @Test
+    public void shouldRoundTripSingleBlock() throws IOException {
+        byte[] data = makeData(1000);
+        assertArrayEquals(data, decompress(compress(data, 2, 1024)));
+    }
+
+    @Test
+    public void shouldRoundTripManyBlocks() throws IOException {
+        byte[] data = makeData(BLOCK_SIZE * 20 + 123);
+        assertArrayEquals(data, decompress(compress(data, 4, 10000)));
+        assertArrayEquals(data, decompress(compress(data, 1, 10000)));
+    }
+
+    @Test
+    public void shouldRoundTripBlockAlignedData() throws IOException {
+        byte[] data = makeData(BLOCK_SIZE * 3);
+        assertArrayEquals(data, decompress(compress(data, 3, BLOCK_SIZE)));
+    }
+
+    @Test
+    public void shouldRoundTripSingleByteWrites() throws IOException {
+        byte[] data = makeData(BLOCK_SIZE * 2 + 7);
+        assertArrayEquals(data, decompress(compress(data, 2, 1)));
+    }
+
+    @Test
+    public void shouldRejectWriteAfterFinish() throws IOException {
+        ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(new ByteArrayOutputStream(), 2);
+        out.write(1);
+        out.finish();
+        out.finish();
+        try {
+            out.write(2);
+            fail("Write after finish must fail");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+public class StreamTransferArchiveTest {
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int count; (count = in.read(buffer)) > 0; ) {
+            result.write(buffer, 0, count);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] makeData(int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < length; i++) {
+            text.append("row ").append(i).append(",value ").append(i * 31).append('\n');
+        }
+        return text.substring(0, length).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void addStreamedEntry(StreamTransferArchive archive, String name, byte[] data) throws IOException {
+        // The same way as stream consumer does: deflate into temp file, then append it to archive
+        File entryFile = File.createTempFile("archive-entry", ".tmp");
+        try {
+            try (OutputStream out = new DeflaterOutputStream(new FileOutputStream(entryFile), StreamTransferArchive.createDeflater())) {
+                out.write(data);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            archive.addEntry(name, entryFile, crc.getValue(), data.length);
+        } finally {
+            assertTrue(entryFile.delete());
+        }
+    }
+
+    @Test
+    public void shouldReadArchiveWithZipFile() throws IOException {
+        byte[] data1 = makeData(100000);
+        byte[] data2 = makeData(10);
+        File file = File.createTempFile("archive-test", ".zip");
+        try {
+            StreamTransferArchive archive = new StreamTransferArchive(file);
+            addStreamedEntry(archive, "table1.csv", data1);
+            archive.addEntry("table2.csv", data2);
+            addStreamedEntry(archive, "empty.csv", new byte[0]);
+            archive.addEntry("таблица.csv", data2);
+            archive.close();
+            archive.close();
+
+            try (ZipFile zip = new ZipFile(file)) {
+                assertEquals(4, zip.size());
+                assertArrayEquals(data1, readAll(zip.getInputStream(zip.getEntry("table1.csv"))));
+                assertArrayEquals(data2, readAll(zip.getInputStream(zip.getEntry("table2.csv"))));
+                assertArrayEquals(new byte[0], readAll(zip.getInputStream(zip.getEntry("empty.csv"))));
+                assertArrayEquals(data2, readAll(zip.getInputStream(zip.getEntry("таблица.csv"))));
+                assertEquals(data1.length, zip.getEntry("table1.csv").getSize());
+            }
+            // Local headers must be valid as well
+            try (ZipInputStream zip = new ZipInputStream(new FileInputStream(file))) {
+                assertEquals("table1.csv", zip.getNextEntry().getName());
+                assertArrayEquals(data1, readAll(zip));
+                assertEquals("table2.csv", zip.getNextEntry().getName());
+                assertArrayEquals(data2, readAll(zip));
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void shouldWriteZip64EntryCount() throws IOException {
+        // More entries than 16-bit count of the classic end of central directory record
+        int entryCount = 0xFFFF + 100;
+        File file = File.createTempFile("archive-test", ".zip");
+        try {
+            StreamTransferArchive archive = new StreamTransferArchive(file);
+            for (int i = 0; i < entryCount; i++) {
+                archive.addEntry("entry" + i + ".txt", ("value " + i).getBytes(StandardCharsets.US_ASCII));
+            }
+            archive.close();
+
+            try (ZipFile zip = new ZipFile(file)) {
+                assertEquals(entryCount, zip.size());
+                int count = 0;
+                for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements(); e.nextElement()) {
+                    count++;
+                }
+                assertEquals(entryCount, count);
+                int last = entryCount - 1;
+                assertArrayEquals(("value " + last).getBytes(StandardCharsets.US_ASCII),
+                    readAll(zip.getInputStream(zip.getEntry("entry" + last + ".txt"))));
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void shouldRejectEntryAfterClose() throws IOException {
+        File file = File.createTempFile("archive-test", ".zip");
+        try {
+            StreamTransferArchive archive = new StreamTransferArchive(file);
+            archive.close();
+            try {
+                archive.addEntry("late.txt", new byte[1]);
+                fail("Entry can't be added to closed archive");
+            } catch (IOException e) {
+                // expected
+            }
+            try (ZipFile zip = new ZipFile(file)) {
+                assertEquals(0, zip.size());
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.jkiss.dbeaver.tools.transfer.stream.importer;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CSVRecordReaderTest {
+
+    private static List<String[]> parse(String text, char escapeChar, int bufferSize) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (CSVRecordReader reader = new CSVRecordReader(new StringReader(text), ',', '"', escapeChar, bufferSize)) {
+            while (reader.nextRecord()) {
+                records.add(reader.getRecord());
+            }
+        }
+        return records;
+    }
+
+    private static List<String[]> parse(String text) throws IOException {
+        return parse(text, '\\', 1024);
+    }
+
+    private static void assertRecords(List<String[]> records, String[]... expected) {
+        assertEquals(expected.length, records.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals("Record " + i, expected[i], records.get(i));
+        }
+    }
+
+    @Test
+    public void shouldReadQuotedDelimiter() throws IOException {
+        assertRecords(parse("a,\"b,c\",d\n"),
+            new String[] {"a", "b,c", "d"});
+    }
+
+    @Test
+    public void shouldReadDoubledQuotes() throws IOException {
+        assertRecords(parse("\"say \"\"hi\"\"\",x\n\"\"\"\",\"\"\n"),
+            new String[] {"say \"hi\"", "x"},
+            new String[] {"\"", ""});
+    }
+
+    @Test
+    public void shouldReadEmbeddedNewlines() throws IOException {
+        assertRecords(parse("\"line1\nline2\",x\n\"a\r\nb\",y\n"),
+            new String[] {"line1\nline2", "x"},
+            new String[] {"a\r\nb", "y"});
+    }
+
+    @Test
+    public void shouldReadEscapeChar() throws IOException {
+        assertRecords(parse("\"a\\\"b\",c\\\\d,e\\f\n"),
+            new String[] {"a\"b", "c\\d", "ef"});
+        // Escape char may be different from backslash
+        assertRecords(parse("\"a#\"b\",##\n", '#', 1024),
+            new String[] {"a\"b", "#"});
+    }
+
+    @Test
+    public void shouldReadEmptyLastField() throws IOException {
+        assertRecords(parse("a,b,\n,\n"),
+            new String[] {"a", "b", ""},
+            new String[] {"", ""});
+        // Last record without line feed
+        assertRecords(parse("a,"),
+            new String[] {"a", ""});
+    }
+
+    @Test
+    public void shouldReadCRLF() throws IOException {
+        assertRecords(parse("a,b\r\nc,d\r\n\r\ne,f"),
+            new String[] {"a", "b"},
+            new String[] {"c", "d"},
+            new String[] {"e", "f"});
+        // Old Mac line ends
+        assertRecords(parse("a,b\rc,d\r"),
+            new String[] {"a", "b"},
+            new String[] {"c", "d"});
+    }
+
+    @Test
+    public void shouldSkipEmptyLines() throws IOException {
+        assertRecords(parse("\n\na\n\n\nb\n\n"),
+            new String[] {"a"},
+            new String[] {"b"});
+    }
+
+    @Test
+    public void shouldIgnoreWhitespaceBeforeQuote() throws IOException {
+        assertRecords(parse("a,  \"b c\",d\n"),
+            new String[] {"a", "b c", "d"});
+    }
+
+    @Test
+    public void shouldCompareFieldsWithoutMaterialization() throws IOException {
+        try (CSVRecordReader reader = new CSVRecordReader(new StringReader("NULL,,abc\n"), ',', '"', '\\')) {
+            assertTrue(reader.nextRecord());
+            assertEquals(3, reader.getFieldCount());
+            assertTrue(reader.isFieldEqual(0, "NULL"));
+            assertFalse(reader.isFieldEqual(2, "abd"));
+            assertEquals(0, reader.getFieldLength(1));
+            assertEquals(3, reader.getFieldLength(2));
+            assertNull(reader.getField(3));
+            assertFalse(reader.isFieldEqual(3, ""));
+            assertFalse(reader.nextRecord());
+        }
+    }
+
+    @Test
+    public void shouldNotDependOnReadBufferBoundaries() throws IOException {
+        String text = "id,\"name\"\r\n1,\"a,\"\"b\"\"\r\nc\"\r\n2,\"x\\\"y\"\r\n\r\n3,\n4,\"\"\r\n";
+        List<String[]> expected = parse(text);
+        assertEquals(5, expected.size());
+        for (int bufferSize = 1; bufferSize <= text.length(); bufferSize++) {
+            assertRecords(parse(text, '\\', bufferSize), expected.toArray(new String[0][]));
+        }
+    }
+
+    @Test
+    public void shouldSplitFileAtRecordBounds() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            switch (i % 5) {
+                case 0: text.append(i).append(",\"multi\nline\n\"\"value\"\"\"\n"); break;
+                case 1: text.append(i).append(",\"escaped \\\" quote\nand newline\"\r\n"); break;
+                case 2: text.append(i).append(",plain value\n"); break;
+                case 3: text.append(i).append(",\"a,b\",\n\n"); break;
+                default: text.append(i).append(",\"\"\"\n\"\"\"\n"); break;
+            }
+        }
+        byte[] data = text.toString().getBytes(StandardCharsets.UTF_8);
+        List<String[]> expected = parse(text.toString());
+        assertEquals(500, expected.size());
+
+        File file = File.createTempFile("dbeaver-csv-test", ".csv");
+        try {
+            Files.write(file.toPath(), data);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+                for (long chunkSize : new long[] {1, 7, 100, 1000, data.length}) {
+                    long[] bounds = CSVRecordReader.findRecordBounds(channel, chunkSize, '"', '\\');
+                    assertEquals(0, bounds[0]);
+                    assertEquals(data.length, bounds[bounds.length - 1]);
+                    if (chunkSize < data.length / 2) {
+                        assertTrue(bounds.length > 2);
+                    }
+                    List<String[]> records = new ArrayList<>();
+                    for (int i = 0; i < bounds.length - 1; i++) {
+                        assertTrue(bounds[i + 1] > bounds[i]);
+                        if (i > 0) {
+                            assertEquals('\n', data[(int) bounds[i] - 1]);
+                        }
+                        String chunk = new String(Arrays.copyOfRange(data, (int) bounds[i], (int) bounds[i + 1]), StandardCharsets.UTF_8);
+                        records.addAll(parse(chunk));
+                    }
+                    assertRecords(records, expected.toArray(new String[0][]));
+                }
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+}
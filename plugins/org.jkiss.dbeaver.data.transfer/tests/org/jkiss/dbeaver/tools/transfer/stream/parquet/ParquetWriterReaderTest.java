@@ -0,0 +1,218 @@
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParquetWriterReaderTest {
+
+    private static List<ParquetColumn> allTypeColumns() {
+        return Arrays.asList(
+            new ParquetColumn("c_boolean", ParquetFormat.Type.BOOLEAN, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_int32", ParquetFormat.Type.INT32, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_int64", ParquetFormat.Type.INT64, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_int96", ParquetFormat.Type.INT96, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_float", ParquetFormat.Type.FLOAT, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_double", ParquetFormat.Type.DOUBLE, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_binary", ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn(new String[] {"c_fixed"}, ParquetFormat.Type.FIXED_LEN_BYTE_ARRAY, ParquetFormat.LogicalType.NONE, 3, 0, 0, 1, 0),
+            new ParquetColumn("c_string", ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.STRING),
+            new ParquetColumn("c_decimal", ParquetFormat.Type.INT64, ParquetFormat.LogicalType.DECIMAL, 18, 2),
+            new ParquetColumn("c_date", ParquetFormat.Type.INT32, ParquetFormat.LogicalType.DATE));
+    }
+
+    private static byte[] int96(long nanosOfDay, int julianDay) {
+        byte[] bytes = new byte[12];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (nanosOfDay >>> (i * 8));
+        }
+        for (int i = 0; i < 4; i++) {
+            bytes[8 + i] = (byte) (julianDay >>> (i * 8));
+        }
+        return bytes;
+    }
+
+    private static List<Object[]> roundTrip(List<ParquetColumn> columns, List<Object[]> rows, ParquetFormat.Compression compression, int rowGroupSize) throws IOException {
+        File file = File.createTempFile("parquet-test", ".parquet");
+        try {
+            try (OutputStream out = new FileOutputStream(file)) {
+                ParquetWriter writer = new ParquetWriter(out, columns, compression, rowGroupSize);
+                for (Object[] row : rows) {
+                    writer.writeRow(row);
+                }
+                writer.finish();
+            }
+            List<Object[]> result = new ArrayList<>();
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+                ParquetReader reader = new ParquetReader(channel);
+                assertEquals(columns.size(), reader.getColumns().size());
+                for (int i = 0; i < columns.size(); i++) {
+                    ParquetColumn column = reader.getColumns().get(i);
+                    assertEquals(columns.get(i).getName(), column.getName());
+                    assertEquals(columns.get(i).getType(), column.getType());
+                    assertEquals(columns.get(i).getLogicalType(), column.getLogicalType());
+                }
+                assertEquals(rows.size(), reader.getRowCount());
+                for (;;) {
+                    Object[] row = new Object[columns.size()];
+                    if (!reader.readRow(row)) {
+                        break;
+                    }
+                    result.add(row);
+                }
+            }
+            return result;
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    private static void assertRows(List<Object[]> expected, List<Object[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Object[] expectedRow = expected.get(i);
+            Object[] actualRow = actual.get(i);
+            for (int k = 0; k < expectedRow.length; k++) {
+                String message = "Row " + i + " column " + k;
+                if (expectedRow[k] instanceof byte[]) {
+                    assertArrayEquals(message, (byte[]) expectedRow[k], (byte[]) actualRow[k]);
+                } else {
+                    assertEquals(message, expectedRow[k], actualRow[k]);
+                }
+            }
+        }
+    }
+
+    private static List<Object[]> allTypeRows(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 5 == 4) {
+                rows.add(new Object[11]);
+                continue;
+            }
+            rows.add(new Object[] {
+                i % 2 == 0,
+                i % 3 == 1 ? null : i - 100,
+                (long) i * 1000000007L,
+                int96(0, 2440588),
+                i * 0.5f,
+                i % 4 == 2 ? null : -i * 0.25,
+                new byte[] { (byte) i, 0, (byte) -i },
+                new byte[] { 1, 2, (byte) i },
+                i % 7 == 3 ? null : "str é中 " + i,
+                (long) i * 101,
+                i
+            });
+        }
+        return rows;
+    }
+
+    private static List<Object[]> expectedAllTypeRows(List<Object[]> rows) {
+        List<Object[]> expected = new ArrayList<>();
+        for (Object[] row : rows) {
+            Object[] converted = row.clone();
+            if (converted[3] != null) {
+                // INT96 values are read as timestamps
+                converted[3] = new Timestamp(0);
+            }
+            if (converted[9] != null) {
+                converted[9] = BigDecimal.valueOf((Long) converted[9], 2);
+            }
+            if (converted[10] != null) {
+                converted[10] = java.sql.Date.valueOf(LocalDate.ofEpochDay((Integer) converted[10]));
+            }
+            expected.add(converted);
+        }
+        return expected;
+    }
+
+    @Test
+    public void shouldRoundTripAllTypesUncompressed() throws IOException {
+        List<Object[]> rows = allTypeRows(100);
+        assertRows(expectedAllTypeRows(rows), roundTrip(allTypeColumns(), rows, ParquetFormat.Compression.UNCOMPRESSED, 0));
+    }
+
+    @Test
+    public void shouldRoundTripAllTypesGzip() throws IOException {
+        List<Object[]> rows = allTypeRows(100);
+        assertRows(expectedAllTypeRows(rows), roundTrip(allTypeColumns(), rows, ParquetFormat.Compression.GZIP, 0));
+    }
+
+    @Test
+    public void shouldRoundTripMultipleRowGroups() throws IOException {
+        List<Object[]> rows = allTypeRows(1000);
+        assertRows(expectedAllTypeRows(rows), roundTrip(allTypeColumns(), rows, ParquetFormat.Compression.GZIP, 64));
+    }
+
+    @Test
+    public void shouldRoundTripAllNullColumn() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(new Object[] { null, i % 2 == 0 ? null : Boolean.TRUE });
+        }
+        List<ParquetColumn> columns = Arrays.asList(
+            new ParquetColumn("c_null", ParquetFormat.Type.INT32, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_boolean", ParquetFormat.Type.BOOLEAN, ParquetFormat.LogicalType.NONE));
+        assertRows(rows, roundTrip(columns, rows, ParquetFormat.Compression.UNCOMPRESSED, 0));
+    }
+
+    @Test
+    public void shouldRoundTripEmptyFile() throws IOException {
+        assertRows(new ArrayList<>(), roundTrip(allTypeColumns(), new ArrayList<>(), ParquetFormat.Compression.UNCOMPRESSED, 0));
+    }
+
+    @Test
+    public void shouldRoundTripMultiplePages() throws IOException {
+        // Data page is flushed after 1Mb of values, so both columns are split into several pages
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 300000; i++) {
+            rows.add(new Object[] {
+                (long) i,
+                i % 3 == 0 ? null : "value " + i
+            });
+        }
+        List<ParquetColumn> columns = Arrays.asList(
+            new ParquetColumn("c_id", ParquetFormat.Type.INT64, ParquetFormat.LogicalType.NONE),
+            new ParquetColumn("c_name", ParquetFormat.Type.BYTE_ARRAY, ParquetFormat.LogicalType.STRING));
+        assertRows(rows, roundTrip(columns, rows, ParquetFormat.Compression.UNCOMPRESSED, 0));
+        assertRows(rows, roundTrip(columns, rows, ParquetFormat.Compression.GZIP, 0));
+    }
+
+    @Test
+    public void shouldRejectWrongValueType() throws IOException {
+        List<ParquetColumn> columns = Arrays.asList(
+            new ParquetColumn("c_int32", ParquetFormat.Type.INT32, ParquetFormat.LogicalType.NONE));
+        ParquetWriter writer = new ParquetWriter(new ByteArrayOutputStream(), columns, ParquetFormat.Compression.UNCOMPRESSED, 0);
+        try {
+            writer.writeRow(new Object[] { "text" });
+            fail("Wrong value type must be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldRejectUnsupportedCompression() {
+        try {
+            new ParquetWriter(new ByteArrayOutputStream(), allTypeColumns(), ParquetFormat.Compression.SNAPPY, 0);
+            fail("Snappy compression is not supported by writer");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+}
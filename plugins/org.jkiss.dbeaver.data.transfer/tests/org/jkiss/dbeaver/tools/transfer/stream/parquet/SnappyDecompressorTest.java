@@ -0,0 +1,103 @@
+package org.jkiss.dbeaver.tools.transfer.stream.parquet;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SnappyDecompressorTest {
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    private static String decompress(byte[] input) throws IOException {
+        return new String(SnappyDecompressor.decompress(input, 0, input.length), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void shouldDecompressEmptyBlock() throws IOException {
+        assertEquals("", decompress(bytes(0x00)));
+    }
+
+    @Test
+    public void shouldDecompressLiteral() throws IOException {
+        // Length 5, literal of 5 bytes
+        assertEquals("Hello", decompress(bytes(0x05, 0x10, 'H', 'e', 'l', 'l', 'o')));
+    }
+
+    @Test
+    public void shouldDecompressLongLiteral() throws IOException {
+        // Length 100 (literal length is stored in the extra byte)
+        byte[] input = new byte[3 + 100];
+        input[0] = 100;
+        input[1] = (byte) 0xF0;
+        input[2] = 99;
+        Arrays.fill(input, 3, input.length, (byte) 'x');
+        char[] expected = new char[100];
+        Arrays.fill(expected, 'x');
+        assertEquals(new String(expected), decompress(input));
+    }
+
+    @Test
+    public void shouldDecompressOverlappingCopy1() throws IOException {
+        // Literal "ab" then copy of 8 bytes with offset 2 (1-byte offset)
+        assertEquals("ababababab", decompress(bytes(0x0A, 0x04, 'a', 'b', 0x11, 0x02)));
+    }
+
+    @Test
+    public void shouldDecompressCopy2() throws IOException {
+        // Literal "abcd" then copy of 4 bytes with offset 4 (2-byte offset)
+        assertEquals("abcdabcd", decompress(bytes(0x08, 0x0C, 'a', 'b', 'c', 'd', 0x0E, 0x04, 0x00)));
+    }
+
+    @Test
+    public void shouldDecompressCopy4() throws IOException {
+        // Literal "abcd" then copy of 4 bytes with offset 4 (4-byte offset)
+        assertEquals("abcdabcd", decompress(bytes(0x08, 0x0C, 'a', 'b', 'c', 'd', 0x0F, 0x04, 0x00, 0x00, 0x00)));
+    }
+
+    @Test
+    public void shouldDecompressWithOffset() throws IOException {
+        byte[] input = bytes(0xFF, 0xFF, 0x05, 0x10, 'H', 'e', 'l', 'l', 'o', 0xFF);
+        assertArrayEquals("Hello".getBytes(StandardCharsets.US_ASCII), SnappyDecompressor.decompress(input, 2, 7));
+    }
+
+    @Test
+    public void shouldRejectBadCopyOffset() {
+        try {
+            decompress(bytes(0x0A, 0x04, 'a', 'b', 0x11, 0x05));
+            fail("Copy offset beyond output start must be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldRejectWrongLength() {
+        try {
+            decompress(bytes(0x06, 0x10, 'H', 'e', 'l', 'l', 'o'));
+            fail("Decompressed length mismatch must be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldRejectTruncatedInput() {
+        try {
+            decompress(bytes(0x05, 0x10, 'H', 'e'));
+            fail("Truncated literal must be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mssql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.ext.mssql.SQLServerUtils;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+
+/**
+ * SQL Server bulk loader.
+ * Uses Microsoft driver bulk copy API (SQLServerBulkCopy) with in-memory delimited data record.
+ * Delimited record can't represent empty strings and values with delimiters, such rows are inserted with regular batch.
+ */
+public class SQLServerBulkLoader implements DBSDataBulkLoader {
+
+    private static final String DRIVER_PACKAGE = "com.microsoft.sqlserver.jdbc.";
+
+    private final SQLServerDataSource dataSource;
+
+    public SQLServerBulkLoader(SQLServerDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes) {
+        return session instanceof JDBCSession && session.getDataSource() == dataSource &&
+            table instanceof SQLServerTable &&
+            SQLServerUtils.isDriverSqlServer(dataSource.getContainer().getDriver()) &&
+            BulkLoadBatchImpl.isTextCompatible(attributes);
+    }
+
+    @NotNull
+    @Override
+    public DBSDataManipulator.ExecuteBatch createBulkLoadBatch(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) throws DBCException {
+        return new BulkCopyBatch(table, attributes, source);
+    }
+
+    private static class BulkCopyBatch extends BulkLoadBatchImpl {
+
+        BulkCopyBatch(@NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) {
+            super(table, attributes, source);
+        }
+
+        @Override
+        protected boolean appendValue(@NotNull StringBuilder data, @Nullable String value) {
+            if (value == null) {
+                // Empty field means NULL
+                return true;
+            }
+            if (value.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == COLUMN_DELIMITER || c == ROW_DELIMITER || c == '\r') {
+                    return false;
+                }
+            }
+            data.append(value);
+            return true;
+        }
+
+        @Override
+        protected long loadData(@NotNull DBCSession session, @NotNull String data, int rowCount) throws DBCException {
+            try {
+                Connection connection = ((JDBCSession) session).getOriginal();
+                ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+
+                Class<?> recordClass = Class.forName(DRIVER_PACKAGE + "SQLServerBulkCSVFileRecord", true, driverClassLoader);
+                Object record = recordClass.getConstructor(InputStream.class, String.class, String.class, boolean.class).newInstance(
+                    new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)),
+                    StandardCharsets.UTF_8.name(),
+                    String.valueOf(COLUMN_DELIMITER),
+                    false);
+                Method addColumnMetadata = recordClass.getMethod("addColumnMetadata", int.class, String.class, int.class, int.class, int.class);
+                for (int i = 0; i < attributes.length; i++) {
+                    DBSAttributeBase attribute = attributes[i];
+                    addColumnMetadata.invoke(record,
+                        i + 1,
+                        attribute.getName(),
+                        attribute.getTypeID(),
+                        CommonUtils.toInt(attribute.getPrecision()),
+                        CommonUtils.toInt(attribute.getScale()));
+                }
+
+                Class<?> bulkCopyClass = Class.forName(DRIVER_PACKAGE + "SQLServerBulkCopy", true, driverClassLoader);
+                Object bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection);
+                try {
+                    // Behave like regular insert (with IDENTITY_INSERT on): keep source identity values,
+                    // check constraints and fire insert triggers
+                    Class<?> optionsClass = Class.forName(DRIVER_PACKAGE + "SQLServerBulkCopyOptions", true, driverClassLoader);
+                    Object options = optionsClass.getConstructor().newInstance();
+                    optionsClass.getMethod("setKeepIdentity", boolean.class).invoke(options, true);
+                    optionsClass.getMethod("setCheckConstraints", boolean.class).invoke(options, true);
+                    optionsClass.getMethod("setFireTriggers", boolean.class).invoke(options, true);
+                    bulkCopyClass.getMethod("setBulkCopyOptions", optionsClass).invoke(bulkCopy, options);
+
+                    bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(
+                        bulkCopy, DBUtils.getObjectFullName(table, DBPEvaluationContext.DML));
+                    Method addColumnMapping = bulkCopyClass.getMethod("addColumnMapping", int.class, String.class);
+                    for (int i = 0; i < attributes.length; i++) {
+                        addColumnMapping.invoke(bulkCopy, i + 1, attributes[i].getName());
+                    }
+                    Class<?> bulkRecordClass = Class.forName(DRIVER_PACKAGE + "ISQLServerBulkRecord", true, driverClassLoader);
+                    bulkCopyClass.getMethod("writeToServer", bulkRecordClass).invoke(bulkCopy, record);
+                } finally {
+                    bulkCopyClass.getMethod("close").invoke(bulkCopy);
+                }
+                return rowCount;
+            } catch (InvocationTargetException e) {
+                throw new DBCException("Error copying data into '" + table.getName() + "'", e.getTargetException(), session.getDataSource());
+            } catch (Exception e) {
+                throw new DBCException("Error copying data into '" + table.getName() + "'", e, session.getDataSource());
+            }
+        }
+    }
+
+}
@@ -322,6 +322,8 @@ public class SQLServerDataSource extends JDBCDataSource implements DBSObjectSele
             return adapter.cast(new SQLServerStructureAssistant(this));
         } else if (adapter == DBAServerSessionManager.class) {
             return adapter.cast(new SQLServerSessionManager(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            return adapter.cast(new SQLServerBulkLoader(this));
         }
         return super.getAdapter(adapter);
     }
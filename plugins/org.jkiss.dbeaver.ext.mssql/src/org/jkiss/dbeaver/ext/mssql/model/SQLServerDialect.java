@@ -114,6 +114,24 @@ public class SQLServerDialect extends JDBCSQLDialect {
         }
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        // RPC call may have at most 2100 parameters. Keep a margin for sp_prepexec/sp_executesql own arguments.
+        return 2000;
+    }
+
+    @Override
+    public int getMaxInsertValuesRows() {
+        // Table value constructor accepts at most 1000 rows
+        return 1000;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsertValues() {
+        return SQLServerUtils.isDriverSqlServer(dataSource.getContainer().getDriver()) &&
+            dataSource.isServerVersionAtLeast(SQLServerConstants.SQL_SERVER_2008_VERSION_MAJOR, 0);
+    }
+
     @Override
     public String getColumnTypeModifiers(DBPDataSource dataSource, DBSTypedObject column, String typeName, DBPDataKind dataKind) {
         if (dataKind == DBPDataKind.DATETIME) {
@@ -0,0 +1,140 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * MySQL bulk loader.
+ * Uses LOAD DATA LOCAL INFILE with in-memory input stream (supported by MySQL and MariaDB drivers).
+ * Requires allowLoadLocalInfile driver property and local_infile server option.
+ */
+public class MySQLBulkLoader implements DBSDataBulkLoader {
+
+    private static final String PROP_ALLOW_LOAD_LOCAL_INFILE = "allowLoadLocalInfile";
+    private static final int MAX_REPORTED_WARNINGS = 5;
+
+    private final MySQLDataSource dataSource;
+
+    public MySQLBulkLoader(MySQLDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes) {
+        return session instanceof JDBCSession && session.getDataSource() == dataSource &&
+            table instanceof MySQLTable &&
+            CommonUtils.toBoolean(dataSource.getContainer().getActualConnectionConfiguration().getProperty(PROP_ALLOW_LOAD_LOCAL_INFILE)) &&
+            BulkLoadBatchImpl.isTextCompatible(attributes);
+    }
+
+    @NotNull
+    @Override
+    public DBSDataManipulator.ExecuteBatch createBulkLoadBatch(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) throws DBCException {
+        return new LoadDataBatch(table, attributes, source);
+    }
+
+    private static class LoadDataBatch extends BulkLoadBatchImpl {
+
+        private String loadQuery;
+
+        LoadDataBatch(@NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) {
+            super(table, attributes, source);
+        }
+
+        @Override
+        protected long loadData(@NotNull DBCSession session, @NotNull String data, int rowCount) throws DBCException {
+            if (loadQuery == null) {
+                StringBuilder query = new StringBuilder(100);
+                query.append("LOAD DATA LOCAL INFILE 'stream' INTO TABLE ")
+                    .append(DBUtils.getObjectFullName(table, DBPEvaluationContext.DML))
+                    .append(" CHARACTER SET utf8mb4")
+                    .append(" FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (");
+                for (int i = 0; i < attributes.length; i++) {
+                    if (i > 0) query.append(",");
+                    query.append(DBUtils.getObjectFullName(session.getDataSource(), attributes[i], DBPEvaluationContext.DML));
+                }
+                query.append(")");
+                loadQuery = query.toString();
+            }
+            try {
+                Connection connection = ((JDBCSession) session).getOriginal();
+                try (Statement dbStat = connection.createStatement()) {
+                    // Driver reads file content from this stream instead of local file
+                    dbStat.getClass().getMethod("setLocalInfileInputStream", InputStream.class).invoke(
+                        dbStat,
+                        new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+                    int loadedRows = dbStat.executeUpdate(loadQuery);
+                    // LOCAL load turns data errors into warnings and silently skips bad rows
+                    String warnings = readWarnings(dbStat);
+                    if (warnings != null || loadedRows != rowCount) {
+                        throw new DBCException(
+                            "Loaded " + loadedRows + " of " + rowCount + " rows into '" + table.getName() + "'" +
+                                (warnings == null ? "" : ":\n" + warnings));
+                    }
+                    return loadedRows;
+                }
+            } catch (DBCException e) {
+                throw e;
+            } catch (InvocationTargetException e) {
+                throw new DBCException("Error loading data into '" + table.getName() + "'", e.getTargetException(), session.getDataSource());
+            } catch (Exception e) {
+                throw new DBCException("Error loading data into '" + table.getName() + "'", e, session.getDataSource());
+            }
+        }
+
+        private static String readWarnings(Statement dbStat) throws SQLException {
+            StringBuilder warnings = null;
+            try (ResultSet dbResult = dbStat.executeQuery("SHOW WARNINGS LIMIT " + MAX_REPORTED_WARNINGS)) {
+                while (dbResult.next()) {
+                    String level = dbResult.getString("Level");
+                    if ("Note".equalsIgnoreCase(level)) {
+                        continue;
+                    }
+                    if (warnings == null) {
+                        warnings = new StringBuilder();
+                    } else {
+                        warnings.append("\n");
+                    }
+                    warnings.append(level).append(" ").append(dbResult.getString("Code")).append(": ").append(dbResult.getString("Message"));
+                }
+            }
+            return warnings == null ? null : warnings.toString();
+        }
+    }
+
+}
@@ -603,6 +603,8 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
             return adapter.cast(helpProvider);
         } else if (adapter == DBAServerSessionManager.class) {
             return adapter.cast(new MySQLSessionManager(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            return adapter.cast(new MySQLBulkLoader(this));
         } else if (adapter == SpatialDataProvider.class) {
             return adapter.cast(new SpatialDataProvider() {
                 @Override
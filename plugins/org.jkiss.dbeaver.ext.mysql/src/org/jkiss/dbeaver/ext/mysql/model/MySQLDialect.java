@@ -123,6 +123,16 @@ class MySQLDialect extends JDBCSQLDialect {
         return MultiValueInsertMode.GROUP_ROWS;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        return 65535;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsertValues() {
+        return true;
+    }
+
     @Override
     public boolean supportsAliasInSelect() {
         return true;
@@ -0,0 +1,145 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * PostgreSQL bulk loader.
+ * Uses driver CopyManager API (COPY ... FROM STDIN in text format).
+ * Driver classes are accessed with reflection because driver is loaded dynamically.
+ */
+public class PostgreBulkLoader implements DBSDataBulkLoader {
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+
+    private final PostgreDataSource dataSource;
+
+    public PostgreBulkLoader(PostgreDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes) {
+        if (!(session instanceof JDBCSession) || session.getDataSource() != dataSource ||
+            !(table instanceof PostgreTableRegular || table instanceof PostgreTablePartition) ||
+            !BulkLoadBatchImpl.isTextCompatible(attributes))
+        {
+            return false;
+        }
+        return isNativeConnection(((JDBCSession) session).getOriginal());
+    }
+
+    static boolean isNativeConnection(Connection connection) {
+        try {
+            return connection.isWrapperFor(Class.forName(PG_CONNECTION_CLASS, true, connection.getClass().getClassLoader()));
+        } catch (Throwable e) {
+            // Not a native PostgreSQL driver (e.g. Redshift or Greenplum driver)
+            return false;
+        }
+    }
+
+    /**
+     * Returns driver CopyManager of the connection
+     */
+    static Object getCopyManager(Connection connection) throws Exception {
+        Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, true, connection.getClass().getClassLoader());
+        Object pgConnection = connection.unwrap(pgConnectionClass);
+        return pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+    }
+
+    @NotNull
+    @Override
+    public DBSDataManipulator.ExecuteBatch createBulkLoadBatch(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) throws DBCException {
+        return new CopyBatch(table, attributes, source);
+    }
+
+    private static class CopyBatch extends BulkLoadBatchImpl {
+
+        private static final DateTimeFormatter TIMESTAMPTZ_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSxxx");
+
+        private String copyQuery;
+
+        CopyBatch(@NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) {
+            super(table, attributes, source);
+        }
+
+        @Override
+        protected long loadData(@NotNull DBCSession session, @NotNull String data, int rowCount) throws DBCException {
+            if (copyQuery == null) {
+                StringBuilder query = new StringBuilder(100);
+                query.append("COPY ").append(DBUtils.getObjectFullName(table, DBPEvaluationContext.DML)).append(" (");
+                for (int i = 0; i < attributes.length; i++) {
+                    if (i > 0) query.append(",");
+                    query.append(DBUtils.getObjectFullName(session.getDataSource(), attributes[i], DBPEvaluationContext.DML));
+                }
+                query.append(") FROM STDIN");
+                copyQuery = query.toString();
+            }
+            try {
+                Object copyManager = getCopyManager(((JDBCSession) session).getOriginal());
+                Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+                Object result = copyIn.invoke(copyManager, copyQuery, new StringReader(data));
+                return result instanceof Number ? ((Number) result).longValue() : -1;
+            } catch (InvocationTargetException e) {
+                throw new DBCException("Error copying data into '" + table.getName() + "'", e.getTargetException(), session.getDataSource());
+            } catch (Exception e) {
+                throw new DBCException("Error copying data into '" + table.getName() + "'", e, session.getDataSource());
+            }
+        }
+
+        @Nullable
+        @Override
+        protected String formatValue(@NotNull DBSAttributeBase attribute, @NotNull DBDValueHandler valueHandler, @Nullable Object value) {
+            if (value instanceof Date && attribute instanceof PostgreAttribute) {
+                PostgreDataType dataType = ((PostgreAttribute) attribute).getDataType();
+                if (dataType != null && dataType.getObjectId() == PostgreOid.TIMESTAMPTZ) {
+                    // Timestamp text without offset is read in server session time zone. Add client offset explicitly.
+                    Instant instant = value instanceof Timestamp ?
+                        ((Timestamp) value).toInstant() :
+                        Instant.ofEpochMilli(((Date) value).getTime());
+                    return TIMESTAMPTZ_FORMAT.format(instant.atZone(ZoneId.systemDefault()));
+                }
+            }
+            return super.formatValue(attribute, valueHandler, value);
+        }
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.*;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+
+/**
+ * PostgreSQL direct copier.
+ * Source query result is read with COPY ... TO STDOUT in binary format and piped into COPY ... FROM STDIN of target table.
+ * Binary format requires the same types of source and target columns. Binary values of arrays, enums and composites
+ * contain type OIDs, so user-defined types (which have different OIDs in different databases) are copied only within
+ * the same database.
+ * Source and target must use different connections, otherwise COPY OUT and COPY IN block each other.
+ */
+public class PostgreDataCopier implements DBSDataDirectCopier {
+
+    private static final Log log = Log.getLog(PostgreDataCopier.class);
+
+    private static final int PIPE_BUFFER_SIZE = 1024 * 1024;
+    private static final long CANCEL_CHECK_PERIOD = 100;
+    // OIDs below this value are assigned to built-in objects (FirstNormalObjectId)
+    private static final long FIRST_NORMAL_OBJECT_ID = 16384;
+
+    private final PostgreDataSource dataSource;
+
+    public PostgreDataCopier(PostgreDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean supportsDirectCopy(
+        @NotNull DBCSession sourceSession,
+        @NotNull DBSDataContainer source,
+        @NotNull DBSAttributeBase[] sourceAttributes,
+        @NotNull DBCSession targetSession,
+        @NotNull DBSDataManipulator target,
+        @NotNull DBSAttributeBase[] targetAttributes)
+    {
+        if (!(sourceSession instanceof JDBCSession) || !(targetSession instanceof JDBCSession) ||
+            sourceSession.getExecutionContext() == targetSession.getExecutionContext() ||
+            ((JDBCSession) sourceSession).getOriginal() == ((JDBCSession) targetSession).getOriginal())
+        {
+            // Both COPY commands can't run in the same connection
+            return false;
+        }
+        if (!(source.getDataSource() instanceof PostgreDataSource) ||
+            !(source instanceof DBSEntity) || target.getDataSource() != dataSource ||
+            !(target instanceof PostgreTableRegular || target instanceof PostgreTablePartition) ||
+            sourceAttributes.length == 0 || sourceAttributes.length != targetAttributes.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < sourceAttributes.length; i++) {
+            if (!(sourceAttributes[i] instanceof DBSEntityAttribute) ||
+                !sourceAttributes[i].getTypeName().equalsIgnoreCase(targetAttributes[i].getTypeName()) ||
+                !isSameBinaryType(sourceAttributes[i], targetAttributes[i]))
+            {
+                return false;
+            }
+        }
+        return PostgreBulkLoader.isNativeConnection(((JDBCSession) sourceSession).getOriginal());
+    }
+
+    @Override
+    public long copyData(
+        @NotNull DBCSession sourceSession,
+        @NotNull DBSDataContainer source,
+        @NotNull DBSAttributeBase[] sourceAttributes,
+        @Nullable DBDDataFilter dataFilter,
+        @NotNull DBCSession targetSession,
+        @NotNull DBSDataManipulator target,
+        @NotNull DBSAttributeBase[] targetAttributes) throws DBCException
+    {
+        StringBuilder copyOutQuery = new StringBuilder(200);
+        copyOutQuery.append("COPY (SELECT ");
+        for (int i = 0; i < sourceAttributes.length; i++) {
+            if (i > 0) copyOutQuery.append(",");
+            copyOutQuery.append(DBUtils.getQuotedIdentifier((DBSEntityAttribute) sourceAttributes[i]));
+        }
+        copyOutQuery.append(" FROM ").append(DBUtils.getObjectFullName(source, DBPEvaluationContext.DML));
+        SQLUtils.appendQueryConditions(sourceSession.getDataSource(), copyOutQuery, null, dataFilter);
+        copyOutQuery.append(") TO STDOUT (FORMAT binary)");
+
+        StringBuilder copyInQuery = new StringBuilder(200);
+        copyInQuery.append("COPY ").append(DBUtils.getObjectFullName(target, DBPEvaluationContext.DML)).append(" (");
+        for (int i = 0; i < targetAttributes.length; i++) {
+            if (i > 0) copyInQuery.append(",");
+            copyInQuery.append(DBUtils.getObjectFullName(targetSession.getDataSource(), targetAttributes[i], DBPEvaluationContext.DML));
+        }
+        copyInQuery.append(") FROM STDIN (FORMAT binary)");
+
+        DBRProgressMonitor monitor = sourceSession.getProgressMonitor();
+        try {
+            Connection sourceConnection = ((JDBCSession) sourceSession).getOriginal();
+            Object sourceCopyManager = PostgreBulkLoader.getCopyManager(sourceConnection);
+            Object targetCopyManager = PostgreBulkLoader.getCopyManager(((JDBCSession) targetSession).getOriginal());
+
+            PipedInputStream pipeIn = new PipedInputStream(PIPE_BUFFER_SIZE);
+            PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+            CopyOutThread copyOut = new CopyOutThread(sourceCopyManager, copyOutQuery.toString(), pipeOut);
+            copyOut.start();
+            Object result = null;
+            Throwable copyInError = null;
+            try {
+                result = targetCopyManager.getClass().getMethod("copyIn", String.class, InputStream.class)
+                    .invoke(targetCopyManager, copyInQuery.toString(), new CancelableInputStream(pipeIn, copyOut, monitor));
+            } catch (InvocationTargetException e) {
+                copyInError = e.getTargetException();
+            } finally {
+                // Release source reader if target failed
+                pipeIn.close();
+                if (monitor.isCanceled()) {
+                    // Source may wait for the query results. Cancel it.
+                    cancelQuery(sourceConnection);
+                }
+                copyOut.join();
+            }
+            if (monitor.isCanceled()) {
+                throw new DBCException("Data copy into '" + target.getName() + "' canceled");
+            }
+            // Broken pipe in reader is a consequence of target error
+            if (copyOut.error != null && !(copyOut.error instanceof IOException && copyInError != null)) {
+                throw new DBCException("Error reading data from '" + source.getName() + "'", copyOut.error, sourceSession.getDataSource());
+            }
+            if (copyInError != null) {
+                throw new DBCException("Error copying data into '" + target.getName() + "'", copyInError, targetSession.getDataSource());
+            }
+            return result instanceof Number ? ((Number) result).longValue() : -1;
+        } catch (DBCException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new DBCException("Error copying data into '" + target.getName() + "'", e, targetSession.getDataSource());
+        }
+    }
+
+    private static boolean isSameBinaryType(DBSAttributeBase sourceAttribute, DBSAttributeBase targetAttribute) {
+        if (!(sourceAttribute instanceof PostgreAttribute) || !(targetAttribute instanceof PostgreAttribute)) {
+            return false;
+        }
+        PostgreDataType sourceType = ((PostgreAttribute<?>) sourceAttribute).getDataType();
+        PostgreDataType targetType = ((PostgreAttribute<?>) targetAttribute).getDataType();
+        if (sourceType == null || targetType == null || sourceType.getObjectId() != targetType.getObjectId()) {
+            return false;
+        }
+        return sourceType.getObjectId() < FIRST_NORMAL_OBJECT_ID ||
+            ((PostgreAttribute<?>) sourceAttribute).getDatabase() == ((PostgreAttribute<?>) targetAttribute).getDatabase();
+    }
+
+    private static void cancelQuery(Connection connection) {
+        try {
+            Class<?> pgConnectionClass = Class.forName("org.postgresql.core.BaseConnection", true, connection.getClass().getClassLoader());
+            Object pgConnection = connection.unwrap(pgConnectionClass);
+            pgConnectionClass.getMethod("cancelQuery").invoke(pgConnection);
+        } catch (Throwable e) {
+            log.debug("Error canceling source COPY", e);
+        }
+    }
+
+    /**
+     * Pipe reader which fails when monitor is canceled. Failed read aborts target COPY (driver sends CopyFail).
+     * Doesn't block in pipe read while no data is available, so cancel is checked periodically.
+     */
+    private static class CancelableInputStream extends FilterInputStream {
+        private final Thread writer;
+        private final DBRProgressMonitor monitor;
+
+        CancelableInputStream(InputStream in, Thread writer, DBRProgressMonitor monitor) {
+            super(in);
+            this.writer = writer;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public int read() throws IOException {
+            waitForData();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            waitForData();
+            return super.read(b, off, len);
+        }
+
+        private void waitForData() throws IOException {
+            synchronized (in) {
+                // Writer flushes pipe after each write, it wakes us up
+                while (in.available() == 0 && writer.isAlive()) {
+                    if (monitor.isCanceled()) {
+                        throw new InterruptedIOException("Data copy canceled");
+                    }
+                    try {
+                        in.wait(CANCEL_CHECK_PERIOD);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException("Data copy interrupted");
+                    }
+                }
+            }
+            if (monitor.isCanceled()) {
+                throw new InterruptedIOException("Data copy canceled");
+            }
+        }
+    }
+
+    private static class CopyOutThread extends Thread {
+        private final Object copyManager;
+        private final String query;
+        private final OutputStream output;
+        private volatile Throwable error;
+
+        CopyOutThread(Object copyManager, String query, OutputStream output) {
+            super("PostgreSQL COPY reader");
+            this.copyManager = copyManager;
+            this.query = query;
+            this.output = output;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            // Flush notifies pipe reader about new data
+            OutputStream flushingOutput = new FilterOutputStream(output) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    out.flush();
+                }
+            };
+            try {
+                copyManager.getClass().getMethod("copyOut", String.class, OutputStream.class).invoke(copyManager, query, flushingOutput);
+            } catch (InvocationTargetException e) {
+                error = e.getTargetException();
+            } catch (Throwable e) {
+                error = e;
+            }
+            if (error == null) {
+                // Close pipe only after complete data. Otherwise reader gets broken pipe error and target COPY fails.
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    // Pipe is already closed by reader
+                }
+            }
+        }
+    }
+
+}
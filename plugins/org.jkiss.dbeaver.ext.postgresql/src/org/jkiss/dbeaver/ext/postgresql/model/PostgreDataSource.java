@@ -381,6 +381,10 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
             return adapter.cast(new PostgreSessionManager(this));
         } else if (adapter == DBCQueryPlanner.class) {
             return adapter.cast(new PostgreQueryPlaner(this));
+        } else if (adapter == DBSDataBulkLoader.class) {
+            return adapter.cast(new PostgreBulkLoader(this));
+        } else if (adapter == DBSDataDirectCopier.class) {
+            return adapter.cast(new PostgreDataCopier(this));
         }
         return super.getAdapter(adapter);
     }
@@ -739,6 +739,17 @@ public class PostgreDialect extends JDBCSQLDialect {
         return MultiValueInsertMode.GROUP_ROWS;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        // Wire protocol keeps parameters count in unsigned 16-bit field
+        return 65535;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsertValues() {
+        return true;
+    }
+
     @Override
     public String[][] getBlockBoundStrings() {
         // PostgreSQL-specific blocks ($$) should be used everywhere
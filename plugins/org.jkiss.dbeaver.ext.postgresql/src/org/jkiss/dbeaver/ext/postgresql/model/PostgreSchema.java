@@ -307,9 +307,47 @@ public class PostgreSchema implements DBSSchema, PostgreTableContainer, DBPNamed
     @Override
     public synchronized DBSObject refreshObject(@NotNull DBRProgressMonitor monitor)
         throws DBException {
+        if (tableCache.canRefreshChangedObjects(this) && reloadInfo(monitor) && tableCache.refreshChangedObjects(monitor, this)) {
+            // Only changed tables were reloaded. Other objects are read in bulk, just reset them.
+            extensionCache.clearCache();
+            aggregateCache.clearCache();
+            constraintCache.clearCache();
+            proceduresCache.clearCache();
+            indexCache.clearCache();
+            dataTypeCache.clearCache();
+            return this;
+        }
         return database.schemaCache.refreshObject(monitor, database, this);
     }
 
+    /**
+     * Reads schema row (owner, comment) again. Caches of this schema are kept.
+     * @return false if schema wasn't found
+     */
+    private boolean reloadInfo(@NotNull DBRProgressMonitor monitor)
+        throws DBException {
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, this, "Reload schema '" + getName() + "' info")) {
+            try (JDBCStatement dbStat = database.schemaCache.prepareLookupStatement(session, database, this, null)) {
+                dbStat.executeStatement();
+                JDBCResultSet dbResult = dbStat.getResultSet();
+                if (dbResult == null) {
+                    return false;
+                }
+                try {
+                    if (!dbResult.next()) {
+                        return false;
+                    }
+                    loadInfo(dbResult);
+                    return true;
+                } finally {
+                    dbResult.close();
+                }
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, getDataSource());
+        }
+    }
+
     @Override
     public boolean isSystem() {
         return
@@ -529,6 +567,31 @@ public class PostgreSchema implements DBSSchema, PostgreTableContainer, DBPNamed
             return dbStat;
         }
 
+        @Override
+        protected JDBCStatement prepareChangeMarkersStatement(@NotNull JDBCSession session, @NotNull PostgreTableContainer container)
+            throws SQLException
+        {
+            if (!getDataSource().isServerVersionAtLeast(9, 0)) {
+                // No ordered string_agg
+                return null;
+            }
+            // Table DDL creates new versions of catalog rows (with new xmin), table rewrite changes relfilenode.
+            // Changes of columns, defaults, comments, triggers and rules are tracked by xmin list of their rows.
+            // Lists are compared as is: deleted rows change the list too, xmin wraparound doesn't matter.
+            final JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT c.relname,c.xmin::text || ':' || c.relfilenode || ':' || md5(" +
+                "COALESCE((SELECT string_agg(a.xmin::text, ',' ORDER BY a.attnum) FROM pg_catalog.pg_attribute a WHERE a.attrelid=c.oid),'')" +
+                " || '|' || COALESCE((SELECT string_agg(ad.xmin::text, ',' ORDER BY ad.adnum) FROM pg_catalog.pg_attrdef ad WHERE ad.adrelid=c.oid),'')" +
+                " || '|' || COALESCE((SELECT string_agg(d.xmin::text, ',' ORDER BY d.classoid,d.objsubid) FROM pg_catalog.pg_description d WHERE d.objoid=c.oid),'')" +
+                " || '|' || COALESCE((SELECT string_agg(t.xmin::text, ',' ORDER BY t.oid) FROM pg_catalog.pg_trigger t WHERE t.tgrelid=c.oid),'')" +
+                " || '|' || COALESCE((SELECT string_agg(r.xmin::text, ',' ORDER BY r.oid) FROM pg_catalog.pg_rewrite r WHERE r.ev_class=c.oid),'')" +
+                ") as change_marker" +
+                "\nFROM pg_catalog.pg_class c\n" +
+                "WHERE c.relnamespace=? AND c.relkind not in ('i','c')");
+            dbStat.setLong(1, getObjectId());
+            return dbStat;
+        }
+
         @Override
         protected PostgreTableBase fetchObject(@NotNull JDBCSession session, @NotNull PostgreTableContainer container, @NotNull JDBCResultSet dbResult)
             throws SQLException, DBException
@@ -31,6 +31,7 @@ public class DBCStatistics {
     private long executeTime;
     private long fetchTime;
     private int statementsCount;
+    private int reprepareCount;
     private String queryText;
     private Map<String, Object> infoMap;
     private List<String> messages;
@@ -118,6 +119,20 @@ public class DBCStatistics {
     }
 
 
+    /**
+     * Number of times batch was flushed and statement was prepared again
+     * because row values didn't fit previously prepared statement.
+     */
+    public int getReprepareCount()
+    {
+        return reprepareCount;
+    }
+
+    public void addReprepareCount()
+    {
+        this.reprepareCount++;
+    }
+
     public String getQueryText() {
         return queryText;
     }
@@ -165,6 +180,7 @@ public class DBCStatistics {
         executeTime += stat.executeTime;
         fetchTime += stat.fetchTime;
         statementsCount += stat.statementsCount;
+        reprepareCount += stat.reprepareCount;
         if (!CommonUtils.isEmpty(stat.messages)) {
             for (String message : stat.messages) {
                 addMessage(message);
@@ -184,6 +200,7 @@ public class DBCStatistics {
         executeTime = 0;
         fetchTime = 0;
         statementsCount = 0;
+        reprepareCount = 0;
         messages = null;
         infoMap = null;
     }
@@ -33,15 +33,16 @@ import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
- * Various objects cache
+ * Various objects cache.
+ * Cache content is copy-on-write: writers build new list and map under cache lock and publish them,
+ * readers use current content without locking.
  */
 public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject>
     implements DBSObjectCache<OWNER, OBJECT>
 {
     private static final Log log = Log.getLog(AbstractObjectCache.class);
 
-    private List<OBJECT> objectList;
-    private Map<String, OBJECT> objectMap;
+    private volatile CacheContent<OBJECT> content;
     protected volatile boolean fullCache = false;
     protected volatile boolean caseSensitive = true;
     protected Comparator<OBJECT> listOrderComparator;
@@ -68,9 +69,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public List<OBJECT> getCachedObjects()
     {
-        synchronized (this) {
-            return objectList == null ? Collections.<OBJECT>emptyList() : objectList;
-        }
+        final CacheContent<OBJECT> content = this.content;
+        return content == null ? Collections.<OBJECT>emptyList() : content.list;
     }
 
     public <SUB_TYPE> Collection<SUB_TYPE> getTypedObjects(DBRProgressMonitor monitor, OWNER owner, Class<SUB_TYPE> type)
@@ -89,25 +89,25 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public OBJECT getCachedObject(@NotNull String name)
     {
-        synchronized (this) {
-            return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
-        }
+        final CacheContent<OBJECT> content = this.content;
+        return content == null || name == null ? null : getObjectMap(content).get(caseSensitive ? name : name.toUpperCase());
     }
 
     @Override
     public void cacheObject(@NotNull OBJECT object)
     {
         synchronized (this) {
-            if (this.objectList == null) {
-                this.objectList = new ArrayList<>();
-            }
             detectCaseSensitivity(object);
-            this.objectList.add(object);
-            if (this.objectMap != null) {
+            List<OBJECT> newList = content == null ? new ArrayList<>() : new ArrayList<>(content.list);
+            newList.add(object);
+            Map<String, OBJECT> newMap = null;
+            if (content != null && content.map != null) {
+                newMap = new HashMap<>(content.map);
                 String name = getObjectName(object);
-                checkDuplicateName(name, object);
-                this.objectMap.put(name, object);
+                checkDuplicateName(newMap, name, object);
+                newMap.put(name, object);
             }
+            this.content = new CacheContent<>(newList, newMap);
         }
     }
 
@@ -115,12 +115,9 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
         synchronized (this) {
-            if (this.objectList != null) {
+            if (this.content != null) {
                 detectCaseSensitivity(object);
-                this.objectList.remove(object);
-                if (this.objectMap != null) {
-                    this.objectMap.remove(getObjectName(object));
-                }
+                removeCachedObject(object);
             }
             if (resetFullCache) {
                 fullCache = false;
@@ -128,6 +125,20 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    private synchronized void removeCachedObject(OBJECT object) {
+        if (content == null) {
+            return;
+        }
+        List<OBJECT> newList = new ArrayList<>(content.list);
+        newList.remove(object);
+        Map<String, OBJECT> newMap = null;
+        if (content.map != null) {
+            newMap = new HashMap<>(content.map);
+            newMap.remove(getObjectName(object));
+        }
+        this.content = new CacheContent<>(newList, newMap);
+    }
+
     @Nullable
     public <SUB_TYPE> SUB_TYPE getObject(DBRProgressMonitor monitor, OWNER owner, String name, Class<SUB_TYPE> type)
         throws DBException
@@ -145,8 +156,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void clearCache()
     {
         synchronized (this) {
-            this.objectList = null;
-            this.objectMap = null;
+            this.content = null;
             this.fullCache = false;
         }
     }
@@ -154,8 +164,7 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void setCache(List<OBJECT> objects)
     {
         synchronized (this) {
-            this.objectList = objects;
-            this.objectMap = null;
+            this.content = new CacheContent<>(new ArrayList<>(objects), null);
             this.fullCache = true;
         }
     }
@@ -177,7 +186,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     protected void mergeCache(List<OBJECT> objects)
     {
         synchronized (this) {
-            if (this.objectList != null) {
+            if (this.content != null) {
+                List<OBJECT> objectList = this.content.list;
                 // Merge lists
                 objects = new ArrayList<>(objects);
                 for (int i = 0; i < objects.size(); i++) {
@@ -197,21 +207,24 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         setCache(objects);
     }
 
-    private synchronized Map<String, OBJECT> getObjectMap()
+    private Map<String, OBJECT> getObjectMap(CacheContent<OBJECT> content)
     {
-        if (this.objectMap == null) {
-            this.objectMap = new HashMap<>();
-            for (OBJECT object : objectList) {
+        Map<String, OBJECT> objectMap = content.map;
+        if (objectMap == null) {
+            // Concurrent readers may build the same map twice. It is cheaper than locking.
+            objectMap = new HashMap<>();
+            for (OBJECT object : content.list) {
                 String name = getObjectName(object);
-                checkDuplicateName(name, object);
-                this.objectMap.put(name, object);
+                checkDuplicateName(objectMap, name, object);
+                objectMap.put(name, object);
             }
+            content.map = objectMap;
         }
-        return this.objectMap;
+        return objectMap;
     }
 
-    private void checkDuplicateName(String name, OBJECT object) {
-        if (this.objectMap.containsKey(name)) {
+    private void checkDuplicateName(Map<String, OBJECT> objectMap, String name, OBJECT object) {
+        if (objectMap.containsKey(name)) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object, DBPEvaluationContext.DDL));
         }
     }
@@ -234,21 +247,24 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
 
     public void clearChildrenOf(DBSObject parent) {
         synchronized (this) {
-            if (objectList == null) {
+            if (content == null) {
                 return;
             }
-            for (int i = 0; i < objectList.size(); ) {
-                OBJECT object = objectList.get(i);
+            List<OBJECT> newList = new ArrayList<>(content.list.size());
+            Map<String, OBJECT> newMap = content.map == null ? null : new HashMap<>(content.map);
+            for (OBJECT object : content.list) {
                 if (object.getParentObject() == parent) {
-                    this.objectList.remove(object);
-                    if (this.objectMap != null) {
-                        this.objectMap.remove(getObjectName(object));
+                    if (newMap != null) {
+                        newMap.remove(getObjectName(object));
                     }
                     fullCache = false;
                 } else {
-                    i++;
+                    newList.add(object);
                 }
             }
+            if (newList.size() != content.list.size()) {
+                this.content = new CacheContent<>(newList, newMap);
+            }
         }
     }
 
@@ -314,8 +330,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         }
     }
 
+    /**
+     * Iterates over current cache content. Removal replaces cache content.
+     */
     protected class CacheIterator implements Iterator<OBJECT> {
-        private Iterator<OBJECT> listIterator = objectList.iterator();
+        private Iterator<OBJECT> listIterator = getCachedObjects().iterator();
         private OBJECT curObject;
         public CacheIterator()
         {
@@ -336,10 +355,24 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         @Override
         public void remove()
         {
-            listIterator.remove();
-            if (objectMap != null) {
-                objectMap.remove(getObjectName(curObject));
+            if (curObject == null) {
+                throw new IllegalStateException();
             }
+            removeCachedObject(curObject);
+            curObject = null;
+        }
+    }
+
+    /**
+     * Immutable object list and lazily built name map
+     */
+    private static class CacheContent<OBJECT> {
+        final List<OBJECT> list;
+        volatile Map<String, OBJECT> map;
+
+        CacheContent(List<OBJECT> list, @Nullable Map<String, OBJECT> map) {
+            this.list = Collections.unmodifiableList(list);
+            this.map = map;
         }
     }
 
@@ -0,0 +1,212 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.edit.DBEPersistAction;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Bulk load batch.
+ * Serializes rows in tab-delimited text and passes it to native database load API.
+ * Rows which can't be represented in text format are inserted with regular insert batch.
+ */
+public abstract class BulkLoadBatchImpl implements DBSDataManipulator.ExecuteBatch {
+
+    private static final Log log = Log.getLog(BulkLoadBatchImpl.class);
+
+    public static final char COLUMN_DELIMITER = '\t';
+    public static final char ROW_DELIMITER = '\n';
+    public static final String NULL_VALUE = "\\N";
+
+    protected final DBSDataManipulator table;
+    protected final DBSAttributeBase[] attributes;
+    protected final DBCExecutionSource source;
+    protected final List<Object[]> values = new ArrayList<>();
+
+    private DBDValueHandler[] handlers;
+    private DBSDataManipulator.ExecuteBatch fallbackBatch;
+    private NullsMode nullsMode = NullsMode.SKIP;
+
+    protected BulkLoadBatchImpl(@NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source) {
+        this.table = table;
+        this.attributes = attributes;
+        this.source = source;
+    }
+
+    /**
+     * Checks that all attributes have simple types which can be represented in text format
+     */
+    public static boolean isTextCompatible(@NotNull DBSAttributeBase[] attributes) {
+        for (DBSAttributeBase attribute : attributes) {
+            DBPDataKind dataKind = attribute.getDataKind();
+            if (dataKind != DBPDataKind.STRING && dataKind != DBPDataKind.NUMERIC &&
+                dataKind != DBPDataKind.BOOLEAN && dataKind != DBPDataKind.DATETIME)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(@NotNull Object[] attributeValues) throws DBCException {
+        if (attributeValues.length != attributes.length) {
+            throw new DBCException("Bad attribute values: " + attributeValues.length + " (" + attributes.length + " expected)");
+        }
+        values.add(attributeValues);
+    }
+
+    @Override
+    public void setNullsMode(@NotNull NullsMode nullsMode) {
+        // Bulk load always sets NULLs explicitly. Mode is used by fallback batch only.
+        this.nullsMode = nullsMode;
+    }
+
+    @NotNull
+    @Override
+    public DBCStatistics execute(@NotNull DBCSession session) throws DBCException {
+        DBCStatistics statistics = new DBCStatistics();
+        if (values.isEmpty()) {
+            return statistics;
+        }
+        try {
+            if (handlers == null) {
+                handlers = new DBDValueHandler[attributes.length];
+                for (int i = 0; i < attributes.length; i++) {
+                    handlers[i] = DBUtils.findValueHandler(session, attributes[i]);
+                }
+            }
+            StringBuilder data = new StringBuilder(values.size() * attributes.length * 16);
+            for (Object[] row : values) {
+                for (int i = 0; i < attributes.length; i++) {
+                    if (i > 0) {
+                        data.append(COLUMN_DELIMITER);
+                    }
+                    if (!appendValue(data, formatValue(attributes[i], handlers[i], row[i]))) {
+                        // Value can't be represented in load format
+                        return executeFallback(session);
+                    }
+                }
+                data.append(ROW_DELIMITER);
+            }
+            statistics.addStatementsCount();
+            long startTime = System.currentTimeMillis();
+            long rowCount = loadData(session, data.toString(), values.size());
+            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+            statistics.addRowsUpdated(rowCount < 0 ? values.size() : rowCount);
+        } finally {
+            values.clear();
+        }
+        return statistics;
+    }
+
+    @Override
+    public void generatePersistActions(@NotNull DBCSession session, @NotNull List<DBEPersistAction> actions) throws DBCException {
+        throw new DBCException("Persist actions generation is not supported by bulk load");
+    }
+
+    @Override
+    public void close() {
+        if (fallbackBatch != null) {
+            fallbackBatch.close();
+            fallbackBatch = null;
+        }
+    }
+
+    /**
+     * Loads text data in the target table
+     * @param data rows in tab-delimited text format
+     * @param rowCount number of rows in data
+     * @return number of loaded rows or -1 if unknown
+     */
+    protected abstract long loadData(@NotNull DBCSession session, @NotNull String data, int rowCount) throws DBCException;
+
+    /**
+     * Appends value to the data buffer.
+     * Default implementation uses backslash escaping (PostgreSQL COPY and MySQL LOAD DATA text format)
+     * @return false if value can't be represented in load format
+     */
+    protected boolean appendValue(@NotNull StringBuilder data, @Nullable String value) {
+        if (value == null) {
+            data.append(NULL_VALUE);
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': data.append("\\\\"); break;
+                case '\t': data.append("\\t"); break;
+                case '\n': data.append("\\n"); break;
+                case '\r': data.append("\\r"); break;
+                case 0: return false;
+                default: data.append(c); break;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    protected String formatValue(@NotNull DBSAttributeBase attribute, @NotNull DBDValueHandler valueHandler, @Nullable Object value) {
+        if (DBUtils.isNullValue(value)) {
+            return null;
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof Number) {
+            return value.toString();
+        } else if (value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof Timestamp) {
+            return value.toString();
+        } else if (value instanceof Date) {
+            return new Timestamp(((Date) value).getTime()).toString();
+        }
+        return valueHandler.getValueDisplayString(attribute, value, DBDDisplayFormat.NATIVE);
+    }
+
+    private DBCStatistics executeFallback(@NotNull DBCSession session) throws DBCException {
+        if (fallbackBatch == null) {
+            log.debug("Data can't be loaded in bulk mode. Use insert batch for '" + table.getName() + "'");
+            fallbackBatch = table.insertData(session, attributes, null, source);
+            fallbackBatch.setNullsMode(nullsMode);
+        }
+        for (Object[] row : values) {
+            fallbackBatch.add(row);
+        }
+        return fallbackBatch.execute(session);
+    }
+
+}
@@ -32,9 +32,7 @@ import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * Execute batch.
@@ -49,6 +47,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    protected NullsMode nullsMode = NullsMode.SKIP;
 
     /**
      * Constructs new batch
@@ -72,6 +71,12 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         values.add(attributeValues);
     }
 
+    @Override
+    public void setNullsMode(@NotNull NullsMode nullsMode)
+    {
+        this.nullsMode = nullsMode;
+    }
+
     @NotNull
     @Override
     public DBCStatistics execute(@NotNull DBCSession session) throws DBCException
@@ -123,13 +128,17 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             boolean[] nulls = new boolean[attributes.length];
             int statementsInBatch = 0;
 
+            if (reuseStatement && nullsMode == NullsMode.GROUP && actions == null && values.size() > 1) {
+                groupValuesByNulls();
+            }
+
             for (int rowIndex = 0; rowIndex < values.size(); rowIndex++) {
                 Object[] rowValues = values.get(rowIndex);
                 if (session.getProgressMonitor().isCanceled()) {
                     break;
                 }
                 boolean reuse = reuseStatement;
-                if (reuse) {
+                if (reuse && nullsMode != NullsMode.BIND) {
                     for (int i = 0; i < rowValues.length; i++) {
                         nulls[i] = DBUtils.isNullValue(rowValues[i]);
                     }
@@ -145,6 +154,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
                         statement.close();
                         statement = null;
                         statementsInBatch = 0;
+                        statistics.addReprepareCount();
                         reuse = true;
                     }
                 }
@@ -210,6 +220,29 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
         return statistics;
     }
 
+    /**
+     * Reorders batch values so rows with the same NULLs pattern follow each other.
+     * Keeps original order of rows within each pattern.
+     */
+    private void groupValuesByNulls() {
+        Map<BitSet, List<Object[]>> groups = new LinkedHashMap<>();
+        for (Object[] rowValues : values) {
+            BitSet nulls = new BitSet(rowValues.length);
+            for (int i = 0; i < rowValues.length; i++) {
+                if (DBUtils.isNullValue(rowValues[i])) {
+                    nulls.set(i);
+                }
+            }
+            groups.computeIfAbsent(nulls, k -> new ArrayList<>()).add(rowValues);
+        }
+        if (groups.size() > 1) {
+            values.clear();
+            for (List<Object[]> group : groups.values()) {
+                values.addAll(group);
+            }
+        }
+    }
+
     protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
         return paramIndex + 1;
     }
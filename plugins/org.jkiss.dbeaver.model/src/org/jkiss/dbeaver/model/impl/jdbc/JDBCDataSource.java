@@ -33,6 +33,7 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCDatabaseMetaData;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCFactory;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
+import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCMetaSnapshot;
 import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCObjectValueHandler;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCConnectionImpl;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCFactoryDefault;
@@ -83,6 +84,9 @@ public abstract class JDBCDataSource
     private int databaseMajorVersion;
     private int databaseMinorVersion;
 
+    private JDBCMetaSnapshot metaSnapshot;
+    private boolean metaSnapshotOpened;
+
     protected JDBCDataSource(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSourceContainer container, @NotNull SQLDialect dialect)
         throws DBException
     {
@@ -325,9 +329,29 @@ public abstract class JDBCDataSource
         return defaultInstance == null ? Collections.emptyList() : Collections.singletonList(defaultInstance);
     }
 
+    /**
+     * Persistent metadata snapshot. Null if snapshots are disabled for this connection.
+     */
+    @Nullable
+    public synchronized JDBCMetaSnapshot getMetaSnapshot() {
+        if (!metaSnapshotOpened) {
+            metaSnapshotOpened = true;
+            metaSnapshot = JDBCMetaSnapshot.open(this);
+        }
+        return metaSnapshot;
+    }
+
     @Override
     public void shutdown(DBRProgressMonitor monitor)
     {
+        synchronized (this) {
+            if (metaSnapshot != null) {
+                monitor.subTask("Save metadata snapshot");
+                metaSnapshot.save();
+                metaSnapshot = null;
+            }
+            metaSnapshotOpened = false;
+        }
         for (JDBCRemoteInstance instance : getAvailableInstances()) {
             monitor.subTask("Disconnect from '" + instance.getName() + "'");
             instance.shutdown(monitor);
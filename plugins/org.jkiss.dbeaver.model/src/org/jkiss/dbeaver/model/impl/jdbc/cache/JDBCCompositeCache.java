@@ -59,7 +59,9 @@ public abstract class JDBCCompositeCache<
     private final Object parentColumnName;
     private final Object objectColumnName;
 
-    private final Map<PARENT, List<OBJECT>> objectCache = new IdentityHashMap<>();
+    // Copy-on-write map of parent objects. Published map and its lists are never modified, so they can be read without lock.
+    private volatile Map<PARENT, List<OBJECT>> objectCache = new IdentityHashMap<>();
+    private final Object objectCacheLock = new Object();
 
     protected JDBCCompositeCache(
         JDBCStructCache<OWNER,?,?> parentCache,
@@ -133,9 +135,7 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             return getCachedObjects();
         } else {
-            synchronized (objectCache) {
-                return objectCache.get(forParent);
-            }
+            return objectCache.get(forParent);
         }
     }
 
@@ -155,9 +155,7 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             return getCachedObject(objectName);
         } else {
-            synchronized (objectCache) {
-                return DBUtils.findObject(objectCache.get(forParent), objectName);
-            }
+            return DBUtils.findObject(objectCache.get(forParent), objectName);
         }
     }
 
@@ -165,14 +163,14 @@ public abstract class JDBCCompositeCache<
     public void cacheObject(@NotNull OBJECT object)
     {
         super.cacheObject(object);
-        synchronized (objectCache) {
+        synchronized (objectCacheLock) {
             PARENT parent = getParent(object);
-            List<OBJECT> objects = objectCache.get(parent);
-            if (objects == null) {
-                objects = new ArrayList<>();
-                objectCache.put(parent, objects);
-            }
+            List<OBJECT> oldObjects = objectCache.get(parent);
+            List<OBJECT> objects = oldObjects == null ? new ArrayList<>() : new ArrayList<>(oldObjects);
             objects.add(object);
+            Map<PARENT, List<OBJECT>> newCache = new IdentityHashMap<>(objectCache);
+            newCache.put(parent, objects);
+            objectCache = newCache;
         }
     }
 
@@ -180,7 +178,7 @@ public abstract class JDBCCompositeCache<
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
         super.removeObject(object, resetFullCache);
-        objectCache.remove(getParent(object));
+        removeParentObjects(getParent(object));
     }
 
     public void clearObjectCache(PARENT forParent)
@@ -188,7 +186,17 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             super.clearCache();
         } else {
-            objectCache.remove(forParent);
+            removeParentObjects(forParent);
+        }
+    }
+
+    private void removeParentObjects(PARENT parent) {
+        synchronized (objectCacheLock) {
+            if (objectCache.containsKey(parent)) {
+                Map<PARENT, List<OBJECT>> newCache = new IdentityHashMap<>(objectCache);
+                newCache.remove(parent);
+                objectCache = newCache;
+            }
         }
     }
 
@@ -199,8 +207,8 @@ public abstract class JDBCCompositeCache<
     @Override
     public void clearCache()
     {
-        synchronized (objectCache) {
-            this.objectCache.clear();
+        synchronized (objectCacheLock) {
+            this.objectCache = new IdentityHashMap<>();
             super.clearCache();
         }
     }
@@ -208,17 +216,18 @@ public abstract class JDBCCompositeCache<
     @Override
     public void setCache(List<OBJECT> objects) {
         super.setCache(objects);
-        synchronized (objectCache) {
-            objectCache.clear();
+        synchronized (objectCacheLock) {
+            Map<PARENT, List<OBJECT>> newCache = new IdentityHashMap<>();
             for (OBJECT object : objects) {
                 PARENT parent = getParent(object);
-                List<OBJECT> parentObjects = objectCache.get(parent);
+                List<OBJECT> parentObjects = newCache.get(parent);
                 if (parentObjects == null) {
                     parentObjects = new ArrayList<>();
-                    objectCache.put(parent, parentObjects);
+                    newCache.put(parent, parentObjects);
                 }
                 parentObjects.add(object);
             }
+            objectCache = newCache;
         }
     }
 
@@ -237,12 +246,10 @@ public abstract class JDBCCompositeCache<
     protected void loadObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
         throws DBException
     {
-        synchronized (objectCache) {
-            if ((forParent == null && isFullyCached()) ||
-                (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
-            {
-                return;
-            }
+        if ((forParent == null && isFullyCached()) ||
+            (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
+        {
+            return;
         }
 
         // Load tables and columns first
@@ -296,11 +303,9 @@ public abstract class JDBCCompositeCache<
                                 continue;
                             }
                         }
-                        synchronized (objectCache) {
-                            if (objectCache.containsKey(parent)) {
-                                // Already cached
-                                continue;
-                            }
+                        if (objectCache.containsKey(parent)) {
+                            // Already cached
+                            continue;
                         }
                         // Add to map
                         Map<String, ObjectInfo> objectMap = parentObjectMap.get(parent);
@@ -353,7 +358,8 @@ public abstract class JDBCCompositeCache<
 
         // Fill global cache
         synchronized (this) {
-            synchronized (objectCache) {
+            synchronized (objectCacheLock) {
+                Map<PARENT, List<OBJECT>> newCache = new IdentityHashMap<>(objectCache);
                 if (forParent != null || !parentObjectMap.isEmpty()) {
                     if (forParent == null) {
                         // Cache global object list
@@ -368,7 +374,7 @@ public abstract class JDBCCompositeCache<
                             }
                         }
                         // Save precached objects in global cache
-                        for (List<OBJECT> objects : objectCache.values()) {
+                        for (List<OBJECT> objects : newCache.values()) {
                             globalCache.addAll(objects);
                         }
                         // Add precached objects to global cache too
@@ -382,7 +388,7 @@ public abstract class JDBCCompositeCache<
 
                 // All objects are read. Now assign them to parents
                 for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
-                    if (colEntry.getValue() == null || objectCache.containsKey(colEntry.getKey())) {
+                    if (colEntry.getValue() == null || newCache.containsKey(colEntry.getKey())) {
                         // Do not overwrite this object's cache
                         continue;
                     }
@@ -392,18 +398,19 @@ public abstract class JDBCCompositeCache<
                         objectInfo.needsCaching = true;
                         objects.add(objectInfo.object);
                     }
-                    objectCache.put(colEntry.getKey(), objects);
+                    newCache.put(colEntry.getKey(), objects);
                 }
                 // Now set empty object list for other parents
                 if (forParent == null) {
                     for (PARENT tmpParent : parentCache.getTypedObjects(monitor, owner, parentType)) {
-                        if (!parentObjectMap.containsKey(tmpParent) && !objectCache.containsKey(tmpParent)) {
-                            objectCache.put(tmpParent, new ArrayList<OBJECT>());
+                        if (!parentObjectMap.containsKey(tmpParent) && !newCache.containsKey(tmpParent)) {
+                            newCache.put(tmpParent, new ArrayList<OBJECT>());
                         }
                     }
-                } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
-                    objectCache.put(forParent, new ArrayList<OBJECT>());
+                } else if (!parentObjectMap.containsKey(forParent) && !newCache.containsKey(forParent)) {
+                    newCache.put(forParent, new ArrayList<OBJECT>());
                 }
+                objectCache = newCache;
             }
             // Cache children lists (we do it in the end because children caching may operate with other model objects)
             for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
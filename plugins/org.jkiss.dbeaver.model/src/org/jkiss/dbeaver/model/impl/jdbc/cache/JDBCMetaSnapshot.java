@@ -0,0 +1,647 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.cache;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCDataSource;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent snapshot of metadata read by JDBC caches.
+ * Snapshot keeps result set values which were read by cache (fetchObject/fetchChild) for each cache and owner.
+ * On the next connect cache is filled by replaying these values without catalog query
+ * and then it is revalidated by background job.
+ * Each snapshot entry is used once per connection, so cache refresh always reads metadata from database.
+ */
+public class JDBCMetaSnapshot {
+
+    private static final Log log = Log.getLog(JDBCMetaSnapshot.class);
+
+    private static final String SNAPSHOT_FOLDER = "metadata-snapshots"; //$NON-NLS-1$
+    private static final String SNAPSHOT_FILE_EXT = ".snapshot"; //$NON-NLS-1$
+
+    private static final int FILE_MAGIC = 0x44424d53;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte VALUE_MISSING = 0;
+    private static final byte VALUE_NULL = 1;
+    private static final byte VALUE_STRING = 2;
+    private static final byte VALUE_INT = 3;
+    private static final byte VALUE_LONG = 4;
+    private static final byte VALUE_SHORT = 5;
+    private static final byte VALUE_BYTE = 6;
+    private static final byte VALUE_DOUBLE = 7;
+    private static final byte VALUE_FLOAT = 8;
+    private static final byte VALUE_BOOLEAN = 9;
+    private static final byte VALUE_DECIMAL = 10;
+    private static final byte VALUE_TIMESTAMP = 11;
+    private static final byte VALUE_DATE = 12;
+    private static final byte VALUE_TIME = 13;
+    private static final byte VALUE_BYTES = 14;
+
+    // Result set column wasn't read by cache for this row
+    private static final Object MISSING = new Object();
+
+    private static final Set<String> VALUE_GETTERS = new HashSet<>(Arrays.asList(
+        "getString", "getNString", "getBoolean", "getByte", "getShort", "getInt", "getLong", "getFloat", "getDouble", //$NON-NLS-1$
+        "getBigDecimal", "getBytes", "getDate", "getTime", "getTimestamp", "getObject")); //$NON-NLS-1$
+
+    /**
+     * Values read from one result set
+     */
+    public static class Entry {
+        private final String[] columns;
+        private final List<Object[]> rows;
+        private final long size;
+
+        private Entry(String[] columns, List<Object[]> rows) {
+            this.columns = columns;
+            this.rows = rows;
+            long size = 0;
+            for (Object[] row : rows) {
+                for (Object value : row) {
+                    size += getValueSize(value);
+                }
+            }
+            this.size = size;
+        }
+
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        public boolean isSameAs(@NotNull Entry entry) {
+            if (!Arrays.equals(columns, entry.columns) || rows.size() != entry.rows.size()) {
+                return false;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                if (!Arrays.deepEquals(rows.get(i), entry.rows.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final File file;
+    private final String serverVersion;
+    private final long maxSize;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Set<String> usedKeys = new HashSet<>();
+    private long totalSize;
+    private boolean modified;
+
+    private JDBCMetaSnapshot(File file, String serverVersion, long maxSize) {
+        this.file = file;
+        this.serverVersion = serverVersion;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns snapshot of the data source or null if snapshots are disabled for its connection
+     */
+    @Nullable
+    public static JDBCMetaSnapshot getSnapshot(@Nullable DBPDataSource dataSource) {
+        return dataSource instanceof JDBCDataSource ? ((JDBCDataSource) dataSource).getMetaSnapshot() : null;
+    }
+
+    /**
+     * Opens snapshot of connected data source. Saved snapshot is read if it was made for the same server version.
+     */
+    @Nullable
+    public static JDBCMetaSnapshot open(@NotNull DBPDataSource dataSource) {
+        DBPDataSourceContainer container = dataSource.getContainer();
+        DBPPreferenceStore preferenceStore = container.getPreferenceStore();
+        if (!preferenceStore.getBoolean(ModelPreferences.META_SNAPSHOT_ENABLED)) {
+            return null;
+        }
+        String serverVersion = container.getDriver().getId() + ":" +
+            dataSource.getInfo().getDatabaseProductName() + ":" + dataSource.getInfo().getDatabaseProductVersion();
+        File folder = new File(GeneralUtils.getMetadataFolder(), SNAPSHOT_FOLDER);
+        JDBCMetaSnapshot snapshot = new JDBCMetaSnapshot(
+            new File(folder, CommonUtils.escapeFileName(container.getId()) + SNAPSHOT_FILE_EXT),
+            serverVersion,
+            preferenceStore.getInt(ModelPreferences.META_SNAPSHOT_MAX_SIZE) * 1024L * 1024L);
+        if (snapshot.file.exists()) {
+            long startTime = System.currentTimeMillis();
+            try {
+                snapshot.load();
+                log.debug("Metadata snapshot of '" + container.getName() + "' loaded (" + snapshot.entries.size() + " entries, " +
+                    (System.currentTimeMillis() - startTime) + "ms)");
+            } catch (IOException | RuntimeException e) {
+                // Corrupted file. Start with empty snapshot.
+                log.debug("Error reading metadata snapshot '" + snapshot.file.getAbsolutePath() + "'", e);
+                snapshot.entries.clear();
+                snapshot.totalSize = 0;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns saved entry if it wasn't used yet in this connection
+     */
+    @Nullable
+    public synchronized Entry takeEntry(@NotNull String key) {
+        if (!usedKeys.add(key)) {
+            return null;
+        }
+        return entries.get(key);
+    }
+
+    public synchronized void putEntry(@NotNull String key, @Nullable Entry entry) {
+        usedKeys.add(key);
+        Entry oldEntry = entries.remove(key);
+        if (oldEntry != null) {
+            totalSize -= oldEntry.size;
+            modified = true;
+        }
+        if (entry == null) {
+            return;
+        }
+        if (totalSize + entry.size > maxSize) {
+            log.debug("Metadata snapshot size limit exceeded. '" + key + "' is not saved.");
+            return;
+        }
+        entries.put(key, entry);
+        totalSize += entry.size;
+        modified = true;
+    }
+
+    public synchronized void removeEntry(@NotNull String key) {
+        putEntry(key, null);
+    }
+
+    /**
+     * Starts recording of values read from the result set
+     */
+    public Recorder startRecording(@NotNull JDBCResultSet resultSet) {
+        return new Recorder(resultSet);
+    }
+
+    /**
+     * Makes result set which returns values of the entry
+     */
+    public static JDBCResultSet makeReplayResultSet(@NotNull JDBCSession session, @NotNull Entry entry) {
+        return (JDBCResultSet) Proxy.newProxyInstance(
+            JDBCMetaSnapshot.class.getClassLoader(),
+            new Class[]{JDBCResultSet.class},
+            new Replayer(session, entry));
+    }
+
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        File folder = file.getParentFile();
+        if (!folder.exists() && !folder.mkdirs()) {
+            log.debug("Can't create metadata snapshot folder '" + folder.getAbsolutePath() + "'");
+            return;
+        }
+        File tempFile = new File(folder, file.getName() + ".tmp"); //$NON-NLS-1$
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, serverVersion);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    writeString(out, entry.getKey());
+                    String[] columns = entry.getValue().columns;
+                    out.writeInt(columns.length);
+                    for (String column : columns) {
+                        writeString(out, column);
+                    }
+                    out.writeInt(entry.getValue().rows.size());
+                    for (Object[] row : entry.getValue().rows) {
+                        for (Object value : row) {
+                            writeValue(out, value);
+                        }
+                    }
+                }
+            }
+            if (file.exists() && !file.delete()) {
+                log.debug("Can't delete old metadata snapshot '" + file.getAbsolutePath() + "'");
+            }
+            if (!tempFile.renameTo(file)) {
+                log.debug("Can't rename metadata snapshot '" + tempFile.getAbsolutePath() + "'");
+            }
+            modified = false;
+        } catch (IOException e) {
+            log.debug("Error saving metadata snapshot '" + file.getAbsolutePath() + "'", e);
+            if (tempFile.exists() && !tempFile.delete()) {
+                log.debug("Can't delete temp file '" + tempFile.getAbsolutePath() + "'");
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FORMAT_VERSION) {
+                log.debug("Unsupported metadata snapshot format '" + file.getAbsolutePath() + "'");
+                return;
+            }
+            String version = readString(in, maxSize);
+            if (!serverVersion.equals(version)) {
+                log.debug("Metadata snapshot was made for other server version (" + version + "). Ignored.");
+                return;
+            }
+            int entryCount = readLength(in, maxSize);
+            for (int i = 0; i < entryCount; i++) {
+                String key = readString(in, maxSize);
+                String[] columns = new String[readLength(in, maxSize)];
+                for (int k = 0; k < columns.length; k++) {
+                    columns[k] = readString(in, maxSize);
+                }
+                int rowCount = readLength(in, maxSize);
+                List<Object[]> rows = new ArrayList<>(rowCount);
+                for (int r = 0; r < rowCount; r++) {
+                    Object[] row = new Object[columns.length];
+                    for (int k = 0; k < row.length; k++) {
+                        row[k] = readValue(in, maxSize);
+                    }
+                    rows.add(row);
+                }
+                Entry entry = new Entry(columns, rows);
+                if (totalSize + entry.size > maxSize) {
+                    // Size limit was decreased
+                    break;
+                }
+                entries.put(key, entry);
+                totalSize += entry.size;
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads length of string, array or list. Snapshot never contains more elements than its size limit.
+     */
+    private static int readLength(DataInputStream in, long limit) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > limit) {
+            throw new IOException("Bad length in metadata snapshot: " + length);
+        }
+        return length;
+    }
+
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        byte[] bytes = new byte[readLength(in, limit)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == MISSING) {
+            out.writeByte(VALUE_MISSING);
+        } else if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte(VALUE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(VALUE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(VALUE_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof Timestamp) {
+            out.writeByte(VALUE_TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(VALUE_DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value instanceof Time) {
+            out.writeByte(VALUE_TIME);
+            out.writeLong(((Time) value).getTime());
+        } else if (value instanceof byte[]) {
+            out.writeByte(VALUE_BYTES);
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else {
+            throw new IOException("Unsupported snapshot value type: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in, long limit) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case VALUE_MISSING: return MISSING;
+            case VALUE_NULL: return null;
+            case VALUE_STRING: return readString(in, limit);
+            case VALUE_INT: return in.readInt();
+            case VALUE_LONG: return in.readLong();
+            case VALUE_SHORT: return in.readShort();
+            case VALUE_BYTE: return in.readByte();
+            case VALUE_DOUBLE: return in.readDouble();
+            case VALUE_FLOAT: return in.readFloat();
+            case VALUE_BOOLEAN: return in.readBoolean();
+            case VALUE_DECIMAL: return new BigDecimal(readString(in, limit));
+            case VALUE_TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            }
+            case VALUE_DATE: return new java.sql.Date(in.readLong());
+            case VALUE_TIME: return new Time(in.readLong());
+            case VALUE_BYTES: {
+                byte[] bytes = new byte[readLength(in, limit)];
+                in.readFully(bytes);
+                return bytes;
+            }
+            default:
+                throw new IOException("Bad snapshot value type: " + type);
+        }
+    }
+
+    private static boolean isSupportedValue(Object value) {
+        return value == null || value instanceof String || value instanceof Integer || value instanceof Long ||
+            value instanceof Short || value instanceof Byte || value instanceof Double || value instanceof Float ||
+            value instanceof Boolean || value instanceof BigDecimal || value instanceof Timestamp ||
+            value instanceof java.sql.Date || value instanceof Time || value instanceof byte[];
+    }
+
+    private static long getValueSize(Object value) {
+        if (value instanceof String) {
+            return 16 + ((String) value).length() * 2;
+        } else if (value instanceof byte[]) {
+            return 16 + ((byte[]) value).length;
+        } else {
+            return 16;
+        }
+    }
+
+    private static boolean isValueGetter(Method method, Object[] args) {
+        return VALUE_GETTERS.contains(method.getName()) && args != null && args.length > 0 &&
+            (args[0] instanceof String || args[0] instanceof Integer);
+    }
+
+    private static String getColumnKey(Object column) {
+        return column instanceof String ? ((String) column).toUpperCase(Locale.ENGLISH) : "#" + column;
+    }
+
+    /**
+     * Records values which were read from the result set
+     */
+    public static class Recorder implements InvocationHandler {
+        private final JDBCResultSet resultSet;
+        private final JDBCResultSet proxy;
+        private final Map<String, Integer> columns = new LinkedHashMap<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private Object[] curRow;
+        private boolean unsupported;
+
+        private Recorder(JDBCResultSet resultSet) {
+            this.resultSet = resultSet;
+            this.proxy = (JDBCResultSet) Proxy.newProxyInstance(
+                JDBCMetaSnapshot.class.getClassLoader(),
+                new Class[]{JDBCResultSet.class},
+                this);
+        }
+
+        public JDBCResultSet getResultSet() {
+            return proxy;
+        }
+
+        /**
+         * Returns recorded entry or null if some values can't be saved in snapshot
+         */
+        @Nullable
+        public Entry finish() {
+            if (unsupported) {
+                return null;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                if (row.length < columns.size()) {
+                    Object[] fullRow = Arrays.copyOf(row, columns.size());
+                    Arrays.fill(fullRow, row.length, fullRow.length, MISSING);
+                    rows.set(i, fullRow);
+                }
+            }
+            return new Entry(columns.keySet().toArray(new String[0]), rows);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (unsupported) {
+                return result;
+            }
+            if (method.getName().equals("next")) { //$NON-NLS-1$
+                if (Boolean.TRUE.equals(result)) {
+                    curRow = new Object[columns.size()];
+                    Arrays.fill(curRow, MISSING);
+                    rows.add(curRow);
+                }
+            } else if (curRow != null && isValueGetter(method, args)) {
+                if (args.length > 1) {
+                    // Getters with type or calendar can't be replayed
+                    unsupported = true;
+                    return result;
+                }
+                Object value = resultSet.wasNull() ? null : result;
+                if (!isSupportedValue(value)) {
+                    unsupported = true;
+                    return result;
+                }
+                String key = getColumnKey(args[0]);
+                Integer index = columns.get(key);
+                if (index == null) {
+                    index = columns.size();
+                    columns.put(key, index);
+                }
+                if (index >= curRow.length) {
+                    int oldLength = curRow.length;
+                    curRow = Arrays.copyOf(curRow, columns.size());
+                    Arrays.fill(curRow, oldLength, curRow.length, MISSING);
+                    rows.set(rows.size() - 1, curRow);
+                }
+                curRow[index] = value;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Reads values from snapshot entry
+     */
+    private static class Replayer implements InvocationHandler {
+        private final JDBCSession session;
+        private final Entry entry;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private int rowIndex = -1;
+        private boolean lastNull;
+
+        Replayer(JDBCSession session, Entry entry) {
+            this.session = session;
+            this.entry = entry;
+            for (int i = 0; i < entry.columns.length; i++) {
+                columns.put(entry.columns[i], i);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    return ++rowIndex < entry.rows.size();
+                case "wasNull":
+                    return lastNull;
+                case "close":
+                    return null;
+                case "isClosed":
+                    return false;
+                case "getSession":
+                    return session;
+                case "getStatement":
+                case "getSourceStatement":
+                case "getOriginal":
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Metadata snapshot result set";
+            }
+            if (!isValueGetter(method, args) || args.length > 1) {
+                throw new SQLFeatureNotSupportedException("Method '" + method.getName() + "' is not supported by metadata snapshot");
+            }
+            if (rowIndex < 0 || rowIndex >= entry.rows.size()) {
+                throw new SQLException("No current row in metadata snapshot");
+            }
+            Integer index = columns.get(getColumnKey(args[0]));
+            Object value = index == null ? MISSING : entry.rows.get(rowIndex)[index];
+            if (value == MISSING) {
+                throw new SQLException("Column '" + args[0] + "' is missing in metadata snapshot");
+            }
+            lastNull = value == null;
+            return convertValue(value, method.getReturnType());
+        }
+
+        private static Object convertValue(Object value, Class<?> type) throws SQLException {
+            if (value == null) {
+                return type.isPrimitive() ? convertValue(0, type) : null;
+            }
+            if (type.isInstance(value)) {
+                return value;
+            }
+            if (type == String.class) {
+                return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : value.toString();
+            } else if (type == int.class) {
+                return toNumber(value).intValue();
+            } else if (type == long.class) {
+                return toNumber(value).longValue();
+            } else if (type == short.class) {
+                return toNumber(value).shortValue();
+            } else if (type == byte.class) {
+                return toNumber(value).byteValue();
+            } else if (type == double.class) {
+                return toNumber(value).doubleValue();
+            } else if (type == float.class) {
+                return toNumber(value).floatValue();
+            } else if (type == boolean.class) {
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                if (value instanceof String) {
+                    return CommonUtils.getBoolean((String) value) || "1".equals(value) || "Y".equalsIgnoreCase((String) value);
+                }
+                return toNumber(value).intValue() != 0;
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(toNumber(value).toString());
+            } else if (type == Timestamp.class && value instanceof java.util.Date) {
+                return new Timestamp(((java.util.Date) value).getTime());
+            } else if (type == java.sql.Date.class && value instanceof java.util.Date) {
+                return new java.sql.Date(((java.util.Date) value).getTime());
+            } else if (type == Time.class && value instanceof java.util.Date) {
+                return new Time(((java.util.Date) value).getTime());
+            }
+            throw new SQLException("Can't convert snapshot value " + value.getClass().getName() + " to " + type.getName());
+        }
+
+        private static Number toNumber(Object value) throws SQLException {
+            if (value instanceof Number) {
+                return (Number) value;
+            } else if (value instanceof Boolean) {
+                return (Boolean) value ? 1 : 0;
+            } else if (value instanceof String) {
+                try {
+                    return new BigDecimal(((String) value).trim());
+                } catch (NumberFormatException e) {
+                    throw new SQLException("Bad numeric value in metadata snapshot: " + value);
+                }
+            }
+            throw new SQLException("Can't convert snapshot value " + value.getClass().getName() + " to number");
+        }
+    }
+
+}
@@ -16,10 +16,13 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.cache;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -27,9 +30,12 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.AbstractObjectCache;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -41,11 +47,15 @@ import java.util.*;
 public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject> extends AbstractObjectCache<OWNER, OBJECT>
 {
     private static final int DEFAULT_MAX_CACHE_SIZE = 1000000;
+    // Changed objects are reloaded one by one if there are not more of them. Otherwise all objects are read.
+    private static final int MAX_CHANGED_OBJECTS_LOOKUP = 10;
 
     private static final Log log = Log.getLog(JDBCObjectCache.class);
 
     // Maximum number of objects in cache
     private int maximumCacheSize = DEFAULT_MAX_CACHE_SIZE;
+    // Change markers of objects read from database (object name -> marker). Null if incremental refresh is not possible.
+    private volatile Map<String, Object> changeMarkers;
 
     protected JDBCObjectCache() {
     }
@@ -62,6 +72,19 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
     abstract protected OBJECT fetchObject(@NotNull JDBCSession session, @NotNull OWNER owner, @NotNull JDBCResultSet resultSet)
         throws SQLException, DBException;
 
+    /**
+     * Prepares statement which reads change markers of all owner objects.
+     * Result set must contain object name in the first column and change marker (e.g. last DDL time) in the second one.
+     * Marker must change whenever object metadata is changed.
+     * @return null if change detection is not supported
+     */
+    @Nullable
+    protected JDBCStatement prepareChangeMarkersStatement(@NotNull JDBCSession session, @NotNull OWNER owner)
+        throws SQLException
+    {
+        return null;
+    }
+
     @NotNull
     @Override
     public Collection<OBJECT> getAllObjects(@NotNull DBRProgressMonitor monitor, @Nullable OWNER owner)
@@ -96,44 +119,57 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         if (dataSource == null) {
             throw new DBException(ModelMessages.error_not_connected_to_database);
         }
-        try {
-            try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects from " + owner.getName())) {
-                try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
-                    monitor.subTask("Load " + getCacheName());
-                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                    dbStat.executeStatement();
-                    JDBCResultSet dbResult = dbStat.getResultSet();
-                    if (dbResult != null) {
-                        try {
-                            while (dbResult.next()) {
-                                if (monitor.isCanceled()) {
+        JDBCMetaSnapshot snapshot = JDBCMetaSnapshot.getSnapshot(dataSource);
+        String snapshotKey = snapshot == null ? null : getSnapshotKey(owner);
+        JDBCMetaSnapshot.Entry snapshotEntry = snapshot == null ? null : snapshot.takeEntry(snapshotKey);
+        if (snapshotEntry != null) {
+            // Read objects from snapshot and check them in background
+            try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects of " + owner.getName() + " from snapshot")) {
+                if (!fetchObjects(monitor, session, owner, JDBCMetaSnapshot.makeReplayResultSet(session, snapshotEntry), tmpObjectList)) {
+                    return;
+                }
+                revalidateSnapshot(snapshot, snapshotKey, snapshotEntry, owner);
+            } catch (Throwable e) {
+                log.debug("Error reading " + getCacheName() + " from metadata snapshot", e);
+                snapshot.removeEntry(snapshotKey);
+                tmpObjectList.clear();
+                snapshotEntry = null;
+            }
+        }
+        Map<String, Object> markers = null;
+        if (snapshotEntry == null) {
+            if (dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_INCREMENTAL_REFRESH)) {
+                // Markers are read before objects, so concurrent changes are detected on next refresh
+                markers = readChangeMarkers(monitor, owner);
+            }
+            try {
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load objects from " + owner.getName())) {
+                    try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
+                        monitor.subTask("Load " + getCacheName());
+                        dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                        dbStat.executeStatement();
+                        JDBCResultSet dbResult = dbStat.getResultSet();
+                        if (dbResult != null) {
+                            JDBCMetaSnapshot.Recorder recorder = snapshot == null ? null : snapshot.startRecording(dbResult);
+                            try {
+                                if (!fetchObjects(monitor, session, owner, recorder == null ? dbResult : recorder.getResultSet(), tmpObjectList)) {
                                     return;
                                 }
-
-                                OBJECT object = fetchObject(session, owner, dbResult);
-                                if (object == null) {
-                                    continue;
-                                }
-                                tmpObjectList.add(object);
-
-                                // Do not log every object load. This overheats UI in case of long lists
-                                //monitor.subTask(object.getName());
-                                if (tmpObjectList.size() == maximumCacheSize) {
-                                    log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
-                                    break;
-                                }
+                            } finally {
+                                dbResult.close();
+                            }
+                            if (recorder != null) {
+                                snapshot.putEntry(snapshotKey, recorder.finish());
                             }
-                        } finally {
-                            dbResult.close();
                         }
                     }
+                } catch (SQLException ex) {
+                    throw new DBException(ex, dataSource);
+                }
+            } catch (DBException e) {
+                if (!handleCacheReadError(e)) {
+                    throw e;
                 }
-            } catch (SQLException ex) {
-                throw new DBException(ex, dataSource);
-            }
-        } catch (DBException e) {
-            if (!handleCacheReadError(e)) {
-                throw e;
             }
         }
 
@@ -147,6 +183,297 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         detectCaseSensitivity(owner);
         mergeCache(tmpObjectList);
         this.invalidateObjects(monitor, owner, new CacheIterator());
+        this.changeMarkers = markers;
+    }
+
+    /**
+     * Refreshes cache incrementally. Only objects changed since last read (according to change markers) are reloaded,
+     * new objects are added and dropped objects are removed. Unchanged objects keep their state and nested caches.
+     *
+     * @return false if incremental refresh is not possible (change detection is not supported or cache wasn't read).
+     *  Cache is not modified in this case, caller has to perform full refresh.
+     */
+    public synchronized boolean refreshChangedObjects(@NotNull DBRProgressMonitor monitor, @NotNull OWNER owner)
+        throws DBException
+    {
+        if (!canRefreshChangedObjects(owner)) {
+            return false;
+        }
+        Map<String, Object> oldMarkers = this.changeMarkers;
+        Map<String, Object> newMarkers = readChangeMarkers(monitor, owner);
+        if (newMarkers == null || monitor.isCanceled()) {
+            return false;
+        }
+        Set<String> changedNames = new HashSet<>();
+        for (Map.Entry<String, Object> marker : newMarkers.entrySet()) {
+            if (!oldMarkers.containsKey(marker.getKey()) || !CommonUtils.equalObjects(oldMarkers.get(marker.getKey()), marker.getValue())) {
+                changedNames.add(marker.getKey());
+            }
+        }
+        Set<String> removedNames = new HashSet<>(oldMarkers.keySet());
+        removedNames.removeAll(newMarkers.keySet());
+        if (changedNames.isEmpty() && removedNames.isEmpty()) {
+            log.debug("No changes in " + getCacheName() + " of " + owner.getName());
+            return true;
+        }
+        log.debug("Refresh " + changedNames.size() + " changed and " + removedNames.size() + " removed object(s) in " + getCacheName() + " of " + owner.getName());
+
+        Map<String, OBJECT> changedObjects = reloadChangedObjects(monitor, owner, changedNames);
+        if (changedObjects == null) {
+            return false;
+        }
+        List<OBJECT> objects = new ArrayList<>();
+        for (OBJECT object : getCachedObjects()) {
+            String objectName = object.getName();
+            if (removedNames.contains(objectName)) {
+                refreshCachedObject(object, null);
+                continue;
+            }
+            if (changedNames.contains(objectName)) {
+                OBJECT newObject = changedObjects.remove(objectName);
+                refreshCachedObject(object, newObject);
+                if (newObject == null) {
+                    // Dropped after markers read
+                    continue;
+                }
+            }
+            objects.add(object);
+        }
+        // The rest are new objects
+        objects.addAll(changedObjects.values());
+
+        Comparator<OBJECT> comparator = getListOrderComparator();
+        if (comparator != null) {
+            objects.sort(comparator);
+        }
+        mergeCache(objects);
+        this.invalidateObjects(monitor, owner, new CacheIterator());
+        this.changeMarkers = newMarkers;
+        return true;
+    }
+
+    /**
+     * Checks preconditions of incremental refresh without database access:
+     * it is enabled in preferences and change markers were read together with cached objects.
+     */
+    public synchronized boolean canRefreshChangedObjects(@NotNull OWNER owner)
+    {
+        DBPDataSource dataSource = owner.getDataSource();
+        return isFullyCached() && changeMarkers != null && dataSource != null &&
+            dataSource.getContainer().getPreferenceStore().getBoolean(ModelPreferences.META_INCREMENTAL_REFRESH);
+    }
+
+    /**
+     * Updates cached object on incremental refresh.
+     * @param newObject new object state or null if object was removed
+     */
+    protected void refreshCachedObject(@NotNull OBJECT oldObject, @Nullable OBJECT newObject)
+    {
+        if (newObject != null) {
+            deepCopyCachedObject(newObject, oldObject);
+        }
+    }
+
+    @Nullable
+    private Map<String, Object> readChangeMarkers(DBRProgressMonitor monitor, OWNER owner)
+    {
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Read change markers of " + owner.getName())) {
+            try (JDBCStatement dbStat = prepareChangeMarkersStatement(session, owner)) {
+                if (dbStat == null) {
+                    return null;
+                }
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                dbStat.executeStatement();
+                JDBCResultSet dbResult = dbStat.getResultSet();
+                if (dbResult == null) {
+                    return null;
+                }
+                Map<String, Object> markers = new HashMap<>();
+                try {
+                    while (dbResult.next()) {
+                        String objectName = JDBCUtils.safeGetString(dbResult, 1);
+                        if (objectName != null) {
+                            markers.put(objectName, JDBCUtils.safeGetObject(dbResult, 2));
+                        }
+                    }
+                } finally {
+                    dbResult.close();
+                }
+                return markers;
+            }
+        } catch (Exception e) {
+            log.debug("Error reading change markers of " + getCacheName() + " of " + owner.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads changed objects from database. Objects are looked up one by one if cache supports lookup
+     * and there are few of them. Otherwise all objects are read and changed ones are taken.
+     * @return changed objects by name or null if read was canceled
+     */
+    @Nullable
+    private Map<String, OBJECT> reloadChangedObjects(DBRProgressMonitor monitor, OWNER owner, Set<String> changedNames)
+        throws DBException
+    {
+        Map<String, OBJECT> changedObjects = new LinkedHashMap<>();
+        if (changedNames.isEmpty()) {
+            return changedObjects;
+        }
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Reload changed objects from " + owner.getName())) {
+            if (this instanceof JDBCObjectLookup && changedNames.size() <= MAX_CHANGED_OBJECTS_LOOKUP) {
+                @SuppressWarnings("unchecked")
+                JDBCObjectLookup<OWNER, OBJECT> lookup = (JDBCObjectLookup<OWNER, OBJECT>) this;
+                for (String objectName : changedNames) {
+                    if (monitor.isCanceled()) {
+                        return null;
+                    }
+                    try (JDBCStatement dbStat = lookup.prepareLookupStatement(session, owner, null, objectName)) {
+                        dbStat.setFetchSize(1);
+                        dbStat.executeStatement();
+                        JDBCResultSet dbResult = dbStat.getResultSet();
+                        if (dbResult != null) {
+                            try {
+                                if (dbResult.next()) {
+                                    OBJECT object = fetchObject(session, owner, dbResult);
+                                    if (object != null) {
+                                        changedObjects.put(object.getName(), object);
+                                    }
+                                }
+                            } finally {
+                                dbResult.close();
+                            }
+                        }
+                    }
+                }
+            } else {
+                List<OBJECT> allObjects = new ArrayList<>();
+                try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
+                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                    dbStat.executeStatement();
+                    JDBCResultSet dbResult = dbStat.getResultSet();
+                    if (dbResult != null) {
+                        try {
+                            if (!fetchObjects(monitor, session, owner, dbResult, allObjects)) {
+                                return null;
+                            }
+                        } finally {
+                            dbResult.close();
+                        }
+                    }
+                }
+                for (OBJECT object : allObjects) {
+                    if (changedNames.contains(object.getName())) {
+                        changedObjects.put(object.getName(), object);
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DBException(ex, owner.getDataSource());
+        }
+        return changedObjects;
+    }
+
+    /**
+     * Reads objects from result set
+     * @return false if read was canceled
+     */
+    private boolean fetchObjects(DBRProgressMonitor monitor, JDBCSession session, OWNER owner, JDBCResultSet dbResult, List<OBJECT> objectList)
+        throws SQLException, DBException
+    {
+        while (dbResult.next()) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+
+            OBJECT object = fetchObject(session, owner, dbResult);
+            if (object == null) {
+                continue;
+            }
+            objectList.add(object);
+
+            // Do not log every object load. This overheats UI in case of long lists
+            //monitor.subTask(object.getName());
+            if (objectList.size() == maximumCacheSize) {
+                log.warn("Maximum cache size exceeded (" + maximumCacheSize + ") in " + this);
+                break;
+            }
+        }
+        return true;
+    }
+
+    protected String getSnapshotKey(OWNER owner) {
+        return getClass().getName() + "|" + DBUtils.getObjectFullId(owner);
+    }
+
+    /**
+     * Reads objects from database in background and compares them with snapshot.
+     * If they differ then state of existing objects is updated (object instances are kept),
+     * new objects are added and removed objects are dropped.
+     */
+    private void revalidateSnapshot(JDBCMetaSnapshot snapshot, String snapshotKey, JDBCMetaSnapshot.Entry snapshotEntry, OWNER owner) {
+        new AbstractJob("Revalidate " + getCacheName() + " of " + owner.getName()) {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                List<OBJECT> objects = new ArrayList<>();
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Revalidate objects of " + owner.getName())) {
+                    try (JDBCStatement dbStat = prepareObjectsStatement(session, owner)) {
+                        dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                        dbStat.executeStatement();
+                        JDBCResultSet dbResult = dbStat.getResultSet();
+                        if (dbResult == null) {
+                            return Status.OK_STATUS;
+                        }
+                        JDBCMetaSnapshot.Recorder recorder = snapshot.startRecording(dbResult);
+                        try {
+                            if (!fetchObjects(monitor, session, owner, recorder.getResultSet(), objects)) {
+                                return Status.OK_STATUS;
+                            }
+                        } finally {
+                            dbResult.close();
+                        }
+                        JDBCMetaSnapshot.Entry entry = recorder.finish();
+                        if (entry != null && entry.isSameAs(snapshotEntry)) {
+                            return Status.OK_STATUS;
+                        }
+                        snapshot.putEntry(snapshotKey, entry);
+                    }
+                } catch (Throwable e) {
+                    log.debug("Error revalidating " + getCacheName() + " of " + owner.getName(), e);
+                    return Status.OK_STATUS;
+                }
+                log.debug(getCacheName() + " of " + owner.getName() + " was changed since last snapshot");
+                synchronized (JDBCObjectCache.this) {
+                    if (!isFullyCached()) {
+                        // Cache was refreshed
+                        return Status.OK_STATUS;
+                    }
+                    addCustomObjects(objects);
+                    // Snapshot doesn't tell which objects were changed, so all existing objects are updated
+                    Map<String, OBJECT> newObjects = new HashMap<>();
+                    for (OBJECT object : objects) {
+                        newObjects.put(object.getName(), object);
+                    }
+                    for (OBJECT oldObject : getCachedObjects()) {
+                        refreshCachedObject(oldObject, newObjects.get(oldObject.getName()));
+                    }
+                    Comparator<OBJECT> comparator = getListOrderComparator();
+                    if (comparator != null) {
+                        objects.sort(comparator);
+                    }
+                    mergeCache(objects);
+                    invalidateObjects(monitor, owner, new CacheIterator());
+                }
+                DBUtils.fireObjectRefresh(owner);
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    @Override
+    public void clearCache() {
+        this.changeMarkers = null;
+        super.clearCache();
     }
 
     protected String getCacheName() {
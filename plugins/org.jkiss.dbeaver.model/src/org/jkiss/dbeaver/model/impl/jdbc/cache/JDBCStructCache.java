@@ -16,6 +16,8 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.cache;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
@@ -31,6 +33,7 @@ import org.jkiss.dbeaver.model.impl.DBSStructCache;
 import org.jkiss.dbeaver.model.impl.SimpleObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 
@@ -89,95 +92,180 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         if (dataSource == null) {
             throw new DBException(ModelMessages.error_not_connected_to_database);
         }
+        JDBCMetaSnapshot snapshot = JDBCMetaSnapshot.getSnapshot(dataSource);
+        String snapshotKey = snapshot == null ? null : getChildrenSnapshotKey(owner, forObject);
+        JDBCMetaSnapshot.Entry snapshotEntry = snapshot == null ? null : snapshot.takeEntry(snapshotKey);
         try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Load child objects")) {
             Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
 
-            // Load columns
-            try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
-                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
-                dbStat.executeStatement();
-                JDBCResultSet dbResult = dbStat.getResultSet();
-                if (dbResult != null) {
+            if (snapshotEntry != null) {
+                // Read children from snapshot and check them in background
+                try {
+                    if (!fetchChildren(monitor, session, owner, forObject, JDBCMetaSnapshot.makeReplayResultSet(session, snapshotEntry), objectMap, true)) {
+                        return;
+                    }
+                    revalidateChildrenSnapshot(snapshot, snapshotKey, snapshotEntry, owner, forObject);
+                } catch (Throwable e) {
+                    log.debug("Error reading children of " + getCacheName() + " from metadata snapshot", e);
+                    snapshot.removeEntry(snapshotKey);
+                    objectMap.clear();
+                    snapshotEntry = null;
+                }
+            }
+            if (snapshotEntry == null) {
+                // Load columns
+                try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
+                    dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                    dbStat.executeStatement();
+                    JDBCResultSet dbResult = dbStat.getResultSet();
+                    if (dbResult == null) {
+                        return;
+                    }
+                    JDBCMetaSnapshot.Recorder recorder = snapshot == null ? null : snapshot.startRecording(dbResult);
                     try {
-                        while (dbResult.next()) {
-                            if (monitor.isCanceled()) {
-                                return;
-                            }
-                            OBJECT object = forObject;
-                            if (object == null) {
-                                String objectName;
-                                if (objectNameColumn instanceof Number) {
-                                    objectName = JDBCUtils.safeGetString(dbResult, ((Number) objectNameColumn).intValue());
-                                } else {
-                                    objectName = JDBCUtils.safeGetStringTrimmed(dbResult, objectNameColumn.toString());
-                                }
-                                if (objectName == null) {
-                                    log.debug("NULL object name in " + this);
-                                    continue;
-                                }
-
-                                object = super.getCachedObject(objectName);
-                                if (object == null) {
-                                    log.debug("Object '" + objectName + "' not found in struct cache (" + getClass().getSimpleName() + ")");
-                                    continue;
-                                }
-                            }
-                            if (isChildrenCached(object)) {
-                                // Already read
-                                continue;
-                            }
-                            CHILD child = fetchChild(session, owner, object, dbResult);
-                            if (child == null) {
-                                continue;
-                            }
-
-                            // Add to map
-                            List<CHILD> children = objectMap.get(object);
-                            if (children == null) {
-                                children = new ArrayList<>();
-                                objectMap.put(object, children);
-                            }
-                            children.add(child);
-                        }
-
-                        if (monitor.isCanceled()) {
+                        // Recorded snapshot must contain children of all objects, even of those which are already cached
+                        if (!fetchChildren(monitor, session, owner, forObject, recorder == null ? dbResult : recorder.getResultSet(), objectMap, recorder == null)) {
                             return;
                         }
-
-                        // All children are read. Now assign them to parents
-                        for (Map.Entry<OBJECT, List<CHILD>> colEntry : objectMap.entrySet()) {
-                            if (!isChildrenCached(colEntry.getKey())) {
-                                // isChildrenCached may return true if the same cache was read in other thread
-                                // just skip
-                                cacheChildren(colEntry.getKey(), colEntry.getValue());
-                            }
-                        }
-                        if (forObject == null) {
-                            if (objectMap.isEmpty()) {
-                                // Nothing was read. May be it means empty list of children
-                                // but possibly this feature is not supported [JDBC: SQLite]
-                            } else {
-                                // Now set empty column list for other tables
-                                for (OBJECT tmpObject : getAllObjects(monitor, owner)) {
-                                    if (!isChildrenCached(tmpObject) && !objectMap.containsKey(tmpObject)) {
-                                        cacheChildren(tmpObject, new ArrayList<>());
-                                    }
-                                }
-                                this.childrenCached = true;
-                            }
-                        } else if (!objectMap.containsKey(forObject)) {
-                            cacheChildren(forObject, new ArrayList<>());
-                        }
                     } finally {
                         dbResult.close();
                     }
+                    if (recorder != null) {
+                        snapshot.putEntry(snapshotKey, recorder.finish());
+                    }
+                }
+            }
+
+            // All children are read. Now assign them to parents
+            for (Map.Entry<OBJECT, List<CHILD>> colEntry : objectMap.entrySet()) {
+                if (!isChildrenCached(colEntry.getKey())) {
+                    // isChildrenCached may return true if the same cache was read in other thread
+                    // just skip
+                    cacheChildren(colEntry.getKey(), colEntry.getValue());
                 }
             }
+            if (forObject == null) {
+                if (objectMap.isEmpty()) {
+                    // Nothing was read. May be it means empty list of children
+                    // but possibly this feature is not supported [JDBC: SQLite]
+                } else {
+                    // Now set empty column list for other tables
+                    for (OBJECT tmpObject : getAllObjects(monitor, owner)) {
+                        if (!isChildrenCached(tmpObject) && !objectMap.containsKey(tmpObject)) {
+                            cacheChildren(tmpObject, new ArrayList<>());
+                        }
+                    }
+                    this.childrenCached = true;
+                }
+            } else if (!objectMap.containsKey(forObject)) {
+                cacheChildren(forObject, new ArrayList<>());
+            }
         } catch (SQLException ex) {
             throw new DBException(ex, dataSource);
         }
     }
 
+    /**
+     * Reads children from result set into object map
+     * @param skipCached skip rows of objects which children are already cached
+     * @return false if read was canceled
+     */
+    private boolean fetchChildren(DBRProgressMonitor monitor, JDBCSession session, OWNER owner, @Nullable OBJECT forObject, JDBCResultSet dbResult, Map<OBJECT, List<CHILD>> objectMap, boolean skipCached)
+        throws SQLException, DBException
+    {
+        while (dbResult.next()) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            OBJECT object = forObject;
+            if (object == null) {
+                String objectName;
+                if (objectNameColumn instanceof Number) {
+                    objectName = JDBCUtils.safeGetString(dbResult, ((Number) objectNameColumn).intValue());
+                } else {
+                    objectName = JDBCUtils.safeGetStringTrimmed(dbResult, objectNameColumn.toString());
+                }
+                if (objectName == null) {
+                    log.debug("NULL object name in " + this);
+                    continue;
+                }
+
+                object = super.getCachedObject(objectName);
+                if (object == null) {
+                    log.debug("Object '" + objectName + "' not found in struct cache (" + getClass().getSimpleName() + ")");
+                    continue;
+                }
+            }
+            if (skipCached && isChildrenCached(object)) {
+                // Already read
+                continue;
+            }
+            CHILD child = fetchChild(session, owner, object, dbResult);
+            if (child == null) {
+                continue;
+            }
+
+            // Add to map
+            List<CHILD> children = objectMap.get(object);
+            if (children == null) {
+                children = new ArrayList<>();
+                objectMap.put(object, children);
+            }
+            children.add(child);
+        }
+        return !monitor.isCanceled();
+    }
+
+    protected String getChildrenSnapshotKey(OWNER owner, @Nullable OBJECT forObject) {
+        String key = getSnapshotKey(owner) + "|children";
+        return forObject == null ? key : key + "|" + getObjectName(forObject);
+    }
+
+    /**
+     * Reads children from database in background and compares them with snapshot.
+     * If they were changed then children cache is reset and will be read from database on next access.
+     */
+    private void revalidateChildrenSnapshot(JDBCMetaSnapshot snapshot, String snapshotKey, JDBCMetaSnapshot.Entry snapshotEntry, OWNER owner, @Nullable OBJECT forObject) {
+        new AbstractJob("Revalidate children of " + getCacheName() + " of " + owner.getName()) {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor) {
+                Map<OBJECT, List<CHILD>> objectMap = new HashMap<>();
+                try (JDBCSession session = DBUtils.openMetaSession(monitor, owner, "Revalidate child objects")) {
+                    try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
+                        dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                        dbStat.executeStatement();
+                        JDBCResultSet dbResult = dbStat.getResultSet();
+                        if (dbResult == null) {
+                            return Status.OK_STATUS;
+                        }
+                        JDBCMetaSnapshot.Recorder recorder = snapshot.startRecording(dbResult);
+                        try {
+                            // Children are fetched only to record the same values. Fetched objects are not used.
+                            // Cached objects are not skipped, otherwise their rows would be missing in recorded entry.
+                            if (!fetchChildren(monitor, session, owner, forObject, recorder.getResultSet(), objectMap, false)) {
+                                return Status.OK_STATUS;
+                            }
+                        } finally {
+                            dbResult.close();
+                        }
+                        JDBCMetaSnapshot.Entry entry = recorder.finish();
+                        if (entry != null && entry.isSameAs(snapshotEntry)) {
+                            return Status.OK_STATUS;
+                        }
+                        snapshot.putEntry(snapshotKey, entry);
+                    }
+                } catch (Throwable e) {
+                    log.debug("Error revalidating children of " + getCacheName() + " of " + owner.getName(), e);
+                    return Status.OK_STATUS;
+                }
+                log.debug("Children of " + getCacheName() + " of " + owner.getName() + " were changed since last snapshot");
+                clearChildrenCache(forObject);
+                DBUtils.fireObjectRefresh(forObject == null ? owner : forObject);
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
     @Override
     public void removeObject(@NotNull OBJECT object, boolean resetFullCache)
     {
@@ -192,6 +280,17 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         super.clearCache();
     }
 
+    @Override
+    protected void refreshCachedObject(@NotNull OBJECT oldObject, @Nullable OBJECT newObject)
+    {
+        super.refreshCachedObject(oldObject, newObject);
+        // Children of this object will be read on demand. Children of other objects are still cached.
+        synchronized (childrenCache) {
+            childrenCache.remove(oldObject);
+            childrenCached = false;
+        }
+    }
+
     /**
      * Returns cache for child objects. Creates cache i it doesn't exists
      * 
@@ -24,6 +24,7 @@ import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.app.DBPPlatform;
 import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDContentStreamed;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
@@ -45,7 +46,7 @@ import java.sql.SQLFeatureNotSupportedException;
  *
  * @author Serge Rider
  */
-public class JDBCContentBLOB extends JDBCContentLOB {
+public class JDBCContentBLOB extends JDBCContentLOB implements DBDContentStreamed {
 
     private static final Log log = Log.getLog(JDBCContentBLOB.class);
 
@@ -124,6 +125,18 @@ public class JDBCContentBLOB extends JDBCContentLOB {
         return storage;
     }
 
+    @Override
+    public InputStream openContentStream() throws DBCException {
+        if (storage != null || blob == null) {
+            return null;
+        }
+        try {
+            return blob.getBinaryStream();
+        } catch (Throwable e) {
+            throw new DBCException(e, dataSource);
+        }
+    }
+
     @Override
     public void release()
     {
@@ -320,10 +320,15 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
 
             private boolean allNulls;
 
+            private boolean isSkippedValue(DBSAttributeBase attribute, Object value) {
+                return DBUtils.isPseudoAttribute(attribute) ||
+                    (!allNulls && nullsMode != NullsMode.BIND && DBUtils.isNullValue(value));
+            }
+
             protected int getNextUsedParamIndex(Object[] attributeValues, int paramIndex) {
                 paramIndex++;
                 DBSAttributeBase attribute = attributes[paramIndex];
-                while (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[paramIndex]))) {
+                while (isSkippedValue(attribute, attributeValues[paramIndex])) {
                     paramIndex++;
                 }
                 return paramIndex;
@@ -348,7 +353,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 boolean hasKey = false;
                 for (int i = 0; i < attributes.length; i++) {
                     DBSAttributeBase attribute = attributes[i];
-                    if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[i]))) {
+                    if (isSkippedValue(attribute, attributeValues[i])) {
                         continue;
                     }
                     if (hasKey) query.append(","); //$NON-NLS-1$
@@ -359,7 +364,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 hasKey = false;
                 for (int i = 0; i < attributes.length; i++) {
                     DBSAttributeBase attribute = attributes[i];
-                    if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[i]))) {
+                    if (isSkippedValue(attribute, attributeValues[i])) {
                         continue;
                     }
                     if (hasKey) query.append(","); //$NON-NLS-1$
@@ -385,7 +390,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 int paramIndex = 0;
                 for (int k = 0; k < handlers.length; k++) {
                     DBSAttributeBase attribute = attributes[k];
-                    if (DBUtils.isPseudoAttribute(attribute) || (!allNulls && DBUtils.isNullValue(attributeValues[k]))) {
+                    if (isSkippedValue(attribute, attributeValues[k])) {
                         continue;
                     }
                     handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
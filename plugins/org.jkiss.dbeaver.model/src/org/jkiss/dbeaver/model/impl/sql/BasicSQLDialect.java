@@ -352,6 +352,21 @@ public class BasicSQLDialect implements SQLDialect {
         return MultiValueInsertMode.NOT_SUPPORTED;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxInsertValuesRows() {
+        return 0;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsertValues() {
+        return false;
+    }
+
     @Override
     public String addFiltersToQuery(DBPDataSource dataSource, String query, DBDDataFilter filter) {
         return SQLSemanticProcessor.addFiltersToQuery(dataSource, query, filter);
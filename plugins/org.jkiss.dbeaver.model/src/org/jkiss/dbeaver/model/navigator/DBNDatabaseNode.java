@@ -44,6 +44,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * DBNDatabaseNode
@@ -51,9 +53,14 @@ import java.util.*;
 public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBPContextProvider, IDataSourceContainerProvider {
 
     private static final DBNDatabaseNode[] EMPTY_NODES = new DBNDatabaseNode[0];
+    // Period of cancel checks while waiting for children loaded by other thread
+    private static final long CHILDREN_WAIT_PERIOD = 100;
 
     private volatile boolean locked;
+    // Children array is replaced, never modified. So it can be read without lock.
     protected volatile DBNDatabaseNode[] childNodes;
+    // Children load in progress. Concurrent reads of the same node wait for it.
+    private ChildrenLoader childrenLoader;
     private boolean filtered;
 
     protected DBNDatabaseNode(DBNNode parentNode) {
@@ -192,24 +199,74 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         return false;
     }
 
+    /**
+     * Returns node children. Children are loaded if they weren't read yet.
+     * Node isn't locked while children are loaded. If the same node is loaded by other thread
+     * then this method waits for its result (or until monitor is canceled).
+     */
     @Override
-    public synchronized DBNDatabaseNode[] getChildren(DBRProgressMonitor monitor)
+    public DBNDatabaseNode[] getChildren(DBRProgressMonitor monitor)
+        throws DBException {
+        for (;;) {
+            DBNDatabaseNode[] children = childNodes;
+            if (children != null || !hasChildren(false)) {
+                return children;
+            }
+            ChildrenLoader loader = getChildrenLoader();
+            if (loader == null) {
+                // Children were loaded by other thread
+                continue;
+            }
+            if (loader.tryStart()) {
+                return loader.load(monitor);
+            }
+            if (loader.loaderThread == Thread.currentThread()) {
+                // Recursive read from loader itself
+                return childNodes;
+            }
+            children = waitForChildren(monitor, loader);
+            if (children != null || monitor.isCanceled()) {
+                return children;
+            }
+            // Other loader was canceled. Try again.
+        }
+    }
+
+    /**
+     * Returns current children loader or creates new one.
+     * Returns null if children are already loaded.
+     */
+    private synchronized ChildrenLoader getChildrenLoader() {
+        if (childNodes != null) {
+            return null;
+        }
+        if (childrenLoader == null || childrenLoader.isDone()) {
+            childrenLoader = new ChildrenLoader();
+        }
+        return childrenLoader;
+    }
+
+    private DBNDatabaseNode[] waitForChildren(DBRProgressMonitor monitor, ChildrenLoader loader)
         throws DBException {
-        if (childNodes == null && hasChildren(false)) {
-            if (this.initializeNode(monitor, null)) {
-                final List<DBNDatabaseNode> tmpList = new ArrayList<>();
-                loadChildren(monitor, getMeta(), null, tmpList, this, true);
-                if (!monitor.isCanceled()) {
-                    if (tmpList.isEmpty()) {
-                        this.childNodes = EMPTY_NODES;
-                    } else {
-                        this.childNodes = tmpList.toArray(new DBNDatabaseNode[tmpList.size()]);
+        try {
+            for (;;) {
+                try {
+                    return loader.get(CHILDREN_WAIT_PERIOD, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (monitor.isCanceled()) {
+                        return childNodes;
                     }
-                    this.afterChildRead();
                 }
             }
+        } catch (InterruptedException e) {
+            return childNodes;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DBException) {
+                throw (DBException) cause;
+            }
+            throw new DBException("Error loading children of " + getNodeName(), cause);
         }
-        return childNodes;
     }
 
     protected void afterChildRead() {
@@ -367,6 +424,8 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         synchronized (this) {
             childrenCopy = childNodes == null ? null : Arrays.copyOf(childNodes, childNodes.length);
             childNodes = null;
+            // Result of active load is obsolete
+            childrenLoader = null;
         }
         if (childrenCopy != null) {
             for (DBNNode child : childrenCopy) {
@@ -851,6 +910,64 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         return clazz == Object.class ? null : findPropertyGetter(clazz.getSuperclass(), getName, isName);
     }
 
+    /**
+     * Single children load. Result is published in childNodes only if load wasn't superseded by children clear or cancel.
+     */
+    private final class ChildrenLoader extends CompletableFuture<DBNDatabaseNode[]> {
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Thread loaderThread;
+
+        boolean tryStart() {
+            return started.compareAndSet(false, true);
+        }
+
+        DBNDatabaseNode[] load(DBRProgressMonitor monitor) throws DBException {
+            loaderThread = Thread.currentThread();
+            try {
+                DBNDatabaseNode[] children = null;
+                if (initializeNode(monitor, null)) {
+                    final List<DBNDatabaseNode> tmpList = new ArrayList<>();
+                    loadChildren(monitor, getMeta(), null, tmpList, DBNDatabaseNode.this, true);
+                    if (!monitor.isCanceled()) {
+                        children = tmpList.isEmpty() ? EMPTY_NODES : tmpList.toArray(new DBNDatabaseNode[tmpList.size()]);
+                    }
+                }
+                boolean published = false;
+                synchronized (DBNDatabaseNode.this) {
+                    if (childrenLoader == this) {
+                        childrenLoader = null;
+                        if (children != null && childNodes == null) {
+                            childNodes = children;
+                            published = true;
+                        }
+                    }
+                }
+                if (published) {
+                    afterChildRead();
+                }
+                complete(children);
+                return children;
+            } catch (Throwable e) {
+                detach();
+                completeExceptionally(e);
+                if (e instanceof DBException) {
+                    throw (DBException) e;
+                }
+                throw new DBException("Error loading children of " + getNodeName(), e);
+            } finally {
+                loaderThread = null;
+            }
+        }
+
+        private void detach() {
+            synchronized (DBNDatabaseNode.this) {
+                if (childrenLoader == this) {
+                    childrenLoader = null;
+                }
+            }
+        }
+    }
+
     private static class PropertyValueReader implements DBRRunnableParametrized<DBRProgressMonitor> {
         private final DBRProgressMonitor monitor;
         private final String propertyName;
@@ -267,6 +267,26 @@ public interface SQLDialect {
     @NotNull
     MultiValueInsertMode getMultiValueInsertMode();
 
+    /**
+     * Maximum number of bind parameters allowed in a single statement.
+     * Used to limit the number of rows in multi-row INSERT statements.
+     * @return parameters limit or 0 if limit is unknown
+     */
+    int getMaxStatementParameters();
+
+    /**
+     * Maximum number of rows in a single INSERT ... VALUES statement.
+     * @return rows limit or 0 if there is no limit
+     */
+    int getMaxInsertValuesRows();
+
+    /**
+     * Checks whether INSERT with several VALUES rows of bind parameters may be executed in this database.
+     * Unlike {@link #getMultiValueInsertMode()} (which is used in generated scripts) this is enabled only
+     * for databases which are known to accept such statements.
+     */
+    boolean supportsMultiRowInsertValues();
+
     String addFiltersToQuery(DBPDataSource dataSource, String query, DBDDataFilter filter);
 
     /**
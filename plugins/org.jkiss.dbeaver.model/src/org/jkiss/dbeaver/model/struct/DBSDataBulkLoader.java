@@ -0,0 +1,46 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Native bulk data loader (e.g. COPY, LOAD DATA, bulk copy API).
+ * Data source provides it as adapter if database supports fast data load.
+ */
+public interface DBSDataBulkLoader {
+
+    /**
+     * Checks whether bulk load can be used for specified table and attributes
+     */
+    boolean supportsBulkLoad(@NotNull DBCSession session, @NotNull DBSDataManipulator table, @NotNull DBSAttributeBase[] attributes);
+
+    /**
+     * Creates batch which loads added rows with native database API
+     */
+    @NotNull
+    DBSDataManipulator.ExecuteBatch createBulkLoadBatch(
+        @NotNull DBCSession session,
+        @NotNull DBSDataManipulator table,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source)
+        throws DBCException;
+
+}
@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2019 Serge Rider (serge@jkiss.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Native table data copier between two connections of the same database type
+ * (e.g. COPY TO STDOUT piped into COPY FROM STDIN).
+ * Rows are passed in database wire format without conversion to Java objects.
+ * Data source provides it as adapter.
+ */
+public interface DBSDataDirectCopier {
+
+    /**
+     * Checks whether source attributes can be copied into target attributes directly.
+     * Source and target attributes are matched by position.
+     * Source and target sessions must use different connections.
+     */
+    boolean supportsDirectCopy(
+        @NotNull DBCSession sourceSession,
+        @NotNull DBSDataContainer source,
+        @NotNull DBSAttributeBase[] sourceAttributes,
+        @NotNull DBCSession targetSession,
+        @NotNull DBSDataManipulator target,
+        @NotNull DBSAttributeBase[] targetAttributes);
+
+    /**
+     * Copies source rows into target table.
+     * Copy is aborted if source session monitor is canceled.
+     * @return number of copied rows
+     */
+    long copyData(
+        @NotNull DBCSession sourceSession,
+        @NotNull DBSDataContainer source,
+        @NotNull DBSAttributeBase[] sourceAttributes,
+        @Nullable DBDDataFilter dataFilter,
+        @NotNull DBCSession targetSession,
+        @NotNull DBSDataManipulator target,
+        @NotNull DBSAttributeBase[] targetAttributes)
+        throws DBCException;
+
+}
@@ -40,8 +40,32 @@ public interface DBSDataManipulator extends DBSDataContainer {
     int DATA_TRUNCATE       = 1 << 19;
 
     interface ExecuteBatch extends AutoCloseable {
+
+        /**
+         * Defines how rows with NULL values are batched
+         */
+        enum NullsMode {
+            /**
+             * NULL values are skipped in statement (so column default values are applied).
+             * Statement is re-prepared each time row NULLs pattern differs from the previous row.
+             */
+            SKIP,
+            /**
+             * All values (including NULLs) are bound explicitly.
+             * Single prepared statement is used for all rows.
+             */
+            BIND,
+            /**
+             * NULL values are skipped. Rows are grouped by NULLs pattern before execution,
+             * so statement is re-prepared once per pattern. Rows order within batch is not preserved.
+             */
+            GROUP
+        }
+
         void add(@NotNull Object[] attributeValues) throws DBCException;
 
+        void setNullsMode(@NotNull NullsMode nullsMode);
+
         @NotNull
         DBCStatistics execute(@NotNull DBCSession session) throws DBCException;
 
@@ -40,6 +40,47 @@ public final class DBStructUtils {
 
     private static final Log log = Log.getLog(DBStructUtils.class);
 
+    // Container structure is cached at once if at least 1/BULK_PREFETCH_RATIO of its entities is requested
+    private static final int BULK_PREFETCH_RATIO = 10;
+
+    /**
+     * Reads attributes and associations of several entities in bulk.
+     * Only container-wide caching is supported: entities are grouped by container and the whole container structure
+     * is cached with {@link DBSObjectContainer#cacheStructure} (one query per object kind). There is no bulk read of
+     * an arbitrary subset of entities, because constraints and indexes live in driver-specific caches.
+     * If less than 1/BULK_PREFETCH_RATIO of container entities is requested then reading of the whole container
+     * costs more than per-entity reads, so such entities are not prefetched and their metadata is read per entity
+     * on demand.
+     */
+    public static void prefetchEntitiesStructure(@NotNull DBRProgressMonitor monitor, @NotNull Collection<? extends DBSObject> objects) {
+        Map<DBSObjectContainer, Integer> containers = new LinkedHashMap<>();
+        for (DBSObject object : objects) {
+            if (object instanceof DBSEntity && object.getParentObject() instanceof DBSObjectContainer) {
+                containers.merge((DBSObjectContainer) object.getParentObject(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containers.entrySet()) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            DBSObjectContainer container = entry.getKey();
+            int entityCount = entry.getValue();
+            if (entityCount < 2) {
+                continue;
+            }
+            try {
+                Collection<? extends DBSObject> children = container.getChildren(monitor);
+                if (children != null && entityCount * BULK_PREFETCH_RATIO < children.size()) {
+                    continue;
+                }
+                monitor.subTask("Cache structure of " + container.getName());
+                container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS);
+            } catch (DBException e) {
+                log.debug("Error caching structure of " + container.getName(), e);
+            }
+        }
+    }
+
     public static String generateTableDDL(@NotNull DBRProgressMonitor monitor, @NotNull DBSTable table, Map<String, Object> options, boolean addComments) throws DBException {
         final DBERegistry editorsRegistry = table.getDataSource().getContainer().getPlatform().getEditorsRegistry();
         final SQLObjectEditor entityEditor = editorsRegistry.getObjectManager(table.getClass(), SQLObjectEditor.class);
@@ -79,6 +120,7 @@ public final class DBStructUtils {
         List<T> cycleTableList = new ArrayList<>();
         List<T> viewList = new ArrayList<>();
 
+        prefetchEntitiesStructure(monitor, tablesOrViews);
         DBStructUtils.sortTableList(monitor, tablesOrViews, goodTableList, cycleTableList, viewList);
 
         // Good tables: generate full DDL
@@ -0,0 +1,78 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import au.com.bytecode.opencsv.CSVReader;
+import org.jkiss.dbeaver.tools.transfer.stream.importer.CSVRecordReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Compares opencsv reader with CSVRecordReader used by CSV importer.
+ * Reads the same in-memory CSV several times, materializes every second column.
+ */
+public class CSVReaderBenchmark {
+
+    private static final int ROW_COUNT = 1000000;
+    private static final int COLUMN_COUNT = 10;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws IOException {
+        String csv = generateCSV();
+        System.out.println("CSV size: " + csv.length() / 1024 / 1024 + "Mb");
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startTime = System.currentTimeMillis();
+            long opencsvChars = readOpenCSV(csv);
+            long opencsvTime = System.currentTimeMillis() - startTime;
+
+            startTime = System.currentTimeMillis();
+            long recordReaderChars = readRecordReader(csv);
+            long recordReaderTime = System.currentTimeMillis() - startTime;
+
+            System.out.println("Iteration " + (i + 1) +
+                ": opencsv " + opencsvTime + "ms (" + opencsvChars + ")" +
+                ", record reader " + recordReaderTime + "ms (" + recordReaderChars + ")");
+        }
+    }
+
+    private static String generateCSV() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            for (int k = 0; k < COLUMN_COUNT; k++) {
+                if (k > 0) csv.append(',');
+                switch (k % 3) {
+                    case 0: csv.append(i * k); break;
+                    case 1: csv.append("\"Value ").append(i).append(", \"\"quoted\"\"\""); break;
+                    default: csv.append("text").append(k); break;
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static long readOpenCSV(String csv) throws IOException {
+        long length = 0;
+        try (CSVReader reader = new CSVReader(new StringReader(csv), ',', '"', '\\')) {
+            for (String[] line = reader.readNext(); line != null; line = reader.readNext()) {
+                for (int i = 0; i < line.length; i += 2) {
+                    length += line[i].length();
+                }
+            }
+        }
+        return length;
+    }
+
+    private static long readRecordReader(String csv) throws IOException {
+        long length = 0;
+        try (CSVRecordReader reader = new CSVRecordReader(new StringReader(csv), ',', '"', '\\')) {
+            while (reader.nextRecord()) {
+                for (int i = 0; i < reader.getFieldCount(); i += 2) {
+                    length += reader.getField(i).length();
+                }
+            }
+        }
+        return length;
+    }
+
+}
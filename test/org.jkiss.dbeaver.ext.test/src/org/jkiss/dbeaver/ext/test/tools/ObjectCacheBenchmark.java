@@ -0,0 +1,135 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.impl.SimpleObjectCache;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures concurrent name lookups in object cache while another thread modifies it.
+ * "locked" cache synchronizes reads on cache instance (old behavior), "copy-on-write" reads current cache content without lock.
+ */
+public class ObjectCacheBenchmark {
+
+    private static final int OBJECT_COUNT = 10000;
+    private static final int READER_THREADS = 8;
+    private static final long MEASURE_TIME = 3000;
+    private static final long WRITE_PERIOD = 10;
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            long lockedOps = measure(new LockedCache());
+            long cowOps = measure(new SimpleObjectCache<>());
+            System.out.println("Iteration " + (i + 1) +
+                ": locked " + (lockedOps * 1000 / MEASURE_TIME) + " lookups/s" +
+                ", copy-on-write " + (cowOps * 1000 / MEASURE_TIME) + " lookups/s");
+        }
+    }
+
+    private static long measure(SimpleObjectCache<DBSObject, DBSObject> cache) throws InterruptedException {
+        List<DBSObject> objects = new ArrayList<>(OBJECT_COUNT);
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            objects.add(new TestObject("OBJECT_" + i));
+        }
+        cache.setCache(objects);
+
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicLong totalOps = new AtomicLong();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < READER_THREADS; i++) {
+            final int seed = i;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                long ops = 0;
+                awaitStart(startLatch);
+                while (!finished.get()) {
+                    if (cache.getCachedObject("OBJECT_" + random.nextInt(OBJECT_COUNT)) != null) {
+                        ops++;
+                    }
+                }
+                totalOps.addAndGet(ops);
+            }));
+        }
+        // Background validation adds and removes objects
+        threads.add(new Thread(() -> {
+            DBSObject tempObject = new TestObject("TEMP_OBJECT");
+            awaitStart(startLatch);
+            while (!finished.get()) {
+                cache.cacheObject(tempObject);
+                cache.removeObject(tempObject, false);
+                try {
+                    Thread.sleep(WRITE_PERIOD);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        startLatch.countDown();
+        Thread.sleep(MEASURE_TIME);
+        finished.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return totalOps.get();
+    }
+
+    private static void awaitStart(CountDownLatch startLatch) {
+        try {
+            startLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class LockedCache extends SimpleObjectCache<DBSObject, DBSObject> {
+        @Override
+        public synchronized DBSObject getCachedObject(String name) {
+            return super.getCachedObject(name);
+        }
+    }
+
+    private static class TestObject implements DBSObject {
+        private final String name;
+
+        TestObject(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @Override
+        public boolean isPersisted() {
+            return true;
+        }
+
+        @Override
+        public DBSObject getParentObject() {
+            return null;
+        }
+
+        @Override
+        public DBPDataSource getDataSource() {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.jkiss.dbeaver.ext.test.tools;
+
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferConsumer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares split file accounting strategies of stream export.
+ * Output pipeline is the same as in StreamTransferConsumer: writer, byte counter, buffered file stream.
+ * "flush" flushes writer after each row (old behavior), "threshold" flushes only near the file size limit.
+ */
+public class SplitOutputBenchmark {
+
+    private static final int ROW_COUNT = 2000000;
+    private static final long MAX_FILE_SIZE = 10 * 1000 * 1000;
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws IOException {
+        File dir = new File(System.getProperty("java.io.tmpdir"), "split-benchmark");
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Can't create " + dir.getAbsolutePath());
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startTime = System.currentTimeMillis();
+            long flushFiles = export(dir, false, true);
+            long flushTime = System.currentTimeMillis() - startTime;
+
+            startTime = System.currentTimeMillis();
+            long thresholdFiles = export(dir, true, true);
+            long thresholdTime = System.currentTimeMillis() - startTime;
+
+            startTime = System.currentTimeMillis();
+            export(dir, true, false);
+            long noSplitTime = System.currentTimeMillis() - startTime;
+
+            System.out.println("Iteration " + (i + 1) +
+                ": flush " + flushTime + "ms (" + flushFiles + " files)" +
+                ", threshold " + thresholdTime + "ms (" + thresholdFiles + " files)" +
+                ", no split " + noSplitTime + "ms");
+        }
+    }
+
+    private static long export(File dir, boolean useThreshold, boolean split) throws IOException {
+        CountingOutput output = new CountingOutput(dir, split ? MAX_FILE_SIZE : Long.MAX_VALUE);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            output.writer.print(i);
+            output.writer.print(",\"Row value ");
+            output.writer.print(i);
+            output.writer.print("\",");
+            output.writer.print(i * 3.14);
+            output.writer.print('\n');
+
+            if (split && (!useThreshold || output.bytesWritten + StreamTransferConsumer.SPLIT_FLUSH_THRESHOLD >= MAX_FILE_SIZE)) {
+                output.writer.flush();
+                if (output.bytesWritten >= MAX_FILE_SIZE) {
+                    output.nextFile();
+                }
+            }
+        }
+        output.close();
+        return output.fileNumber;
+    }
+
+    private static class CountingOutput {
+        private final File dir;
+        private final long maxFileSize;
+        private PrintWriter writer;
+        private OutputStream outputStream;
+        private long bytesWritten;
+        private int fileNumber;
+
+        CountingOutput(File dir, long maxFileSize) throws IOException {
+            this.dir = dir;
+            this.maxFileSize = maxFileSize;
+            openFile();
+        }
+
+        void nextFile() throws IOException {
+            close();
+            openFile();
+        }
+
+        private void openFile() throws IOException {
+            File file = new File(dir, "export_" + fileNumber + ".csv");
+            fileNumber++;
+            bytesWritten = 0;
+            outputStream = new BufferedOutputStream(new FileOutputStream(file), StreamTransferConsumer.OUT_FILE_BUFFER_SIZE);
+            OutputStream counter = new FilterOutputStream(outputStream) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    bytesWritten++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    bytesWritten += len;
+                }
+            };
+            writer = new PrintWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), true);
+        }
+
+        void close() throws IOException {
+            writer.flush();
+            // Last row may cross the limit
+            if (bytesWritten - 1024 > maxFileSize) {
+                throw new IOException("File size " + bytesWritten + " exceeds limit");
+            }
+            writer.close();
+        }
+    }
+
+}